@@ -120,6 +120,9 @@ public class Properties {
 	@Parameter(key = "reset_static_field_gets", group = "Test Creation", description = "Call static constructors also after each static field was read")
 	public static boolean RESET_STATIC_FIELD_GETS = false;
 
+	@Parameter(key = "reset_static_field_mutations", group = "Test Creation", description = "Call static constructors also after a static field of array or collection type was read, as the referenced object might have been modified")
+	public static boolean RESET_STATIC_FIELD_MUTATIONS = false;
+
 	@Parameter(key = "reset_all_classes_during_test_generation", group = "Test Creation", description = "Test Generation does not apply the selective method of selection of class re-initalization")
 	public static boolean RESET_ALL_CLASSES_DURING_TEST_GENERATION = false;
 
@@ -305,6 +308,12 @@ public class Properties {
 	@Parameter(key = "migrants_communication_rate", group = "Test Creation", description = "Determines amount of migrants per communication step")
 	public static int MIGRANTS_COMMUNICATION_RATE = 3;
 
+	@Parameter(key = "share_covered_goals", group = "Test Creation", description = "Let parallel clients publish the goals they cover, so that the others stop targeting them (DynaMOSA only)")
+	public static boolean SHARE_COVERED_GOALS = true;
+
+	@Parameter(key = "covered_goals_board", group = "Test Creation", description = "File through which parallel clients share the goals they cover. Set by the master")
+	public static String COVERED_GOALS_BOARD = null;
+
 	// ---------------------------------------------------------------
 	// Search algorithm
 	public enum Algorithm {
@@ -326,7 +335,9 @@ public class Properties {
 	public enum RankingType {
 		// Preference sorting is the ranking strategy proposed in
 		PREFERENCE_SORTING, 
-		FAST_NON_DOMINATED_SORTING
+		FAST_NON_DOMINATED_SORTING,
+		// same fronts as FAST_NON_DOMINATED_SORTING, with fewer dominance comparisons
+		EFFICIENT_NON_DOMINATED_SORTING
 	}
 
 	@Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
@@ -404,6 +415,9 @@ public class Properties {
 	@Parameter(key = "dse_constraint_length", group = "DSE", description = "Maximal length of the constraints in DSE")
 	public static int DSE_CONSTRAINT_LENGTH = 100000;
 
+	@Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum total size (in expression nodes) of the constraint queries whose solutions are kept in the solver cache")
+	public static long DSE_SOLVER_CACHE_SIZE = 5000000;
+
 	@Parameter(key = "dse_constant_probability", group = "DSE", description = "Probability with which to use constants from the constraints when resetting variables during search")
     @DoubleValue(min = 0.0, max = 1.0)
 	public static double DSE_CONSTANT_PROBABILITY = 0.5;
@@ -434,6 +448,12 @@ public class Properties {
 	@Parameter(key = "dse_solver", group = "DSE", description = "Specify which constraint solver to use. Note: external solver will need to be installed and cofigured separately")
 	public static SolverType DSE_SOLVER = SolverType.EVOSUITE_SOLVER;
 
+	@Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of threads used to solve the queries derived from a path condition concurrently. Only used with external solvers (Z3 or CVC4)")
+	public static int DSE_SOLVER_THREADS = 1;
+
+	@Parameter(key = "dse_incremental_solving", group = "DSE", description = "Keep the external SMT solver (Z3 or CVC4) running between queries, and only send the assertions not shared with the previous query (using push/pop)")
+	public static boolean DSE_INCREMENTAL_SOLVING = false;
+
 	@Parameter(key = "z3_path", group = "DSE", description = "Indicates the path to the Z3 solver")
 	public static String Z3_PATH = null;
 
@@ -1143,6 +1163,9 @@ public class Properties {
 	@Parameter(key = "timeline_interval", group = "Output", description = "Time interval in milliseconds for timeline statistics")
 	public static long TIMELINE_INTERVAL = 60 * 1000;
 
+	@Parameter(key = "statistics_batch_interval", group = "Output", description = "Time interval in milliseconds at which the client sends collected statistics to the master")
+	public static long STATISTICS_BATCH_INTERVAL = 1000;
+
     @Parameter(key = "timeline_interpolation", group = "Output", description = "Interpolate timeline values")
     public static boolean TIMELINE_INTERPOLATION = true;
 
@@ -1207,6 +1230,12 @@ public class Properties {
 	@Parameter(key = "inheritance_file", description = "Cached version of inheritance tree")
 	public static String INHERITANCE_FILE = "";
 
+	@Parameter(key = "analysis_cache_dir", description = "Directory in which results of classpath analysis (e.g., the inheritance tree) are cached across runs. Empty to disable")
+	public static String ANALYSIS_CACHE_DIR = "";
+
+	@Parameter(key = "classpath_scan_threads", description = "Number of threads used to scan the classpath and to parse its classes for the inheritance tree. 0 to use all available cores")
+	public static int CLASSPATH_SCAN_THREADS = 0;
+
 	@Parameter(key = "branch_eval", description = "Jeremy's branch evaluation")
 	public static boolean BRANCH_EVAL = false;
 
@@ -1401,6 +1430,18 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+	@Parameter(key = "array_execution_trace", group = "Test Execution", description = "Keep branch distances, predicate counts, covered definitions and mutant distances of the execution trace in primitive arrays indexed by id, rather than in hash maps")
+	public static boolean ARRAY_EXECUTION_TRACE = false;
+
+	@Parameter(key = "test_execution_threads", group = "Test Execution", description = "Number of threads used to execute the changed tests of a population concurrently. Requires reset_static_fields (otherwise tests are executed sequentially) and no Java EE support. Each thread has its own execution tracer and mocked runtime (VFS, VNET, time, random numbers); results of tests that wrote static fields, accessed static state while another test did, or ran while System properties were written are discarded and the tests executed again sequentially")
+	public static int TEST_EXECUTION_THREADS = 1;
+
+	@Parameter(key = "batch_test_execution", group = "Test Execution", description = "Execute the changed tests of a whole population in one pass before computing their fitness. With a single thread, each test keeps its own setup and teardown (sandbox, runtime and static field reset), as sharing them would make results depend on the other tests of the batch. Implied by test_execution_threads > 1")
+	public static boolean BATCH_TEST_EXECUTION = false;
+
+	@Parameter(key = "incremental_test_execution", group = "Test Execution", description = "When a test only got new statements at its end since its last execution, execute only those, continuing from the values of the previous execution. Not done if that execution touched static fields, System properties, files, network or random numbers")
+	public static boolean INCREMENTAL_TEST_EXECUTION = false;
+
     // ---------------------------------------------------------------
 	// Debugging
 
@@ -34,6 +34,7 @@ import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.mutation.MutationPool;
 import org.evosuite.coverage.mutation.MutationTimeoutStoppingCondition;
+import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.stoppingconditions.GlobalTimeStoppingCondition;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
@@ -48,6 +49,7 @@ import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
 import org.evosuite.runtime.instrumentation.RemoveFinalClassAdapter;
 import org.evosuite.runtime.javaee.db.DBManager;
 import org.evosuite.runtime.javaee.injection.Injector;
+import org.evosuite.runtime.util.ComputeClassWriter;
 import org.evosuite.runtime.util.JOptionPaneInputs;
 import org.evosuite.runtime.util.SystemInUtil;
 import org.evosuite.seeding.CastClassManager;
@@ -58,8 +60,11 @@ import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.setup.TestClusterGenerator;
 import org.evosuite.symbolic.DSEStats;
+import org.evosuite.symbolic.solver.SmtSolverSession;
+import org.evosuite.symbolic.solver.SolverCache;
 import org.evosuite.testcarver.extraction.CarvingManager;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.utils.ArrayUtil;
@@ -171,12 +176,14 @@ public class TestGenerationContext {
 		}
 
 		TestCaseExecutor.pullDown();
+		ParallelTestCaseExecutor.pullDown();
 
 		ExecutionTracer.getExecutionTracer().clear();
 
 		// TODO: BranchPool should not be static
 		BranchPool.getInstance(classLoader).reset();
 		RemoveFinalClassAdapter.reset();
+		ComputeClassWriter.clearCaches();
 		LinePool.reset();
 		MutationPool.clear();
 
@@ -209,6 +216,7 @@ public class TestGenerationContext {
 		TestCaseExecutor.initExecutor();
 
 		Archive.getArchiveInstance().reset();
+		FitnessFunction.resetIds();
 
 		// Constant pool
 		ConstantPoolManager.getInstance().reset();
@@ -248,6 +256,8 @@ public class TestGenerationContext {
 		Injector.reset();
 
 		DSEStats.clear();
+		SolverCache.getInstance().clear();
+		SmtSolverSession.closeAll();
 
 		// keep the list of initialized classes (clear them when needed in
 		// the system test cases)
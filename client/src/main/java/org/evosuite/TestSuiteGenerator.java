@@ -60,6 +60,7 @@ import org.evosuite.testcase.execution.EvosuiteError;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTrace;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.testcase.statements.MethodStatement;
@@ -262,6 +263,7 @@ public class TestSuiteGenerator {
 			writeJUnitFailingTests();
 		}
 		TestCaseExecutor.pullDown();
+		ParallelTestCaseExecutor.pullDown();
 		/*
 		 * TODO: when we will have several processes running in parallel, we ll
 		 * need to handle the gathering of the statistics.
@@ -508,6 +510,8 @@ public class TestSuiteGenerator {
 
 		DSEStats.getInstance().trackSolverStatistics();
 
+		ClassReInitializer.getInstance().trackResetStatistics();
+
 		if (Properties.DSE_PROBABILITY > 0.0 && Properties.LOCAL_SEARCH_RATE > 0
 				&& Properties.LOCAL_SEARCH_PROBABILITY > 0.0) {
 			DSEStats.getInstance().logStatistics();
@@ -24,6 +24,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -39,6 +40,7 @@ import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.InitializingListener;
 import org.evosuite.runtime.InitializingListenerUtils;
+import org.evosuite.utils.ParallelUtil;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
@@ -499,22 +501,74 @@ public class ResourceList {
 				classLoader==TestGenerationContext.getInstance().getRegressionClassLoaderForSUT())
 			 cp = org.evosuite.Properties.REGRESSIONCP;
 
+		/*
+		 * Listing the content of the entries is independent, and so done in parallel.
+		 * Registering them in the cache has to follow the classpath order, as the first
+		 * entry containing a class wins.
+		 */
+		List<String> entries = new ArrayList<>();
 		for(String entry : cp.split(File.pathSeparator)){
-			addEntry(entry);
-		}		
+			String path = new File(entry).getAbsolutePath();
+			if(!entries.contains(path)){
+				entries.add(path);
+			}
+		}
+		List<ScannedEntry> scanned = ParallelUtil.map(entries, ResourceList::scanOrSkip,
+				ParallelUtil.getNumberOfThreads(Properties.CLASSPATH_SCAN_THREADS));
+		for(ScannedEntry entry : scanned){
+			if(entry != null){
+				register(entry);
+			}
+		}
 	}
 
-	private void addEntry(String classPathElement) throws IllegalArgumentException{
-		final File file = new File(classPathElement);
+	/**
+	 * Scans an entry while initializing the cache. An invalid entry is only
+	 * logged, so that the other entries are still registered
+	 *
+	 * @return null if the entry cannot be scanned
+	 */
+	private static ScannedEntry scanOrSkip(String classPathElement) {
+		try {
+			return scan(classPathElement);
+		} catch (RuntimeException e) {
+			logger.error("Cannot scan classpath entry "+classPathElement+": "+e.getMessage(),e);
+			return null;
+		}
+	}
 
-		classPathElement = file.getAbsolutePath();
+	private void addEntry(String classPathElement) throws IllegalArgumentException{
+		classPathElement = new File(classPathElement).getAbsolutePath();
 
 		if(getCache().mapCPtoClasses.containsKey(classPathElement)){
 			return; //this classpath entry has already been analyzed
 		}
 
-		getCache().mapCPtoClasses.put(classPathElement, new LinkedHashSet<String>());
+		register(scan(classPathElement));
+	}
+
+	/**
+	 * The class files found in a classpath entry. Computing them does not access
+	 * the cache, so different entries can be scanned concurrently
+	 */
+	private static class ScannedEntry {
+
+		final String classPathElement;
+
+		/** The opened jar file, null for folders */
+		JarFile jar;
 
+		/** Names of the classes in the entry, eg foo.Foo */
+		final List<String> classNames = new ArrayList<>();
+
+		ScannedEntry(String classPathElement) {
+			this.classPathElement = classPathElement;
+		}
+	}
+
+	private static ScannedEntry scan(String classPathElement) throws IllegalArgumentException{
+		final File file = new File(classPathElement);
+		ScannedEntry scanned = new ScannedEntry(classPathElement);
 
 		if (!file.exists()) {
 			throw new IllegalArgumentException("The class path resource "
@@ -522,17 +576,18 @@ public class ResourceList {
 		}
 
 		if (file.isDirectory()) {
-			scanDirectory(file,classPathElement);
+			scanDirectory(file, classPathElement, scanned.classNames);
 		} else if (file.getName().endsWith(".jar")) {
-			scanJar(classPathElement);
+			scanJar(scanned);
 		} else {
 			throw new IllegalArgumentException("The class path resource "
 					+ file.getAbsolutePath() + " is not valid");
-		}		
+		}
+		return scanned;
 	}
 
-	private void scanDirectory(final File directory,
-			final String classPathFolder) {
+	private static void scanDirectory(final File directory,
+			final String classPathFolder, List<String> classNames) {
 
 		if (!directory.exists()) {
 			return;
@@ -545,79 +600,93 @@ public class ResourceList {
 			return;
 		}
 
-		String prefix =  directory.getAbsolutePath().replace(classPathFolder + File.separator,"");
-		prefix = prefix.replace(File.separatorChar, '.');
-
 		File[] fileList = directory.listFiles();
 		for (final File file : fileList) {
 			if (file.isDirectory()) {
 				/*
 				 * recursion till we get to a file that is not a folder.
 				 */
-				scanDirectory(file, classPathFolder);
+				scanDirectory(file, classPathFolder, classNames);
 			} else {
 				if(! file.getName().endsWith(".class")){
 					continue; // we are only interested in class files
 				}
 				String relativeFilePath = file.getAbsolutePath().replace(classPathFolder + File.separator,"");
-				String className = getClassNameFromResourcePath(relativeFilePath);
+				classNames.add(getClassNameFromResourcePath(relativeFilePath));
+			}
+		}
+	}
+
+	private static void scanJar(ScannedEntry scanned) {
+		JarFile zf;
+		try {
+			zf = new JarFile(scanned.classPathElement);
+		} catch (IOException e) {
+			logger.error("Error while reading jar file "+scanned.classPathElement+": "+e.getMessage(),e);
+			return;
+		}
+
+		try {
+			Enumeration<?> e = zf.entries();
+			while (e.hasMoreElements()) {
+				JarEntry ze = (JarEntry) e.nextElement();
+				String entryName = ze.getName();
 
-				// The same class may exist in different classpath entries
-				// and only the first one is kept
-				if(getCache().mapClassToCP.containsKey(className))
+				if(! entryName.endsWith(".class")){
 					continue;
-				
-				// If there is an outer class, then we also have a classpath
-				// problem and should ignore this
-				if(className.contains("$")) {
-					String outerClass = className.substring(0, className.indexOf('$'));
-					if(getCache().mapClassToCP.containsKey(outerClass)) {
-						if(!getCache().mapClassToCP.get(outerClass).equals(classPathFolder)) {
-							continue;
-						}
-					}
 				}
 
-
-				getCache().mapClassToCP.put(className, classPathFolder);
-				getCache().mapCPtoClasses.get(classPathFolder).add(className);
-				getCache().addPrefix(prefix, classPathFolder);
+				scanned.classNames.add(getClassNameFromResourcePath(entryName));
+			}
+		} catch (RuntimeException e) {
+			// the jar is not registered, so it would never be closed
+			try {
+				zf.close();
+			} catch (IOException ioe) {
+				logger.error("Cannot close jar file " + zf.getName() + ". " + ioe.toString());
 			}
+			throw e;
 		}
+		scanned.jar = zf;
 	}
 
-	private void scanJar(String jarEntry) {
-		JarFile zf = getCache().getJar(jarEntry);
-
-		Enumeration<?> e = zf.entries();
-		while (e.hasMoreElements()) {
-			JarEntry ze = (JarEntry) e.nextElement();
-			String entryName = ze.getName();
-
-			if(! entryName.endsWith(".class")){
-				continue;
+	private void register(ScannedEntry scanned) {
+		String classPathElement = scanned.classPathElement;
+		if(getCache().mapCPtoClasses.containsKey(classPathElement)){
+			if(scanned.jar != null){
+				try {
+					scanned.jar.close();
+				} catch (IOException e) {
+					logger.error("Cannot close jar file " + scanned.jar.getName() + ". " + e.toString());
+				}
 			}
+			return;
+		}
+		getCache().mapCPtoClasses.put(classPathElement, new LinkedHashSet<String>());
+		if(scanned.jar != null){
+			getCache().openedJars.put(classPathElement, scanned.jar);
+		}
 
-			String className = getClassNameFromResourcePath(entryName);
-			
+		for(String className : scanned.classNames){
 			// The same class may exist in different classpath entries
 			// and only the first one is kept
 			if(getCache().mapClassToCP.containsKey(className))
 				continue;
-			
+
+			// If there is an outer class, then we also have a classpath
+			// problem and should ignore this
 			if(className.contains("$")) {
 				String outerClass = className.substring(0, className.indexOf('$'));
 				if(getCache().mapClassToCP.containsKey(outerClass)) {
-					if(!getCache().mapClassToCP.get(outerClass).equals(jarEntry)) {
+					if(!getCache().mapClassToCP.get(outerClass).equals(classPathElement)) {
 						continue;
 					}
 				}
 			}
-			
-			getCache().mapClassToCP.put(className, jarEntry);//getPackageName
-			getCache().mapCPtoClasses.get(jarEntry).add(className);
-			getCache().addPrefix(getParentPackageName(className), jarEntry);
+
+			getCache().mapClassToCP.put(className, classPathElement);
+			getCache().mapCPtoClasses.get(classPathElement).add(className);
+			getCache().addPrefix(getParentPackageName(className), classPathElement);
 		}
 	}
-
 }
\ No newline at end of file
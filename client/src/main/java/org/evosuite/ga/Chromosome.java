@@ -20,7 +20,6 @@
 package org.evosuite.ga;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -30,8 +29,6 @@ import org.evosuite.utils.PublicCloneable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static java.util.stream.Collectors.averagingDouble;
-
 /**
  * Abstract base class of chromosomes
  * 
@@ -52,10 +49,10 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 		// empty
 	}
 	/** Last recorded fitness value */
-    private LinkedHashMap<FitnessFunction<?>, Double> fitnessValues = new LinkedHashMap<>();
+    private FitnessValueMap<Double> fitnessValues = FitnessValueMap.ofDoubles();
 
 	/** Previous fitness, to see if there was an improvement */
-    private LinkedHashMap<FitnessFunction<?>, Double> previousFitnessValues = new LinkedHashMap<>();
+    private FitnessValueMap<Double> previousFitnessValues = FitnessValueMap.ofDoubles();
 
 	/** Has this chromosome changed since its fitness was last evaluated? */
 	private boolean changed = true;
@@ -63,13 +60,13 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	/** Has local search been applied to this individual since it was last changed? */
 	private boolean localSearchApplied = false;
 
-    private LinkedHashMap<FitnessFunction<?>, Double> coverageValues = new LinkedHashMap<>();
+    private FitnessValueMap<Double> coverageValues = FitnessValueMap.ofDoubles();
 
     /** The number of uncovered goals with regard to the fitness function given as key */
-    private LinkedHashMap<FitnessFunction<?>, Integer> numsNotCoveredGoals = new LinkedHashMap<>();
+    private FitnessValueMap<Integer> numsNotCoveredGoals = FitnessValueMap.ofIntegers();
 
     /** The number of covered goals with regard to the fitness function given as key */
-    private LinkedHashMap<FitnessFunction<?>, Integer> numsCoveredGoals = new LinkedHashMap<>();
+    private FitnessValueMap<Integer> numsCoveredGoals = FitnessValueMap.ofIntegers();
 
 	
 	// protected double coverage = 0.0;
@@ -109,9 +106,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return a double.
 	 */
 	public double getFitness() {
-        return fitnessValues.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .sum();
+        return fitnessValues.sum();
 	}
 
     /**
@@ -121,7 +116,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
      * @return the fitness of this chromosome
      */
 	public <T extends Chromosome> double getFitness(FitnessFunction<T> ff) {
-		return fitnessValues.containsKey(ff) ? fitnessValues.get(ff) : ff.getFitness((T)this); // Calculate new value if non is cached
+		return fitnessValues.containsKey(ff) ? fitnessValues.getDouble(ff, 0.0) : ff.getFitness((T)this); // Calculate new value if non is cached
 	}
 
 	public Map<FitnessFunction<?>, Double> getFitnessValues() {
@@ -145,13 +140,11 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 
 	public void setFitnessValues(Map<FitnessFunction<?>, Double> fits) {
 		//TODO mainfitness?
-		this.fitnessValues.clear();
-		this.fitnessValues.putAll(fits);
+		this.fitnessValues.copyFrom(fits);
 	}
 
 	public void setPreviousFitnessValues(Map<FitnessFunction<?>, Double> lastFits) {
-		this.previousFitnessValues.clear();
-		this.previousFitnessValues.putAll(lastFits);
+		this.previousFitnessValues.copyFrom(lastFits);
 	}
 
 	/**
@@ -208,11 +201,11 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 */
 	public void addFitness(FitnessFunction<?> ff, double fitnessValue, double coverage,
 			int numCoveredGoals) { 
-		this.fitnessValues.put(ff, fitnessValue);
-		this.previousFitnessValues.put(ff, fitnessValue);
-		this.coverageValues.put(ff, coverage);
-		this.numsCoveredGoals.put(ff, numCoveredGoals);
-		this.numsNotCoveredGoals.put(ff, -1);
+		this.fitnessValues.putDouble(ff, fitnessValue);
+		this.previousFitnessValues.putDouble(ff, fitnessValue);
+		this.coverageValues.putDouble(ff, coverage);
+		this.numsCoveredGoals.putDouble(ff, numCoveredGoals);
+		this.numsNotCoveredGoals.putDouble(ff, -1);
 	}
 
 	/**
@@ -228,13 +221,8 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 					+ ff.getClass().getName());
 		}
 
-		if (!fitnessValues.containsKey(ff)) {
-			previousFitnessValues.put(ff, value);
-			fitnessValues.put(ff, value);
-		} else {
-			previousFitnessValues.put(ff, fitnessValues.get(ff));
-			fitnessValues.put(ff, value);
-		}
+		previousFitnessValues.putDouble(ff, fitnessValues.getDouble(ff, value));
+		fitnessValues.putDouble(ff, value);
 	}
 
     /**
@@ -244,12 +232,12 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
      * @return
      */
 	public boolean hasFitnessChanged() {
-        return fitnessValues.keySet().stream()
-                .anyMatch(ff -> {
-                    final double currentValue = fitnessValues.get(ff);
-                    final double previousValue = previousFitnessValues.get(ff);
-                    return currentValue != previousValue;
-                });
+        for (Map.Entry<FitnessFunction<?>, Double> e : fitnessValues.entrySet()) {
+            if (e.getValue() != previousFitnessValues.getDouble(e.getKey(), Double.NaN)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 	/**
@@ -404,7 +392,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return a double.
 	 */
 	public double getCoverage() {
-        final double cov = coverageValues.values().stream().collect(averagingDouble(Double::doubleValue));
+        final double cov = coverageValues.average();
         assert (cov >= 0.0 && cov <= 1.0) : "Incorrect coverage value " + cov + ". Expected value between 0 and 1";
         return cov;
     }
@@ -416,9 +404,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
      * @return
      */
 	public int getNumOfCoveredGoals() {
-        return numsCoveredGoals.values().stream()
-                .mapToInt(Integer::intValue)
-                .sum();
+        return (int) numsCoveredGoals.sum();
     }
 
     /**
@@ -428,28 +414,24 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
      * @return
      */
 	public int getNumOfNotCoveredGoals() {
-        return numsNotCoveredGoals.values().stream()
-                .mapToInt(Integer::intValue)
-                .sum();
+        return (int) numsNotCoveredGoals.sum();
     }
 
 	public void setNumsOfCoveredGoals(Map<FitnessFunction<?>, Integer> fits) {
-		this.numsCoveredGoals.clear();
-		this.numsCoveredGoals.putAll(fits);
+		this.numsCoveredGoals.copyFrom(fits);
 	}
 
 	public void setNumsOfNotCoveredGoals(Map<FitnessFunction<?>, Integer> fits) {
-		this.numsNotCoveredGoals.clear();
-		this.numsNotCoveredGoals.putAll(fits);
+		this.numsNotCoveredGoals.copyFrom(fits);
 	}
 	public void setNumOfNotCoveredGoals(FitnessFunction<?> ff, int numCoveredGoals) {
-		this.numsNotCoveredGoals.put(ff, numCoveredGoals);
+		this.numsNotCoveredGoals.putDouble(ff, numCoveredGoals);
 	}
 	public Map<FitnessFunction<?>, Integer> getNumsOfCoveredGoals() {
 		return this.numsCoveredGoals;
 	}
 	
-	public LinkedHashMap<FitnessFunction<?>, Integer> getNumsNotCoveredGoals() {
+	public Map<FitnessFunction<?>, Integer> getNumsNotCoveredGoals() {
 		return numsNotCoveredGoals;
 	}
 	
@@ -458,8 +440,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	}
 
 	public void setCoverageValues(Map<FitnessFunction<?>, Double> coverages) {
-		this.coverageValues.clear();
-		this.coverageValues.putAll(coverages);
+		this.coverageValues.copyFrom(coverages);
 	}
 
 	// public void setNumOfCoveredGoals(int numOfCoveredGoals) {
@@ -474,7 +455,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return the number of covered goals for {@code ff}
 	 */
 	public double getCoverage(FitnessFunction<?> ff) {
-        return coverageValues.getOrDefault(ff, 0.0);
+        return coverageValues.getDouble(ff, 0.0);
 	}
 
 	/**
@@ -486,7 +467,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 *            the coverage value
 	 */
 	public void setCoverage(FitnessFunction<?> ff, double coverage) {
-		this.coverageValues.put(ff, coverage);
+		this.coverageValues.putDouble(ff, coverage);
 	}
 
 	/**
@@ -497,7 +478,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return the number of covered goals for {@code ff}
 	 */
 	public int getNumOfCoveredGoals(FitnessFunction<?> ff) {
-        return numsCoveredGoals.getOrDefault(ff, 0);
+        return (int) numsCoveredGoals.getDouble(ff, 0);
 	}
 	
 	/**
@@ -508,7 +489,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return the number of covered goals for {@code ff}
 	 */
 	public int getNumOfNotCoveredGoals(FitnessFunction<?> ff) {
-        return numsNotCoveredGoals.getOrDefault(ff, 0);
+        return (int) numsNotCoveredGoals.getDouble(ff, 0);
 	}
 
 	/**
@@ -520,7 +501,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 *            the number of covered goals
 	 */
 	public void setNumOfCoveredGoals(FitnessFunction<?> ff, int numCoveredGoals) {
-		this.numsCoveredGoals.put(ff, numCoveredGoals);
+		this.numsCoveredGoals.putDouble(ff, numCoveredGoals);
 	}
 
 	public void updateAge(int generation) {
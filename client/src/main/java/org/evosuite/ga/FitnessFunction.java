@@ -20,6 +20,10 @@
 package org.evosuite.ga;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +40,82 @@ public abstract class FitnessFunction<T extends Chromosome> implements Serializa
 	/** Constant <code>logger</code> */
 	protected static final Logger logger = LoggerFactory.getLogger(FitnessFunction.class);
 
+	/**
+	 * Dense ids handed out so far. Keyed by equality, so that equal fitness
+	 * functions (eg, two instances of the same coverage goal) share an id.
+	 * Cleared by {@link #resetIds()}, eg when the generation context is reset
+	 */
+	private static final Map<FitnessFunction<?>, Integer> ids = new HashMap<>();
+
+	/**
+	 * Incremented by {@link #resetIds()}, so that the ids cached in the
+	 * instances that are still alive are not used anymore
+	 */
+	private static volatile int idEpoch = 1;
+
+	/**
+	 * Cached result of {@link #getId()} in the low bits, and the epoch in
+	 * which it was handed out in the high bits. As the epochs start from 1,
+	 * the default value of the field (also after deserialization) means "not
+	 * assigned yet"
+	 */
+	private transient volatile long cachedId;
+
+	/**
+	 * Returns a small, dense integer identifying this fitness function (up to
+	 * equality). Ids are handed out in the order in which fitness functions
+	 * are first registered or used, and are used by {@link Chromosome} to
+	 * store fitness values in arrays rather than in hash maps.
+	 * 
+	 * @return the id of this fitness function
+	 */
+	public final int getId() {
+		long cached = cachedId;
+		if ((int) (cached >>> 32) == idEpoch) {
+			return (int) cached;
+		}
+		synchronized (ids) {
+			Integer existing = ids.get(this);
+			if (existing == null) {
+				existing = ids.size();
+				ids.put(this, existing);
+			}
+			cachedId = ((long) idEpoch << 32) | existing;
+			return existing;
+		}
+	}
+
+	/**
+	 * Forget all the ids handed out so far, so that they do not accumulate
+	 * across searches
+	 */
+	public static void resetIds() {
+		synchronized (ids) {
+			ids.clear();
+			idEpoch++;
+		}
+	}
+
+	/**
+	 * @return the current id epoch, which changes each time the ids are reset
+	 *         with {@link #resetIds()}
+	 */
+	static int getIdEpoch() {
+		return idEpoch;
+	}
+
+	/**
+	 * Assigns ids to the given fitness functions, in iteration order, so that
+	 * goals registered together get consecutive ids
+	 * 
+	 * @param fitnessFunctions
+	 */
+	public static void registerIds(Collection<? extends FitnessFunction<?>> fitnessFunctions) {
+		for (FitnessFunction<?> ff : fitnessFunctions) {
+			ff.getId();
+		}
+	}
+
     /**
      * Make sure that the individual gets to know about its fitness
      *
@@ -70,6 +150,36 @@ public abstract class FitnessFunction<T extends Chromosome> implements Serializa
 	 */
 	public abstract double getFitness(T individual);
 
+	/**
+	 * Called before a batch of individuals (eg, a whole offspring population)
+	 * is evaluated with {@link #getFitness(Chromosome)}. Fitness functions can
+	 * override it to share the setup of the evaluations across the batch, eg
+	 * by executing all the changed tests in one pass. By default nothing is
+	 * done, and each individual is then evaluated on its own.
+	 * 
+	 * @param individuals
+	 *            the individuals that are going to be evaluated
+	 */
+	public void prepareBatchEvaluation(List<? extends T> individuals) {
+		// nothing to share by default
+	}
+
+	/**
+	 * Calculate and set the fitness of a batch of individuals
+	 * 
+	 * @param individuals
+	 *            the individuals to evaluate
+	 * @return the new fitness values, in the same order as the individuals
+	 */
+	public double[] getFitness(List<? extends T> individuals) {
+		prepareBatchEvaluation(individuals);
+		double[] values = new double[individuals.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = getFitness(individuals.get(i));
+		}
+		return values;
+	}
+
 	/**
 	 * Normalize a value using Andrea's normalization function
 	 * 
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map from fitness functions to numbers (fitness values, coverage values,
+ * numbers of covered goals), stored as a primitive array indexed by the dense
+ * id of the fitness function (see {@link FitnessFunction#getId()}).
+ * 
+ * Only the window of ids between the lowest and the highest key is allocated,
+ * so a chromosome with a few suite-level fitness functions stays small while
+ * one with thousands of goals does not pay for thousands of hash entries.
+ * Copies made with {@link #copyFrom(Map)} share the arrays until one of the
+ * two maps is modified. Iteration is in id order. When the ids are reset
+ * (see {@link FitnessFunction#resetIds()}), the window is laid out again with
+ * the new ids on the next access.
+ * 
+ * @param <V>
+ *            either {@link Double} or {@link Integer}
+ */
+final class FitnessValueMap<V extends Number> extends AbstractMap<FitnessFunction<?>, V>
+		implements Serializable {
+
+	private static final long serialVersionUID = 2404471593040513045L;
+
+	private static final FitnessFunction<?>[] NO_KEYS = new FitnessFunction<?>[0];
+
+	private static final double[] NO_VALUES = new double[0];
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	/** Whether values are boxed as Integer rather than Double */
+	private final boolean integral;
+
+	/** Key of the slot of each id in the window, null if not mapped */
+	private transient FitnessFunction<?>[] keys = NO_KEYS;
+
+	private transient double[] values = NO_VALUES;
+
+	/** Id of the first slot */
+	private transient int base = 0;
+
+	private transient int size = 0;
+
+	/** If true, keys and values may be referenced by another map as well */
+	private transient boolean shared = false;
+
+	/** Id epoch in which the window was laid out */
+	private transient int epoch = FitnessFunction.getIdEpoch();
+
+	private FitnessValueMap(boolean integral) {
+		this.integral = integral;
+	}
+
+	public static FitnessValueMap<Double> ofDoubles() {
+		return new FitnessValueMap<>(false);
+	}
+
+	public static FitnessValueMap<Integer> ofIntegers() {
+		return new FitnessValueMap<>(true);
+	}
+
+	private int slot(Object key) {
+		if (!(key instanceof FitnessFunction)) {
+			return -1;
+		}
+		checkEpoch();
+		int s = ((FitnessFunction<?>) key).getId() - base;
+		if (s < 0 || s >= keys.length || keys[s] == null) {
+			return -1;
+		}
+		if (keys[s] != key && !keys[s].equals(key)) {
+			return -1;
+		}
+		return s;
+	}
+
+	/**
+	 * If the ids were reset since the window was laid out, the slots do not
+	 * match the ids of the keys anymore, so the entries are mapped again
+	 */
+	private void checkEpoch() {
+		int current = FitnessFunction.getIdEpoch();
+		if (epoch == current) {
+			return;
+		}
+		FitnessFunction<?>[] oldKeys = keys;
+		double[] oldValues = values;
+		// the old arrays may be shared, so they are left untouched
+		keys = NO_KEYS;
+		values = NO_VALUES;
+		base = 0;
+		size = 0;
+		shared = false;
+		epoch = current;
+		for (int s = 0; s < oldKeys.length; s++) {
+			if (oldKeys[s] != null) {
+				putDouble(oldKeys[s], oldValues[s]);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private V box(double value) {
+		if (integral) {
+			return (V) Integer.valueOf((int) value);
+		} else {
+			return (V) Double.valueOf(value);
+		}
+	}
+
+	/**
+	 * Returns the value mapped to the given fitness function, or
+	 * <code>defaultValue</code> if there is none
+	 */
+	public double getDouble(FitnessFunction<?> ff, double defaultValue) {
+		int s = slot(ff);
+		return s < 0 ? defaultValue : values[s];
+	}
+
+	/**
+	 * Maps the given fitness function to the given value, without boxing
+	 */
+	public void putDouble(FitnessFunction<?> ff, double value) {
+		checkEpoch();
+		int id = ff.getId();
+		ensureWritable();
+		ensureSlot(id);
+		int s = id - base;
+		if (keys[s] == null) {
+			keys[s] = ff;
+			size++;
+		}
+		values[s] = value;
+	}
+
+	/**
+	 * Makes this map a copy of the given one. If it is another
+	 * {@link FitnessValueMap}, the arrays are shared until either map changes.
+	 */
+	public void copyFrom(Map<FitnessFunction<?>, ? extends Number> other) {
+		if (other == this) {
+			return;
+		}
+		if (other instanceof FitnessValueMap && ((FitnessValueMap<?>) other).integral == integral) {
+			FitnessValueMap<?> source = (FitnessValueMap<?>) other;
+			keys = source.keys;
+			values = source.values;
+			base = source.base;
+			size = source.size;
+			epoch = source.epoch;
+			shared = true;
+			source.shared = true;
+			return;
+		}
+		clear();
+		for (Map.Entry<FitnessFunction<?>, ? extends Number> e : other.entrySet()) {
+			putDouble(e.getKey(), e.getValue().doubleValue());
+		}
+	}
+
+	/**
+	 * Sum of all values
+	 */
+	public double sum() {
+		double sum = 0.0;
+		for (int s = 0; s < keys.length; s++) {
+			if (keys[s] != null) {
+				sum += values[s];
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Average of all values, 0 if the map is empty
+	 */
+	public double average() {
+		return size == 0 ? 0.0 : sum() / size;
+	}
+
+	private void ensureWritable() {
+		if (shared) {
+			keys = keys.clone();
+			values = values.clone();
+			shared = false;
+		}
+	}
+
+	private void ensureSlot(int id) {
+		if (keys.length == 0) {
+			base = id;
+			keys = new FitnessFunction<?>[INITIAL_CAPACITY];
+			values = new double[INITIAL_CAPACITY];
+			return;
+		}
+		int end = base + keys.length;
+		if (id >= base && id < end) {
+			return;
+		}
+		int newBase;
+		int newEnd;
+		if (id < base) {
+			newBase = Math.max(0, Math.min(id, end - 2 * keys.length));
+			newEnd = end;
+		} else {
+			newBase = base;
+			newEnd = Math.max(id + 1, base + 2 * keys.length);
+		}
+		FitnessFunction<?>[] newKeys = new FitnessFunction<?>[newEnd - newBase];
+		double[] newValues = new double[newEnd - newBase];
+		System.arraycopy(keys, 0, newKeys, base - newBase, keys.length);
+		System.arraycopy(values, 0, newValues, base - newBase, values.length);
+		keys = newKeys;
+		values = newValues;
+		base = newBase;
+	}
+
+	private void removeSlot(int s) {
+		ensureWritable();
+		keys[s] = null;
+		size--;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slot(key) >= 0;
+	}
+
+	@Override
+	public V get(Object key) {
+		int s = slot(key);
+		return s < 0 ? null : box(values[s]);
+	}
+
+	@Override
+	public V put(FitnessFunction<?> key, V value) {
+		V previous = get(key);
+		putDouble(key, value.doubleValue());
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		int s = slot(key);
+		if (s < 0) {
+			return null;
+		}
+		V previous = box(values[s]);
+		removeSlot(s);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		if (shared) {
+			keys = NO_KEYS;
+			values = NO_VALUES;
+			shared = false;
+		} else {
+			Arrays.fill(keys, null);
+		}
+		size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Map.Entry<FitnessFunction<?>, V>> entrySet() {
+		return new AbstractSet<Map.Entry<FitnessFunction<?>, V>>() {
+			@Override
+			public Iterator<Map.Entry<FitnessFunction<?>, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<FitnessFunction<?>, V>> {
+
+		private int next = advance(0);
+
+		private int last = -1;
+
+		private int advance(int from) {
+			int s = from;
+			while (s < keys.length && keys[s] == null) {
+				s++;
+			}
+			return s;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		public Map.Entry<FitnessFunction<?>, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = next;
+			next = advance(next + 1);
+			return new AbstractMap.SimpleImmutableEntry<FitnessFunction<?>, V>(keys[last], box(values[last]));
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			removeSlot(last);
+			last = -1;
+		}
+	}
+
+	/*
+	 * Ids are not serialized, so the window is rebuilt with the ids of the
+	 * deserializing JVM
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(size);
+		for (int s = 0; s < keys.length; s++) {
+			if (keys[s] != null) {
+				out.writeObject(keys[s]);
+				out.writeDouble(values[s]);
+			}
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		keys = NO_KEYS;
+		values = NO_VALUES;
+		epoch = FitnessFunction.getIdEpoch();
+		int n = in.readInt();
+		for (int i = 0; i < n; i++) {
+			FitnessFunction<?> ff = (FitnessFunction<?>) in.readObject();
+			putDouble(ff, in.readDouble());
+		}
+	}
+}
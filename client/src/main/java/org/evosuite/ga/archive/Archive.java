@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.SecondaryObjective;
 import org.evosuite.runtime.util.AtMostOnceLogger;
 import org.evosuite.setup.TestCluster;
@@ -94,6 +95,8 @@ public abstract class Archive<F extends TestFitnessFunction, T extends TestChrom
    * @param targets the targets to register
    */
   public void addTargets(Collection<F> targets) {
+    // consecutive ids keep the fitness vectors of the chromosomes dense
+    FitnessFunction.registerIds(targets);
     targets.forEach(this::addTarget);
   }
 
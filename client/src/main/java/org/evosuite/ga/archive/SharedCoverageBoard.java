@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Board of covered goals shared by the clients of a parallel run, backed by a
+ * memory-mapped file. Each client marks the goals it covers, and can cheaply
+ * check whether another client already covered a goal, without going through
+ * the master.
+ *
+ * <p>
+ * Goals are identified by a key (eg, their {@code toString()}), and numbered
+ * by sorting the keys, so that all clients agree on the numbering as long as
+ * they have the same goals. This is verified with a fingerprint of the keys
+ * stored in the header of the file: a client with different goals cannot
+ * join the board. Keys that are not unique are not shared.
+ *
+ * <p>
+ * There is one byte per goal rather than one bit, so that marking a goal is a
+ * single write, and concurrent writers never lose each other's updates.
+ */
+public class SharedCoverageBoard implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(SharedCoverageBoard.class);
+
+	private static final int MAGIC = 0x45564342;
+
+	/** magic, number of goals, fingerprint */
+	private static final int HEADER_SIZE = 4 + 4 + 8;
+
+	private static final byte COVERED = 1;
+
+	private final RandomAccessFile file;
+
+	private final MappedByteBuffer buffer;
+
+	private final Map<String, Integer> indices;
+
+	private SharedCoverageBoard(RandomAccessFile file, MappedByteBuffer buffer, Map<String, Integer> indices) {
+		this.file = file;
+		this.buffer = buffer;
+		this.indices = indices;
+	}
+
+	/**
+	 * Join the board in the given file, creating it if the file is empty.
+	 *
+	 * @param boardFile
+	 *            file shared by all the clients
+	 * @param goalKeys
+	 *            keys of the goals of this client
+	 * @return {@code null} if the board was created by a client with different
+	 *         goals
+	 * @throws IOException
+	 *             if the file cannot be mapped
+	 */
+	public static SharedCoverageBoard open(File boardFile, Collection<String> goalKeys) throws IOException {
+
+		Map<String, Integer> indices = new HashMap<>();
+		TreeSet<String> sorted = new TreeSet<>();
+		TreeSet<String> duplicates = new TreeSet<>();
+		for (String key : goalKeys) {
+			if (!sorted.add(key)) {
+				duplicates.add(key);
+			}
+		}
+
+		long fingerprint = sorted.size();
+		for (String key : sorted) {
+			indices.put(key, indices.size());
+			fingerprint = 31 * fingerprint + key.hashCode();
+			fingerprint ^= fingerprint >>> 29;
+		}
+		for (String key : duplicates) {
+			indices.remove(key);
+		}
+
+		RandomAccessFile file = new RandomAccessFile(boardFile, "rw");
+		try {
+			FileChannel channel = file.getChannel();
+			int size = HEADER_SIZE + sorted.size();
+
+			boolean sameGoals = true;
+			// only one client at a time can write the header
+			try (FileLock lock = channel.lock()) {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				if (channel.size() == 0) {
+					header.putInt(MAGIC).putInt(sorted.size()).putLong(fingerprint).flip();
+					channel.write(header, 0);
+				} else {
+					channel.read(header, 0);
+					header.flip();
+					sameGoals = header.remaining() == HEADER_SIZE && header.getInt() == MAGIC
+							&& header.getInt() == sorted.size() && header.getLong() == fingerprint;
+				}
+			}
+
+			if (!sameGoals) {
+				logger.warn("Goals differ from the ones of the other clients, not sharing coverage");
+				file.close();
+				return null;
+			}
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			return new SharedCoverageBoard(file, buffer, indices);
+		} catch (IOException | RuntimeException e) {
+			file.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the index of the goal with the given key, or -1 if the goal is
+	 *         not shared
+	 */
+	public int indexOf(String goalKey) {
+		Integer index = indices.get(goalKey);
+		return index == null ? -1 : index;
+	}
+
+	public int getNumberOfGoals() {
+		return buffer.capacity() - HEADER_SIZE;
+	}
+
+	public boolean isCovered(int index) {
+		return buffer.get(HEADER_SIZE + index) == COVERED;
+	}
+
+	public void markCovered(int index) {
+		if (!isCovered(index)) {
+			buffer.put(HEADER_SIZE + index, COVERED);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		// the mapping stays valid until garbage collected
+		file.close();
+	}
+}
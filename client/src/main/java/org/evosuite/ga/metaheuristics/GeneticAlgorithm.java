@@ -591,7 +591,38 @@ public abstract class GeneticAlgorithm<T extends Chromosome> implements SearchAl
 	protected void calculateFitness() {
 		logger.debug("Calculating fitness for " + population.size() + " individuals");
 
-		Iterator<T> iterator = this.population.iterator();
+		calculateFitness(this.population);
+	}
+
+	/**
+	 * Let the fitness functions share the setup of the evaluation of a batch
+	 * of individuals. This is done once per class of fitness function, and not
+	 * once per goal, as the goals of the same kind (eg, all the branches)
+	 * share the same preparation, eg the execution of the changed tests
+	 * 
+	 * @param individuals
+	 */
+	protected void prepareBatchEvaluation(List<T> individuals) {
+		Set<Class<?>> prepared = new HashSet<>();
+		for (FitnessFunction<T> fitnessFunction : fitnessFunctions) {
+			if (prepared.add(fitnessFunction.getClass())) {
+				fitnessFunction.prepareBatchEvaluation(individuals);
+			}
+		}
+	}
+
+	/**
+	 * Calculate fitness for a batch of individuals, letting the fitness
+	 * functions share the setup of the evaluations
+	 * 
+	 * @param individuals
+	 */
+	protected void calculateFitness(List<T> individuals) {
+		if (!isFinished()) {
+			prepareBatchEvaluation(individuals);
+		}
+
+		Iterator<T> iterator = individuals.iterator();
 		while (iterator.hasNext()) {
 			T c = iterator.next();
             
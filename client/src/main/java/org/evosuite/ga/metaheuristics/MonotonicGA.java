@@ -20,6 +20,7 @@
 package org.evosuite.ga.metaheuristics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.evosuite.Properties;
@@ -134,6 +135,8 @@ public class MonotonicGA<T extends Chromosome> extends GeneticAlgorithm<T> {
 
 			// The two offspring replace the parents if and only if one of
 			// the offspring is not worse than the best parent.
+			List<T> offspring = Arrays.asList(offspring1, offspring2);
+			prepareBatchEvaluation(offspring);
 			for (FitnessFunction<T> fitnessFunction : fitnessFunctions) {
 				fitnessFunction.getFitness(offspring1);
 				notifyEvaluation(offspring1);
@@ -46,6 +46,7 @@ import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.secondaryobjectives.TestCaseSecondaryObjective;
 import org.evosuite.testcase.statements.ArrayStatement;
 import org.evosuite.testcase.statements.ConstructorStatement;
@@ -121,6 +122,11 @@ public abstract class AbstractMOSA<T extends Chromosome> extends GeneticAlgorith
 	@SuppressWarnings("unchecked")
 	protected List<T> breedNextGeneration() {
 		List<T> offspringPopulation = new ArrayList<>(Properties.POPULATION);
+		// when tests are executed in batches, the evaluation of the offspring is
+		// postponed until the whole generation is bred
+		final boolean batchEvaluation = ParallelTestCaseExecutor.getInstance().isEnabled();
+		List<T> pendingOffspring = new ArrayList<>();
+		List<T> pendingRandomTests = new ArrayList<>();
 		// we apply only Properties.POPULATION/2 iterations since in each generation
 		// we generate two offsprings
 		for (int i = 0; i < Properties.POPULATION / 2 && !this.isFinished(); i++) {
@@ -147,9 +153,13 @@ public abstract class AbstractMOSA<T extends Chromosome> extends GeneticAlgorith
 			if (offspring1.isChanged()) {
 				this.clearCachedResults(offspring1);
 				offspring1.updateAge(this.currentIteration);
-				this.calculateFitness(offspring1);
-				if (!shouldIgnore(offspring1))
-					offspringPopulation.add(offspring1);
+				if (batchEvaluation) {
+					pendingOffspring.add(offspring1);
+				} else {
+					this.calculateFitness(offspring1);
+					if (!shouldIgnore(offspring1))
+						offspringPopulation.add(offspring1);
+				}
 			}
 
 			// apply mutation on offspring2
@@ -157,9 +167,13 @@ public abstract class AbstractMOSA<T extends Chromosome> extends GeneticAlgorith
 			if (offspring2.isChanged()) {
 				this.clearCachedResults(offspring2);
 				offspring2.updateAge(this.currentIteration);
-				this.calculateFitness(offspring2);
-				if (!shouldIgnore(offspring2))
-					offspringPopulation.add(offspring2);
+				if (batchEvaluation) {
+					pendingOffspring.add(offspring2);
+				} else {
+					this.calculateFitness(offspring2);
+					if (!shouldIgnore(offspring2))
+						offspringPopulation.add(offspring2);
+				}
 			}
 		}
 		// Add new randomly generate tests
@@ -174,6 +188,24 @@ public abstract class AbstractMOSA<T extends Chromosome> extends GeneticAlgorith
 			}
 			if (tch.isChanged()) {
 				tch.updateAge(this.currentIteration);
+				if (batchEvaluation) {
+					pendingRandomTests.add(tch);
+				} else {
+					this.calculateFitness(tch);
+					offspringPopulation.add(tch);
+				}
+			}
+		}
+		if (batchEvaluation) {
+			List<T> pending = new ArrayList<>(pendingOffspring);
+			pending.addAll(pendingRandomTests);
+			this.prepareBatchEvaluation(pending);
+			for (T offspring : pendingOffspring) {
+				this.calculateFitness(offspring);
+				if (!shouldIgnore(offspring))
+					offspringPopulation.add(offspring);
+			}
+			for (T tch : pendingRandomTests) {
 				this.calculateFitness(tch);
 				offspringPopulation.add(tch);
 			}
@@ -21,8 +21,10 @@ package org.evosuite.ga.metaheuristics.mosa;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.ChromosomeFactory;
@@ -31,6 +33,7 @@ import org.evosuite.ga.comparators.OnlyCrowdingComparator;
 import org.evosuite.ga.metaheuristics.mosa.structural.MultiCriteriaManager;
 import org.evosuite.ga.metaheuristics.mosa.structural.StructuralGoalManager;
 import org.evosuite.ga.operators.ranking.CrowdingDistance;
+import org.evosuite.rmi.ClientServices;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +71,9 @@ public class DynaMOSA<T extends Chromosome> extends AbstractMOSA<T> {
 	/** {@inheritDoc} */
 	@Override
 	protected void evolve() {
+		// for parallel runs: stop targeting the goals other clients covered in the meantime
+		this.goalsManager.updateGoalsCoveredElsewhere();
+
 		// Generate offspring, compute their fitness, update the archive and coverage goals.
 		List<T> offspringPopulation = this.breedNextGeneration();
 
@@ -170,16 +176,49 @@ public class DynaMOSA<T extends Chromosome> extends AbstractMOSA<T> {
 			this.distance.fastEpsilonDominanceAssignment(this.rankingFunction.getSubfront(i), this.goalsManager.getCurrentGoals());
 		}
 
-		// Evolve the population generation by generation until all gaols have been covered or the
-		// search budget has been consumed.
-		while (!isFinished() && this.goalsManager.getUncoveredGoals().size() > 0) {
+		// Evolve the population generation by generation until all gaols have been covered (here
+		// or, for parallel runs, by another client) or the search budget has been consumed.
+		while (!isFinished() && this.goalsManager.getUncoveredGoals().size()
+				> this.goalsManager.getGoalsCoveredElsewhere().size()) {
 			this.evolve();
 			this.notifyIteration();
 		}
 
+		if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.SHARE_COVERED_GOALS
+				&& Properties.COVERED_GOALS_BOARD != null) {
+			collectSolutionsOfOtherClients();
+		}
+
 		this.notifySearchFinished();
 	}
 
+	/**
+	 * As goals covered by a client are not targeted by the others, the tests covering them are
+	 * only in the archive of that client. Thus, all clients send their solutions to
+	 * {@link ClientProcess#DEFAULT_CLIENT_NAME}, which adds them to its own archive.
+	 */
+	@SuppressWarnings("unchecked")
+	private void collectSolutionsOfOtherClients() {
+		if (ClientProcess.DEFAULT_CLIENT_NAME.equals(ClientProcess.getIdentifier())) {
+			Set<Set<? extends Chromosome>> collectedSolutions = ClientServices.getInstance()
+					.getClientNode().getBestSolutions();
+			if (collectedSolutions == null) {
+				logger.warn("Did not receive the solutions of the other clients");
+				return;
+			}
+
+			logger.debug(ClientProcess.DEFAULT_CLIENT_NAME + ": Received " + collectedSolutions.size() + " solution sets");
+			for (Set<? extends Chromosome> solutions : collectedSolutions) {
+				this.goalsManager.addSolutionsFromOtherClient((Set<? extends T>) solutions);
+			}
+		} else {
+			Set<T> solutionsSet = new HashSet<>(getSolutions());
+			logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + solutionsSet.size()
+					+ " solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
+			ClientServices.getInstance().getClientNode().sendBestSolution(solutionsSet);
+		}
+	}
+
 	/**
 	 * Calculates the fitness for the given individual. Also updates the list of targets to cover,
 	 * as well as the population of best solutions in the archive.
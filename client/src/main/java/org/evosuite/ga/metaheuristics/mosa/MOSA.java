@@ -100,7 +100,13 @@ public class MOSA<T extends Chromosome> extends AbstractMOSA<T> {
 
 		// for parallel runs: integrate possible immigrants
 		if (Properties.NUM_PARALLEL_CLIENTS > 1 && !immigrants.isEmpty()) {
-			union.addAll(immigrants.poll());
+			for (T immigrant : immigrants.poll()) {
+				// tests are migrated without their fitness values
+				if (immigrant.isChanged()) {
+					this.calculateFitness(immigrant);
+				}
+				union.add(immigrant);
+			}
 		}
 
 		Set<FitnessFunction<T>> uncoveredGoals = this.getUncoveredGoals();
@@ -40,6 +40,7 @@ import org.evosuite.coverage.mutation.WeakMutationTestFitness;
 import org.evosuite.coverage.statement.StatementCoverageTestFitness;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.archive.SharedCoverageBoard;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.BytecodeInstructionPool;
@@ -57,6 +58,8 @@ import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
 
@@ -93,6 +96,22 @@ public class MultiCriteriaManager<T extends Chromosome> extends StructuralGoalMa
 	 */
 	private final Map<String, FitnessFunction<T>> branchlessMethodCoverageMap = new LinkedHashMap<>();
 
+	/**
+	 * Board through which parallel clients share the goals they cover, if any.
+	 */
+	private transient SharedCoverageBoard coverageBoard = null;
+
+	/**
+	 * Maps the goals shared through the board to their index on it.
+	 */
+	private final Map<FitnessFunction<T>, Integer> boardIndices = new LinkedHashMap<>();
+
+	/**
+	 * Goals not covered by this client, but covered by another parallel client. These are not
+	 * targeted anymore.
+	 */
+	private final Set<FitnessFunction<T>> goalsCoveredElsewhere = new LinkedHashSet<>();
+
 	/**
 	 * Creates a new {@code MultiCriteriaManager} with the given list of targets. The targets are
 	 * encoded as fitness functions, which are expected to be minimization functions.
@@ -150,6 +169,122 @@ public class MultiCriteriaManager<T extends Chromosome> extends StructuralGoalMa
 
 		// initialize current goals
 		this.currentGoals.addAll(graph.getRootBranches());
+
+		if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.SHARE_COVERED_GOALS
+				&& Properties.COVERED_GOALS_BOARD != null) {
+			openCoverageBoard(targets);
+		}
+	}
+
+	private void openCoverageBoard(List<FitnessFunction<T>> targets) {
+		List<String> keys = new ArrayList<>(targets.size());
+		for (FitnessFunction<T> ff : targets) {
+			keys.add(ff.toString());
+		}
+
+		try {
+			this.coverageBoard = SharedCoverageBoard.open(new File(Properties.COVERED_GOALS_BOARD), keys);
+		} catch (IOException e) {
+			logger.warn("Cannot open the board of covered goals: " + e.getMessage());
+		}
+		if (this.coverageBoard == null) {
+			return;
+		}
+
+		for (FitnessFunction<T> ff : targets) {
+			int index = this.coverageBoard.indexOf(ff.toString());
+			if (index >= 0) {
+				this.boardIndices.put(ff, index);
+			}
+		}
+	}
+
+	private boolean isCoveredOnBoard(FitnessFunction<T> goal) {
+		Integer index = this.boardIndices.get(goal);
+		return index != null && this.coverageBoard.isCovered(index);
+	}
+
+	/**
+	 * Polls the board shared with the other parallel clients, and stops targeting the goals they
+	 * covered. As if these goals were covered here, the goals depending on them become targets.
+	 */
+	@Override
+	public void updateGoalsCoveredElsewhere() {
+		if (this.coverageBoard == null) {
+			return;
+		}
+
+		Set<FitnessFunction<T>> covered = this.getCoveredGoals();
+		for (FitnessFunction<T> goal : this.boardIndices.keySet()) {
+			if (this.goalsCoveredElsewhere.contains(goal) || covered.contains(goal) || !isCoveredOnBoard(goal)) {
+				continue;
+			}
+
+			this.goalsCoveredElsewhere.add(goal);
+			this.currentGoals.remove(goal);
+
+			if (goal instanceof BranchCoverageTestFitness) {
+				Set<FitnessFunction<T>> next = new LinkedHashSet<>(graph.getStructuralChildren(goal));
+				Set<FitnessFunction<T>> dependentTargets = dependencies.get(goal);
+				if (dependentTargets != null) {
+					next.addAll(dependentTargets);
+				}
+				for (FitnessFunction<T> target : next) {
+					// goals covered elsewhere that were not visited yet are handled later in the loop
+					if (!covered.contains(target) && !this.goalsCoveredElsewhere.contains(target)
+							&& !isCoveredOnBoard(target)) {
+						this.currentGoals.add(target);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public Set<FitnessFunction<T>> getGoalsCoveredElsewhere() {
+		return Collections.unmodifiableSet(this.goalsCoveredElsewhere);
+	}
+
+	/**
+	 * Runs the given solutions of another parallel client, and adds them to the archive for the
+	 * goals that are covered elsewhere. Unlike {@link #calculateFitness(Chromosome, GeneticAlgorithm)},
+	 * this does not depend on the search budget, as it is meant to be used once the search is over.
+	 */
+	@Override
+	public void addSolutionsFromOtherClient(Collection<? extends T> solutions) {
+		for (T c : solutions) {
+			if (this.goalsCoveredElsewhere.isEmpty()) {
+				return;
+			}
+
+			TestCase test = ((TestChromosome) c).getTestCase();
+			ExecutionResult result = TestCaseExecutor.runTest(test);
+			((TestChromosome) c).setLastExecutionResult(result);
+			c.setChanged(false);
+
+			List<FitnessFunction<T>> newlyCovered = new ArrayList<>();
+			for (FitnessFunction<T> goal : this.goalsCoveredElsewhere) {
+				if (goal.getFitness(c) == 0.0) {
+					newlyCovered.add(goal);
+				}
+			}
+			for (FitnessFunction<T> goal : newlyCovered) {
+				updateCoveredGoals(goal, c);
+			}
+		}
+	}
+
+	@Override
+	protected void updateCoveredGoals(FitnessFunction<T> f, T tc) {
+		super.updateCoveredGoals(f, tc);
+
+		if (this.coverageBoard != null) {
+			this.goalsCoveredElsewhere.remove(f);
+			Integer index = this.boardIndices.get(f);
+			if (index != null) {
+				this.coverageBoard.markCovered(index);
+			}
+		}
 	}
 
 	@SuppressWarnings("unchecked")
@@ -436,7 +571,7 @@ public class MultiCriteriaManager<T extends Chromosome> extends StructuralGoalMa
 						targets.addLast(dependentTarget);
 					}
 				}
-			} else {
+			} else if (!goalsCoveredElsewhere.contains(target)) {
 				currentGoals.add(target); // marks the goal as uncovered
 			}
 		}
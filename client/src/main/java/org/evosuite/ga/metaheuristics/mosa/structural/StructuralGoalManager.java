@@ -21,6 +21,8 @@ package org.evosuite.ga.metaheuristics.mosa.structural;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -114,6 +116,34 @@ public abstract class StructuralGoalManager<T extends Chromosome> implements Ser
 		return this.archive.getCoveredTargets();
 	}
 
+	/**
+	 * Stops targeting the goals that other parallel clients covered in the meantime. By default,
+	 * goals are not shared among clients.
+	 */
+	public void updateGoalsCoveredElsewhere() {
+		// nothing to do
+	}
+
+	/**
+	 * Returns the goals that are not covered by this client, but are covered by another parallel
+	 * client.
+	 *
+	 * @return goals covered elsewhere
+	 */
+	public Set<FitnessFunction<T>> getGoalsCoveredElsewhere() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Adds to the archive the given solutions of another parallel client, for the goals that
+	 * only that client covered.
+	 *
+	 * @param solutions the tests of the archive of another client
+	 */
+	public void addSolutionsFromOtherClient(Collection<? extends T> solutions) {
+		// nothing to do
+	}
+
 	/**
 	 * Tells whether an individual covering the given target is already present in the archive.
 	 *
@@ -0,0 +1,178 @@
+/*
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+
+/**
+ * Ranks the test cases with the Efficient Non-dominated Sort (ENS-SS) by Zhang
+ * et al. The solutions are first sorted lexicographically by their objective
+ * values, so that no solution can be dominated by a solution that comes after
+ * it. Each solution is then put in the first front that contains no solution
+ * dominating it. This yields the same fronts as {@link FastNonDominatedSorting}
+ * while usually needing far fewer dominance comparisons, which are done on a
+ * primitive copy of the fitness values.
+ */
+public class EfficientNonDominatedSorting<T extends Chromosome> implements RankingFunction<T> {
+
+	private static final long serialVersionUID = 3527312475092587046L;
+
+	/**
+	 * An array containing all the fronts found during the search
+	 */
+	private List<T>[] ranking_;
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void computeRankingAssignment(List<T> solutions, Set<FitnessFunction<T>> uncovered_goals) {
+		int[][] fronts = computeFronts(solutions, uncovered_goals);
+		ranking_ = new ArrayList[fronts.length];
+		for (int i = 0; i < fronts.length; i++) {
+			ranking_[i] = new ArrayList<>(fronts[i].length);
+			for (int index : fronts[i]) {
+				T solution = solutions.get(index);
+				solution.setDistance(Double.MAX_VALUE);
+				solution.setRank(i + 1);
+				ranking_[i].add(solution);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the given solutions into non-dominated fronts with respect to the
+	 * given goals.
+	 *
+	 * @param solutions the solutions to sort
+	 * @param goals the goals used as objectives, all of them minimised
+	 * @return for every front (best first) the indexes of its solutions in
+	 *         <code>solutions</code>, in ascending order
+	 */
+	static int[][] computeFronts(List<? extends Chromosome> solutions,
+			Collection<? extends FitnessFunction<?>> goals) {
+		final int n = solutions.size();
+		if (n == 0) {
+			return new int[0][];
+		}
+
+		final FitnessFunction<?>[] objectives = goals.toArray(new FitnessFunction<?>[0]);
+		final double[][] values = new double[n][];
+		for (int i = 0; i < n; i++) {
+			Chromosome solution = solutions.get(i);
+			double[] row = new double[objectives.length];
+			for (int j = 0; j < objectives.length; j++) {
+				row[j] = solution.getFitness(objectives[j]);
+			}
+			values[i] = row;
+		}
+
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				double[] va = values[a];
+				double[] vb = values[b];
+				for (int j = 0; j < va.length; j++) {
+					int flag = Double.compare(va[j], vb[j]);
+					if (flag != 0) {
+						return flag;
+					}
+				}
+				return Integer.compare(a, b);
+			}
+		});
+
+		// fronts[k] holds the first frontSizes[k] members of front k
+		int[][] fronts = new int[n][];
+		int[] frontSizes = new int[n];
+		int numberOfFronts = 0;
+		for (int s : order) {
+			int k = 0;
+			while (k < numberOfFronts && isDominatedByFront(values, fronts[k], frontSizes[k], values[s])) {
+				k++;
+			}
+			if (k == numberOfFronts) {
+				fronts[k] = new int[4];
+				numberOfFronts++;
+			} else if (frontSizes[k] == fronts[k].length) {
+				fronts[k] = Arrays.copyOf(fronts[k], frontSizes[k] * 2);
+			}
+			fronts[k][frontSizes[k]++] = s;
+		}
+
+		int[][] result = new int[numberOfFronts][];
+		for (int k = 0; k < numberOfFronts; k++) {
+			result[k] = Arrays.copyOf(fronts[k], frontSizes[k]);
+			Arrays.sort(result[k]);
+		}
+		return result;
+	}
+
+	/**
+	 * Members are visited from the most recently added one, which is the
+	 * closest to <code>candidate</code> in lexicographic order and therefore the
+	 * most likely to dominate it.
+	 */
+	private static boolean isDominatedByFront(double[][] values, int[] front, int size, double[] candidate) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (dominates(values[front[i]], candidate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean dominates(double[] a, double[] b) {
+		boolean better = false;
+		for (int j = 0; j < a.length; j++) {
+			int flag = Double.compare(a[j], b[j]);
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				better = true;
+			}
+		}
+		return better;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<T> getSubfront(int rank) {
+		return ranking_[rank];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getNumberOfSubfronts() {
+		return ranking_.length;
+	}
+}
@@ -18,6 +18,8 @@
 package org.evosuite.ga.operators.ranking;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,8 +27,6 @@ import java.util.Set;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
-import org.evosuite.ga.comparators.PreferenceSortingComparator;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,26 +66,26 @@ public class RankBasedPreferenceSorting<T extends Chromosome> implements Ranking
 		this.fronts.add(zero_front);
 		int frontIndex = 1;
 
+		List<T> remaining = new ArrayList<>(solutions.size());
+		remaining.addAll(solutions);
+		remaining.removeAll(new HashSet<>(zero_front));
+
 		if (zero_front.size() < Properties.POPULATION) {
 			int rankedSolutions = zero_front.size();
-			DominanceComparator<T> comparator = new DominanceComparator<>(uncovered_goals);
-
-			List<T> remaining = new ArrayList<>(solutions.size());
-			remaining.addAll(solutions);
-			remaining.removeAll(zero_front);
-			while(rankedSolutions < Properties.POPULATION && remaining.size() > 0) {
-				List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, frontIndex);
+			int[][] remainingFronts = EfficientNonDominatedSorting.computeFronts(remaining, uncovered_goals);
+			for (int i = 0; i < remainingFronts.length && rankedSolutions < Properties.POPULATION; i++) {
+				List<T> new_front = new ArrayList<>(remainingFronts[i].length);
+				for (int index : remainingFronts[i]) {
+					T t = remaining.get(index);
+					t.setRank(frontIndex);
+					new_front.add(t);
+				}
 				this.fronts.add(new_front);
-				remaining.removeAll(new_front);
 				rankedSolutions += new_front.size();
 				frontIndex++;
 			}
 
 		} else {
-			List<T> remaining = new ArrayList<>(solutions.size());
-			remaining.addAll(solutions);
-			remaining.removeAll(zero_front);
-
 			for (T t : remaining) {
 				t.setRank(frontIndex);
 			}
@@ -94,57 +94,47 @@ public class RankBasedPreferenceSorting<T extends Chromosome> implements Ranking
 	}
 
 	/**
-	 * Returns the first (i.e. non-dominated) sub-front.
+	 * Returns the first (i.e. non-dominated) sub-front, made of the best test
+	 * for each uncovered goal. The best tests of all goals are determined in a
+	 * single pass over the solutions.
 	 *
 	 * @param solutionSet the solutions to rank
 	 * @param uncovered_goals the goals used for ranking
 	 * @return the non-dominated solutions (first sub-front)
 	 */
 	private List<T> getZeroFront(List<T> solutionSet, Set<FitnessFunction<T>> uncovered_goals) {
-		Set<T> zero_front = new LinkedHashSet<>(solutionSet.size());
-		for (FitnessFunction<T> f : uncovered_goals) {
-			// for each uncovered goal, peak up the best tests using the proper comparator
-			PreferenceSortingComparator<T> comp = new PreferenceSortingComparator<>(f);
-
-			T best = null;
-			for (T test : solutionSet) {
-				int flag = comp.compare(test, best);
-				if (flag < 0 || (flag == 0  && Randomness.nextBoolean())) {
-					best = test;
-				} 
-			}
-			assert best != null;
-
-			best.setRank(0);
-			zero_front.add(best);
-		}
-		return new ArrayList<>(zero_front);
-	}
-
-	private List<T> getNonDominatedSolutions(List<T> solutions, DominanceComparator<T> comparator, int frontIndex) {
-		List<T> front = new ArrayList<>(solutions.size());
-		for (T p : solutions) {
-			boolean isDominated = false;
-			List<T> dominatedSolutions = new ArrayList<>(solutions.size());
-			for (T best : front) {
-				int flag = comparator.compare(p, best);
-				if (flag < 0) {
-					dominatedSolutions.add(best);
+		@SuppressWarnings("unchecked")
+		FitnessFunction<T>[] goals = uncovered_goals.toArray(new FitnessFunction[0]);
+		double[] bestValues = new double[goals.length];
+		int[] best = new int[goals.length];
+		Arrays.fill(best, -1);
+
+		for (int i = 0; i < solutionSet.size(); i++) {
+			T test = solutionSet.get(i);
+			for (int j = 0; j < goals.length; j++) {
+				double value = test.getFitness(goals[j]);
+				int flag;
+				if (best[j] < 0 || value < bestValues[j]) {
+					flag = -1;
+				} else if (value > bestValues[j]) {
+					flag = 1;
+				} else {
+					flag = test.compareSecondaryObjective(solutionSet.get(best[j]));
 				}
-				if (flag > 0) {
-					isDominated = true;
-					break;
+				if (flag < 0 || (flag == 0 && Randomness.nextBoolean())) {
+					best[j] = i;
+					bestValues[j] = value;
 				}
 			}
-			if (isDominated) {
-				continue;
-			}
+		}
 
-			p.setRank(frontIndex);
-			front.add(p);
-			front.removeAll(dominatedSolutions);
+		Set<T> zero_front = new LinkedHashSet<>(solutionSet.size());
+		for (int index : best) {
+			T test = solutionSet.get(index);
+			test.setRank(0);
+			zero_front.add(test);
 		}
-		return front;
+		return new ArrayList<>(zero_front);
 	}
 
 	/**
@@ -40,7 +40,6 @@ import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.testcarver.instrument.Instrumenter;
 import org.evosuite.testcarver.instrument.TransformerUtil;
-import org.evosuite.runtime.util.ComputeClassWriter;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
@@ -170,7 +169,7 @@ public class BytecodeInstrumentation {
 		 * CFGAdapter.
 		 */
 		int asmFlags = ClassWriter.COMPUTE_FRAMES;
-		ClassWriter writer = new ComputeClassWriter(asmFlags);
+		ClassWriter writer = new InheritanceTreeClassWriter(asmFlags, DependencyAnalysis.getInheritanceTree());
 
 		ClassVisitor cv = writer;
 		if (logger.isDebugEnabled()) {
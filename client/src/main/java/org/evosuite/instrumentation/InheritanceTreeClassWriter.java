@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.setup.InheritanceTree;
+import org.evosuite.runtime.util.ComputeClassWriter;
+
+/**
+ * A ComputeClassWriter that takes the supertypes needed to compute the stack map frames
+ * from the already built {@link InheritanceTree}, and so avoids reading and parsing
+ * class files from the classpath. Types whose supertypes are not fully known in the
+ * tree are still read from the classpath.
+ */
+public class InheritanceTreeClassWriter extends ComputeClassWriter {
+
+	private static final String OBJECT = "java.lang.Object";
+
+	private final InheritanceTree inheritanceTree;
+
+	/**
+	 * @param flags
+	 * @param inheritanceTree the tree to use, or {@code null} to only read from the classpath
+	 */
+	public InheritanceTreeClassWriter(int flags, InheritanceTree inheritanceTree) {
+		super(flags);
+		this.inheritanceTree = inheritanceTree;
+	}
+
+	@Override
+	protected TypeInfo getTypeInfo(String type) throws IOException, NullPointerException {
+		TypeInfo info = getTypeInfoFromTree(type);
+		if (info != null) {
+			return info;
+		}
+		return super.getTypeInfo(type);
+	}
+
+	/**
+	 * @param type internal name of a class or interface
+	 * @return null if the tree does not unambiguously define the supertypes of the type
+	 */
+	private TypeInfo getTypeInfoFromTree(String type) {
+		if (inheritanceTree == null || type == null) {
+			return null;
+		}
+		String className = type.replace('/', '.');
+
+		/*
+		 * only classes that were analyzed have their supertypes in the tree,
+		 * and only for those we know whether they are an interface
+		 */
+		boolean isInterface = inheritanceTree.isInterface(className);
+		if (isInterface == inheritanceTree.isClassDefined(className)) {
+			return null;
+		}
+
+		Set<String> supertypes = inheritanceTree.getDirectSupertypes(className);
+		if (supertypes.isEmpty()) {
+			return null;
+		}
+
+		String superName = null;
+		List<String> interfaces = new ArrayList<>();
+		for (String supertype : supertypes) {
+			if (inheritanceTree.isInterface(supertype)) {
+				interfaces.add(supertype.replace('.', '/'));
+			} else if (superName == null) {
+				superName = supertype.replace('.', '/');
+			} else {
+				// more than one superclass, something is missing in the tree
+				return null;
+			}
+		}
+
+		if (superName == null || (isInterface && !superName.equals(OBJECT.replace('.', '/')))) {
+			return null;
+		}
+		return new TypeInfo(superName, interfaces.toArray(new String[0]), isInterface);
+	}
+}
@@ -19,6 +19,7 @@
  */
 package org.evosuite.instrumentation;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -123,6 +124,31 @@ public class InstrumentingClassLoader extends ClassLoader {
 			throw new ClassNotFoundException(t.getMessage(), t);
 		}
 	}
+
+	/**
+	 * Define a class from bytecode that is not on the classpath, eg, a class
+	 * that was compiled in memory
+	 */
+	public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytes) throws ClassNotFoundException {
+
+		String className = fullyQualifiedTargetClass.replace('.', '/');
+
+		try(InputStream is = new ByteArrayInputStream(bytes)) {
+
+			byte[] byteBuffer = getTransformedBytes(className, is);
+
+			createPackageDefinition(fullyQualifiedTargetClass);
+			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+			classes.put(fullyQualifiedTargetClass, result);
+
+			logger.info("Loaded class " + fullyQualifiedTargetClass + " from memory");
+			return result;
+		} catch (Throwable t) {
+			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+			throw new ClassNotFoundException(t.getMessage(), t);
+		}
+	}
 	
 	@Override
 	public Class<?> loadClass(String name) throws ClassNotFoundException {
@@ -23,7 +23,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import org.evosuite.TestGenerationContext;
-import org.evosuite.runtime.util.ComputeClassWriter;
+import org.evosuite.setup.DependencyAnalysis;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
@@ -57,7 +57,7 @@ public class NonInstrumentingClassLoader extends InstrumentingClassLoader {
 		 *  as well as CFGAdapter.
 		 */
 		int asmFlags = ClassWriter.COMPUTE_FRAMES;
-		ClassWriter writer = new ComputeClassWriter(asmFlags);
+		ClassWriter writer = new InheritanceTreeClassWriter(asmFlags, DependencyAnalysis.getInheritanceTree());
 
 		ClassVisitor cv = writer;
 		cv = new NonTargetClassAdapter(cv, className);
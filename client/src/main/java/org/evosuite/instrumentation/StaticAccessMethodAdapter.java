@@ -24,6 +24,11 @@ package org.evosuite.instrumentation;
 
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.evosuite.Properties;
 import org.evosuite.runtime.classhandling.ClassResetter;
 import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
 import org.evosuite.testcase.execution.ExecutionTracer;
@@ -42,6 +47,7 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 
 	private static final String PASSED_PUT_STATIC = "passedPutStatic";
 	private static final String PASSED_GET_STATIC = "passedGetStatic";
+	private static final String PASSED_GET_STATIC_OF_MUTABLE = "passedGetStaticOfMutable";
 
 	private final String className;
 	private final String methodName;
@@ -88,6 +94,9 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 				if (opcode == Opcodes.PUTSTATIC)
 					super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, PASSED_PUT_STATIC,
 							executionTracerDescriptor, false);
+				else if (Properties.RESET_STATIC_FIELD_MUTATIONS && isMutableType(desc))
+					super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, PASSED_GET_STATIC_OF_MUTABLE,
+							executionTracerDescriptor, false);
 				else
 					super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, PASSED_GET_STATIC,
 							executionTracerDescriptor, false);
@@ -95,4 +104,51 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 		}
 		super.visitFieldInsn(opcode, owner, name, desc);
 	}
+
+	/**
+	 * Descriptors of the mutable JDK types whose content can be changed
+	 * through a reference read from a static field. Immutable types of the
+	 * same packages (eg Optional, UUID, Locale) are not listed
+	 */
+	private static final Set<String> MUTABLE_TYPES = new HashSet<>(Arrays.asList(
+			// collection interfaces
+			"Ljava/util/Collection;", "Ljava/util/List;", "Ljava/util/Set;", "Ljava/util/SortedSet;",
+			"Ljava/util/NavigableSet;", "Ljava/util/Queue;", "Ljava/util/Deque;", "Ljava/util/Map;",
+			"Ljava/util/SortedMap;", "Ljava/util/NavigableMap;",
+			// collections
+			"Ljava/util/ArrayList;", "Ljava/util/LinkedList;", "Ljava/util/Vector;", "Ljava/util/Stack;",
+			"Ljava/util/HashSet;", "Ljava/util/LinkedHashSet;", "Ljava/util/TreeSet;", "Ljava/util/EnumSet;",
+			"Ljava/util/BitSet;", "Ljava/util/ArrayDeque;", "Ljava/util/PriorityQueue;",
+			// maps
+			"Ljava/util/HashMap;", "Ljava/util/LinkedHashMap;", "Ljava/util/TreeMap;", "Ljava/util/EnumMap;",
+			"Ljava/util/WeakHashMap;", "Ljava/util/IdentityHashMap;", "Ljava/util/Hashtable;",
+			"Ljava/util/Properties;",
+			// concurrent collections and maps
+			"Ljava/util/concurrent/ConcurrentMap;", "Ljava/util/concurrent/ConcurrentHashMap;",
+			"Ljava/util/concurrent/ConcurrentSkipListMap;", "Ljava/util/concurrent/ConcurrentSkipListSet;",
+			"Ljava/util/concurrent/ConcurrentLinkedQueue;", "Ljava/util/concurrent/ConcurrentLinkedDeque;",
+			"Ljava/util/concurrent/CopyOnWriteArrayList;", "Ljava/util/concurrent/CopyOnWriteArraySet;",
+			"Ljava/util/concurrent/BlockingQueue;", "Ljava/util/concurrent/LinkedBlockingQueue;",
+			"Ljava/util/concurrent/ArrayBlockingQueue;",
+			// atomic holders
+			"Ljava/util/concurrent/atomic/AtomicBoolean;", "Ljava/util/concurrent/atomic/AtomicInteger;",
+			"Ljava/util/concurrent/atomic/AtomicLong;", "Ljava/util/concurrent/atomic/AtomicReference;",
+			// dates
+			"Ljava/util/Date;", "Ljava/util/Calendar;", "Ljava/util/GregorianCalendar;",
+			// buffers
+			"Ljava/lang/StringBuilder;", "Ljava/lang/StringBuffer;"));
+
+	/**
+	 * Arrays, collections and the other mutable JDK types whose content
+	 * can be changed through a reference read from a static field. Objects of
+	 * SUT types are not considered, as their state is in instance fields whose
+	 * writes are not static writes
+	 *
+	 * @param desc
+	 *            the type descriptor of the field
+	 * @return whether the field refers to a mutable object
+	 */
+	static boolean isMutableType(String desc) {
+		return desc.startsWith("[") || MUTABLE_TYPES.contains(desc);
+	}
 }
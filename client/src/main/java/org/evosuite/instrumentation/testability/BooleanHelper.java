@@ -27,7 +27,7 @@ import java.util.Map;
 import java.util.Stack;
 
 import org.evosuite.Properties;
-import org.evosuite.seeding.ConstantPoolManager;
+import org.evosuite.testcase.execution.ExecutionTracer;
 import org.objectweb.asm.Opcodes;
 
 /**
@@ -138,7 +138,7 @@ public class BooleanHelper {
 	 */
 	public static int doubleSubG(double d1, double d2) {
 		if (d1 == d2) {
-			ConstantPoolManager.getInstance().addDynamicConstant(d1);
+			ExecutionTracer.addDynamicConstant(d1);
 			return 0;
 		} else {
 			// Bytecode spec: If either number is NaN, the integer 1 is pushed onto the stack
@@ -152,7 +152,7 @@ public class BooleanHelper {
 
 	public static int doubleSubL(double d1, double d2) {
 		if (d1 == d2) {
-			ConstantPoolManager.getInstance().addDynamicConstant(d1);
+			ExecutionTracer.addDynamicConstant(d1);
 			return 0;
 		} else {
 			// Bytecode spec: If either number is NaN, the integer -1 is pushed onto the stack
@@ -178,8 +178,8 @@ public class BooleanHelper {
 		if(d3 == 0)
 			d3 = (int)Math.signum(diff);
 
-		ConstantPoolManager.getInstance().addDynamicConstant(d1);
-		ConstantPoolManager.getInstance().addDynamicConstant(d2);
+		ExecutionTracer.addDynamicConstant(d1);
+		ExecutionTracer.addDynamicConstant(d2);
 		return d3;
 	}
 	/**
@@ -193,7 +193,7 @@ public class BooleanHelper {
 	 */
 	public static int floatSubG(float f1, float f2) {
 		if (f1 == f2) {
-			ConstantPoolManager.getInstance().addDynamicConstant(f1);
+			ExecutionTracer.addDynamicConstant(f1);
 			return 0;
 		} else {
 			// Bytecode spec: If either number is NaN, the integer 1 is pushed onto the stack
@@ -207,7 +207,7 @@ public class BooleanHelper {
 
 	public static int floatSubL(float f1, float f2) {
 		if (f1 == f2) {
-			ConstantPoolManager.getInstance().addDynamicConstant(f1);
+			ExecutionTracer.addDynamicConstant(f1);
 			return 0;
 		} else {
 			// Bytecode spec: If either number is NaN, the integer -1 is pushed onto the stack
@@ -228,8 +228,8 @@ public class BooleanHelper {
 		int d3 = (int) Math.ceil(Integer.MAX_VALUE * diff2);
 		if(d3 == 0)
 			d3 = (int)Math.signum(diff);
-		ConstantPoolManager.getInstance().addDynamicConstant(f1);
-		ConstantPoolManager.getInstance().addDynamicConstant(f2);
+		ExecutionTracer.addDynamicConstant(f1);
+		ExecutionTracer.addDynamicConstant(f2);
 		return d3;
 	}
 
@@ -265,14 +265,14 @@ public class BooleanHelper {
 	 */
 	public static int longSub(long l1, long l2) {
 		if (l1 == l2) {
-			ConstantPoolManager.getInstance().addDynamicConstant(l1);
+			ExecutionTracer.addDynamicConstant(l1);
 			return 0;
 		} else {
 			double diff = (double)l1 - (double)l2;
 			double diff2 = Math.signum(diff) * Math.abs(diff) / (1.0 + Math.abs(diff));
 			int d3 = (int) Math.ceil(Integer.MAX_VALUE * diff2);
-			ConstantPoolManager.getInstance().addDynamicConstant(l1);
-			ConstantPoolManager.getInstance().addDynamicConstant(l2);
+			ExecutionTracer.addDynamicConstant(l1);
+			ExecutionTracer.addDynamicConstant(l2);
 			return d3;
 		}
 	}
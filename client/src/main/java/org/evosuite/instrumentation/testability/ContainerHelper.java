@@ -19,8 +19,8 @@
  */
 package org.evosuite.instrumentation.testability;
 
-import org.evosuite.seeding.ConstantPoolManager;
 import org.evosuite.setup.TestCluster;
+import org.evosuite.testcase.execution.ExecutionTracer;
 
 import java.util.Collection;
 import java.util.Map;
@@ -80,7 +80,7 @@ public class ContainerHelper {
                                     Math.abs(n1.doubleValue()
                                             - n2.doubleValue()));
                         } else if (o2 instanceof String) {
-                            ConstantPoolManager.getInstance().addDynamicConstant(o1);
+                            ExecutionTracer.addDynamicConstant(o1);
                             min_distance = Math.min(min_distance,
                                     StringHelper.editDistance((String) o1, (String) o2));
                         }
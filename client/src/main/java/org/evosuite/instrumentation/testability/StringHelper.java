@@ -21,7 +21,7 @@ package org.evosuite.instrumentation.testability;
 
 import org.evosuite.Properties;
 import org.evosuite.instrumentation.RegexDistance;
-import org.evosuite.seeding.ConstantPoolManager;
+import org.evosuite.testcase.execution.ExecutionTracer;
 
 import java.lang.reflect.Field;
 import java.util.regex.Matcher;
@@ -139,8 +139,8 @@ public class StringHelper {
         if (first.equals(second)) {
             return BooleanHelper.K; // Identical
         } else {
-            ConstantPoolManager.getInstance().addDynamicConstant(first);
-            ConstantPoolManager.getInstance().addDynamicConstant(second);
+            ExecutionTracer.addDynamicConstant(first);
+            ExecutionTracer.addDynamicConstant(second);
             // return -getDistanceBasedOnLeftAlignment(first, second.toString());
             double distance = -getDistanceBasedOnLeftAlignmentCharacterDistance(first, second.toString());
             double d2 = distance / (1.0 + Math.abs(distance));
@@ -178,10 +178,10 @@ public class StringHelper {
         if (Properties.DYNAMIC_POOL > 0.0) {
             if (distance > 0) {
                 String instance = RegexDistance.getRegexInstance(regex);
-                ConstantPoolManager.getInstance().addDynamicConstant(instance);
+                ExecutionTracer.addDynamicConstant(instance);
             } else {
                 String instance = RegexDistance.getNonMatchingRegexInstance(regex);
-                ConstantPoolManager.getInstance().addDynamicConstant(instance);
+                ExecutionTracer.addDynamicConstant(instance);
             }
         }
 
@@ -197,10 +197,10 @@ public class StringHelper {
         if (Properties.DYNAMIC_POOL > 0.0) {
             if (distance > 0) {
                 String instance = RegexDistance.getRegexInstance(regex);
-                ConstantPoolManager.getInstance().addDynamicConstant(instance);
+                ExecutionTracer.addDynamicConstant(instance);
             } else {
                 String instance = RegexDistance.getNonMatchingRegexInstance(regex);
-                ConstantPoolManager.getInstance().addDynamicConstant(instance);
+                ExecutionTracer.addDynamicConstant(instance);
             }
         }
 
@@ -223,10 +223,10 @@ public class StringHelper {
             if (Properties.DYNAMIC_POOL > 0.0) {
                 if (distance > 0) {
                     String instance = RegexDistance.getRegexInstance(regex);
-                    ConstantPoolManager.getInstance().addDynamicConstant(instance);
+                    ExecutionTracer.addDynamicConstant(instance);
                 } else {
                     String instance = RegexDistance.getNonMatchingRegexInstance(regex);
-                    ConstantPoolManager.getInstance().addDynamicConstant(instance);
+                    ExecutionTracer.addDynamicConstant(instance);
                 }
             }
 
@@ -341,7 +341,7 @@ public class StringHelper {
      */
     public static int StringStartsWith(String value, String prefix, int start) {
         int len = Math.min(prefix.length(), value.length());
-        ConstantPoolManager.getInstance().addDynamicConstant(prefix + value);
+        ExecutionTracer.addDynamicConstant(prefix + value);
         return StringEquals(value.substring(start, Math.min(start + len, value.length())), prefix);
     }
 
@@ -359,7 +359,7 @@ public class StringHelper {
     public static int StringEndsWith(String value, String suffix) {
         int len = Math.min(suffix.length(), value.length());
         String val1 = value.substring(value.length() - len);
-        ConstantPoolManager.getInstance().addDynamicConstant(value + suffix);
+        ExecutionTracer.addDynamicConstant(value + suffix);
         return StringEquals(val1, suffix);
     }
 
@@ -434,8 +434,8 @@ public class StringHelper {
             String sn1 = s1.substring(0, thisStart) + sub2
                     + s1.substring(thisStart + length);
             String sn2 = s2.substring(0, start) + sub1 + s2.substring(start + length);
-            ConstantPoolManager.getInstance().addDynamicConstant(sn1);
-            ConstantPoolManager.getInstance().addDynamicConstant(sn2);
+            ExecutionTracer.addDynamicConstant(sn1);
+            ExecutionTracer.addDynamicConstant(sn2);
         }
 
         return StringEquals(s1.substring(thisStart, Math.min(length + thisStart, s1.length())),
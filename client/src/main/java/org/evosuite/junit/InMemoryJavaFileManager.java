@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+/**
+ * File manager that reads the sources to compile from strings and keeps the
+ * generated bytecode in memory, so that tests can be compiled and loaded
+ * without touching the disk. Dependencies are still resolved from the
+ * classpath by the underlying standard file manager.
+ */
+class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	/** Source code of a class to compile */
+	static class SourceFile extends SimpleJavaFileObject {
+
+		private final String className;
+
+		private final String code;
+
+		SourceFile(String className, String code) {
+			super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
+					Kind.SOURCE);
+			this.className = className;
+			this.code = code;
+		}
+
+		public String getClassName() {
+			return className;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return code;
+		}
+	}
+
+	private class ClassFile extends SimpleJavaFileObject {
+
+		private final String className;
+
+		ClassFile(String className) {
+			super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension),
+					Kind.CLASS);
+			this.className = className;
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return new ByteArrayOutputStream() {
+				@Override
+				public void close() {
+					classBytes.put(className, toByteArray());
+				}
+			};
+		}
+	}
+
+	/** Generated bytecode, keyed by binary class name, in generation order */
+	private final Map<String, byte[]> classBytes = new LinkedHashMap<>();
+
+	InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+			FileObject sibling) {
+		return new ClassFile(className);
+	}
+
+	public Map<String, byte[]> getClassBytes() {
+		return Collections.unmodifiableMap(classBytes);
+	}
+}
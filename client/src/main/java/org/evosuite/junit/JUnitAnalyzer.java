@@ -29,11 +29,11 @@ import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject;
-import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
 import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
+import org.evosuite.Properties.OutputGranularity;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
 import org.evosuite.classpath.ClassPathHandler;
@@ -63,15 +63,12 @@ public class JUnitAnalyzer {
 
 	private static int dirCounter = 0;
 
-	private static final String JAVA = ".java";
-	private static final String CLASS = ".class";
-
 	
 	private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 	
 	/**
-	 * Try to compile each test separately, and remove the ones that cannot be
-	 * compiled
+	 * Compile all the tests, each one in its own class, and remove the ones
+	 * that cannot be compiled
 	 * 
 	 * @param tests
 	 */
@@ -83,6 +80,55 @@ public class JUnitAnalyzer {
 			return;
 		}
 
+		if(!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+			return;
+		}
+
+		/*
+		 * All tests are compiled in a single task. As each test is in its own
+		 * compilation unit, the errors can be traced back to the tests that
+		 * caused them
+		 */
+		String name = getNewTestSuiteName();
+		Map<String, String> sources = generateSources(tests, name, OutputGranularity.TESTCASE);
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		if (compileTests(sources, diagnostics) != null) {
+			return; //everything compiles
+		}
+
+		SortedSet<Integer> failing = new TreeSet<>();
+		boolean allErrorsInTests = true;
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+				continue;
+			}
+			int index = getIndexOfTest(name, diagnostic.getSource());
+			if (index < 0 || index >= tests.size()) {
+				allErrorsInTests = false;
+			} else {
+				failing.add(index);
+			}
+		}
+
+		if (!allErrorsInTests || failing.isEmpty()) {
+			/*
+			 * eg, an error in the scaffolding, or no error reported at all. Not
+			 * much we can do here besides checking each test on its own
+			 */
+			logger.warn("Cannot determine which tests fail to compile, checking them separately");
+			removeTestsThatDoNotCompileSeparately(tests);
+			return;
+		}
+
+		// remove from the end, so that the indices of the remaining ones do not change
+		for (int index : failing.descendingSet()) {
+			TestCase test = tests.remove(index);
+			logger.error("Failed to compile test case:\n" + test.toCode());
+		}
+	}
+
+	private static void removeTestsThatDoNotCompileSeparately(List<TestCase> tests) {
+
 		Iterator<TestCase> iter = tests.iterator();
 
 		while (iter.hasNext()) {
@@ -92,35 +138,38 @@ public class JUnitAnalyzer {
 
 			TestCase test = iter.next();
 
-			File dir = createNewTmpDir();
-			if (dir == null) {
-				logger.warn("Failed to create tmp dir");
-				return;
-			}
-			logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
-			try {
-				List<TestCase> singleList = new ArrayList<TestCase>();
-				singleList.add(test);
-				List<File> generated = compileTests(singleList, dir);
-				if (generated == null) {
-					iter.remove();
-					String code = test.toCode();
-					logger.error("Failed to compile test case:\n" + code);
-				}
-			} finally {
-				//let's be sure we clean up all what we wrote on disk
-				if (dir != null) {
-					try {
-						FileUtils.deleteDirectory(dir);
-						logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-					} catch (Exception e) {
-						logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
-					}
-				}
+			List<TestCase> singleList = new ArrayList<TestCase>();
+			singleList.add(test);
+			Map<String, String> sources = generateSources(singleList, getNewTestSuiteName(),
+					OutputGranularity.MERGED);
+			if (compileTests(sources, new DiagnosticCollector<JavaFileObject>()) == null) {
+				iter.remove();
+				String code = test.toCode();
+				logger.error("Failed to compile test case:\n" + code);
 			}
+		}
+	}
 
-		} // end of while
+	/**
+	 * @return the index of the test compiled from the given source, if it was
+	 *         generated with {@link OutputGranularity#TESTCASE}, or -1 if the
+	 *         source is not a test (eg, the scaffolding)
+	 */
+	private static int getIndexOfTest(String testSuiteName, JavaFileObject source) {
+		if (!(source instanceof InMemoryJavaFileManager.SourceFile)) {
+			return -1;
+		}
+		String className = ((InMemoryJavaFileManager.SourceFile) source).getClassName();
+		String simpleName = className.substring(className.lastIndexOf('.') + 1);
+		String prefix = testSuiteName + "_";
+		if (!simpleName.startsWith(prefix)) {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(simpleName.substring(prefix.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
 	}
 
 	/**
@@ -143,16 +192,11 @@ public class JUnitAnalyzer {
 			return numUnstable;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.error("Failed to create tmp dir");
-			return numUnstable;
-		}
-		logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			Map<String, String> sources = generateSources(tests, getNewTestSuiteName(),
+					Properties.OUTPUT_GRANULARITY);
+			Map<String, byte[]> compiled = compileTests(sources, new DiagnosticCollector<JavaFileObject>());
+			if (compiled == null) {
 				/*
 				 * Note: in theory this shouldn't really happen, as check for compilation
 				 * is done before calling this method
@@ -168,14 +212,14 @@ public class JUnitAnalyzer {
 
             // Create a new classloader so that each test gets freshly loaded classes
 			loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(sources.keySet(), compiled);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return numUnstable;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (result.wasSuccessful()) {
 				return numUnstable; //everything is OK
@@ -254,24 +298,13 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return numUnstable;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (Exception e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
-
 		}
 
 		//if we arrive here, then it means at least one test was unstable
 		return numUnstable;
 	}
 
-	private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+	private static JUnitResult runTests(Class<?>[] testClasses)
 	        throws JUnitExecutionException {
 		return runJUnitOnCurrentProcess(testClasses);
 	}
@@ -340,94 +373,106 @@ public class JUnitAnalyzer {
 	// EvoSuite classloader, and thus cannot easily be re-loaded
 	private static int NUM = 0;
 
-	private static List<File> compileTests(List<TestCase> tests, File dir) {
-
-		TestSuiteWriter suite = new TestSuiteWriter();
-		suite.insertAllTests(tests);
-
+	private static String getNewTestSuiteName() {
         //to get name, remove all package before last '.'
         int beginIndex = Properties.TARGET_CLASS.lastIndexOf(".") + 1;
 		String name = Properties.TARGET_CLASS.substring(beginIndex);
 		name += "_" +(NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX ; //postfix
+		return name;
+	}
 
-		try {
-			//now generate the JUnit test case
-			List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-			for (File file : generated) {
-				if (!file.exists()) {
-					logger.error("Supposed to generate " + file
-					        + " but it does not exist");
-					return null;
-				}
-			}
+	/**
+	 * @return the source code of the test suite, keyed by fully qualified
+	 *         class name
+	 */
+	private static Map<String, String> generateSources(List<TestCase> tests, String name,
+	        OutputGranularity granularity) {
 
-			//try to compile the test cases
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			if (compiler == null) {
-				logger.error("No Java compiler is available");
-				return null;
-			}
+		TestSuiteWriter suite = new TestSuiteWriter();
+		suite.insertAllTests(tests);
+
+		String packagePrefix = Properties.CLASS_PREFIX;
+		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+			packagePrefix += ".";
+		}
+
+		Map<String, String> sources = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : suite.generateTestSuite(name, Collections.emptyList(),
+		        granularity).entrySet()) {
+			sources.put(packagePrefix + entry.getKey(), entry.getValue());
+		}
+		return sources;
+	}
 
-			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
-			Locale locale = Locale.getDefault();
-			Charset charset = Charset.forName("UTF-8");
-			StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-			                                                                      locale,
-			                                                                      charset);
+	/**
+	 * Compile the given sources in memory, in a single compilation task
+	 * 
+	 * @param sources
+	 *            source code keyed by fully qualified class name
+	 * @param diagnostics
+	 *            where to report the compilation errors
+	 * @return the bytecode of all the generated classes (including inner
+	 *         ones) keyed by binary name, or {@code null} if the compilation
+	 *         failed
+	 */
+	private static Map<String, byte[]> compileTests(Map<String, String> sources,
+	        DiagnosticCollector<JavaFileObject> diagnostics) {
 
-			Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			logger.error("No Java compiler is available");
+			return null;
+		}
 
-			List<String> optionList = new ArrayList<>();
-			String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-			if(JarPathing.containsAPathingJar(evosuiteCP)){
-				evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-			}
+		List<JavaFileObject> compilationUnits = new ArrayList<>();
+		for (Map.Entry<String, String> entry : sources.entrySet()) {
+			compilationUnits.add(new InMemoryJavaFileManager.SourceFile(entry.getKey(), entry.getValue()));
+		}
 
-			String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-			if(JarPathing.containsAPathingJar(targetProjectCP)){
-				targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-			}
+		String classpath = getClassPath();
 
-			String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+		List<String> optionList = new ArrayList<>();
+		optionList.addAll(Arrays.asList("-classpath", classpath));
+		// tests do not need annotation processing, and processors would try to write to disk
+		optionList.add("-proc:none");
 
-			optionList.addAll(Arrays.asList("-classpath", classpath));
+		Locale locale = Locale.getDefault();
+		Charset charset = Charset.forName("UTF-8");
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+		        compiler.getStandardFileManager(diagnostics, locale, charset))) {
 
 			CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
 			                                        optionList, null, compilationUnits);
 			boolean compiled = task.call();
-			fileManager.close();
 
 			if (!compiled) {
-				logger.error("Compilation failed on compilation units: "+ compilationUnits);
-				logger.error("Classpath: "+classpath);
-				//TODO remove
-				logger.error("evosuiteCP: "+evosuiteCP);
+				logger.error("Compilation failed on " + compilationUnits.size() + " compilation units");
+				logger.error("Classpath: " + classpath);
 
-
-				for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-					if (diagnostic.getMessage(null).startsWith("error while writing")) {
-						logger.error("Error is due to file permissions, ignoring...");
-						return generated;
-					}
-					logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+				Set<String> withErrors = new LinkedHashSet<>();
+				for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+					String unit = diagnostic.getSource() == null ? "" : diagnostic.getSource().getName();
+					logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": " + unit + ":"
 					        + diagnostic.getLineNumber());
+					if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+					        && diagnostic.getSource() instanceof InMemoryJavaFileManager.SourceFile) {
+						withErrors.add(((InMemoryJavaFileManager.SourceFile) diagnostic.getSource()).getClassName());
+					}
 				}
 
-				StringBuffer buffer = new StringBuffer();
-				for (JavaFileObject sourceFile : compilationUnits) {
-					List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
-
-					buffer.append(compilationUnits.iterator().next().toString()+"\n");
-
-					for (int i = 0; i < lines.size(); i++) {
-						buffer.append((i + 1) + ": " + lines.get(i) +"\n");
+				StringBuilder buffer = new StringBuilder();
+				for (String className : withErrors) {
+					buffer.append(className + "\n");
+					String[] lines = sources.get(className).split("\\R");
+					for (int i = 0; i < lines.length; i++) {
+						buffer.append((i + 1) + ": " + lines[i] + "\n");
 					}
 				}
 				logger.error(buffer.toString());
 				return null;
 			}
 
-			return generated;
+			return new LinkedHashMap<>(fileManager.getClassBytes());
 
 		} catch (IOException e) {
 			logger.error("" + e, e);
@@ -435,6 +480,20 @@ public class JUnitAnalyzer {
 		}
 	}
 
+	private static String getClassPath() {
+		String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+		if(JarPathing.containsAPathingJar(evosuiteCP)){
+			evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+		}
+
+		String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		if(JarPathing.containsAPathingJar(targetProjectCP)){
+			targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+		}
+
+		return targetProjectCP + File.pathSeparator + evosuiteCP;
+	}
+
 	protected static File createNewTmpDir() {
 		File dir = null;
 		String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
@@ -456,7 +515,16 @@ public class JUnitAnalyzer {
 		return dir;
 	}
 
-	private static Class<?>[] loadTests(List<File> tests) {
+	/**
+	 * Load all the compiled classes in the current {@code loader}
+	 * 
+	 * @param testClassNames
+	 *            the top-level classes that were compiled
+	 * @param compiled
+	 *            bytecode of all the compiled classes, keyed by binary name
+	 * @return the test classes, ie the top-level ones that are not scaffolding
+	 */
+	private static Class<?>[] loadTests(Collection<String> testClassNames, Map<String, byte[]> compiled) {
 
 		/*
 		 * Ideally, when we run a generated test case, it
@@ -470,67 +538,44 @@ public class JUnitAnalyzer {
 		 * non-instrumenting classloader to re-load the CUT, and so see
 		 * if the JavaAgent works properly.
 		 */
-		Class<?>[] testClasses = getClassesFromFiles(tests);
-		List<File> otherClasses = listOnlyFiles(tests);
+
 		/*
-		 * this is important to force the loading of all files generated
-		 * in the target folder.
-		 * If we do not do that, then we will miss all the anonymous classes 
+		 * first load only the scaffolding classes
 		 */
-		getClassesFromFiles(otherClasses);
-
-		return testClasses;
-	}
-
-	private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException{
-		if(tests==null || tests.isEmpty()){
-			return null;
-		}
-
-		Set<String> classNames = new LinkedHashSet<>();
-		
-		File parentFolder = tests.get(0).getParentFile();
-		for(File file : tests){
-			if(!file.getParentFile().equals(parentFolder)){
-				throw new IllegalArgumentException("Tests file are not in the same folder");
+		for (String className : testClassNames) {
+			if (isScaffolding(className)) {
+				loadClass(className, compiled.get(className));
 			}
-			classNames.add(removeFileExtension(file.getName()));
 		}
-		
+
+		List<Class<?>> classes = new ArrayList<>();
+
 		/*
-		 * if we already loaded a CUT due to its .java, do not want
-		 * to re-loaded it for a .class file that is in the same folder
+		 * once the scaffoldings are loaded, we can load the tests that
+		 * depend on them 
 		 */
-		
-		List<File> otherClasses = new LinkedList<>();
-		
-		for(File file : parentFolder.listFiles()){
-			String  name = removeFileExtension(file.getName());
-
-			if(classNames.contains(name)){
+		for (String className : testClassNames) {
+			if (isScaffolding(className)) {
 				continue;
 			}
-			
-			classNames.add(name);
-			otherClasses.add(file);
-		}
-		
-		return otherClasses;
-	}
-	
-
-	private static String removeFileExtension(String str) {
-		if (str == null) {
-			return null;
+			Class<?> clazz = loadClass(className, compiled.get(className));
+			if (clazz != null) {
+				classes.add(clazz);
+			}
 		}
 
-		int pos = str.lastIndexOf(".");
-
-		if (pos == -1) {
-			return str;
+		/*
+		 * this is important to force the loading of all the other compiled
+		 * classes, as they are not on the classpath.
+		 * If we do not do that, then we will miss all the anonymous classes 
+		 */
+		for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+			if (!testClassNames.contains(entry.getKey())) {
+				loadClass(entry.getKey(), entry.getValue());
+			}
 		}
 
-		return str.substring(0, pos);
+		return classes.toArray(new Class<?>[classes.size()]);
 	}
 
 	/**
@@ -543,8 +588,7 @@ public class JUnitAnalyzer {
 	 * </p>
 	 * 
 	 * <p>
-	 * Here we compile to a tmp folder, load and execute the test cases, and
-	 * then clean up (ie delete all generated files).
+	 * Here we compile in memory, and then load and execute the test cases.
 	 * </p>
 	 * 
 	 * @param tests
@@ -558,29 +602,25 @@ public class JUnitAnalyzer {
 			return true;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.warn("Failed to create tmp dir");
-			return false;
-		}
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			Map<String, String> sources = generateSources(tests, getNewTestSuiteName(),
+					Properties.OUTPUT_GRANULARITY);
+			Map<String, byte[]> compiled = compileTests(sources, new DiagnosticCollector<JavaFileObject>());
+			if (compiled == null) {
 				logger.warn("Failed to compile the test cases ");
 				return false;
 			}
 
 			//as last step, execute the generated/compiled test cases
 
-			Class<?>[] testClasses = loadTests(generated);
+			Class<?>[] testClasses = loadTests(sources.keySet(), compiled);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return false;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (!result.wasSuccessful()) {
 				logger.error("" + result.getFailureCount() + " test cases failed");
@@ -604,15 +644,6 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return false;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (IOException e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
 		}
 
 		logger.debug("Successfully compiled and run test cases generated for "
@@ -620,89 +651,22 @@ public class JUnitAnalyzer {
 		return true;
 	}
 
-	/**
-	 * Given a list of files representing .java/.class classes, load them (it
-	 * assumes the classpath to be correctly set)
-	 * 
-	 * @param files
-	 * @return
-	 */
-	private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-		/*
-		 * first load only the scaffolding files
-		 */
-		for (File file : files) {
-			if(!isScaffolding(file)){
-				continue;
-			}
-			loadClass(file);			
-		}
-		
-		List<Class<?>> classes = new ArrayList<>();
-		
-		/*
-		 * once the scaffoldings are loaded, we can load the tests that
-		 * depend on them 
-		 */
-		for (File file : files) {
-			if(isScaffolding(file)){
-				continue;
-			}
-			Class<?> clazz = loadClass(file);
-			if(clazz != null){
-				classes.add(clazz);
-			}
-		}
-		
-		return classes.toArray(new Class<?>[classes.size()]);
-	}
-
-	private static boolean isScaffolding(File file){
-		String name = file.getName();
-		return name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+JAVA) || 
-				name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+CLASS);
+	private static boolean isScaffolding(String className){
+		return className.endsWith("_"+Properties.SCAFFOLDING_SUFFIX);
 	}
 	
-	private static Class<?> loadClass(File file){
-		if (!file.isFile()) {
-			return null;
-		}
-
-		String packagePrefix = Properties.CLASS_PREFIX;
-		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-			packagePrefix += ".";
-		}
-
-		String name = file.getName();
-
-		if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-			/*
-			 * this could happen when we scan a folder for all src/compiled
-			 * files
-			 */
+	private static Class<?> loadClass(String className, byte[] bytes){
+		if (bytes == null) {
+			logger.error("No bytecode was generated for " + className);
 			return null;
 		}
 
-		String fileName = file.getAbsolutePath();
-
-		if (name.endsWith(JAVA)) {
-			name = name.substring(0, name.length() - JAVA.length());
-			fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-		} else {
-			assert name.endsWith(CLASS);
-			name = name.substring(0, name.length() - CLASS.length());
-		}
-
-		String className = packagePrefix + name;
-
 		Class<?> testClass = null;
 		try {
 			logger.info("Loading class " + className);
-			//testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-			testClass = loader.loadClassFromFile(className,fileName);
+			testClass = loader.loadClassFromBytes(className, bytes);
 		} catch (ClassNotFoundException e) {
-			logger.error("Failed to load test case " + className + " from file "
-			        + file.getAbsolutePath() + " , error " + e, e);
+			logger.error("Failed to load test case " + className + " from memory, error " + e, e);
 		}
 		return testClass;
 	}
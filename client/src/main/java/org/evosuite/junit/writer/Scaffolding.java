@@ -714,36 +714,36 @@ public class Scaffolding {
 		// \n");
 
 		bd.append(BLOCK_SPACE);
-		bd.append("" + RuntimeSettings.class.getName() + ".className = \"" + Properties.TARGET_CLASS + "\"; \n");
+		bd.append("" + RuntimeSettings.class.getName() + ".setClassName(\"" + Properties.TARGET_CLASS + "\"); \n");
 
 		bd.append(BLOCK_SPACE);
 		bd.append("" + GuiSupport.class.getName() + ".initialize(); \n");
 
 		if (Properties.REPLACE_CALLS) {
 			bd.append(BLOCK_SPACE);
-			bd.append("" + RuntimeSettings.class.getName() + ".maxNumberOfThreads = " + Properties.MAX_STARTED_THREADS
-					+ "; \n");
+			bd.append("" + RuntimeSettings.class.getName() + ".setMaxNumberOfThreads(" + Properties.MAX_STARTED_THREADS
+					+ "); \n");
 		}
 
 		bd.append(BLOCK_SPACE);
-		bd.append("" + RuntimeSettings.class.getName() + ".maxNumberOfIterationsPerLoop = "
-				+ Properties.MAX_LOOP_ITERATIONS + "; \n");
+		bd.append("" + RuntimeSettings.class.getName() + ".setMaxNumberOfIterationsPerLoop("
+				+ Properties.MAX_LOOP_ITERATIONS + "); \n");
 
 		if (Properties.REPLACE_SYSTEM_IN) {
 			bd.append(BLOCK_SPACE);
-			bd.append(RuntimeSettings.class.getName() + ".mockSystemIn = true; \n");
+			bd.append(RuntimeSettings.class.getName() + ".setMockSystemIn(true); \n");
 		}
 
 		if (Properties.REPLACE_GUI) {
 			bd.append(BLOCK_SPACE);
-			bd.append(RuntimeSettings.class.getName() + ".mockGUI = true; \n");
+			bd.append(RuntimeSettings.class.getName() + ".setMockGUI(true); \n");
 		}
 
 		if (Properties.RESET_STATIC_FIELDS || wasSecurityException) {
 			// need to setup the Sandbox mode
 			bd.append(BLOCK_SPACE);
-			bd.append(RuntimeSettings.class.getName() + ".sandboxMode = " + Sandbox.SandboxMode.class.getCanonicalName()
-					+ "." + Properties.SANDBOX_MODE + "; \n");
+			bd.append(RuntimeSettings.class.getName() + ".setSandboxMode(" + Sandbox.SandboxMode.class.getCanonicalName()
+					+ "." + Properties.SANDBOX_MODE + "); \n");
 
 			bd.append(BLOCK_SPACE);
 			bd.append(Sandbox.class.getName() + ".initializeSecurityManagerForSUT(); \n");
@@ -185,6 +185,38 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
+        Map<String, String> sources = generateTestSuite(name, cachedResults, Properties.OUTPUT_GRANULARITY);
+
+        List<File> generated = new ArrayList<File>();
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        StringBuilder content = new StringBuilder();
+
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(dir + "/" + source.getKey() + ".java"); // e.g., dir/Foo_ESTest_0.java
+            FileIOUtils.writeFile(source.getValue(), file);
+            content.append(source.getValue());
+            generated.add(file);
+        }
+
+        writeCoveredGoalsFile();
+
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content.toString());
+        return generated;
+    }
+
+    /**
+     * Create the source code of the JUnit test suite for class, without
+     * writing anything to disk
+     *
+     * @param name        Name of the class
+     * @param granularity whether all tests go in the same class, or each one in
+     *                    its own class named after its index
+     * @return the source code of each generated class, keyed by its simple
+     * name, with the scaffolding (if any) last
+     */
+    public Map<String, String> generateTestSuite(String name, List<ExecutionResult> cachedResults,
+                                                 OutputGranularity granularity) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -195,9 +227,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<File>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
+        Map<String, String> sources = new LinkedHashMap<>();
 
         // Execute all tests
         executor.newObservers();
@@ -240,37 +270,24 @@ public class TestSuiteWriter implements Opcodes {
         removeAssertionsAfterException(results);
 
 
-        if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
+        if (granularity == OutputGranularity.MERGED || testCases.size() == 0) {
             //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
+            sources.put(name, getUnitTestsAllInSameFile(name, results));
         } else {
             for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
                 //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
-                generated.add(file);
+                sources.put(name + "_" + i, getOneUnitTestInAFile(name, i, results));
             }
         }
 
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
-            content += scaffoldingContent;
+            sources.put(scaffoldingName, scaffoldingContent);
         }
 
-        writeCoveredGoalsFile();
-
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
-        return generated;
+        return sources;
     }
 
     /**
@@ -346,7 +363,9 @@ public class TestSuiteWriter implements Opcodes {
     }
 
     /**
-     * Create JUnit file for given class name
+     * Create JUnit file for given class name. Imports and scaffolding only
+     * depend on the given test, so that the file compiles if and only if the
+     * test does
      *
      * @param name   Name of the class file
      * @param testId a int.
@@ -354,14 +373,15 @@ public class TestSuiteWriter implements Opcodes {
      */
     private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results) {
 
+        List<ExecutionResult> testResults = Collections.singletonList(results.get(testId));
         boolean wasSecurityException = results.get(testId).hasSecurityException();
 
         StringBuilder builder = new StringBuilder();
 
-        builder.append(getHeader(name + "_" + testId, name, results));
+        builder.append(getHeader(name + "_" + testId, name, testResults));
 
         if (!Properties.TEST_SCAFFOLDING) {
-            builder.append(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
+            builder.append(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, testResults));
         }
 
         builder.append(testToString(testId, testId, results.get(testId)));
@@ -415,7 +435,7 @@ public class TestSuiteWriter implements Opcodes {
         	visitor.clearExceptions();
         	visitor.setExceptions(result.exposeExceptionMapping());
             result.test.accept(visitor);
-            imports.addAll(visitor.getImports());
+            imports.addAll(visitor.getImportsOfTest());
             accessedClasses.addAll(result.test.getAccessedClasses());
             if(!hasException)
             	hasException = !result.noThrownExceptions();
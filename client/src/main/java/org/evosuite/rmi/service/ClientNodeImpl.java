@@ -29,11 +29,9 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections.list.SynchronizedList;
@@ -56,6 +54,8 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsBatch;
+import org.evosuite.testcase.TestChromosome;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
@@ -100,7 +100,17 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 
 	protected final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
 
-	private final BlockingQueue<OutputVariable> outputVariableQueue = new LinkedBlockingQueue<>();
+	/**
+	 * Statistics not yet sent to master. A new batch is started each time one
+	 * is sent
+	 */
+	private StatisticsBatch pendingStatistics = new StatisticsBatch();
+
+	/** Guards pendingStatistics */
+	private final Object statisticsLock = new Object();
+
+	/** Held while sending, so that batches arrive in order */
+	private final Object statisticsSendLock = new Object();
 
 	private Collection<Set<? extends Chromosome>> bestSolutions;
 	
@@ -119,17 +129,6 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		this.bestSolutions = Collections.synchronizedList(new ArrayList<>(Properties.NUM_PARALLEL_CLIENTS));
 	}
 
-	private static class OutputVariable {
-		public RuntimeVariable variable;
-		public Object value;
-
-		public OutputVariable(RuntimeVariable variable, Object value) {
-			super();
-			this.variable = variable;
-			this.value = value;
-		}
-	}
-
 	@Override
 	public void startNewSearch() throws RemoteException, IllegalStateException {
 		if (!state.equals(ClientState.NOT_STARTED)) {
@@ -212,17 +211,29 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
     public void emigrate(Set<? extends Chromosome> immigrants) {
         try {
             logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + immigrants.size() + " immigrants");
-            masterNode.evosuite_migrate(clientRmiIdentifier, immigrants);
+            masterNode.evosuite_migrate(clientRmiIdentifier, toCompactSet(immigrants));
         } catch (RemoteException e) {
             logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send immigrating individuals to master", e);
         }
     }
 
+    /**
+     * Tests are sent in compact form, other chromosomes with plain Java
+     * serialization
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<? extends Chromosome> toCompactSet(Set<? extends Chromosome> chromosomes) {
+        if (chromosomes.isEmpty() || !CompactTestChromosomeSet.canHold(chromosomes)) {
+            return chromosomes;
+        }
+        return new CompactTestChromosomeSet((Collection<TestChromosome>) chromosomes);
+    }
+
     @Override
     public void sendBestSolution(Set<? extends Chromosome> solutions) {
         try {
             logger.debug(ClientProcess.getPrettyPrintIdentifier() + "sending best solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
-            masterNode.evosuite_collectBestSolutions(clientRmiIdentifier, solutions);
+            masterNode.evosuite_collectBestSolutions(clientRmiIdentifier, toCompactSet(solutions));
         } catch (RemoteException e) {
             logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send best solution to master", e);
         }
@@ -243,6 +254,9 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 
 		TimeController.getInstance().updateState(state);
 
+		// master may write statistics or stop this client on state changes
+		sendPendingStatistics();
+
 		try {
 			masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state,information);
 		} catch (RemoteException e) {
@@ -262,10 +276,9 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 	public void updateStatistics(Chromosome individual) {
 		logger.info("Sending current best individual to master process");
 
-		try {
-			masterNode.evosuite_collectStatistics(clientRmiIdentifier, individual);
-		} catch (RemoteException e) {
-			logger.error("Cannot inform master of change of state", e);
+		long time = System.currentTimeMillis();
+		synchronized (statisticsLock) {
+			pendingStatistics.addIndividual(individual, time);
 		}
 	}
 
@@ -273,6 +286,7 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 	public void flushStatisticsForClassChange() {
 		logger.info("Flushing output variables to master process");
 
+		sendPendingStatistics();
 		try {
 			masterNode.evosuite_flushStatisticsForClassChange(clientRmiIdentifier);
 		} catch (RemoteException e) {
@@ -296,10 +310,37 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		logger.info("Sending output variable to master process: "+variable+" = "+value);
 
 		/*
-		 * As this code might be called from unsafe blocks, we just put the values
-		 * on a queue, and have a privileged thread doing the RMI connection to master
+		 * As this code might be called from unsafe blocks, we just buffer the values,
+		 * and have a privileged thread doing the RMI connection to master
 		 */
-		outputVariableQueue.offer(new OutputVariable(variable, value));
+		synchronized (statisticsLock) {
+			pendingStatistics.setOutputVariable(variable, value);
+		}
+	}
+
+	/**
+	 * Sends the statistics collected since the last call in one batch
+	 * 
+	 * @return false if master could not be reached
+	 */
+	private boolean sendPendingStatistics() {
+		synchronized (statisticsSendLock) {
+			StatisticsBatch batch;
+			synchronized (statisticsLock) {
+				if (pendingStatistics.isEmpty()) {
+					return true;
+				}
+				batch = pendingStatistics;
+				pendingStatistics = new StatisticsBatch();
+			}
+			try {
+				masterNode.evosuite_collectStatistics(clientRmiIdentifier, batch);
+			} catch (RemoteException e) {
+				logger.error("Error when exporting statistics: " + batch.getEntries(), e);
+				return false;
+			}
+			return true;
+		}
 	}
 
     @Override
@@ -347,16 +388,7 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 	public void stop(){
 		if(statisticsThread!=null){
 			statisticsThread.interrupt();
-			List<OutputVariable> vars = new ArrayList<>();
-			outputVariableQueue.drainTo(vars);
-			for(OutputVariable ov : vars) {
-				try {
-					masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-				} catch (RemoteException e) {
-					logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
-					break;
-				}
-			}
+			sendPendingStatistics();
 
 			try {
 				statisticsThread.join(3000);
@@ -381,14 +413,12 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 				@Override
 				public void run() {
 					while (!this.isInterrupted()) {
-						OutputVariable ov = null;
 						try {
-							ov = outputVariableQueue.take(); //this is blocking
-							masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+							Thread.sleep(Properties.STATISTICS_BATCH_INTERVAL);
 						} catch (InterruptedException e) {
 							break;
-						} catch (RemoteException e) {
-							logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
+						}
+						if (!sendPendingStatistics()) {
 							break;
 						}
 					}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.testcase.CompactTestCaseReader;
+import org.evosuite.testcase.CompactTestCaseWriter;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+
+/**
+ * Set of test chromosomes that is sent between the client and master nodes in
+ * the format of {@link CompactTestCaseWriter}, rather than as Java serialized
+ * chromosome graphs including execution results.
+ *
+ * <p>
+ * Only the tests are transferred, so the receiver needs to evaluate the
+ * chromosomes again. The tests are only decoded when the set is first
+ * accessed, so the master node can relay a set without loading the SUT classes.
+ */
+public class CompactTestChromosomeSet extends AbstractSet<TestChromosome> implements Serializable {
+
+	private static final long serialVersionUID = 2867416371094185642L;
+
+	private transient Set<TestChromosome> chromosomes;
+
+	/** The encoded tests, if the set was received and not yet decoded */
+	private transient byte[] encoded;
+
+	public CompactTestChromosomeSet(Collection<TestChromosome> chromosomes) {
+		this.chromosomes = new LinkedHashSet<>(chromosomes);
+	}
+
+	/**
+	 * @param chromosomes
+	 * @return true if the chromosomes can be sent as a
+	 *         {@link CompactTestChromosomeSet}
+	 */
+	public static boolean canHold(Collection<? extends Chromosome> chromosomes) {
+		for (Chromosome chromosome : chromosomes) {
+			if (!(chromosome instanceof TestChromosome)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private synchronized Set<TestChromosome> getChromosomes() {
+		if (chromosomes == null) {
+			chromosomes = new LinkedHashSet<>();
+			try (CompactTestCaseReader reader = new CompactTestCaseReader(new ByteArrayInputStream(encoded))) {
+				TestCase test = reader.read();
+				while (test != null) {
+					TestChromosome chromosome = new TestChromosome();
+					chromosome.setTestCase(test);
+					chromosomes.add(chromosome);
+					test = reader.read();
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot decode received tests", e);
+			}
+			encoded = null;
+		}
+		return chromosomes;
+	}
+
+	@Override
+	public Iterator<TestChromosome> iterator() {
+		return getChromosomes().iterator();
+	}
+
+	@Override
+	public int size() {
+		return getChromosomes().size();
+	}
+
+	@Override
+	public boolean add(TestChromosome chromosome) {
+		return getChromosomes().add(chromosome);
+	}
+
+	private synchronized void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		byte[] bytes = encoded;
+		if (bytes == null) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (CompactTestCaseWriter writer = new CompactTestCaseWriter(out)) {
+				for (TestChromosome chromosome : chromosomes) {
+					writer.write(chromosome.getTestCase());
+				}
+			}
+			bytes = out.toByteArray();
+		}
+		oos.writeInt(bytes.length);
+		oos.write(bytes);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		encoded = new byte[ois.readInt()];
+		ois.readFully(encoded);
+	}
+}
@@ -34,6 +34,13 @@ public class ConstantPoolManager {
 	private static ConstantPoolManager instance = new ConstantPoolManager();
 
 	private ConstantPool[] pools;
+
+	/**
+	 * The dynamic pool if it can take primitive values without boxing them,
+	 * null otherwise
+	 */
+	private DynamicConstantPool primitiveDynamicPool;
+
 	private double[] probabilities;
 
 	/*
@@ -55,6 +62,9 @@ public class ConstantPoolManager {
 					new DynamicConstantVariableProbabilityPool()};
 		}
 
+		primitiveDynamicPool = pools[DYNAMIC_POOL_INDEX] instanceof DynamicConstantPool
+				? (DynamicConstantPool) pools[DYNAMIC_POOL_INDEX] : null;
+
 		initDefaultProbabilities();
 	}
 
@@ -102,6 +112,34 @@ public class ConstantPoolManager {
 		pools[DYNAMIC_POOL_INDEX].add(value);
 	}
 
+	public void addDynamicConstant(int value) {
+		if (primitiveDynamicPool != null)
+			primitiveDynamicPool.add(value);
+		else
+			pools[DYNAMIC_POOL_INDEX].add(value);
+	}
+
+	public void addDynamicConstant(long value) {
+		if (primitiveDynamicPool != null)
+			primitiveDynamicPool.add(value);
+		else
+			pools[DYNAMIC_POOL_INDEX].add(value);
+	}
+
+	public void addDynamicConstant(float value) {
+		if (primitiveDynamicPool != null)
+			primitiveDynamicPool.add(value);
+		else
+			pools[DYNAMIC_POOL_INDEX].add(value);
+	}
+
+	public void addDynamicConstant(double value) {
+		if (primitiveDynamicPool != null)
+			primitiveDynamicPool.add(value);
+		else
+			pools[DYNAMIC_POOL_INDEX].add(value);
+	}
+
 	public ConstantPool getConstantPool() {
 		double p = Randomness.nextDouble();
 		double k = 0d;
@@ -21,6 +21,7 @@ package org.evosuite.seeding;
 
 import org.evosuite.Properties;
 import org.evosuite.utils.DefaultRandomAccessQueue;
+import org.evosuite.utils.PrimitiveRandomAccessQueue;
 import org.evosuite.utils.RandomAccessQueue;
 import org.objectweb.asm.Type;
 
@@ -34,13 +35,17 @@ public class DynamicConstantPool implements ConstantPool {
 
 	private final RandomAccessQueue<Type> typePool = new DefaultRandomAccessQueue<>();
 
-	private final RandomAccessQueue<Integer> intPool = new DefaultRandomAccessQueue<>();
+	/*
+	 * Numbers are kept unboxed, see PrimitiveRandomAccessQueue, as they are
+	 * added on every executed branch
+	 */
+	private final PrimitiveRandomAccessQueue intPool = new PrimitiveRandomAccessQueue();
 
-	private final RandomAccessQueue<Double> doublePool = new DefaultRandomAccessQueue<>();
+	private final PrimitiveRandomAccessQueue doublePool = new PrimitiveRandomAccessQueue();
 
-	private final RandomAccessQueue<Long> longPool = new DefaultRandomAccessQueue<>();
+	private final PrimitiveRandomAccessQueue longPool = new PrimitiveRandomAccessQueue();
 
-	private final RandomAccessQueue<Float> floatPool = new DefaultRandomAccessQueue<>();
+	private final PrimitiveRandomAccessQueue floatPool = new PrimitiveRandomAccessQueue();
 
 	public DynamicConstantPool() {
 		/*
@@ -54,8 +59,8 @@ public class DynamicConstantPool implements ConstantPool {
 		}
 		intPool.restrictedAdd(0);
 		longPool.restrictedAdd(0L);
-		floatPool.restrictedAdd(0.0f);
-		doublePool.restrictedAdd(0.0);
+		floatPool.restrictedAdd(Float.floatToIntBits(0.0f));
+		doublePool.restrictedAdd(Double.doubleToLongBits(0.0));
 	}
 
 	/* (non-Javadoc)
@@ -76,7 +81,7 @@ public class DynamicConstantPool implements ConstantPool {
 	 */
 	@Override
 	public int getRandomInt() {
-		return intPool.getRandomValue();
+		return (int) intPool.getRandomValue();
 	}
 
 	/* (non-Javadoc)
@@ -84,7 +89,7 @@ public class DynamicConstantPool implements ConstantPool {
 	 */
 	@Override
 	public float getRandomFloat() {
-		return floatPool.getRandomValue();
+		return Float.intBitsToFloat((int) floatPool.getRandomValue());
 	}
 
 	/* (non-Javadoc)
@@ -92,7 +97,7 @@ public class DynamicConstantPool implements ConstantPool {
 	 */
 	@Override
 	public double getRandomDouble() {
-		return doublePool.getRandomValue();
+		return Double.longBitsToDouble(doublePool.getRandomValue());
 	}
 
 	/* (non-Javadoc)
@@ -126,41 +131,57 @@ public class DynamicConstantPool implements ConstantPool {
 		}
 
 		else if (object instanceof Integer) {
-			if (Properties.RESTRICT_POOL) {
-				int val = (Integer) object;
-				if (Math.abs(val) < Properties.MAX_INT) {
-					intPool.restrictedAdd((Integer) object);
-				}
-			} else {
-				intPool.restrictedAdd((Integer) object);
-			}
+			add(((Integer) object).intValue());
 		} else if (object instanceof Long) {
-			if (Properties.RESTRICT_POOL) {
-				long val = (Long) object;
-				if (Math.abs(val) < Properties.MAX_INT) {
-					longPool.restrictedAdd((Long) object);
-				}
-			} else {
-				longPool.restrictedAdd((Long) object);
-			}
+			add(((Long) object).longValue());
 		} else if (object instanceof Float) {
-			if (Properties.RESTRICT_POOL) {
-				float val = (Float) object;
-				if (Math.abs(val) < Properties.MAX_INT) {
-					floatPool.restrictedAdd((Float) object);
-				}
-			} else {
-				floatPool.restrictedAdd((Float) object);
-			}
+			add(((Float) object).floatValue());
 		} else if (object instanceof Double) {
-			if (Properties.RESTRICT_POOL) {
-				double val = (Double) object;
-				if (Math.abs(val) < Properties.MAX_INT) {
-					doublePool.restrictedAdd((Double) object);
-				}
-			} else {
-				doublePool.restrictedAdd((Double) object);
-			}
+			add(((Double) object).doubleValue());
+		}
+	}
+
+	/**
+	 * Adds an int without boxing it
+	 * 
+	 * @param val
+	 */
+	public void add(int val) {
+		if (!Properties.RESTRICT_POOL || Math.abs(val) < Properties.MAX_INT) {
+			intPool.restrictedAdd(val);
+		}
+	}
+
+	/**
+	 * Adds a long without boxing it
+	 * 
+	 * @param val
+	 */
+	public void add(long val) {
+		if (!Properties.RESTRICT_POOL || Math.abs(val) < Properties.MAX_INT) {
+			longPool.restrictedAdd(val);
+		}
+	}
+
+	/**
+	 * Adds a float without boxing it
+	 * 
+	 * @param val
+	 */
+	public void add(float val) {
+		if (!Properties.RESTRICT_POOL || Math.abs(val) < Properties.MAX_INT) {
+			floatPool.restrictedAdd(Float.floatToIntBits(val));
+		}
+	}
+
+	/**
+	 * Adds a double without boxing it
+	 * 
+	 * @param val
+	 */
+	public void add(double val) {
+		if (!Properties.RESTRICT_POOL || Math.abs(val) < Properties.MAX_INT) {
+			doublePool.restrictedAdd(Double.doubleToLongBits(val));
 		}
 	}
 
@@ -171,10 +192,23 @@ public class DynamicConstantPool implements ConstantPool {
 		res += "typePool=" + typePool.toString() + " ; ";
 		res += "intPool=" + intPool.toString() + " ; ";
 		res += "longPool=" + longPool.toString() + " ; ";
-		res += "floatPool=" + floatPool.toString() + " ; ";
-		res += "doublePool=" + doublePool.toString() + "}";	
+		res += "floatPool=" + toString(floatPool, true) + " ; ";
+		res += "doublePool=" + toString(doublePool, false) + "}";	
 		return res;
 	}
 
+	private static String toString(PrimitiveRandomAccessQueue pool, boolean isFloat) {
+		StringBuilder res = new StringBuilder("[");
+		for (int i = 0; i < pool.size(); i++) {
+			if (i > 0)
+				res.append(", ");
+			if (isFloat)
+				res.append(Float.intBitsToFloat((int) pool.get(i)));
+			else
+				res.append(Double.longBitsToDouble(pool.get(i)));
+		}
+		return res.append("]").toString();
+	}
+
 	
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.PackageInfo;
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache for the results of analysing the classpath, shared by all
+ * EvoSuite processes that use the same {@link Properties#ANALYSIS_CACHE_DIR}.
+ *
+ * <p>
+ * Entries are addressed by a hash of the classpath state they were computed
+ * from: the path, size and modification time of every jar and class file. The
+ * EvoSuite version, and the content of the bundled resources the data is
+ * derived from, are part of the hash too. Hence, a changed classpath or an
+ * upgraded EvoSuite simply leads to a new entry, and stale entries are never
+ * read. Entries are written to a temporary file first and then moved in
+ * place, so that concurrent clients never see partial files.
+ */
+public class AnalysisCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(AnalysisCache.class);
+
+	/**
+	 * Bump whenever the format of the cached data changes
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * @return whether the cache is enabled
+	 */
+	public static boolean isEnabled() {
+		return !Properties.ANALYSIS_CACHE_DIR.isEmpty();
+	}
+
+	/**
+	 * Computes the key under which data derived from the given classpath is
+	 * stored.
+	 *
+	 * @param kind
+	 *            the kind of cached data, part of the key
+	 * @param classPath
+	 *            the classpath entries the data is derived from
+	 * @param resources
+	 *            names of the resources bundled with EvoSuite the data is
+	 *            derived from, eg the JDK inheritance tree
+	 * @return a hex string that changes whenever one of the classpath entries
+	 *         or resources, or the EvoSuite version, changes
+	 */
+	public static String getClassPathKey(String kind, List<String> classPath, String... resources) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		update(digest, kind + ":" + FORMAT_VERSION + ":" + PackageInfo.isCurrentlyShaded() + ":" + getVersion());
+		for (String resource : resources) {
+			update(digest, resource);
+			hashResource(digest, resource);
+		}
+		for (String entry : classPath) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			File file = new File(entry).getAbsoluteFile();
+			update(digest, file.getPath());
+			hashFileState(digest, file, file.getPath().length());
+		}
+
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * @return the version of EvoSuite, or "unknown" if not run from a jar
+	 */
+	private static String getVersion() {
+		Package p = AnalysisCache.class.getPackage();
+		String version = p == null ? null : p.getImplementationVersion();
+		return version == null ? "unknown" : version;
+	}
+
+	private static void hashResource(MessageDigest digest, String resource) {
+		try (InputStream in = AnalysisCache.class.getResourceAsStream(resource)) {
+			if (in == null) {
+				update(digest, "<missing>");
+				return;
+			}
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				digest.update(buffer, 0, read);
+			}
+			digest.update((byte) 0);
+		} catch (IOException e) {
+			logger.debug("Could not read resource {}: {}", resource, e.toString());
+			update(digest, "<unreadable>");
+		}
+	}
+
+	private static void hashFileState(MessageDigest digest, File file, int rootLength) {
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children == null) {
+				return;
+			}
+			Arrays.sort(children);
+			for (File child : children) {
+				hashFileState(digest, child, rootLength);
+			}
+		} else if (file.exists()) {
+			update(digest, file.getPath().substring(rootLength) + ":" + file.length() + ":" + file.lastModified());
+		} else {
+			update(digest, "<missing>");
+		}
+	}
+
+	private static void update(MessageDigest digest, String s) {
+		digest.update(s.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * @param kind
+	 *            the kind of cached data
+	 * @param key
+	 *            a key computed by {@link #getClassPathKey(String, List, String...)}
+	 * @return the file holding the entry, which might not exist yet
+	 */
+	public static File getEntry(String kind, String key) {
+		if (!isEnabled()) {
+			throw new IllegalStateException("Analysis cache is not enabled");
+		}
+		return new File(Properties.ANALYSIS_CACHE_DIR, kind + "-" + key);
+	}
+
+	/**
+	 * Stores a new entry by moving the given temporary file in place. If
+	 * another process already stored the same entry, the temporary file is
+	 * simply discarded.
+	 *
+	 * @param tmpFile
+	 *            a fully written file in the cache directory
+	 * @param entry
+	 *            the target entry
+	 */
+	public static void commit(File tmpFile, File entry) {
+		try {
+			Files.move(tmpFile.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.debug("Could not store cache entry {}: {}", entry, e.toString());
+			if (!tmpFile.delete()) {
+				tmpFile.deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * @return a new temporary file in the cache directory, to be passed to
+	 *         {@link #commit(File, File)}
+	 */
+	public static File createTempFile() throws IOException {
+		File dir = new File(Properties.ANALYSIS_CACHE_DIR);
+		if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+			throw new IOException("Cannot create cache directory " + dir);
+		}
+		return File.createTempFile("tmp", ".part", dir);
+	}
+}
@@ -193,6 +193,23 @@ public class InheritanceTree {
 	}
 	
 
+	/**
+	 * @param className
+	 * @return the direct superclass and interfaces of the given class, or an empty set
+	 *         if its supertypes were not analyzed
+	 */
+	public Set<String> getDirectSupertypes(String className) {
+		String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+		Set<String> result = new LinkedHashSet<>();
+		if (!inheritanceGraph.containsVertex(classNameWithDots)) {
+			return result;
+		}
+		for (DefaultEdge edge : inheritanceGraph.incomingEdgesOf(classNameWithDots)) {
+			result.add(inheritanceGraph.getEdgeSource(edge));
+		}
+		return result;
+	}
+
 	public Set<String> getAllClasses() {
 		return inheritanceGraph.vertexSet();
 	}
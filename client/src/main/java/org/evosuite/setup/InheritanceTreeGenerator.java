@@ -21,6 +21,7 @@ package org.evosuite.setup;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -35,6 +36,7 @@ import org.evosuite.classpath.ResourceList;
 import org.evosuite.rmi.ClientServices;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.LoggingUtils;
+import org.evosuite.utils.ParallelUtil;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
@@ -56,6 +58,13 @@ public class InheritanceTreeGenerator {
 	private static final String resourceFolder = "client/src/main/resources/";
 	private static final String jdkFile =  "JDK_inheritance.xml";
 	private static final String shadedJdkFile = "JDK_inheritance_shaded.xml";
+	private static final String CACHE_KIND = "inheritance";
+
+	/**
+	 * Number of classes parsed concurrently before they are added to the tree,
+	 * which bounds the number of class nodes kept in memory
+	 */
+	private static final int PARSE_BATCH_SIZE = 4096;
 
 	/**
 	 * Iterate over items in classpath and analyze them
@@ -76,7 +85,43 @@ public class InheritanceTreeGenerator {
 				                                 "Error loading inheritance tree: {}", e);
 			}
 		}
-		
+
+		if (AnalysisCache.isEnabled()) {
+			return createFromClassPathCached(classPath);
+		}
+		return analyzeClassPath(classPath);
+	}
+
+	/**
+	 * Reads the inheritance tree for the given classpath from the analysis
+	 * cache, or builds and stores it if there is no entry yet
+	 */
+	private static InheritanceTree createFromClassPathCached(List<String> classPath) {
+		File entry = AnalysisCache.getEntry(CACHE_KIND,
+				AnalysisCache.getClassPathKey(CACHE_KIND, classPath, getJDKResourceName()));
+		if (entry.exists()) {
+			try {
+				InheritanceTree tree = readInheritanceTree(entry.getPath());
+				LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() +
+				                                 "Inheritance tree loaded from cache {}", entry);
+				return tree;
+			} catch (IOException | RuntimeException e) {
+				logger.warn("Error loading cached inheritance tree {}: {}", entry, e.toString());
+			}
+		}
+
+		InheritanceTree tree = analyzeClassPath(classPath);
+		try {
+			File tmpFile = AnalysisCache.createTempFile();
+			writeInheritanceTree(tree, tmpFile);
+			AnalysisCache.commit(tmpFile, entry);
+		} catch (IOException e) {
+			logger.warn("Error caching inheritance tree: {}", e.toString());
+		}
+		return tree;
+	}
+
+	private static InheritanceTree analyzeClassPath(List<String> classPath) {
 		logger.debug("Reading JDK data");
 		InheritanceTree inheritanceTree = readJDKData();
         if(inheritanceTree==null){
@@ -84,6 +129,9 @@ public class InheritanceTreeGenerator {
         }
 
 		logger.debug("CP: {}", classPath);
+		final ResourceList resourceList = ResourceList.getInstance(
+				TestGenerationContext.getInstance().getClassLoaderForSUT());
+		List<String> classNames = new ArrayList<>();
 		for (String classPathEntry : classPath) {
 			logger.debug("Looking at CP entry: {}", classPathEntry);
 			if (classPathEntry.isEmpty())
@@ -94,14 +142,31 @@ public class InheritanceTreeGenerator {
 
 			logger.debug("Analyzing classpath entry {}", classPathEntry);
 			LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
-	        for(String className : ResourceList.getInstance(
-					TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false)) {
-	        	// handle individual class
-				analyzeClassStream(inheritanceTree, ResourceList.getInstance(
-						TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className), false);
-	        }
+			classNames.addAll(resourceList.getAllClasses(classPathEntry, "", true, false));
+		}
 
-			// analyze(inheritanceTree, classPathEntry);
+		/*
+		 * Once all entries are registered, getClassAsStream only reads the cache of the
+		 * ResourceList, so the classes can be parsed concurrently. They are added to the
+		 * tree in classpath order though, as the first occurrence of a class wins.
+		 */
+		int threads = ParallelUtil.getNumberOfThreads(Properties.CLASSPATH_SCAN_THREADS);
+		ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+		try {
+			for (int from = 0; from < classNames.size(); from += PARSE_BATCH_SIZE) {
+				List<String> batch = classNames.subList(from, Math.min(classNames.size(), from + PARSE_BATCH_SIZE));
+				List<ClassNode> nodes = ParallelUtil.map(batch,
+						className -> readClassNode(resourceList.getClassAsStream(className)), pool);
+				for (ClassNode cn : nodes) {
+					if (cn != null) {
+						analyzeClassNode(inheritanceTree, cn, false);
+					}
+				}
+			}
+		} finally {
+			if (pool != null) {
+				pool.shutdown();
+			}
 		}
 		return inheritanceTree;
 	}
@@ -233,6 +298,21 @@ public class InheritanceTreeGenerator {
 
 	private static void analyzeClassStream(InheritanceTree inheritanceTree,
 	        InputStream inputStream, boolean onlyPublic) {
+		ClassNode cn = readClassNode(inputStream);
+		if (cn != null) {
+			analyzeClassNode(inheritanceTree, cn, onlyPublic);
+		}
+	}
+
+	/**
+	 * Reads the header of a class (without method bodies), and closes the stream
+	 *
+	 * @return the class node, or null if the class cannot be read
+	 */
+	private static ClassNode readClassNode(InputStream inputStream) {
+		if (inputStream == null) {
+			return null;
+		}
 		try {
 			ClassReader reader = new ClassReader(inputStream);
 			inputStream.close();
@@ -240,14 +320,14 @@ public class InheritanceTreeGenerator {
 			ClassNode cn = new ClassNode();
 			reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
 			        | ClassReader.SKIP_CODE);
-			analyzeClassNode(inheritanceTree, cn, onlyPublic);
-
+			return cn;
 
 		} catch (IOException e) {
 			logger.error("", e);
 		} catch(java.lang.ArrayIndexOutOfBoundsException e) {
 			logger.error("ASM Error while reading class ("+e.getMessage()+")");
 		}
+		return null;
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -437,17 +517,23 @@ public class InheritanceTreeGenerator {
 		}
 	}
 
+	/**
+	 * @return the name of the resource holding the inheritance tree of the JDK
+	 */
+	private static String getJDKResourceName() {
+		if(! PackageInfo.isCurrentlyShaded()) {
+			return "/" + jdkFile;
+		} else {
+			return "/" + shadedJdkFile;
+		}
+	}
+
 	public static InheritanceTree readJDKData() {
 		XStream xstream = new XStream();
 		XStream.setupDefaultSecurity(xstream);
 		xstream.allowTypesByWildcard(new String[] {"org.evosuite.**", "org.jgrapht.**"});
 
-		String fileName;
-		if(! PackageInfo.isCurrentlyShaded()) {
-			fileName = "/" + jdkFile;
-		} else {
-			fileName = "/" + shadedJdkFile;
-		}
+		String fileName = getJDKResourceName();
 
 		InputStream inheritance = InheritanceTreeGenerator.class.getResourceAsStream(fileName);
 
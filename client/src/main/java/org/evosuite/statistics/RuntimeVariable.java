@@ -196,6 +196,12 @@ public enum RuntimeVariable {
 	MutationCoverageBitString,
 	/** The total time EvoSuite spent generating the test cases */
 	Total_Time,
+	/** Number of classes re-initialized (i.e. __STATIC_RESET calls) after test executions */
+	Static_Resets,
+	/** Total time (ms) spent re-initializing classes after test executions */
+	Static_Reset_Time,
+	/** The classes whose re-initialization took most time, as class:resets:ms separated by ';' */
+	Static_Reset_Costs,
 	/** Number of tests in resulting test suite */
 	Size,                
 	/** Total number of statements in final test suite */
@@ -382,6 +388,12 @@ public enum RuntimeVariable {
 	NumberOfUNSATQueries,
 	/** The number of TIMEOUTs when solving queries */ 
 	NumberOfTimeoutQueries,
+	/** The number of Solver queries answered by the solver cache */
+	SolverCacheHits,
+	/** The number of Solver queries that were not in the solver cache */
+	SolverCacheMisses,
+	/** The number of queries evicted from the solver cache to keep it within its bound */
+	SolverCacheEvictions,
 	/** How many SAT queries led to Useful (i.e. better fitness) new tests*/ 
 	NumberOfUsefulNewTests,
 	/** How many SAT queries led to Unuseful (i.e. no better fitness) new tests*/ 
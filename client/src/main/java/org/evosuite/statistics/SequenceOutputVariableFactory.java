@@ -54,7 +54,17 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 	protected abstract T getValue(TestSuiteChromosome individual);
 	
 	public void update(TestSuiteChromosome individual) {
-		timeStamps.add(System.currentTimeMillis() - startTime);
+		update(individual, System.currentTimeMillis());
+	}
+
+	/**
+	 * @param individual
+	 * @param time
+	 *            when the individual was observed, in milliseconds since the
+	 *            epoch
+	 */
+	public void update(TestSuiteChromosome individual, long time) {
+		timeStamps.add(time - startTime);
 		values.add(getValue(individual));
 	}
 	
@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+
+/**
+ * Output variables and timeline samples collected on the client since the
+ * last time statistics were sent to the master, which receives them in a
+ * single call and replays them in the order they were recorded.
+ *
+ * <p>
+ * Updates are only merged where this does not change what the master sees:
+ * an update of an output variable replaces an earlier update of the same
+ * variable if no individual was recorded in between. Of the individuals, only
+ * the last one within each {@link Properties#TIMELINE_INTERVAL} is kept,
+ * together with the time it was observed, as the timeline does not use more
+ * than one sample per interval. It takes the place of the one it replaces at
+ * the end of the batch, after all updates that preceded it. Intervals start at
+ * multiples of {@link Properties#TIMELINE_INTERVAL}.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class StatisticsBatch implements Serializable {
+
+	private static final long serialVersionUID = -2392958384715409611L;
+
+	/**
+	 * Either an update of an output variable or an individual, which the
+	 * master samples the timeline variables for
+	 */
+	public static class Entry implements Serializable {
+
+		private static final long serialVersionUID = 4137519702842741186L;
+
+		private final RuntimeVariable variable;
+
+		private final Object value;
+
+		private final Chromosome individual;
+
+		private final long time;
+
+		private Entry(RuntimeVariable variable, Object value, Chromosome individual, long time) {
+			this.variable = variable;
+			this.value = value;
+			this.individual = individual;
+			this.time = time;
+		}
+
+		public boolean isIndividual() {
+			return individual != null;
+		}
+
+		/** @return the updated variable, or null for an individual */
+		public RuntimeVariable getVariable() {
+			return variable;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+		/** @return the individual, or null for a variable update */
+		public Chromosome getIndividual() {
+			return individual;
+		}
+
+		/**
+		 * @return when the individual was observed, in milliseconds since the
+		 *         epoch
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		@Override
+		public String toString() {
+			return isIndividual() ? "individual@" + time : variable + "=" + value;
+		}
+	}
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	public void setOutputVariable(RuntimeVariable variable, Object value) {
+		for (int i = entries.size() - 1; i >= 0 && !entries.get(i).isIndividual(); i--) {
+			if (entries.get(i).variable == variable) {
+				entries.remove(i);
+				break;
+			}
+		}
+		entries.add(new Entry(variable, value, null, 0));
+	}
+
+	/**
+	 * @param individual
+	 *            the current best individual
+	 * @param time
+	 *            when the individual was observed, in milliseconds since the
+	 *            epoch
+	 */
+	public void addIndividual(Chromosome individual, long time) {
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			Entry entry = entries.get(i);
+			if (entry.isIndividual()) {
+				if (getInterval(entry.time) == getInterval(time)) {
+					entries.remove(i);
+				}
+				break;
+			}
+		}
+		entries.add(new Entry(null, null, individual, time));
+	}
+
+	/**
+	 * Intervals are aligned to multiples of {@link Properties#TIMELINE_INTERVAL},
+	 * so that they do not depend on when the first individual was observed
+	 */
+	private static long getInterval(long time) {
+		return Properties.TIMELINE_INTERVAL > 0 ? time / Properties.TIMELINE_INTERVAL : time;
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * @return the variable updates and individuals, in the order they have to
+	 *         be applied
+	 */
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(entries);
+	}
+}
@@ -19,9 +19,6 @@
  */
 package org.evosuite.statistics;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.evosuite.Properties;
 import org.evosuite.coverage.exception.ExceptionCoverageSuiteFitness;
 import org.evosuite.ga.Chromosome;
@@ -30,53 +27,29 @@ import org.evosuite.ga.metaheuristics.SearchListener;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
 import org.evosuite.rmi.ClientServices;
-import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.testsuite.TestSuiteChromosome;
 
 /**
- * Client-side listener that transmits data to master
+ * Client-side listener that transmits data to master. The data is only
+ * buffered by the client node, which sends it to master in batches from its
+ * own thread, so the search is not blocked by RMI calls
  * 
  * @author gordon
  *
  */
 public class StatisticsListener implements SearchListener {
 
-	private volatile BlockingQueue<Chromosome> individuals = new LinkedBlockingQueue<Chromosome>();
-	
-	private volatile boolean done = false;
-	
 	private volatile double bestFitness = Double.MAX_VALUE;
 	
 	private volatile boolean minimizing = true;
 	
 	private int numFitnessEvaluations = 0;
 	
-	private volatile Thread notifier;
-	
 	/**
 	 * When did we send an individual due to a new generation iteration?
 	 */
 	private volatile long timeFromLastGenerationUpdate = 0;
 	
-	public StatisticsListener() {
-		notifier = new Thread(() -> {
-			// Wait for new element in queue
-			// If there is a new element, then send it to master through RMI
-			while(!done || !individuals.isEmpty()) {
-				Chromosome individual;
-				try {
-					individual = individuals.take();
-					StatisticsSender.sendIndividualToMaster(individual);
-				} catch (InterruptedException e) {
-					done = true;
-				}
-			}
-		});
-		Sandbox.addPrivilegedThread(notifier);
-		notifier.start();
-	}
-
-
 	@Override
 	public void iteration(GeneticAlgorithm<?> algorithm) {
 		
@@ -90,7 +63,7 @@ public class StatisticsListener implements SearchListener {
 			 */
 			timeFromLastGenerationUpdate = System.currentTimeMillis();
 			// Enqueue current best individual
-			individuals.offer(algorithm.getBestIndividual());
+			StatisticsSender.sendIndividualToMaster(algorithm.getBestIndividual());
             // send timeline variable directly
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.TotalExceptionsTimeline, ExceptionCoverageSuiteFitness.getMaxExceptionsCovered());
 		}	
@@ -101,7 +74,7 @@ public class StatisticsListener implements SearchListener {
 		
 		// If the search is finished, we may want to clear the queue and just send the final element?
 		//individuals.clear(); // TODO: Maybe have a check on size
-		individuals.offer(algorithm.getBestIndividual());
+		StatisticsSender.sendIndividualToMaster(algorithm.getBestIndividual());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Statements_Executed, MaxStatementsStoppingCondition.getNumExecutedStatements());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Tests_Executed, MaxTestsStoppingCondition.getNumExecutedTests());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Generations, algorithm.getAge());
@@ -111,13 +84,6 @@ public class StatisticsListener implements SearchListener {
 		if(algorithm.getBestIndividual() instanceof TestSuiteChromosome) {
 			reportTestSuiteResult((TestSuiteChromosome) algorithm.getBestIndividual());
 		}
-		done = true;
-		try {
-			notifier.join(3000);
-		} catch (InterruptedException e) {
-			notifier.interrupt();
-			Thread.currentThread().interrupt();//interrupted flag was reset
-		}
 	}
 	
 	private void reportTestSuiteResult(TestSuiteChromosome testSuite) {
@@ -126,7 +92,6 @@ public class StatisticsListener implements SearchListener {
 
 	@Override
 	public void searchStarted(GeneticAlgorithm<?> algorithm) {
-		done = false;
 		if(algorithm.getFitnessFunction().isMaximizationFunction()) {
 			bestFitness = 0.0;
 			minimizing = false;
@@ -148,13 +113,13 @@ public class StatisticsListener implements SearchListener {
 			if(fitness < bestFitness) {
 				bestFitness = fitness;
 
-				individuals.offer(individual);
+				StatisticsSender.sendIndividualToMaster(individual);
 			}
 		} else {
 			if(fitness > bestFitness) {
 				bestFitness = fitness;
 
-				individuals.offer(individual);				
+				StatisticsSender.sendIndividualToMaster(individual);				
 			}
 		}
 	}
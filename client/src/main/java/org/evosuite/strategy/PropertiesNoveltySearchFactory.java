@@ -13,6 +13,7 @@ import org.evosuite.ga.operators.crossover.CrossOverFunction;
 import org.evosuite.ga.operators.crossover.SinglePointCrossOver;
 import org.evosuite.ga.operators.crossover.SinglePointFixedCrossOver;
 import org.evosuite.ga.operators.crossover.SinglePointRelativeCrossOver;
+import org.evosuite.ga.operators.ranking.EfficientNonDominatedSorting;
 import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
 import org.evosuite.ga.operators.ranking.RankBasedPreferenceSorting;
 import org.evosuite.ga.operators.ranking.RankingFunction;
@@ -112,6 +113,8 @@ public class PropertiesNoveltySearchFactory extends PropertiesSearchAlgorithmFac
       switch (Properties.RANKING_TYPE) {
         case FAST_NON_DOMINATED_SORTING:
           return new FastNonDominatedSorting<>();
+        case EFFICIENT_NON_DOMINATED_SORTING:
+          return new EfficientNonDominatedSorting<>();
         case PREFERENCE_SORTING:
         default:
           return new RankBasedPreferenceSorting<>();
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+
+/**
+ * Partitions a list of constraints into independent subsets: two constraints
+ * are in the same partition iff they are (transitively) connected by shared
+ * variables. A query can then be restricted to the partition of the
+ * constraint it is about, since the other partitions do not constrain any of
+ * its variables.
+ * 
+ * The constraints of a slice keep the order of the original list.
+ */
+public final class ConstraintSlicer {
+
+	private ConstraintSlicer() {
+		/* static methods only */
+	}
+
+	/**
+	 * Returns the constraints in the same partition as the last constraint of
+	 * the list (including itself), or an empty list if the last constraint has
+	 * no variables
+	 * 
+	 * @param constraints
+	 *            a non-empty list of constraints
+	 * @return
+	 */
+	public static List<Constraint<?>> sliceForLast(List<Constraint<?>> constraints) {
+		if (constraints.isEmpty()) {
+			throw new IllegalArgumentException("Cannot slice an empty list of constraints");
+		}
+
+		List<Constraint<?>> list = new ArrayList<Constraint<?>>(constraints);
+		LinkedList<Constraint<?>> slice = new LinkedList<Constraint<?>>();
+
+		int target = list.size() - 1;
+		if (list.get(target).getVariables().isEmpty()) {
+			return slice;
+		}
+
+		int[] parent = computePartitions(list);
+		int root = find(parent, target);
+		for (int i = 0; i < list.size(); i++) {
+			if (find(parent, i) == root) {
+				slice.add(list.get(i));
+			}
+		}
+		return slice;
+	}
+
+	/**
+	 * Union-find over the constraint indexes, joining constraints that share a
+	 * variable
+	 */
+	private static int[] computePartitions(List<Constraint<?>> constraints) {
+		int[] parent = new int[constraints.size()];
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = i;
+		}
+
+		// first constraint seen for each variable
+		Map<Variable<?>, Integer> owner = new HashMap<Variable<?>, Integer>();
+		for (int i = 0; i < parent.length; i++) {
+			for (Variable<?> v : constraints.get(i).getVariables()) {
+				Integer j = owner.get(v);
+				if (j == null) {
+					owner.put(v, i);
+				} else {
+					union(parent, i, j);
+				}
+			}
+		}
+		return parent;
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			// path halving
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parent, int i, int j) {
+		int ri = find(parent, i);
+		int rj = find(parent, j);
+		if (ri != rj) {
+			// keep the earliest constraint as root
+			if (ri < rj) {
+				parent[rj] = ri;
+			} else {
+				parent[ri] = rj;
+			}
+		}
+	}
+}
@@ -11,6 +11,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.evosuite.Properties;
@@ -23,6 +32,7 @@ import org.evosuite.symbolic.expr.bv.IntegerConstant;
 import org.evosuite.symbolic.expr.bv.IntegerVariable;
 import org.evosuite.symbolic.expr.fp.RealVariable;
 import org.evosuite.symbolic.expr.str.StringVariable;
+import org.evosuite.symbolic.solver.SmtSolverSession;
 import org.evosuite.symbolic.solver.SolverResult;
 import org.evosuite.symbolic.vm.ConstraintFactory;
 import org.evosuite.symbolic.vm.ExpressionFactory;
@@ -46,6 +56,24 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
 
   private static final Logger logger = LoggerFactory.getLogger(DSEAlgorithm.class);
 
+  /**
+   * Number of queries submitted to the solver pool ahead of the one the search thread waits for,
+   * per solver thread
+   */
+  private static final int QUERIES_IN_FLIGHT_PER_THREAD = 2;
+
+  /**
+   * Time given to the solver threads, on top of the solver timeout, to close their solver
+   * processes
+   */
+  private static final long SOLVER_SHUTDOWN_GRACE_MILLIS = 1000;
+
+  /**
+   * Solves the queries of a path condition concurrently, null if queries are solved one by one
+   * on the search thread
+   */
+  private transient ExecutorService solverPool = null;
+
   /**
    * A cache of previous results from the constraint solver
    */
@@ -110,6 +138,9 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
       pathConditions.add(constraintsSet);
       logger.debug("Number of stored path condition: " + pathConditions.size());
 
+      List<List<Constraint<?>>> queries = new ArrayList<List<Constraint<?>>>();
+      List<Set<Constraint<?>>> queryKeys = new ArrayList<Set<Constraint<?>>>();
+
       for (int i = pathCondition.size() - 1; i >= 0; i--) {
         logger.debug("negating index " + i + " of path condition");
 
@@ -117,12 +148,12 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
 
         Set<Constraint<?>> constraintSet = canonicalize(query);
 
-        if (queryCache.containsKey(constraintSet)) {
+        if (queryCache.containsKey(constraintSet) || queryKeys.contains(constraintSet)) {
           logger.debug("skipping solving of current query since it is in the query cache");
           continue;
         }
 
-        if (isSubSetOf(constraintSet, queryCache.keySet())) {
+        if (isSubSetOf(constraintSet, queryCache.keySet()) || isSubSetOf(constraintSet, queryKeys)) {
           logger.debug(
               "skipping solving of current query because it is satisfiable and solved by previous path condition");
           continue;
@@ -140,54 +171,70 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
           continue;
         }
 
-        if (this.isFinished()) {
-          logger.debug("DSE test generation met a stopping condition. Exiting with "
-              + generatedTests.size() + " generated test cases for method "
-              + staticEntryMethod.getName());
-          return;
-        }
-
-        logger.debug("Solving query with  " + query.size() + " constraints");
-
         List<Constraint<?>> varBounds = createVarBounds(query);
         query.addAll(varBounds);
 
-        SolverResult result = DSETestGenerator.solve(query);
+        queries.add(query);
+        queryKeys.add(constraintSet);
+      }
 
-        queryCache.put(constraintSet, result);
-        logger.debug("Number of stored entries in query cache : " + queryCache.keySet().size());
+      List<FutureTask<SolverResult>> results = createSolverTasks(queries);
+      int submitted = 0;
+      try {
+        for (int i = 0; i < results.size(); i++) {
 
-        if (result == null) {
-          logger.debug("Solver outcome is null (probably failure/unknown");
-        } else if (result.isSAT()) {
-          logger.debug("query is SAT (solution found)");
-          Map<String, Object> solution = result.getModel();
-          logger.debug("solver found solution " + solution.toString());
+          if (this.isFinished()) {
+            logger.debug("DSE test generation met a stopping condition. Exiting with "
+                + generatedTests.size() + " generated test cases for method "
+                + staticEntryMethod.getName());
+            return;
+          }
 
-          TestCase newTest = DSETestGenerator.updateTest(currentTestCase, solution);
-          logger.debug("Created new test case from SAT solution:" + newTest.toCode());
-          generatedTests.add(newTest);
+          logger.debug("Solving query with  " + queries.get(i).size() + " constraints");
 
-          double fitnessBeforeAddingNewTest = this.getBestIndividual().getFitness();
-          logger.debug("Fitness before adding new test" + fitnessBeforeAddingNewTest);
+          submitted = submitAhead(results, submitted, i);
+          SolverResult result = getResult(results.get(i));
 
-          getBestIndividual().addTest(newTest);
+          queryCache.put(queryKeys.get(i), result);
+          logger.debug("Number of stored entries in query cache : " + queryCache.keySet().size());
 
-          calculateFitness(getBestIndividual());
+          if (result == null) {
+            logger.debug("Solver outcome is null (probably failure/unknown");
+          } else if (result.isSAT()) {
+            logger.debug("query is SAT (solution found)");
+            Map<String, Object> solution = result.getModel();
+            logger.debug("solver found solution " + solution.toString());
 
-          double fitnessAfterAddingNewTest = this.getBestIndividual().getFitness();
-          logger.debug("Fitness after adding new test " + fitnessAfterAddingNewTest);
+            TestCase newTest = DSETestGenerator.updateTest(currentTestCase, solution);
+            logger.debug("Created new test case from SAT solution:" + newTest.toCode());
+            generatedTests.add(newTest);
 
-          this.notifyIteration();
+            double fitnessBeforeAddingNewTest = this.getBestIndividual().getFitness();
+            logger.debug("Fitness before adding new test" + fitnessBeforeAddingNewTest);
 
-          if (fitnessAfterAddingNewTest == 0) {
-            logger.debug("No more DSE test generation since fitness is 0");
-            return;
-          }
+            getBestIndividual().addTest(newTest);
 
-        } else {
-          assert (result.isUNSAT());
-          logger.debug("query is UNSAT (no solution found)");
+            calculateFitness(getBestIndividual());
+
+            double fitnessAfterAddingNewTest = this.getBestIndividual().getFitness();
+            logger.debug("Fitness after adding new test " + fitnessAfterAddingNewTest);
+
+            this.notifyIteration();
+
+            if (fitnessAfterAddingNewTest == 0) {
+              logger.debug("No more DSE test generation since fitness is 0");
+              return;
+            }
+
+          } else {
+            assert (result.isUNSAT());
+            logger.debug("query is UNSAT (no solution found)");
+          }
+        }
+      } finally {
+        // queries not solved yet are not needed anymore
+        for (FutureTask<SolverResult> result : results) {
+          result.cancel(false);
         }
       }
     }
@@ -197,6 +244,101 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
     return;
   }
 
+  /**
+   * Creates one solving task per query. Tasks are submitted to the solver pool, if any, by
+   * {@link #submitAhead(List, int, int)}, otherwise they are run lazily by
+   * {@link #getResult(FutureTask)}
+   * 
+   * @param queries
+   * @return
+   */
+  private List<FutureTask<SolverResult>> createSolverTasks(List<List<Constraint<?>>> queries) {
+    List<FutureTask<SolverResult>> tasks = new ArrayList<FutureTask<SolverResult>>();
+    for (final List<Constraint<?>> query : queries) {
+      FutureTask<SolverResult> task = new FutureTask<SolverResult>(new Callable<SolverResult>() {
+        @Override
+        public SolverResult call() {
+          return DSETestGenerator.solve(query);
+        }
+      });
+      tasks.add(task);
+    }
+    return tasks;
+  }
+
+  /**
+   * Submits the tasks following the current one to the solver pool, so that a bounded number of
+   * queries is solved ahead of the search thread. Queries skipped once a stopping condition is
+   * met are then never sent to a solver
+   * 
+   * @param tasks
+   * @param submitted the number of tasks already submitted
+   * @param current the index of the task the search thread is going to wait for
+   * @return the number of tasks submitted so far
+   */
+  private int submitAhead(List<FutureTask<SolverResult>> tasks, int submitted, int current) {
+    if (solverPool == null) {
+      return submitted;
+    }
+    int limit =
+        Math.min(tasks.size(), current + Properties.DSE_SOLVER_THREADS * QUERIES_IN_FLIGHT_PER_THREAD);
+    for (; submitted < limit; submitted++) {
+      solverPool.execute(tasks.get(submitted));
+    }
+    return submitted;
+  }
+
+  /**
+   * Waits for the result of a solving task, running it on the current thread if no solver
+   * thread has started it yet
+   * 
+   * @param task
+   * @return the solver result, or null if the solver failed
+   */
+  private static SolverResult getResult(FutureTask<SolverResult> task) {
+    task.run();
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException | CancellationException e) {
+      logger.debug("Solver task failed: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * The queries of a path condition can be solved concurrently only with external solvers: the
+   * EvoSuite solver relies on the global random number generator and updates the concrete
+   * values of the symbolic variables while searching
+   * 
+   * @return
+   */
+  private static boolean canSolveConcurrently() {
+    return Properties.DSE_SOLVER_THREADS > 1
+        && (Properties.DSE_SOLVER == Properties.SolverType.Z3_SOLVER
+            || Properties.DSE_SOLVER == Properties.SolverType.CVC4_SOLVER);
+  }
+
+  /**
+   * Stops the solver threads, and waits for them to close their solver processes
+   */
+  private void shutdownSolverPool() {
+    solverPool.shutdownNow();
+    try {
+      long timeout = Properties.DSE_CONSTRAINT_SOLVER_TIMEOUT_MILLIS + SOLVER_SHUTDOWN_GRACE_MILLIS;
+      if (!solverPool.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+        logger.warn("Solver threads did not terminate, closing all solver processes");
+        SmtSolverSession.closeAll();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      SmtSolverSession.closeAll();
+    }
+    solverPool = null;
+  }
+
   protected static HashSet<Constraint<?>> canonicalize(List<Constraint<?>> query) {
     return new HashSet<Constraint<?>>(query);
   }
@@ -416,25 +558,54 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
     Collections.sort(targetStaticMethods, new MethodComparator());
     logger.debug("Found " + targetStaticMethods.size() + " as entry points for DSE");
 
-    for (Method entryMethod : targetStaticMethods) {
+    if (canSolveConcurrently()) {
+      solverPool = Executors.newFixedThreadPool(Properties.DSE_SOLVER_THREADS, new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(final Runnable r) {
+          Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+              try {
+                r.run();
+              } finally {
+                // the solver processes are owned by the thread that started them
+                SmtSolverSession.closeForCurrentThread();
+              }
+            }
+          }, "DSE-solver-" + counter.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        }
+      });
+    }
 
-      if (this.isFinished()) {
-        logger.debug("A stoping condition was met. No more tests can be generated using DSE.");
-        break;
-      }
+    try {
+      for (Method entryMethod : targetStaticMethods) {
 
-      if (getBestIndividual().getFitness() == 0) {
-        logger.debug("Best individual reached zero fitness");
-        break;
-      }
+        if (this.isFinished()) {
+          logger.debug("A stoping condition was met. No more tests can be generated using DSE.");
+          break;
+        }
 
-      logger.debug("Generating tests for entry method" + entryMethod.getName());
-      int testCaseCount = getBestIndividual().getTests().size();
-      generateTestCasesAndAppendToBestIndividual(entryMethod);
-      int numOfGeneratedTestCases = getBestIndividual().getTests().size() - testCaseCount;
-      logger.debug(numOfGeneratedTestCases + " tests were generated for entry method "
-          + entryMethod.getName());
+        if (getBestIndividual().getFitness() == 0) {
+          logger.debug("Best individual reached zero fitness");
+          break;
+        }
+
+        logger.debug("Generating tests for entry method" + entryMethod.getName());
+        int testCaseCount = getBestIndividual().getTests().size();
+        generateTestCasesAndAppendToBestIndividual(entryMethod);
+        int numOfGeneratedTestCases = getBestIndividual().getTests().size() - testCaseCount;
+        logger.debug(numOfGeneratedTestCases + " tests were generated for entry method "
+            + entryMethod.getName());
 
+      }
+    } finally {
+      if (solverPool != null) {
+        shutdownSolverPool();
+      }
     }
 
     this.updateFitnessFunctionsAndValues();
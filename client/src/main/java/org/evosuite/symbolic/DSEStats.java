@@ -214,6 +214,8 @@ public class DSEStats {
 			percentFormat.setMaximumFractionDigits(1);
 			String hit_rate_str = percentFormat.format(SolverCache.getInstance().getHitRate());
 			logger.info(String.format("* DSE)   Cache hit rate: %s", hit_rate_str));
+
+			logger.info(String.format("* DSE)   Evicted queries: %s", SolverCache.getInstance().getNumberOfEvictions()));
 		}
 	}
 
@@ -485,6 +487,13 @@ public class DSEStats {
 
 		trackOutputVariable(RuntimeVariable.NumberOfTimeoutQueries, getTimeouts());
 
+		SolverCache cache = SolverCache.getInstance();
+		trackOutputVariable(RuntimeVariable.SolverCacheHits, cache.getNumberOfHits());
+
+		trackOutputVariable(RuntimeVariable.SolverCacheMisses, cache.getNumberOfAccesses() - cache.getNumberOfHits());
+
+		trackOutputVariable(RuntimeVariable.SolverCacheEvictions, cache.getNumberOfEvictions());
+
 		trackOutputVariable(RuntimeVariable.NumberOfUsefulNewTests, getUsefulTests());
 
 		trackOutputVariable(RuntimeVariable.NumberOfUnusefulNewTests, getUnusefulTests());
@@ -32,6 +32,14 @@ public abstract class AbstractExpression<T> implements Expression<T> {
 
 	private final int size;
 
+	/**
+	 * Structural hash code, computed once on first use. Expressions are
+	 * immutable trees, so hashing them over and over (e.g., as part of
+	 * constraint keys in the solver cache) would only repeat the same
+	 * traversal. Transient because enum hash codes differ across JVMs.
+	 */
+	private transient int hash = 0;
+
 	public AbstractExpression(T concreteValue, int size, boolean containsSymbolicVariable) {
 		this.concreteValue = concreteValue;
 		this.size = size;
@@ -74,6 +82,25 @@ public abstract class AbstractExpression<T> implements Expression<T> {
 		return concreteValue;
 	}
 
+	@Override
+	public final int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = computeHashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * Computes the structural hash code of this expression. It must be
+	 * consistent with {@link #equals(Object)} and must not depend on any
+	 * mutable state.
+	 * 
+	 * @return the hash code of this expression
+	 */
+	protected abstract int computeHashCode();
+
 	@Override
 	public Set<Object> getConstants() {
 		Set<Object> result = new HashSet<Object>();
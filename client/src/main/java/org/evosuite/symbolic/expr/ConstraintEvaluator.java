@@ -16,6 +16,8 @@
  */
 package org.evosuite.symbolic.expr;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
@@ -38,10 +40,27 @@ public class ConstraintEvaluator implements ConstraintVisitor<Object, Void> {
 
   static Logger log = LoggerFactory.getLogger(ConstraintEvaluator.class);
 
+  /**
+   * Values of the variables to use instead of their concrete values
+   */
+  private final Map<String, Object> model;
+
+  public ConstraintEvaluator() {
+    this(Collections.<String, Object>emptyMap());
+  }
+
+  /**
+   * @param model values to use instead of the concrete values of the variables, which are not
+   *        modified, see {@link ExpressionEvaluator#ExpressionEvaluator(Map)}
+   */
+  public ConstraintEvaluator(Map<String, Object> model) {
+    this.model = model;
+  }
+
   @Override
   public Object visit(IntegerConstraint n, Void arg) {
 
-    ExpressionEvaluator visitor = new ExpressionEvaluator();
+    ExpressionEvaluator visitor = new ExpressionEvaluator(model);
     long left = (Long) n.getLeftOperand().accept(visitor, null);
     long right = (Long) n.getRightOperand().accept(visitor, null);
 
@@ -67,7 +86,7 @@ public class ConstraintEvaluator implements ConstraintVisitor<Object, Void> {
 
   @Override
   public Object visit(RealConstraint n, Void arg) {
-    ExpressionEvaluator visitor = new ExpressionEvaluator();
+    ExpressionEvaluator visitor = new ExpressionEvaluator(model);
     double left = (Double) n.getLeftOperand().accept(visitor, null);
     double right = (Double) n.getRightOperand().accept(visitor, null);
 
@@ -95,7 +114,7 @@ public class ConstraintEvaluator implements ConstraintVisitor<Object, Void> {
   @Override
   public Object visit(StringConstraint n, Void arg) {
 
-    ExpressionEvaluator visitor = new ExpressionEvaluator();
+    ExpressionEvaluator visitor = new ExpressionEvaluator(model);
     long left = (Long) n.getLeftOperand().accept(visitor, null);
     long right = (Long) n.getRightOperand().accept(visitor, null);
     Comparator cmpr = n.getComparator();
@@ -18,6 +18,8 @@ package org.evosuite.symbolic.expr;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import org.apache.oro.text.regex.MalformedPatternException;
@@ -73,6 +75,33 @@ public class ExpressionEvaluator implements ExpressionVisitor<Object, Void> {
   private static final long FALSE_VALUE = 0L;
   protected static final Logger log = LoggerFactory.getLogger(ExpressionEvaluator.class);
 
+  /**
+   * Values of the integer, real and string variables to use instead of their concrete values
+   */
+  private final Map<String, Object> model;
+
+  public ExpressionEvaluator() {
+    this(Collections.<String, Object>emptyMap());
+  }
+
+  /**
+   * Evaluates the expressions as if the variables in the model had the given values, without
+   * changing the concrete values of the variables, which can be shared by other threads
+   * 
+   * @param model a solution found by a solver, from variable names to values
+   */
+  public ExpressionEvaluator(Map<String, Object> model) {
+    this.model = model;
+  }
+
+  private Object getValue(Variable<?> v) {
+    String name = v.getName();
+    if (model.containsKey(name)) {
+      return model.get(name);
+    }
+    return v.getConcreteValue();
+  }
+
   @Override
   public Object visit(IntegerBinaryExpression n, Void arg) {
     Long leftLong = (Long) n.getLeftOperand().accept(this, null);
@@ -161,7 +190,7 @@ public class ExpressionEvaluator implements ExpressionVisitor<Object, Void> {
 
   @Override
   public Object visit(IntegerVariable n, Void arg) {
-    return n.getConcreteValue();
+    return getValue(n);
   }
 
   @Override
@@ -502,7 +531,7 @@ public class ExpressionEvaluator implements ExpressionVisitor<Object, Void> {
 
   @Override
   public Object visit(RealVariable n, Void arg) {
-    return n.getConcreteValue();
+    return getValue(n);
   }
 
   @Override
@@ -638,7 +667,7 @@ public class ExpressionEvaluator implements ExpressionVisitor<Object, Void> {
 
   @Override
   public Object visit(StringVariable n, Void arg) {
-    return n.getConcreteValue();
+    return getValue(n);
   }
 
   @Override
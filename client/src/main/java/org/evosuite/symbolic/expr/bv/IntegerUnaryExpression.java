@@ -96,7 +96,7 @@ public final class IntegerUnaryExpression extends AbstractExpression<Long> imple
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.expr.hashCode() + this.op.hashCode();
 	}
 
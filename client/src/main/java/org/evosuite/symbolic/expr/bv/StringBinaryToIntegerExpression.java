@@ -137,7 +137,7 @@ public final class StringBinaryToIntegerExpression extends
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.left.hashCode() + this.op.hashCode()
 				+ this.right.hashCode();
 	}
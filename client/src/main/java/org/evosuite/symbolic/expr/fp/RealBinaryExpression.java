@@ -110,7 +110,7 @@ public final class RealBinaryExpression extends AbstractExpression<Double> imple
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
 	}
 
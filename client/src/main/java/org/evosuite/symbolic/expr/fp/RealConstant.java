@@ -58,7 +58,7 @@ public final class RealConstant extends AbstractExpression<Double> implements Re
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.concreteValue.hashCode();
 	}
 
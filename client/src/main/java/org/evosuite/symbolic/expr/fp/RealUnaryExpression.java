@@ -105,7 +105,7 @@ public final class RealUnaryExpression extends AbstractExpression<Double> implem
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.op.hashCode() + this.getSize() + this.expr.hashCode();
 	}
 
@@ -103,7 +103,7 @@ public final class RealVariable extends AbstractExpression<Double> implements Re
 
 	/** {@inheritDoc} */
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.name.hashCode();
 	}
 
@@ -81,7 +81,7 @@ public final class StringReaderExpr extends AbstractExpression<Long> implements
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return string.hashCode() + readerPosition;
 	}
 
@@ -96,6 +96,14 @@ public abstract class ReferenceExpression extends AbstractExpression<Object> imp
 		this.isInitialized = true;
 	}
 
+	/**
+	 * References are compared by identity
+	 */
+	@Override
+	protected int computeHashCode() {
+		return System.identityHashCode(this);
+	}
+
 	/**
 	 * Prints the reference Id
 	 */
@@ -126,7 +126,7 @@ public final class StringBinaryExpression extends AbstractExpression<String> imp
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
 	}
 
@@ -71,7 +71,7 @@ public final class StringConstant extends AbstractExpression<String> implements
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.concreteValue.hashCode();
 	}
 
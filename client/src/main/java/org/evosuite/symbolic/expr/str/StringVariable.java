@@ -129,7 +129,7 @@ public final class StringVariable extends AbstractExpression<String>
 
   /** {@inheritDoc} */
   @Override
-  public int hashCode() {
+  protected int computeHashCode() {
     return name.hashCode();
   }
 
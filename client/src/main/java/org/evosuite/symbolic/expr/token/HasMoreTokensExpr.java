@@ -78,7 +78,7 @@ public final class HasMoreTokensExpr extends AbstractExpression<Long> implements
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return this.tokenizerExpr.hashCode();
 	}
 
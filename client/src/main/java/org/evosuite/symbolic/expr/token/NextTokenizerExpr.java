@@ -65,7 +65,7 @@ public final class NextTokenizerExpr extends TokenizerExpr {
 	}
 
 	@Override
-	public int hashCode() {
+	protected int computeHashCode() {
 		return tokenizerExpr.hashCode();
 	}
 
@@ -22,8 +22,13 @@ package org.evosuite.symbolic.solver;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.exec.ExecuteException;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
 import org.evosuite.utils.ProcessLauncher;
 import org.evosuite.utils.ProcessTimeoutException;
 
@@ -37,6 +42,34 @@ public abstract class SmtSolver extends Solver {
 		super();
 	}
 
+	/**
+	 * Solves the query using the persistent solver process for
+	 * <code>solverCmd</code> (see {@link SmtSolverSession}), reusing the
+	 * assertions shared with the previous query
+	 * 
+	 * @param solverCmd
+	 *            the command launching the solver in incremental mode
+	 * @param query
+	 * @param timeout
+	 *            the timeout of the solver in milliseconds
+	 * @return the output of the solver
+	 * @throws IOException
+	 * @throws SolverTimeoutException
+	 * @throws SolverErrorException
+	 */
+	protected static String solveInSession(String solverCmd, SmtQuery query, long timeout)
+			throws IOException, SolverTimeoutException, SolverErrorException {
+
+		SmtQueryPrinter printer = new SmtQueryPrinter();
+		List<String> assertions = new ArrayList<String>();
+		for (SmtAssertion assertion : query.getAssertions()) {
+			assertions.add(printer.print(assertion));
+		}
+
+		SmtSolverSession session = SmtSolverSession.getSession(solverCmd, printer.printPreamble(query));
+		return session.solve(printer.printDeclarations(query), assertions, timeout);
+	}
+
 	/**
 	 * 
 	 * @param solverCmd
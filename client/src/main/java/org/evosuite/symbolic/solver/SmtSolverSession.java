@@ -0,0 +1,341 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived SMT solver process that answers a sequence of queries
+ * incrementally.
+ * 
+ * Each assertion of a query is asserted in its own <code>push</code> scope.
+ * When the next query shares a prefix of assertions with the previous one (as
+ * it happens when DSE negates the conditions of a path one after the other),
+ * only the scopes after the common prefix are popped, and only the new
+ * assertions are sent to the solver. Declarations are sent in the scope of
+ * the first assertion pushed after them, so they are dropped together with
+ * it, and sent again only if a later query needs them. The model is only
+ * asked for if the solver answered <code>sat</code>.
+ * 
+ * If the solver does not answer within the hard timeout, the process is
+ * killed and a new one is started for the next query.
+ */
+public final class SmtSolverSession {
+
+	private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+	/**
+	 * Printed by the solver after the answer of each query, so we know when to
+	 * stop reading
+	 */
+	private static final String END_MARKER = "evosuite-end-of-answer";
+
+	/**
+	 * Queued (by identity) once the output of the process is closed
+	 */
+	private static final String EOF = new String("<EOF>");
+
+	/**
+	 * Grace period given to the solver on top of its own timeout before the
+	 * process is killed
+	 */
+	private static final long HARD_TIMEOUT_GRACE_MILLIS = 1000;
+
+	private static final Map<String, SmtSolverSession> sessions = new LinkedHashMap<String, SmtSolverSession>();
+
+	private final String solverCmd;
+
+	private final List<String> initCommands;
+
+	private Process process;
+
+	private Writer stdin;
+
+	private BlockingQueue<String> stdout;
+
+	/**
+	 * The assertions currently on the solver's stack, one per push scope
+	 */
+	private final List<String> assertionStack = new ArrayList<String>();
+
+	/**
+	 * The declarations and definitions made in each push scope, in the same
+	 * order as {@link #assertionStack}
+	 */
+	private final List<List<String>> declarationStack = new ArrayList<List<String>>();
+
+	/**
+	 * Declarations and definitions currently visible on the solver's stack
+	 */
+	private final Set<String> declared = new HashSet<String>();
+
+	private int numberOfProcesses = 0;
+
+	private int numberOfSentAssertions = 0;
+
+	public SmtSolverSession(String solverCmd, List<String> initCommands) {
+		this.solverCmd = solverCmd;
+		this.initCommands = new ArrayList<String>(initCommands);
+	}
+
+	/**
+	 * Returns the session of the current thread for the given solver command
+	 * and initial commands (logic and options), starting a new one if needed.
+	 * Threads solving concurrently get a solver process each
+	 */
+	public static synchronized SmtSolverSession getSession(String solverCmd, List<String> initCommands) {
+		String key = Thread.currentThread().getId() + "\n" + solverCmd + "\n" + initCommands;
+		SmtSolverSession session = sessions.get(key);
+		if (session == null) {
+			session = new SmtSolverSession(solverCmd, initCommands);
+			sessions.put(key, session);
+		}
+		return session;
+	}
+
+	/**
+	 * Terminates the solver processes of the current thread, eg before a
+	 * solver thread ends
+	 */
+	public static synchronized void closeForCurrentThread() {
+		String prefix = Thread.currentThread().getId() + "\n";
+		Iterator<Map.Entry<String, SmtSolverSession>> it = sessions.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, SmtSolverSession> entry = it.next();
+			if (entry.getKey().startsWith(prefix)) {
+				entry.getValue().close();
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Terminates all solver processes
+	 */
+	public static synchronized void closeAll() {
+		for (SmtSolverSession session : sessions.values()) {
+			session.close();
+		}
+		sessions.clear();
+	}
+
+	/**
+	 * Checks the conjunction of the given assertions, and returns what the
+	 * solver printed for <code>(check-sat)</code> and, if the answer was
+	 * <code>sat</code>, for <code>(get-model)</code>
+	 * 
+	 * @param declarations
+	 *            declarations and function definitions needed by the
+	 *            assertions
+	 * @param assertions
+	 *            the assertions of the query
+	 * @param timeout
+	 *            the timeout of the solver in milliseconds
+	 * @return the output of the solver for this query
+	 * @throws IOException
+	 * @throws SolverTimeoutException
+	 *             if the solver did not answer in time. The process is
+	 *             killed
+	 * @throws SolverErrorException
+	 *             if the solver process died
+	 */
+	public synchronized String solve(List<String> declarations, List<String> assertions, long timeout)
+			throws IOException, SolverTimeoutException, SolverErrorException {
+
+		if (process == null) {
+			start();
+		}
+
+		int common = 0;
+		while (common < assertionStack.size() && common < assertions.size()
+				&& assertionStack.get(common).equals(assertions.get(common))) {
+			common++;
+		}
+
+		StringBuilder buff = new StringBuilder();
+		if (assertionStack.size() > common) {
+			buff.append(String.format("(pop %s)\n", assertionStack.size() - common));
+			for (List<String> scoped : declarationStack.subList(common, declarationStack.size())) {
+				declared.removeAll(scoped);
+			}
+			assertionStack.subList(common, assertionStack.size()).clear();
+			declarationStack.subList(common, declarationStack.size()).clear();
+		}
+		for (int i = common; i < assertions.size(); i++) {
+			buff.append("(push 1)\n");
+			List<String> scoped = new ArrayList<String>();
+			if (i == common) {
+				// the assertions of the common prefix only need what is already declared
+				for (String declaration : declarations) {
+					if (declared.add(declaration)) {
+						buff.append(declaration).append("\n");
+						scoped.add(declaration);
+					}
+				}
+			}
+			buff.append(assertions.get(i)).append("\n");
+			assertionStack.add(assertions.get(i));
+			declarationStack.add(scoped);
+			numberOfSentAssertions++;
+		}
+		buff.append("(check-sat)\n");
+		buff.append(String.format("(echo \"%s\")\n", END_MARKER));
+
+		long deadline = System.currentTimeMillis() + timeout + HARD_TIMEOUT_GRACE_MILLIS;
+		send(buff.toString());
+		String answer = readAnswer(deadline);
+		if (!answer.startsWith("sat")) {
+			return answer;
+		}
+		send(String.format("(get-model)\n(echo \"%s\")\n", END_MARKER));
+		return answer + readAnswer(deadline);
+	}
+
+	private void send(String commands) throws SolverErrorException {
+		try {
+			stdin.write(commands);
+			stdin.flush();
+		} catch (IOException e) {
+			logger.debug("Solver process is not accepting input: " + e.getMessage());
+			close();
+			throw new SolverErrorException("Solver process is not accepting input");
+		}
+	}
+
+	private String readAnswer(long deadline) throws SolverTimeoutException, SolverErrorException {
+		StringBuilder answer = new StringBuilder();
+		try {
+			while (true) {
+				long left = deadline - System.currentTimeMillis();
+				String line = left > 0 ? stdout.poll(left, TimeUnit.MILLISECONDS) : null;
+				if (line == null) {
+					logger.debug("Solver stopped due to solver timeout");
+					close();
+					throw new SolverTimeoutException();
+				}
+				if (line == EOF) {
+					logger.debug("Solver process terminated unexpectedly");
+					close();
+					throw new SolverErrorException("Solver process terminated unexpectedly");
+				}
+				if (line.contains(END_MARKER)) {
+					return answer.toString();
+				}
+				answer.append(line).append("\n");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			close();
+			throw new SolverTimeoutException();
+		}
+	}
+
+	private void start() throws IOException {
+		ProcessBuilder builder = new ProcessBuilder(solverCmd.trim().split("\\s+"));
+		builder.redirectErrorStream(true);
+		logger.debug("About to execute command " + solverCmd);
+		process = builder.start();
+		numberOfProcesses++;
+
+		stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+		final BlockingQueue<String> lines = new LinkedBlockingQueue<String>();
+		final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		Thread pump = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						lines.add(line);
+					}
+				} catch (IOException e) {
+					// the process was killed
+				}
+				lines.add(EOF);
+			}
+		}, "SmtSolverSession-output");
+		pump.setDaemon(true);
+		pump.start();
+		stdout = lines;
+
+		StringBuilder buff = new StringBuilder();
+		for (String command : initCommands) {
+			buff.append(command).append("\n");
+		}
+		stdin.write(buff.toString());
+		stdin.flush();
+	}
+
+	/**
+	 * Terminates the solver process. A new one is started by the next query
+	 */
+	public synchronized void close() {
+		if (process == null) {
+			return;
+		}
+		try {
+			stdin.write("(exit)\n");
+			stdin.flush();
+			stdin.close();
+		} catch (IOException e) {
+			// process is already gone
+		}
+		process.destroy();
+		process = null;
+		stdin = null;
+		stdout = null;
+		assertionStack.clear();
+		declarationStack.clear();
+		declared.clear();
+	}
+
+	/**
+	 * Number of solver processes started by this session so far
+	 */
+	public synchronized int getNumberOfProcesses() {
+		return numberOfProcesses;
+	}
+
+	/**
+	 * Number of assertions actually sent to the solver so far
+	 */
+	public synchronized int getNumberOfSentAssertions() {
+		return numberOfSentAssertions;
+	}
+}
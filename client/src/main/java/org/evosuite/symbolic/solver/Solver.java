@@ -157,30 +157,19 @@ public abstract class Solver {
 			throw new IllegalArgumentException("satResult should be SAT");
 		}
 
-		// back-up values
-		Set<Variable<?>> variables = getVariables(constraints);
-		Map<String, Object> initialValues = getConcreteValues(variables);
-		// set new values
-		Map<String, Object> newValues = satResult.getModel();
-		setConcreteValues(variables, newValues);
-
-		try {
-			// check SAT with new values
-			ConstraintEvaluator evaluator = new ConstraintEvaluator();
-			for (Constraint<?> constraint : constraints) {
-				Boolean evaluation = (Boolean) constraint.accept(evaluator, null);
-				if (evaluation == null) {
-					throw new NullPointerException();
-				}
-				if (evaluation == false) {
-					return false;
-				}
+		// check SAT with the new values, without setting them in the variables,
+		// as the constraints may be checked concurrently by other solvers
+		ConstraintEvaluator evaluator = new ConstraintEvaluator(satResult.getModel());
+		for (Constraint<?> constraint : constraints) {
+			Boolean evaluation = (Boolean) constraint.accept(evaluator, null);
+			if (evaluation == null) {
+				throw new NullPointerException();
+			}
+			if (evaluation == false) {
+				return false;
 			}
-			return true;
-		} finally {
-			// restore values
-			setConcreteValues(variables, initialValues);
 		}
+		return true;
 	}
 
 }
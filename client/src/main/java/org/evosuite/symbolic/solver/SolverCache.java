@@ -21,12 +21,53 @@ package org.evosuite.symbolic.solver;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
 
+/**
+ * Caches the answers of the constraint solver.
+ * 
+ * A query is keyed by the set of its constraints, so that queries that only
+ * differ in the order of their constraints (or in duplicated constraints)
+ * share the same entry. The cache is bounded by the total size of the cached
+ * queries (see {@link Properties#DSE_SOLVER_CACHE_SIZE}), and the least
+ * recently used entries are evicted first.
+ */
 public final class SolverCache {
 
+	private static final SolverCache instance = new SolverCache();
+
+	/**
+	 * Access-ordered, so iteration starts from the least recently used entry
+	 */
+	private final LinkedHashMap<Set<Constraint<?>>, SolverResult> cached_solver_results = new LinkedHashMap<Set<Constraint<?>>, SolverResult>(
+			16, 0.75f, true);
+
+	/**
+	 * Sum of the sizes of the constraints of all cached queries
+	 */
+	private long cached_size = 0;
+
+	private int cached_sat_result_count = 0;
+	private int cached_unsat_result_count = 0;
+
+	private int number_of_accesses = 0;
+	private int number_of_hits = 0;
+	private int number_of_evictions = 0;
+
+	private SolverCache() {
+		/* empty constructor */
+	}
+
+	public static SolverCache getInstance() {
+		return instance;
+	}
+
 	/**
 	 * 
 	 * @param solver
@@ -34,8 +75,9 @@ public final class SolverCache {
 	 * @return 
 	 */
 	public SolverResult solve(Solver solver, Collection<Constraint<?>> constraints) {
-		if (hasCachedResult(constraints)) {
-			SolverResult cached_solution = getCachedResult();
+		Set<Constraint<?>> key = new HashSet<Constraint<?>>(constraints);
+		SolverResult cached_solution = getCachedResult(key);
+		if (cached_solution != null) {
 			return cached_solution;
 		}
 
@@ -43,9 +85,9 @@ public final class SolverCache {
 		try {
 			solverResult = solver.solve(constraints);
 			if (solverResult.isUNSAT()) {
-				addUNSAT(constraints, solverResult);
+				addUNSAT(key, solverResult);
 			} else {
-				addSAT(constraints, solverResult);
+				addSAT(key, solverResult);
 			}
 		} catch (SolverTimeoutException | IOException | SolverParseException | SolverEmptyQueryException
 				| SolverErrorException e) {
@@ -56,76 +98,109 @@ public final class SolverCache {
 
 	}
 
-	private static final SolverCache instance = new SolverCache();
-
-	private HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<Collection<Constraint<?>>, SolverResult>();
-	private int cached_sat_result_count = 0;
-	private int cached_unsat_result_count = 0;
-
-	public int getNumberOfUNSATs() {
+	public synchronized int getNumberOfUNSATs() {
 		return cached_unsat_result_count;
 	}
 
-	public int getNumberOfSATs() {
+	public synchronized int getNumberOfSATs() {
 		return cached_sat_result_count;
 	}
 
-	private int number_of_accesses = 0;
-	private int number_of_hits = 0;
+	public synchronized int getNumberOfAccesses() {
+		return number_of_accesses;
+	}
 
-	private SolverCache() {
-		/* empty constructor */
+	public synchronized int getNumberOfHits() {
+		return number_of_hits;
 	}
 
-	public static SolverCache getInstance() {
-		return instance;
+	public synchronized int getNumberOfEvictions() {
+		return number_of_evictions;
 	}
 
-	private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-		cached_solver_results.put(unsat_constraints, unsatResult);
-		cached_unsat_result_count++;
+	/**
+	 * Number of queries currently stored in the cache
+	 */
+	public synchronized int size() {
+		return cached_solver_results.size();
 	}
 
-	private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-		cached_solver_results.put(sat_constraints, satResult);
-		cached_sat_result_count++;
+	public synchronized double getHitRate() {
+		return (double) this.number_of_hits / (double) this.number_of_accesses;
 	}
 
-	private boolean valid_cached_solution = false;
-	private SolverResult cached_solution = null;
+	/**
+	 * Removes all cached results and resets the statistics
+	 */
+	public synchronized void clear() {
+		cached_solver_results.clear();
+		cached_size = 0;
+		cached_sat_result_count = 0;
+		cached_unsat_result_count = 0;
+		number_of_accesses = 0;
+		number_of_hits = 0;
+		number_of_evictions = 0;
+	}
 
-	private boolean hasCachedResult(Collection<Constraint<?>> constraints) {
-		number_of_accesses++;
+	private synchronized void addUNSAT(Set<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
+		if (add(unsat_constraints, unsatResult)) {
+			cached_unsat_result_count++;
+		}
+	}
 
-		if (this.cached_solver_results.containsKey(constraints)) {
-			valid_cached_solution = true;
-			cached_solution = this.cached_solver_results.get(constraints);
-			number_of_hits++;
-			return true;
-		} else {
-			valid_cached_solution = false;
+	private synchronized void addSAT(Set<Constraint<?>> sat_constraints, SolverResult satResult) {
+		if (add(sat_constraints, satResult)) {
+			cached_sat_result_count++;
+		}
+	}
+
+	private boolean add(Set<Constraint<?>> constraints, SolverResult result) {
+		long size = getSize(constraints);
+		if (size > Properties.DSE_SOLVER_CACHE_SIZE) {
+			// would evict everything else, and still not fit
+			return false;
+		}
+
+		SolverResult previous = cached_solver_results.put(constraints, result);
+		if (previous != null) {
+			// the same query was solved twice, e.g. by concurrent callers
 			return false;
 		}
+		cached_size += size;
+
+		Iterator<Set<Constraint<?>>> it = cached_solver_results.keySet().iterator();
+		while (cached_size > Properties.DSE_SOLVER_CACHE_SIZE && it.hasNext()) {
+			Set<Constraint<?>> eldest = it.next();
+			it.remove();
+			cached_size -= getSize(eldest);
+			number_of_evictions++;
+		}
+		return true;
 	}
 
-	public double getHitRate() {
-		return (double) this.number_of_hits / (double) this.number_of_accesses;
+	private static long getSize(Set<Constraint<?>> constraints) {
+		long size = 0;
+		for (Constraint<?> c : constraints) {
+			size += c.getSize();
+		}
+		return size;
 	}
 
 	/**
-	 * If not in cache returns IllegalArgumentException()
+	 * Returns the cached result for the given constraints, or null if the
+	 * query is not in the cache
 	 * 
 	 * @param constraints
 	 * @return
 	 */
-	public SolverResult getCachedResult() {
+	private synchronized SolverResult getCachedResult(Set<Constraint<?>> constraints) {
+		number_of_accesses++;
 
-		if (valid_cached_solution == false) {
-			throw new IllegalArgumentException("The constraint is not cached!");
+		SolverResult cached_solution = this.cached_solver_results.get(constraints);
+		if (cached_solution != null) {
+			number_of_hits++;
 		}
-
-		valid_cached_solution = false;
-		return this.cached_solution;
+		return cached_solution;
 	}
 
 }
@@ -131,12 +131,18 @@ public final class CVC4Solver extends SmtSolver {
 		logger.debug("CVC4 Query:");
 		logger.debug(smtQueryStr);
 
-		String cmd = buildCVC4cmd(cvcTimeout);
-
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
 		try {
-			launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
-			String output = stdout.toString("UTF-8");
+			String output;
+			if (Properties.DSE_INCREMENTAL_SOLVING) {
+				String cmd = buildIncrementalCVC4cmd(cvcTimeout);
+				output = solveInSession(cmd, query, cvcTimeout);
+			} else {
+				String cmd = buildCVC4cmd(cvcTimeout);
+
+				ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+				launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+				output = stdout.toString("UTF-8");
+			}
 
 			if (output.startsWith("unknown")) {
 				logger.debug("timeout reached when using cvc4");
@@ -280,6 +286,21 @@ public final class CVC4Solver extends SmtSolver {
 		return cmd;
 	}
 
+	/**
+	 * Same options as {@link #buildCVC4cmd(long)}, but the process accepts
+	 * push/pop and the time limit applies to each query rather than to the
+	 * whole process
+	 */
+	private static String buildIncrementalCVC4cmd(long cvcTimeout) {
+		String cmd = Properties.CVC4_PATH;
+		cmd += " --rewrite-divk";
+		cmd += " --lang smt";
+		cmd += " --finite-model-find";
+		cmd += " --incremental";
+		cmd += " --tlimit-per=" + cvcTimeout;
+		return cmd;
+	}
+
 	private static boolean hasNonLinearConstraints(Collection<Constraint<?>> constraints) {
 		NonLinearConstraintVisitor v = new NonLinearConstraintVisitor();
 		for (Constraint<?> constraint : constraints) {
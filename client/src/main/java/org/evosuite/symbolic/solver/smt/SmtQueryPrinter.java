@@ -19,20 +19,17 @@
  */
 package org.evosuite.symbolic.solver.smt;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class SmtQueryPrinter {
 
 	public String print(SmtQuery query) {
 		StringBuffer buff = new StringBuffer();
 		buff.append("\n");
 
-		if (query.hasLogic()) {
-			buff.append("(set-logic " + query.getLogic() + ")");
-			buff.append("\n");
-		}
-
-		for (String optionName : query.getOptions()) {
-			String optionValue = query.getOptionValue(optionName);
-			buff.append(String.format("(set-option %s %s)\n", optionName, optionValue));
+		for (String command : printPreamble(query)) {
+			buff.append(command);
 			buff.append("\n");
 		}
 		buff.append("\n");
@@ -74,6 +71,42 @@ public class SmtQueryPrinter {
 
 	}
 
+	/**
+	 * Prints the logic and options of the query, one command per element
+	 */
+	public List<String> printPreamble(SmtQuery query) {
+		List<String> commands = new ArrayList<String>();
+		if (query.hasLogic()) {
+			commands.add("(set-logic " + query.getLogic() + ")");
+		}
+
+		for (String optionName : query.getOptions()) {
+			String optionValue = query.getOptionValue(optionName);
+			commands.add(String.format("(set-option %s %s)", optionName, optionValue));
+		}
+		return commands;
+	}
+
+	/**
+	 * Prints the constant and function declarations and the function
+	 * definitions of the query, one command per element
+	 */
+	public List<String> printDeclarations(SmtQuery query) {
+		List<String> commands = new ArrayList<String>();
+		for (SmtConstantDeclaration constantDeclaration : query.getConstantDeclarations()) {
+			commands.add(print(constantDeclaration));
+		}
+
+		for (SmtFunctionDeclaration functionDeclaration : query.getFunctionDeclarations()) {
+			commands.add(print(functionDeclaration));
+		}
+
+		for (SmtFunctionDefinition functionDefinition : query.getFunctionDefinitions()) {
+			commands.add(print(functionDefinition));
+		}
+		return commands;
+	}
+
 	public String print(SmtAssertion smtAssertion) {
 		SmtExprPrinter printer = new SmtExprPrinter();
 		SmtExpr expr = smtAssertion.getFormula();
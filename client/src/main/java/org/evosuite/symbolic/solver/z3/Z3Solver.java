@@ -92,12 +92,6 @@ public class Z3Solver extends SmtSolver {
 			return emptySAT;
 		}
 
-		SmtQueryPrinter printer = new SmtQueryPrinter();
-		String queryStr = printer.print(query);
-
-		logger.debug("Z3 Query:");
-		logger.debug(queryStr);
-
 		if (Properties.Z3_PATH == null) {
 			String errMsg = "Property Z3_PATH should be setted in order to use the Z3 Solver!";
 			logger.error(errMsg);
@@ -106,15 +100,30 @@ public class Z3Solver extends SmtSolver {
 
 		String z3Cmd = Properties.Z3_PATH + " -smt2 -in ";
 
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
 		String output;
-		try {
-			launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
-			output = stdout.toString("UTF-8");
-		} catch (SolverErrorException ex) {
-			output = stdout.toString("UTF-8");
-			if (!output.startsWith("unsat")) {
-				throw ex;
+		if (Properties.DSE_INCREMENTAL_SOLVING) {
+			output = solveInSession(z3Cmd, query, hard_timeout);
+			if (!output.startsWith("unsat") && output.contains("(error")) {
+				String errMsg = "Z3 reported an error: " + output;
+				logger.debug(errMsg);
+				throw new SolverErrorException(errMsg);
+			}
+		} else {
+			SmtQueryPrinter printer = new SmtQueryPrinter();
+			String queryStr = printer.print(query);
+
+			logger.debug("Z3 Query:");
+			logger.debug(queryStr);
+
+			ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+			try {
+				launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
+				output = stdout.toString("UTF-8");
+			} catch (SolverErrorException ex) {
+				output = stdout.toString("UTF-8");
+				if (!output.startsWith("unsat")) {
+					throw ex;
+				}
 			}
 		}
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Constants of the binary format written by {@link CompactTestCaseWriter} and
+ * read by {@link CompactTestCaseReader}.
+ *
+ * <p>
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by one
+ * record per test and {@link #RECORD_END}. Class names and member signatures
+ * are referenced by their index in a string table: a compact record starts
+ * with the names that are used for the first time, followed by the
+ * length-prefixed statements. For each statement, these are its kind, the type
+ * of its return value and a kind-specific payload, in which variables are
+ * referenced by the position of the statement that defines them. Tests with
+ * statements that have no compact encoding, or with assertions, are stored as
+ * a length-prefixed Java serialized {@link DefaultTestCase} instead.
+ */
+final class CompactTestCaseFormat {
+
+	/** "EVTC" */
+	static final int MAGIC = 0x45565443;
+
+	/** Must be increased on any change to the encoding */
+	static final int VERSION = 1;
+
+	static final byte RECORD_END = 0;
+	static final byte RECORD_COMPACT = 1;
+	static final byte RECORD_SERIALIZED = 2;
+
+	static final byte STATEMENT_NULL = 0;
+	static final byte STATEMENT_BOOLEAN = 1;
+	static final byte STATEMENT_BYTE = 2;
+	static final byte STATEMENT_CHAR = 3;
+	static final byte STATEMENT_SHORT = 4;
+	static final byte STATEMENT_INT = 5;
+	static final byte STATEMENT_LONG = 6;
+	static final byte STATEMENT_FLOAT = 7;
+	static final byte STATEMENT_DOUBLE = 8;
+	static final byte STATEMENT_STRING = 9;
+	static final byte STATEMENT_ENUM = 10;
+	static final byte STATEMENT_CLASS = 11;
+	static final byte STATEMENT_ARRAY = 12;
+	static final byte STATEMENT_CONSTRUCTOR = 13;
+	static final byte STATEMENT_METHOD = 14;
+	static final byte STATEMENT_FIELD = 15;
+	static final byte STATEMENT_ASSIGNMENT = 16;
+
+	static final byte REF_NONE = 0;
+	static final byte REF_STATEMENT = 1;
+	static final byte REF_ARRAY_INDEX = 2;
+	static final byte REF_FIELD = 3;
+	static final byte REF_STATIC_FIELD = 4;
+	static final byte REF_NULL = 5;
+	static final byte REF_CONSTANT = 6;
+
+	static final byte TYPE_NONE = 0;
+	static final byte TYPE_CLASS = 1;
+	static final byte TYPE_PARAMETERIZED = 2;
+	static final byte TYPE_ARRAY = 3;
+	static final byte TYPE_WILDCARD = 4;
+	static final byte TYPE_CLASS_VARIABLE = 5;
+	static final byte TYPE_METHOD_VARIABLE = 6;
+	static final byte TYPE_CONSTRUCTOR_VARIABLE = 7;
+
+	static final byte VALUE_NULL = 0;
+	static final byte VALUE_BOOLEAN = 1;
+	static final byte VALUE_BYTE = 2;
+	static final byte VALUE_CHAR = 3;
+	static final byte VALUE_SHORT = 4;
+	static final byte VALUE_INT = 5;
+	static final byte VALUE_LONG = 6;
+	static final byte VALUE_FLOAT = 7;
+	static final byte VALUE_DOUBLE = 8;
+	static final byte VALUE_STRING = 9;
+
+	private CompactTestCaseFormat() {
+	}
+
+	/**
+	 * Writes a non-negative int in 7-bit groups, so that the small counts and
+	 * indices that make up most of a test take a single byte
+	 */
+	static void writeVarInt(DataOutput out, int value) throws IOException {
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative value: " + value);
+		}
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable-length int");
+	}
+}
@@ -0,0 +1,521 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import static org.evosuite.testcase.CompactTestCaseFormat.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.TestGenerationContext;
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ClassPrimitiveStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.EnumPrimitiveStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BooleanPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BytePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.CharPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.FloatPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.LongPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.ShortPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.ConstantValue;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.NullReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.ParameterizedTypeImpl;
+import org.evosuite.utils.generic.GenericArrayTypeImpl;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.evosuite.utils.generic.WildcardTypeImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads tests written by a {@link CompactTestCaseWriter}, one test at a time.
+ * Classes are loaded with the given class loader, by default the one of the
+ * SUT; tests that refer to classes or members that cannot be found are
+ * skipped.
+ */
+public class CompactTestCaseReader implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(CompactTestCaseReader.class);
+
+	private static final Map<String, Class<?>> PRIMITIVE_CLASSES = new HashMap<>();
+
+	static {
+		for (Class<?> clazz : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class,
+				long.class, float.class, double.class, void.class }) {
+			PRIMITIVE_CLASSES.put(clazz.getName(), clazz);
+		}
+	}
+
+	private final DataInputStream stream;
+
+	private final ClassLoader loader;
+
+	/** The string table, see {@link CompactTestCaseFormat} */
+	private final List<String> names = new ArrayList<>();
+
+	/*
+	 * Resolved classes and members, which are usually shared by many tests
+	 */
+	private final Map<String, Class<?>> classes = new HashMap<>();
+
+	private final Map<String, Method> methods = new HashMap<>();
+
+	private final Map<String, Constructor<?>> constructors = new HashMap<>();
+
+	private final Map<String, Field> fields = new HashMap<>();
+
+	/** The input of the test being decoded */
+	private DataInputStream in;
+
+	private boolean finished = false;
+
+	public CompactTestCaseReader(InputStream in) throws IOException {
+		this(in, TestGenerationContext.getInstance().getClassLoaderForSUT());
+	}
+
+	public CompactTestCaseReader(InputStream in, ClassLoader loader) throws IOException {
+		this.stream = new DataInputStream(in);
+		this.loader = loader;
+		if (stream.readInt() != MAGIC) {
+			throw new IOException("Not a compact test stream");
+		}
+		int version = readVarInt(stream);
+		if (version != VERSION) {
+			throw new IOException("Unsupported version " + version + " of compact test stream, expected "
+					+ VERSION);
+		}
+	}
+
+	/**
+	 * Checks the first bytes of the stream without consuming them
+	 *
+	 * @param in
+	 *            a stream that supports mark and reset
+	 * @return true if the stream was written by a {@link CompactTestCaseWriter}
+	 * @throws IOException
+	 */
+	public static boolean isCompactFormat(InputStream in) throws IOException {
+		if (!in.markSupported()) {
+			throw new IllegalArgumentException("Stream does not support mark");
+		}
+		in.mark(4);
+		try {
+			return new DataInputStream(in).readInt() == MAGIC;
+		} catch (EOFException e) {
+			return false;
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * @return the next test that can be loaded, or null at the end of the
+	 *         stream
+	 * @throws IOException
+	 */
+	public TestCase read() throws IOException {
+		while (!finished) {
+			byte record;
+			try {
+				record = stream.readByte();
+			} catch (EOFException e) {
+				logger.warn("Compact test stream ends without end marker");
+				record = RECORD_END;
+			}
+			switch (record) {
+			case RECORD_END:
+				finished = true;
+				break;
+			case RECORD_COMPACT: {
+				int numNewNames = readVarInt(stream);
+				for (int i = 0; i < numNewNames; i++) {
+					names.add(stream.readUTF());
+				}
+				byte[] bytes = readRecord();
+				in = new DataInputStream(new ByteArrayInputStream(bytes));
+				try {
+					return readTest();
+				} catch (ReflectiveOperationException | RuntimeException | IOException e) {
+					logger.warn("Skipping test that cannot be loaded: " + e);
+				} finally {
+					in = null;
+				}
+				break;
+			}
+			case RECORD_SERIALIZED: {
+				byte[] bytes = readRecord();
+				try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+					TestCase test = (TestCase) objects.readObject();
+					for (Statement statement : test) {
+						statement.changeClassLoader(loader);
+					}
+					return test;
+				} catch (ClassNotFoundException | RuntimeException | IOException e) {
+					logger.warn("Skipping serialized test that cannot be loaded: " + e);
+				}
+				break;
+			}
+			default:
+				throw new IOException("Unknown record type " + record);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		stream.close();
+	}
+
+	private byte[] readRecord() throws IOException {
+		byte[] bytes = new byte[readVarInt(stream)];
+		stream.readFully(bytes);
+		return bytes;
+	}
+
+	private TestCase readTest() throws IOException, ReflectiveOperationException {
+		DefaultTestCase test = new DefaultTestCase();
+		int size = readVarInt(in);
+		for (int i = 0; i < size; i++) {
+			byte kind = in.readByte();
+			GenericClass type = new GenericClass(readType());
+			Statement statement = readStatement(test, kind, type);
+			test.addStatement(statement);
+			VariableReference retval = statement.getReturnValue();
+			if (!retval.getGenericClass().equals(type)) {
+				// e.g. after the type was refined by the test factory
+				retval.setType(type.getType());
+			}
+		}
+		return test;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Statement readStatement(TestCase test, byte kind, GenericClass type)
+			throws IOException, ReflectiveOperationException {
+		switch (kind) {
+		case STATEMENT_NULL:
+			return new NullStatement(test, type.getType());
+		case STATEMENT_BOOLEAN:
+			return new BooleanPrimitiveStatement(test, in.readBoolean());
+		case STATEMENT_BYTE:
+			return new BytePrimitiveStatement(test, in.readByte());
+		case STATEMENT_CHAR:
+			return new CharPrimitiveStatement(test, in.readChar());
+		case STATEMENT_SHORT:
+			return new ShortPrimitiveStatement(test, in.readShort());
+		case STATEMENT_INT:
+			return new IntPrimitiveStatement(test, in.readInt());
+		case STATEMENT_LONG:
+			return new LongPrimitiveStatement(test, in.readLong());
+		case STATEMENT_FLOAT:
+			return new FloatPrimitiveStatement(test, in.readFloat());
+		case STATEMENT_DOUBLE:
+			return new DoublePrimitiveStatement(test, in.readDouble());
+		case STATEMENT_STRING:
+			return new StringPrimitiveStatement(test, in.readBoolean() ? readString() : null);
+		case STATEMENT_ENUM: {
+			Class enumClass = readClass();
+			int ordinal = readVarInt(in);
+			if (ordinal == 0) {
+				return new EnumPrimitiveStatement(test, enumClass);
+			}
+			return new EnumPrimitiveStatement(test, (Enum) enumClass.getEnumConstants()[ordinal - 1]);
+		}
+		case STATEMENT_CLASS:
+			return new ClassPrimitiveStatement(test, readClass());
+		case STATEMENT_ARRAY: {
+			int[] lengths = new int[readVarInt(in)];
+			for (int i = 0; i < lengths.length; i++) {
+				lengths[i] = readVarInt(in);
+			}
+			return new ArrayStatement(test, type.getType(), lengths);
+		}
+		case STATEMENT_CONSTRUCTOR: {
+			GenericClass owner = new GenericClass(readType());
+			List<GenericClass> typeParameters = readTypeParameters();
+			GenericConstructor constructor = new GenericConstructor(readConstructor(), owner);
+			if (!typeParameters.isEmpty()) {
+				constructor.setTypeParameters(typeParameters);
+			}
+			return new ConstructorStatement(test, constructor, readReferences(test));
+		}
+		case STATEMENT_METHOD: {
+			GenericClass owner = new GenericClass(readType());
+			List<GenericClass> typeParameters = readTypeParameters();
+			GenericMethod method = new GenericMethod(readMethod(), owner);
+			if (!typeParameters.isEmpty()) {
+				method.setTypeParameters(typeParameters);
+			}
+			VariableReference callee = readReference(test);
+			return new MethodStatement(test, method, callee, readReferences(test));
+		}
+		case STATEMENT_FIELD: {
+			GenericField field = readField();
+			return new FieldStatement(test, field, readReference(test));
+		}
+		case STATEMENT_ASSIGNMENT: {
+			VariableReference target = readReference(test);
+			return new AssignmentStatement(test, target, readReference(test));
+		}
+		default:
+			throw new IOException("Unknown statement kind " + kind);
+		}
+	}
+
+	private List<GenericClass> readTypeParameters() throws IOException, ReflectiveOperationException {
+		int size = readVarInt(in);
+		List<GenericClass> typeParameters = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			typeParameters.add(new GenericClass(readType()));
+		}
+		return typeParameters;
+	}
+
+	private List<VariableReference> readReferences(TestCase test)
+			throws IOException, ReflectiveOperationException {
+		int size = readVarInt(in);
+		List<VariableReference> references = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			references.add(readReference(test));
+		}
+		return references;
+	}
+
+	private VariableReference readReference(TestCase test) throws IOException, ReflectiveOperationException {
+		byte kind = in.readByte();
+		switch (kind) {
+		case REF_NONE:
+			return null;
+		case REF_STATEMENT:
+			return test.getStatement(readVarInt(in)).getReturnValue();
+		case REF_ARRAY_INDEX: {
+			ArrayReference array = (ArrayReference) readReference(test);
+			int size = readVarInt(in);
+			List<Integer> indices = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				indices.add(readVarInt(in));
+			}
+			return new ArrayIndex(test, array, indices);
+		}
+		case REF_FIELD: {
+			VariableReference source = readReference(test);
+			GenericField field = readField();
+			return new FieldReference(test, field, readType(), source);
+		}
+		case REF_STATIC_FIELD: {
+			GenericField field = readField();
+			return new FieldReference(test, field, readType());
+		}
+		case REF_NULL:
+			return new NullReference(test, readType());
+		case REF_CONSTANT: {
+			GenericClass type = new GenericClass(readType());
+			return new ConstantValue(test, type, readValue(in.readByte()));
+		}
+		default:
+			throw new IOException("Unknown variable kind " + kind);
+		}
+	}
+
+	private Object readValue(byte kind) throws IOException {
+		switch (kind) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_BOOLEAN:
+			return in.readBoolean();
+		case VALUE_BYTE:
+			return in.readByte();
+		case VALUE_CHAR:
+			return in.readChar();
+		case VALUE_SHORT:
+			return in.readShort();
+		case VALUE_INT:
+			return in.readInt();
+		case VALUE_LONG:
+			return in.readLong();
+		case VALUE_FLOAT:
+			return in.readFloat();
+		case VALUE_DOUBLE:
+			return in.readDouble();
+		case VALUE_STRING:
+			return readString();
+		default:
+			throw new IOException("Unknown value kind " + kind);
+		}
+	}
+
+	private String readString() throws IOException {
+		byte[] bytes = new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private Type readType() throws IOException, ReflectiveOperationException {
+		byte kind = in.readByte();
+		switch (kind) {
+		case TYPE_NONE:
+			return null;
+		case TYPE_CLASS:
+			return readClass();
+		case TYPE_PARAMETERIZED: {
+			Class<?> rawClass = readClass();
+			Type owner = readType();
+			return new ParameterizedTypeImpl(rawClass, readTypes(), owner);
+		}
+		case TYPE_ARRAY:
+			return GenericArrayTypeImpl.createArrayType(readType());
+		case TYPE_WILDCARD: {
+			Type[] upperBounds = readTypes();
+			return new WildcardTypeImpl(upperBounds, readTypes());
+		}
+		case TYPE_CLASS_VARIABLE:
+			return getTypeVariable(readClass().getTypeParameters(), readName());
+		case TYPE_METHOD_VARIABLE:
+			return getTypeVariable(readMethod().getTypeParameters(), readName());
+		case TYPE_CONSTRUCTOR_VARIABLE:
+			return getTypeVariable(readConstructor().getTypeParameters(), readName());
+		default:
+			throw new IOException("Unknown type kind " + kind);
+		}
+	}
+
+	private Type[] readTypes() throws IOException, ReflectiveOperationException {
+		Type[] types = new Type[readVarInt(in)];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = readType();
+		}
+		return types;
+	}
+
+	private static TypeVariable<?> getTypeVariable(TypeVariable<?>[] variables, String name)
+			throws NoSuchFieldException {
+		for (TypeVariable<?> variable : variables) {
+			if (variable.getName().equals(name)) {
+				return variable;
+			}
+		}
+		throw new NoSuchFieldException("Unknown type variable " + name);
+	}
+
+	private String readName() throws IOException {
+		int index = readVarInt(in);
+		if (index >= names.size()) {
+			throw new IOException("Unknown name index " + index);
+		}
+		return names.get(index);
+	}
+
+	private Class<?> readClass() throws IOException, ClassNotFoundException {
+		String name = readName();
+		Class<?> clazz = classes.get(name);
+		if (clazz == null) {
+			clazz = PRIMITIVE_CLASSES.get(name);
+			if (clazz == null) {
+				clazz = Class.forName(name, false, loader);
+			}
+			classes.put(name, clazz);
+		}
+		return clazz;
+	}
+
+	private Method readMethod() throws IOException, ReflectiveOperationException {
+		Class<?> clazz = readClass();
+		String signature = readName();
+		String key = clazz.getName() + "." + signature;
+		Method method = methods.get(key);
+		if (method == null) {
+			for (Method m : clazz.getDeclaredMethods()) {
+				if (signature.equals(m.getName() + org.objectweb.asm.Type.getMethodDescriptor(m))) {
+					method = m;
+					break;
+				}
+			}
+			if (method == null) {
+				throw new NoSuchMethodException(key);
+			}
+			methods.put(key, method);
+		}
+		return method;
+	}
+
+	private Constructor<?> readConstructor() throws IOException, ReflectiveOperationException {
+		Class<?> clazz = readClass();
+		String descriptor = readName();
+		String key = clazz.getName() + descriptor;
+		Constructor<?> constructor = constructors.get(key);
+		if (constructor == null) {
+			for (Constructor<?> c : clazz.getDeclaredConstructors()) {
+				if (descriptor.equals(org.objectweb.asm.Type.getConstructorDescriptor(c))) {
+					constructor = c;
+					break;
+				}
+			}
+			if (constructor == null) {
+				throw new NoSuchMethodException(key);
+			}
+			constructors.put(key, constructor);
+		}
+		return constructor;
+	}
+
+	private GenericField readField() throws IOException, ReflectiveOperationException {
+		GenericClass owner = new GenericClass(readType());
+		Class<?> clazz = readClass();
+		String name = readName();
+		String key = clazz.getName() + "." + name;
+		Field field = fields.get(key);
+		if (field == null) {
+			field = clazz.getDeclaredField(name);
+			fields.put(key, field);
+		}
+		return new GenericField(field, owner);
+	}
+}
@@ -0,0 +1,530 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import static org.evosuite.testcase.CompactTestCaseFormat.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ClassPrimitiveStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.EnumPrimitiveStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BooleanPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BytePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.CharPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.FloatPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.LongPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.ShortPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.ConstantValue;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.NullReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testcase.variable.VariableReferenceImpl;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+
+/**
+ * Writes tests in the compact binary format described in
+ * {@link CompactTestCaseFormat}, one test at a time. Only the statements are
+ * encoded: cached execution results and fitness values are not written, so
+ * tests need to be executed again after reading them with a
+ * {@link CompactTestCaseReader}. Tests with assertions, e.g. those of a
+ * regression suite, are stored as Java serialized records so that their
+ * oracles are kept.
+ *
+ * <p>
+ * The stream is only complete once the writer has been closed.
+ */
+public class CompactTestCaseWriter implements Closeable, Flushable {
+
+	private final DataOutputStream stream;
+
+	/** The statements of the current test, written once it is complete */
+	private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+
+	private final DataOutputStream out = new DataOutputStream(recordBytes);
+
+	/** Index of the class names and signatures written so far */
+	private final Map<String, Integer> names = new HashMap<>();
+
+	/** Names first used by the current test */
+	private final List<String> newNames = new ArrayList<>();
+
+	private boolean closed = false;
+
+	public CompactTestCaseWriter(OutputStream out) throws IOException {
+		this.stream = new DataOutputStream(out);
+		stream.writeInt(MAGIC);
+		writeVarInt(stream, VERSION);
+	}
+
+	/**
+	 * Appends the given test to the stream
+	 *
+	 * @param test
+	 * @throws IOException
+	 */
+	public void write(TestCase test) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Writer is already closed");
+		}
+		if (!isSupported(test) || test.hasAssertions()) {
+			// Statements without a compact encoding, e.g. functional mocks,
+			// and assertions, which have none either
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+				objects.writeObject(test);
+			}
+			stream.writeByte(RECORD_SERIALIZED);
+			writeVarInt(stream, bytes.size());
+			bytes.writeTo(stream);
+			return;
+		}
+
+		recordBytes.reset();
+		newNames.clear();
+		writeVarInt(out, test.size());
+		for (Statement statement : test) {
+			writeStatement(statement);
+		}
+
+		// the new names come first, so that a reader can skip a test it
+		// cannot load (e.g. because of a missing class) without losing them
+		stream.writeByte(RECORD_COMPACT);
+		writeVarInt(stream, newNames.size());
+		for (String name : newNames) {
+			stream.writeUTF(name);
+		}
+		writeVarInt(stream, recordBytes.size());
+		recordBytes.writeTo(stream);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		stream.flush();
+	}
+
+	/**
+	 * Ends the stream and closes the underlying output stream
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		stream.writeByte(RECORD_END);
+		stream.close();
+	}
+
+	/**
+	 * @param test
+	 * @return true if all statements and variables of the test have a compact
+	 *         encoding
+	 */
+	static boolean isSupported(TestCase test) {
+		if (test.getClass() != DefaultTestCase.class) {
+			return false;
+		}
+		for (Statement statement : test) {
+			if (getStatementKind(statement) < 0) {
+				return false;
+			}
+			for (VariableReference var : statement.getVariableReferences()) {
+				if (!isSupported(var)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSupported(VariableReference var) {
+		if (var instanceof ArrayIndex) {
+			return isSupported(((ArrayIndex) var).getArray());
+		} else if (var instanceof FieldReference) {
+			VariableReference source = ((FieldReference) var).getSource();
+			return source == null || isSupported(source);
+		} else if (var instanceof ConstantValue) {
+			return getValueKind(((ConstantValue) var).getValue()) >= 0;
+		} else {
+			return var instanceof NullReference || var.getClass() == VariableReferenceImpl.class
+					|| var.getClass() == ArrayReference.class;
+		}
+	}
+
+	/**
+	 * @return one of the STATEMENT_ constants, or -1 if the statement has no
+	 *         compact encoding. Subclasses are not supported, as they may have
+	 *         additional state
+	 */
+	private static int getStatementKind(Statement statement) {
+		Class<?> clazz = statement.getClass();
+		if (clazz == NullStatement.class) {
+			return STATEMENT_NULL;
+		} else if (clazz == BooleanPrimitiveStatement.class) {
+			return STATEMENT_BOOLEAN;
+		} else if (clazz == BytePrimitiveStatement.class) {
+			return STATEMENT_BYTE;
+		} else if (clazz == CharPrimitiveStatement.class) {
+			return STATEMENT_CHAR;
+		} else if (clazz == ShortPrimitiveStatement.class) {
+			return STATEMENT_SHORT;
+		} else if (clazz == IntPrimitiveStatement.class) {
+			return STATEMENT_INT;
+		} else if (clazz == LongPrimitiveStatement.class) {
+			return STATEMENT_LONG;
+		} else if (clazz == FloatPrimitiveStatement.class) {
+			return STATEMENT_FLOAT;
+		} else if (clazz == DoublePrimitiveStatement.class) {
+			return STATEMENT_DOUBLE;
+		} else if (clazz == StringPrimitiveStatement.class) {
+			return STATEMENT_STRING;
+		} else if (clazz == EnumPrimitiveStatement.class) {
+			return STATEMENT_ENUM;
+		} else if (clazz == ClassPrimitiveStatement.class) {
+			return ((ClassPrimitiveStatement) statement).getValue() == null ? -1 : STATEMENT_CLASS;
+		} else if (clazz == ArrayStatement.class) {
+			return STATEMENT_ARRAY;
+		} else if (clazz == ConstructorStatement.class) {
+			return STATEMENT_CONSTRUCTOR;
+		} else if (clazz == MethodStatement.class) {
+			return STATEMENT_METHOD;
+		} else if (clazz == FieldStatement.class) {
+			return STATEMENT_FIELD;
+		} else if (clazz == AssignmentStatement.class) {
+			return STATEMENT_ASSIGNMENT;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return one of the VALUE_ constants, or -1 if the value has no compact
+	 *         encoding
+	 */
+	private static int getValueKind(Object value) {
+		if (value == null) {
+			return VALUE_NULL;
+		} else if (value instanceof Boolean) {
+			return VALUE_BOOLEAN;
+		} else if (value instanceof Byte) {
+			return VALUE_BYTE;
+		} else if (value instanceof Character) {
+			return VALUE_CHAR;
+		} else if (value instanceof Short) {
+			return VALUE_SHORT;
+		} else if (value instanceof Integer) {
+			return VALUE_INT;
+		} else if (value instanceof Long) {
+			return VALUE_LONG;
+		} else if (value instanceof Float) {
+			return VALUE_FLOAT;
+		} else if (value instanceof Double) {
+			return VALUE_DOUBLE;
+		} else if (value instanceof String) {
+			return VALUE_STRING;
+		}
+		return -1;
+	}
+
+	private void writeStatement(Statement statement) throws IOException {
+		int kind = getStatementKind(statement);
+		out.writeByte(kind);
+		writeType(statement.getReturnValue().getType());
+
+		switch (kind) {
+		case STATEMENT_NULL:
+			break;
+		case STATEMENT_BOOLEAN:
+		case STATEMENT_BYTE:
+		case STATEMENT_CHAR:
+		case STATEMENT_SHORT:
+		case STATEMENT_INT:
+		case STATEMENT_LONG:
+		case STATEMENT_FLOAT:
+		case STATEMENT_DOUBLE:
+		case STATEMENT_STRING:
+			writeValue(((PrimitiveStatement<?>) statement).getValue(), false);
+			break;
+		case STATEMENT_ENUM: {
+			EnumPrimitiveStatement<?> enumStatement = (EnumPrimitiveStatement<?>) statement;
+			writeName(enumStatement.getEnumClass().getName());
+			Enum<?> value = enumStatement.getValue();
+			writeVarInt(out, value == null ? 0 : value.ordinal() + 1);
+			break;
+		}
+		case STATEMENT_CLASS:
+			writeName(((ClassPrimitiveStatement) statement).getValue().getName());
+			break;
+		case STATEMENT_ARRAY: {
+			List<Integer> lengths = ((ArrayStatement) statement).getLengths();
+			writeVarInt(out, lengths.size());
+			for (int length : lengths) {
+				writeVarInt(out, length);
+			}
+			break;
+		}
+		case STATEMENT_CONSTRUCTOR: {
+			ConstructorStatement constructorStatement = (ConstructorStatement) statement;
+			GenericConstructor constructor = constructorStatement.getConstructor();
+			writeOwner(constructor.getOwnerClass(), constructor.getTypeParameterValues());
+			Constructor<?> c = constructor.getConstructor();
+			writeName(c.getDeclaringClass().getName());
+			writeName(org.objectweb.asm.Type.getConstructorDescriptor(c));
+			writeReferences(constructorStatement.getParameterReferences());
+			break;
+		}
+		case STATEMENT_METHOD: {
+			MethodStatement methodStatement = (MethodStatement) statement;
+			GenericMethod method = methodStatement.getMethod();
+			writeOwner(method.getOwnerClass(), method.getTypeParameterValues());
+			Method m = method.getMethod();
+			writeName(m.getDeclaringClass().getName());
+			writeName(m.getName() + org.objectweb.asm.Type.getMethodDescriptor(m));
+			writeReference(methodStatement.isStatic() ? null : methodStatement.getCallee());
+			writeReferences(methodStatement.getParameterReferences());
+			break;
+		}
+		case STATEMENT_FIELD: {
+			FieldStatement fieldStatement = (FieldStatement) statement;
+			writeField(fieldStatement.getField());
+			writeReference(fieldStatement.getField().isStatic() ? null : fieldStatement.getSource());
+			break;
+		}
+		case STATEMENT_ASSIGNMENT: {
+			AssignmentStatement assignment = (AssignmentStatement) statement;
+			writeReference(assignment.getReturnValue());
+			writeReference(assignment.getValue());
+			break;
+		}
+		default:
+			throw new IllegalStateException("Unexpected statement kind " + kind);
+		}
+	}
+
+	private void writeOwner(GenericClass owner, List<GenericClass> typeParameters) throws IOException {
+		writeType(owner.getType());
+		writeVarInt(out, typeParameters.size());
+		for (GenericClass typeParameter : typeParameters) {
+			writeType(typeParameter.getType());
+		}
+	}
+
+	private void writeField(GenericField field) throws IOException {
+		writeType(field.getOwnerType());
+		writeName(field.getField().getDeclaringClass().getName());
+		writeName(field.getField().getName());
+	}
+
+	private void writeReferences(List<VariableReference> references) throws IOException {
+		writeVarInt(out, references.size());
+		for (VariableReference reference : references) {
+			writeReference(reference);
+		}
+	}
+
+	private void writeReference(VariableReference var) throws IOException {
+		if (var == null) {
+			out.writeByte(REF_NONE);
+		} else if (var instanceof ArrayIndex) {
+			ArrayIndex index = (ArrayIndex) var;
+			out.writeByte(REF_ARRAY_INDEX);
+			writeReference(index.getArray());
+			List<Integer> indices = index.getArrayIndices();
+			writeVarInt(out, indices.size());
+			for (int i : indices) {
+				writeVarInt(out, i);
+			}
+		} else if (var instanceof FieldReference) {
+			FieldReference field = (FieldReference) var;
+			if (field.getSource() == null) {
+				out.writeByte(REF_STATIC_FIELD);
+			} else {
+				out.writeByte(REF_FIELD);
+				writeReference(field.getSource());
+			}
+			writeField(field.getField());
+			writeType(field.getType());
+		} else if (var instanceof NullReference) {
+			out.writeByte(REF_NULL);
+			writeType(var.getType());
+		} else if (var instanceof ConstantValue) {
+			out.writeByte(REF_CONSTANT);
+			writeType(var.getType());
+			writeValue(((ConstantValue) var).getValue(), true);
+		} else {
+			out.writeByte(REF_STATEMENT);
+			writeVarInt(out, var.getStPosition());
+		}
+	}
+
+	/**
+	 * @param withKind
+	 *            false if the kind is implied by the statement kind
+	 */
+	private void writeValue(Object value, boolean withKind) throws IOException {
+		int kind = getValueKind(value);
+		if (withKind) {
+			out.writeByte(kind);
+		}
+		switch (kind) {
+		case VALUE_NULL:
+			if (!withKind) {
+				// only strings can be null among the primitive statements
+				out.writeBoolean(false);
+			}
+			break;
+		case VALUE_BOOLEAN:
+			out.writeBoolean((Boolean) value);
+			break;
+		case VALUE_BYTE:
+			out.writeByte((Byte) value);
+			break;
+		case VALUE_CHAR:
+			out.writeChar((Character) value);
+			break;
+		case VALUE_SHORT:
+			out.writeShort((Short) value);
+			break;
+		case VALUE_INT:
+			out.writeInt((Integer) value);
+			break;
+		case VALUE_LONG:
+			out.writeLong((Long) value);
+			break;
+		case VALUE_FLOAT:
+			out.writeFloat((Float) value);
+			break;
+		case VALUE_DOUBLE:
+			out.writeDouble((Double) value);
+			break;
+		case VALUE_STRING:
+			if (!withKind) {
+				out.writeBoolean(true);
+			}
+			// not interned, and can be longer than what writeUTF accepts
+			byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+			writeVarInt(out, bytes.length);
+			out.write(bytes);
+			break;
+		default:
+			throw new IllegalStateException("Unexpected value " + value);
+		}
+	}
+
+	private void writeType(Type type) throws IOException {
+		if (type == null) {
+			out.writeByte(TYPE_NONE);
+		} else if (type instanceof Class<?>) {
+			out.writeByte(TYPE_CLASS);
+			writeName(((Class<?>) type).getName());
+		} else if (type instanceof ParameterizedType) {
+			ParameterizedType parameterizedType = (ParameterizedType) type;
+			out.writeByte(TYPE_PARAMETERIZED);
+			writeName(((Class<?>) parameterizedType.getRawType()).getName());
+			writeType(parameterizedType.getOwnerType());
+			writeTypes(parameterizedType.getActualTypeArguments());
+		} else if (type instanceof GenericArrayType) {
+			out.writeByte(TYPE_ARRAY);
+			writeType(((GenericArrayType) type).getGenericComponentType());
+		} else if (type instanceof WildcardType) {
+			WildcardType wildcardType = (WildcardType) type;
+			out.writeByte(TYPE_WILDCARD);
+			writeTypes(wildcardType.getUpperBounds());
+			writeTypes(wildcardType.getLowerBounds());
+		} else if (type instanceof TypeVariable<?>) {
+			// variables are identified by their declaration, the bounds are not written
+			TypeVariable<?> variable = (TypeVariable<?>) type;
+			GenericDeclaration declaration = variable.getGenericDeclaration();
+			if (declaration instanceof Class<?>) {
+				out.writeByte(TYPE_CLASS_VARIABLE);
+				writeName(((Class<?>) declaration).getName());
+			} else if (declaration instanceof Method) {
+				Method m = (Method) declaration;
+				out.writeByte(TYPE_METHOD_VARIABLE);
+				writeName(m.getDeclaringClass().getName());
+				writeName(m.getName() + org.objectweb.asm.Type.getMethodDescriptor(m));
+			} else {
+				Constructor<?> c = (Constructor<?>) declaration;
+				out.writeByte(TYPE_CONSTRUCTOR_VARIABLE);
+				writeName(c.getDeclaringClass().getName());
+				writeName(org.objectweb.asm.Type.getConstructorDescriptor(c));
+			}
+			writeName(variable.getName());
+		} else {
+			// e.g. an unresolved capture type
+			writeType(new GenericClass(type).getRawClass());
+		}
+	}
+
+	private void writeTypes(Type[] types) throws IOException {
+		writeVarInt(out, types.length);
+		for (Type type : types) {
+			writeType(type);
+		}
+	}
+
+	/**
+	 * Class names and signatures are written as an index into a string table,
+	 * which the record header extends with the names the test uses first
+	 */
+	private void writeName(String name) throws IOException {
+		Integer index = names.get(name);
+		if (index == null) {
+			index = names.size();
+			names.put(name, index);
+			newNames.add(name);
+		}
+		writeVarInt(out, index);
+	}
+}
@@ -46,6 +46,7 @@ import org.evosuite.setup.TestClusterUtils;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.statements.environment.AccessedEnvironment;
 import org.evosuite.testcase.execution.CodeUnderTestException;
+import org.evosuite.testcase.execution.ExecutionSnapshot;
 import org.evosuite.testcase.execution.Scope;
 import org.evosuite.testcase.variable.*;
 import org.evosuite.utils.generic.GenericClass;
@@ -268,6 +269,9 @@ public class DefaultTestCase implements TestCase, Serializable {
 	
 	private transient ClassLoader changedClassLoader = null;
 
+	/** State at the end of the last execution, shared with the clones */
+	private transient ExecutionSnapshot executionSnapshot = null;
+
 	public ClassLoader getChangedClassLoader() {
 		return changedClassLoader;
 	}
@@ -362,6 +366,7 @@ public class DefaultTestCase implements TestCase, Serializable {
 		t.coveredGoals.addAll(coveredGoals);
 		t.accessedEnvironment.copyFrom(accessedEnvironment);
 		t.isFailing = isFailing;
+		t.executionSnapshot = executionSnapshot;
 		t.id = idGenerator.getAndIncrement(); //always create new ID when making a clone
 		//t.exception_statement = exception_statement;
 		//t.exceptionThrown = exceptionThrown;
@@ -481,6 +486,16 @@ public class DefaultTestCase implements TestCase, Serializable {
         return accessedEnvironment;
     }
 
+	@Override
+	public ExecutionSnapshot getExecutionSnapshot() {
+		return executionSnapshot;
+	}
+
+	@Override
+	public void setExecutionSnapshot(ExecutionSnapshot snapshot) {
+		this.executionSnapshot = snapshot;
+	}
+
     /* (non-Javadoc)
 	 * @see org.evosuite.testcase.TestCase#getDependencies(org.evosuite.testcase.VariableReference)
 	 */
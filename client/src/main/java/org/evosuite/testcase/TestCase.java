@@ -27,6 +27,7 @@ import java.util.Set;
 import org.evosuite.assertion.Assertion;
 import org.evosuite.contracts.ContractViolation;
 import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.testcase.execution.ExecutionSnapshot;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.statements.environment.AccessedEnvironment;
 import org.evosuite.testcase.execution.Scope;
@@ -153,6 +154,22 @@ public interface TestCase extends Iterable<Statement>, Cloneable, Listenable<Voi
 	 */
 	public AccessedEnvironment getAccessedEnvironment();
 
+	/**
+	 * Retrieve the state at the end of the last execution of this test (or of
+	 * the test it was cloned from), if it can be continued
+	 *
+	 * @return null if there is no such snapshot
+	 */
+	public ExecutionSnapshot getExecutionSnapshot();
+
+	/**
+	 * Set the state at the end of the last execution of this test
+	 *
+	 * @param snapshot
+	 *            null to discard the previous one
+	 */
+	public void setExecutionSnapshot(ExecutionSnapshot snapshot);
+
 	/**
 	 * Get all assertions that exist for this test case
 	 *
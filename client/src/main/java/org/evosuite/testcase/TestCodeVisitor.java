@@ -86,6 +86,9 @@ public class TestCodeVisitor extends TestVisitor {
 
 	protected final Map<Class<?>, String> classNames = new HashMap<>();
 
+	/** Classes referred to by the current test, named as in classNames */
+	protected final Set<Class<?>> classesOfTest = new HashSet<>();
+
 	protected final Map<String, Integer> nextIndices = new HashMap<>();
 
 	/**
@@ -113,6 +116,19 @@ public class TestCodeVisitor extends TestVisitor {
 				.collect(toCollection(HashSet::new));
 	}
 
+	/**
+	 * Retrieve the classes that need to be imported to make the last visited
+	 * test compile on its own. Class names are the same as for
+	 * {@link #getImports()}, which covers all tests visited so far
+	 * 
+	 * @return a {@link java.util.Set} object.
+	 */
+	public Set<Class<?>> getImportsOfTest() {
+		return classesOfTest.stream()
+				.filter(clazz -> !classNames.get(clazz).contains("."))
+				.collect(toCollection(HashSet::new));
+	}
+
 	/**
 	 * <p>
 	 * clearExceptions
@@ -289,8 +305,10 @@ public class TestCodeVisitor extends TestVisitor {
 	 * @return a {@link java.lang.String} object.
 	 */
 	public String getClassName(Class<?> clazz) {
-		if (classNames.containsKey(clazz))
+		if (classNames.containsKey(clazz)) {
+			classesOfTest.add(clazz);
 			return classNames.get(clazz);
+		}
 
 		if (clazz.isArray()) {
 			return getClassName(clazz.getComponentType()) + "[]";
@@ -341,6 +359,7 @@ public class TestCodeVisitor extends TestVisitor {
 			name = clazz.getCanonicalName();
 		}
 		classNames.put(clazz, name);
+		classesOfTest.add(clazz);
 
 		return name;
 	}
@@ -495,6 +514,7 @@ public class TestCodeVisitor extends TestVisitor {
 		this.testCode = "";
 		this.variableNames.clear();
 		this.nextIndices.clear();
+		this.classesOfTest.clear();
 	}
 
 	/**
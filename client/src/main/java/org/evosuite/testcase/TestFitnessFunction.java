@@ -23,6 +23,7 @@ import java.util.List;
 
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testsuite.TestSuiteChromosome;
 
@@ -68,6 +69,17 @@ public abstract class TestFitnessFunction extends FitnessFunction<TestChromosome
 		return fitness;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The changed tests are executed in one pass, and their results are then
+	 * reused by {@link #getFitness(TestChromosome)}
+	 */
+	@Override
+	public void prepareBatchEvaluation(List<? extends TestChromosome> individuals) {
+		ParallelTestCaseExecutor.getInstance().executeChangedTests(individuals);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -0,0 +1,503 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Execution trace that keeps branch distances, predicate execution counts,
+ * covered definitions and mutant distances in primitive arrays indexed by
+ * branch/definition/mutant id, rather than in synchronized hash maps. Ids
+ * handed out by BranchPool, DefUsePool and MutationPool are dense, so the
+ * arrays stay small, and the probes neither box values nor take monitors.
+ *
+ * <p>
+ * Each array family keeps a list of the ids that were written (the "dirty"
+ * ids), so that clearing, copying and iterating only touch the entries that
+ * were actually reached by the test. The map-based views required by
+ * {@link ExecutionTrace} are materialized lazily and cached until the next
+ * write.
+ * </p>
+ */
+public class ArrayExecutionTraceImpl extends ExecutionTraceImpl {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	// ---- branches: minimum and sum of distances, indexed by branch id.
+	// Minima of branches not yet passed are kept at positive infinity
+
+	private double[] trueDistanceMin = new double[INITIAL_CAPACITY];
+
+	private double[] falseDistanceMin = new double[INITIAL_CAPACITY];
+
+	private double[] trueDistanceSum = new double[INITIAL_CAPACITY];
+
+	private double[] falseDistanceSum = new double[INITIAL_CAPACITY];
+
+	/** Number of executions of each predicate, and of its true/false outcome */
+	private int[] predicateCount = new int[INITIAL_CAPACITY];
+
+	private int[] trueCount = new int[INITIAL_CAPACITY];
+
+	private int[] falseCount = new int[INITIAL_CAPACITY];
+
+	/** Whether a distance was recorded for the branch id */
+	private boolean[] branchPassed = new boolean[INITIAL_CAPACITY];
+
+	/** Branch ids with branchPassed[id] == true, in order of first execution */
+	private int[] dirtyBranches = new int[INITIAL_CAPACITY];
+
+	private int numDirtyBranches = 0;
+
+	// ---- definitions: execution count, indexed by def id
+
+	private int[] definitionCount = new int[INITIAL_CAPACITY];
+
+	private boolean[] definitionPassed = new boolean[INITIAL_CAPACITY];
+
+	private int[] dirtyDefinitions = new int[INITIAL_CAPACITY];
+
+	private int numDirtyDefinitions = 0;
+
+	// ---- mutants: minimum infection distance, indexed by mutant id
+
+	private double[] mutantDistance = new double[INITIAL_CAPACITY];
+
+	private boolean[] mutantPassed = new boolean[INITIAL_CAPACITY];
+
+	private int[] dirtyMutants = new int[INITIAL_CAPACITY];
+
+	private int numDirtyMutants = 0;
+
+	// ---- lazily built map views, reset to null on each write
+
+	private Map<Integer, Double> trueDistancesView = null;
+
+	private Map<Integer, Double> falseDistancesView = null;
+
+	private Map<Integer, Double> trueDistancesSumView = null;
+
+	private Map<Integer, Double> falseDistancesSumView = null;
+
+	private Map<Integer, Integer> predicateCountView = null;
+
+	private Map<Integer, Integer> definitionCountView = null;
+
+	private Map<Integer, Double> mutantDistancesView = null;
+
+	/**
+	 * <p>
+	 * Constructor for ArrayExecutionTraceImpl.
+	 * </p>
+	 */
+	public ArrayExecutionTraceImpl() {
+		super();
+		Arrays.fill(trueDistanceMin, Double.POSITIVE_INFINITY);
+		Arrays.fill(falseDistanceMin, Double.POSITIVE_INFINITY);
+	}
+
+	@Override
+	protected ExecutionTraceImpl newEmptyTrace() {
+		return new ArrayExecutionTraceImpl();
+	}
+
+	@Override
+	protected void updateBranchCoverage(int branch, double true_distance, double false_distance) {
+		markBranch(branch);
+		predicateCount[branch]++;
+		if (true_distance == 0.0)
+			trueCount[branch]++;
+		if (false_distance == 0.0)
+			falseCount[branch]++;
+		predicateCountView = null;
+	}
+
+	@Override
+	protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
+		markBranch(branch);
+		trueDistanceMin[branch] = Math.min(trueDistanceMin[branch], true_distance);
+		falseDistanceMin[branch] = Math.min(falseDistanceMin[branch], false_distance);
+		trueDistanceSum[branch] += true_distance;
+		falseDistanceSum[branch] += false_distance;
+		trueDistancesView = null;
+		falseDistancesView = null;
+		trueDistancesSumView = null;
+		falseDistancesSumView = null;
+	}
+
+	@Override
+	protected int getCoveredTrueCount(int branch) {
+		return isBranchPassed(branch) ? trueCount[branch] : 0;
+	}
+
+	@Override
+	protected int getCoveredFalseCount(int branch) {
+		return isBranchPassed(branch) ? falseCount[branch] : 0;
+	}
+
+	@Override
+	protected void updateDefinitionCount(int defID) {
+		if (defID >= definitionPassed.length)
+			growDefinitions(defID);
+		if (!definitionPassed[defID]) {
+			definitionPassed[defID] = true;
+			definitionCount[defID] = 0;
+			if (numDirtyDefinitions == dirtyDefinitions.length)
+				dirtyDefinitions = Arrays.copyOf(dirtyDefinitions, dirtyDefinitions.length * 2);
+			dirtyDefinitions[numDirtyDefinitions++] = defID;
+		} else {
+			definitionCount[defID]++;
+		}
+		definitionCountView = null;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void mutationPassed(int mutationId, double distance) {
+		if (mutationId >= mutantPassed.length)
+			growMutants(mutationId);
+		if (!mutantPassed[mutationId]) {
+			mutantPassed[mutationId] = true;
+			mutantDistance[mutationId] = distance;
+			if (numDirtyMutants == dirtyMutants.length)
+				dirtyMutants = Arrays.copyOf(dirtyMutants, dirtyMutants.length * 2);
+			dirtyMutants[numDirtyMutants++] = mutationId;
+		} else {
+			mutantDistance[mutationId] = Math.min(distance, mutantDistance[mutationId]);
+		}
+		mutantDistancesView = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Only the entries listed as dirty are reset, the arrays are kept
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		for (int i = 0; i < numDirtyBranches; i++) {
+			int branch = dirtyBranches[i];
+			branchPassed[branch] = false;
+			trueDistanceMin[branch] = Double.POSITIVE_INFINITY;
+			falseDistanceMin[branch] = Double.POSITIVE_INFINITY;
+			trueDistanceSum[branch] = 0.0;
+			falseDistanceSum[branch] = 0.0;
+			predicateCount[branch] = 0;
+			trueCount[branch] = 0;
+			falseCount[branch] = 0;
+		}
+		numDirtyBranches = 0;
+		for (int i = 0; i < numDirtyDefinitions; i++) {
+			int defID = dirtyDefinitions[i];
+			definitionPassed[defID] = false;
+			definitionCount[defID] = 0;
+		}
+		numDirtyDefinitions = 0;
+		for (int i = 0; i < numDirtyMutants; i++) {
+			int mutationId = dirtyMutants[i];
+			mutantPassed[mutationId] = false;
+			mutantDistance[mutationId] = 0.0;
+		}
+		numDirtyMutants = 0;
+		invalidateViews();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Create a deep copy
+	 */
+	@Override
+	public ArrayExecutionTraceImpl clone() {
+		ArrayExecutionTraceImpl copy = (ArrayExecutionTraceImpl) super.clone();
+		copy.trueDistanceMin = trueDistanceMin.clone();
+		copy.falseDistanceMin = falseDistanceMin.clone();
+		copy.trueDistanceSum = trueDistanceSum.clone();
+		copy.falseDistanceSum = falseDistanceSum.clone();
+		copy.predicateCount = predicateCount.clone();
+		copy.trueCount = trueCount.clone();
+		copy.falseCount = falseCount.clone();
+		copy.branchPassed = branchPassed.clone();
+		copy.dirtyBranches = dirtyBranches.clone();
+		copy.numDirtyBranches = numDirtyBranches;
+
+		copy.definitionCount = definitionCount.clone();
+		copy.definitionPassed = definitionPassed.clone();
+		copy.dirtyDefinitions = dirtyDefinitions.clone();
+		copy.numDirtyDefinitions = numDirtyDefinitions;
+
+		copy.mutantDistance = mutantDistance.clone();
+		copy.mutantPassed = mutantPassed.clone();
+		copy.dirtyMutants = dirtyMutants.clone();
+		copy.numDirtyMutants = numDirtyMutants;
+		return copy;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double getTrueDistance(int branchId) {
+		if (!isBranchPassed(branchId))
+			throw new NullPointerException("No true distance for branch " + branchId);
+		return trueDistanceMin[branchId];
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double getFalseDistance(int branchId) {
+		if (!isBranchPassed(branchId))
+			throw new NullPointerException("No false distance for branch " + branchId);
+		return falseDistanceMin[branchId];
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasTrueDistance(int predicateId) {
+		return isBranchPassed(predicateId);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasFalseDistance(int predicateId) {
+		return isBranchPassed(predicateId);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Double> getTrueDistances() {
+		if (trueDistancesView == null)
+			trueDistancesView = toBranchMap(trueDistanceMin);
+		return trueDistancesView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Double> getFalseDistances() {
+		if (falseDistancesView == null)
+			falseDistancesView = toBranchMap(falseDistanceMin);
+		return falseDistancesView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Double> getTrueDistancesSum() {
+		if (trueDistancesSumView == null)
+			trueDistancesSumView = toBranchMap(trueDistanceSum);
+		return trueDistancesSumView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Double> getFalseDistancesSum() {
+		if (falseDistancesSumView == null)
+			falseDistancesSumView = toBranchMap(falseDistanceSum);
+		return falseDistancesSumView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<Integer> getCoveredTrueBranches() {
+		Set<Integer> covered = new LinkedHashSet<Integer>();
+		for (int i = 0; i < numDirtyBranches; i++) {
+			int branch = dirtyBranches[i];
+			if (trueDistanceMin[branch] == 0.0)
+				covered.add(branch);
+		}
+		return covered;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<Integer> getCoveredFalseBranches() {
+		Set<Integer> covered = new LinkedHashSet<Integer>();
+		for (int i = 0; i < numDirtyBranches; i++) {
+			int branch = dirtyBranches[i];
+			if (falseDistanceMin[branch] == 0.0)
+				covered.add(branch);
+		}
+		return covered;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Integer> getPredicateExecutionCount() {
+		if (predicateCountView == null) {
+			Map<Integer, Integer> counts = new LinkedHashMap<Integer, Integer>();
+			for (int i = 0; i < numDirtyBranches; i++) {
+				int branch = dirtyBranches[i];
+				// predicates are only counted while traceCoverage is on
+				if (predicateCount[branch] > 0)
+					counts.put(branch, predicateCount[branch]);
+			}
+			predicateCountView = counts;
+		}
+		return predicateCountView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<Integer> getCoveredPredicates() {
+		return getPredicateExecutionCount().keySet();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Integer> getDefinitionExecutionCount() {
+		if (definitionCountView == null) {
+			Map<Integer, Integer> counts = new LinkedHashMap<Integer, Integer>();
+			for (int i = 0; i < numDirtyDefinitions; i++) {
+				int defID = dirtyDefinitions[i];
+				counts.put(defID, definitionCount[defID]);
+			}
+			definitionCountView = counts;
+		}
+		return definitionCountView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<Integer> getCoveredDefinitions() {
+		return getDefinitionExecutionCount().keySet();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double getMutationDistance(int mutationId) {
+		if (!wasMutationTouched(mutationId))
+			throw new NullPointerException("No distance for mutant " + mutationId);
+		return mutantDistance[mutationId];
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<Integer, Double> getMutationDistances() {
+		if (mutantDistancesView == null) {
+			Map<Integer, Double> distances = new LinkedHashMap<Integer, Double>();
+			for (int i = 0; i < numDirtyMutants; i++) {
+				int mutationId = dirtyMutants[i];
+				distances.put(mutationId, mutantDistance[mutationId]);
+			}
+			mutantDistancesView = distances;
+		}
+		return mutantDistancesView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<Integer> getTouchedMutants() {
+		return getMutationDistances().keySet();
+	}
+
+	@Override
+	public Set<Integer> getInfectedMutants() {
+		Set<Integer> infectedMutants = new LinkedHashSet<Integer>();
+		for (int i = 0; i < numDirtyMutants; i++) {
+			int mutationId = dirtyMutants[i];
+			if (mutantDistance[mutationId] == 0.0)
+				infectedMutants.add(mutationId);
+		}
+		return infectedMutants;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean wasMutationTouched(int mutationId) {
+		return mutationId >= 0 && mutationId < mutantPassed.length && mutantPassed[mutationId];
+	}
+
+	private boolean isBranchPassed(int branch) {
+		return branch >= 0 && branch < branchPassed.length && branchPassed[branch];
+	}
+
+	/**
+	 * Makes sure the given branch id fits into the arrays and records it as
+	 * dirty
+	 *
+	 * @param branch
+	 */
+	private void markBranch(int branch) {
+		if (branch >= branchPassed.length)
+			growBranches(branch);
+		if (branchPassed[branch])
+			return;
+		branchPassed[branch] = true;
+		if (numDirtyBranches == dirtyBranches.length)
+			dirtyBranches = Arrays.copyOf(dirtyBranches, dirtyBranches.length * 2);
+		dirtyBranches[numDirtyBranches++] = branch;
+	}
+
+	private void growBranches(int branch) {
+		int oldSize = branchPassed.length;
+		int size = newCapacity(oldSize, branch);
+		trueDistanceMin = Arrays.copyOf(trueDistanceMin, size);
+		Arrays.fill(trueDistanceMin, oldSize, size, Double.POSITIVE_INFINITY);
+		falseDistanceMin = Arrays.copyOf(falseDistanceMin, size);
+		Arrays.fill(falseDistanceMin, oldSize, size, Double.POSITIVE_INFINITY);
+		trueDistanceSum = Arrays.copyOf(trueDistanceSum, size);
+		falseDistanceSum = Arrays.copyOf(falseDistanceSum, size);
+		predicateCount = Arrays.copyOf(predicateCount, size);
+		trueCount = Arrays.copyOf(trueCount, size);
+		falseCount = Arrays.copyOf(falseCount, size);
+		branchPassed = Arrays.copyOf(branchPassed, size);
+	}
+
+	private void growDefinitions(int defID) {
+		int size = newCapacity(definitionPassed.length, defID);
+		definitionCount = Arrays.copyOf(definitionCount, size);
+		definitionPassed = Arrays.copyOf(definitionPassed, size);
+	}
+
+	private void growMutants(int mutationId) {
+		int size = newCapacity(mutantPassed.length, mutationId);
+		mutantDistance = Arrays.copyOf(mutantDistance, size);
+		mutantPassed = Arrays.copyOf(mutantPassed, size);
+	}
+
+	private static int newCapacity(int current, int id) {
+		assert id >= 0 : "Negative id " + id;
+		int size = current;
+		while (size <= id)
+			size *= 2;
+		return size;
+	}
+
+	private Map<Integer, Double> toBranchMap(double[] values) {
+		Map<Integer, Double> map = new LinkedHashMap<Integer, Double>();
+		for (int i = 0; i < numDirtyBranches; i++) {
+			int branch = dirtyBranches[i];
+			map.put(branch, values[branch]);
+		}
+		return map;
+	}
+
+	private void invalidateViews() {
+		trueDistancesView = null;
+		falseDistancesView = null;
+		trueDistancesSumView = null;
+		falseDistancesSumView = null;
+		predicateCountView = null;
+		definitionCountView = null;
+		mutantDistancesView = null;
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.runtime.Random;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.evosuite.runtime.vnet.VirtualNetwork;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.variable.VariableReference;
+
+/**
+ * <p>
+ * The state at the end of the execution of a test: the values of all its
+ * variables, and the execution result (trace included). If a test is later
+ * extended by appending statements (eg by mutation, on a clone of the test),
+ * only the new statements need to be executed, starting from these values.
+ * </p>
+ *
+ * <p>
+ * A snapshot is only taken if the execution did not touch anything that is
+ * not part of the values of the variables, and that would be reset or
+ * modified by other executions: static fields, System properties, files,
+ * network, random numbers, time, identity hash codes. The call of the test
+ * itself recorded in the trace is reopened when the execution continues. As
+ * the values are modified by the statements appended to the test, a snapshot
+ * can only be used once, by the first test claiming it.
+ * </p>
+ *
+ * <p>
+ * A snapshot keeps the objects created by the test, and the execution result,
+ * alive as long as the test or one of its clones references it. Once the
+ * continuation is executed, they are released with {@link #release()}, so an
+ * unclaimed snapshot of a surviving test is the only one retaining them.
+ * </p>
+ */
+public class ExecutionSnapshot {
+
+	/** Copy of the test as it was executed */
+	private final TestCase executedTest;
+
+	/** Values of the return values of the statements, by position */
+	private Object[] values;
+
+	/** Whether the statement at a given position put its return value in the scope */
+	private boolean[] defined;
+
+	/** Result of the execution, used as a prefix for the extended test */
+	private ExecutionResult result;
+
+	private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+	private ExecutionSnapshot(TestCase test, Scope scope, ExecutionResult result) {
+		this.executedTest = test.clone();
+		this.executedTest.setExecutionSnapshot(null);
+		this.values = new Object[test.size()];
+		this.defined = new boolean[test.size()];
+		for (int i = 0; i < test.size(); i++) {
+			VariableReference var = test.getStatement(i).getReturnValue();
+			defined[i] = scope.getVariables().contains(var);
+			values[i] = scope.getObject(var);
+		}
+		this.result = result;
+	}
+
+	/**
+	 * Incremental execution is only possible if no observer (eg, for
+	 * assertions) needs to see all the statements, and no mutant is active
+	 *
+	 * @param observersEnabled
+	 * @return
+	 */
+	public static boolean isApplicable(boolean observersEnabled) {
+		return Properties.INCREMENTAL_TEST_EXECUTION && !observersEnabled
+				&& MutationObserver.activeMutation == -1;
+	}
+
+	/**
+	 * Take a snapshot of an execution that has just finished, if it is safe
+	 * to continue it later
+	 *
+	 * @param test
+	 *            the executed test
+	 * @param scope
+	 *            the scope of the execution
+	 * @param result
+	 *            the result of the execution
+	 * @return null if the execution cannot be continued
+	 */
+	public static ExecutionSnapshot takeSnapshot(TestCase test, Scope scope, ExecutionResult result) {
+		if (test.isEmpty() || result.getExecutedStatements() != test.size() || !result.noThrownExceptions()
+				|| result.hasSecurityException())
+			return null;
+
+		ExecutionTrace trace = result.getTrace();
+		if (trace == null || !trace.getClassesWithStaticWrites().isEmpty())
+			return null;
+		if (Properties.RESET_STATIC_FIELDS && !trace.getInitializedClasses().isEmpty())
+			return null;
+
+		if (!result.getReadProperties().isEmpty() || result.wasAnyPropertyWritten())
+			return null;
+		if (Random.wasAccessed() || !VirtualFileSystem.getInstance().getAccessedFiles().isEmpty())
+			return null;
+		// reset before the continuation, so the new statements would see different values
+		if (org.evosuite.runtime.System.wasTimeAccessed()
+				|| org.evosuite.runtime.System.wasIdentityHashCodeAccessed())
+			return null;
+		VirtualNetwork network = VirtualNetwork.getInstance();
+		if (!network.getViewOfRemoteContactedPorts().isEmpty() || !network.getViewOfLocalListeningPorts().isEmpty()
+				|| !network.getViewOfRemoteAccessedFiles().isEmpty())
+			return null;
+
+		return new ExecutionSnapshot(test, scope, result);
+	}
+
+	/**
+	 * Claim the snapshot to continue its execution with the given test
+	 *
+	 * @param test
+	 * @return true if the test starts with all the executed statements, and
+	 *         the snapshot was not used yet. The snapshot cannot be used
+	 *         anymore afterwards
+	 */
+	public boolean claimFor(TestCase test) {
+		if (test.size() < executedTest.size())
+			return false;
+		for (int i = 0; i < executedTest.size(); i++) {
+			if (!executedTest.getStatement(i).same(test.getStatement(i)))
+				return false;
+		}
+		return claimed.compareAndSet(false, true);
+	}
+
+	/**
+	 * @param test
+	 *            a test claimed with {@link #claimFor(TestCase)}
+	 * @return a scope with the values of the executed statements, bound to
+	 *         the variables of the given test
+	 */
+	public Scope restoreScope(TestCase test) {
+		Scope scope = new Scope();
+		for (int i = 0; i < values.length; i++) {
+			if (defined[i])
+				scope.setObject(test.getStatement(i).getReturnValue(), values[i]);
+		}
+		return scope;
+	}
+
+	/**
+	 * @return the number of statements that do not need to be executed again
+	 */
+	public int getNumberOfExecutedStatements() {
+		return executedTest.size();
+	}
+
+	public ExecutionResult getResult() {
+		return result;
+	}
+
+	/**
+	 * Drop the values and the result, once the test that claimed the snapshot
+	 * was executed. The other tests still referencing the snapshot cannot
+	 * claim it anyway
+	 */
+	public void release() {
+		values = null;
+		defined = null;
+		result = null;
+	}
+}
@@ -332,32 +332,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		}
 
 		if (traceCoverage) {
-			if (!coveredPredicates.containsKey(branch))
-				coveredPredicates.put(branch, 1);
-			else
-				coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-			if (true_distance == 0.0) {
-				if (!coveredTrue.containsKey(branch))
-					coveredTrue.put(branch, 1);
-				else
-					coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-			}
-
-			if (false_distance == 0.0) {
-				if (!coveredFalse.containsKey(branch))
-					coveredFalse.put(branch, 1);
-				else
-					coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-			}
+			updateBranchCoverage(branch, true_distance, false_distance);
 		}
 
 		if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
 			if (gradientBranches.contains(branch)) {
-				if ((coveredTrue.containsKey(branch)))
+				if (getCoveredTrueCount(branch) > 0)
 					gradientBranchesCoveredTrue.add(branch);
-				if ((coveredFalse.containsKey(branch)))
+				if (getCoveredFalseCount(branch) > 0)
 					gradientBranchesCoveredFalse.add(branch);
 			}
 		}
@@ -370,8 +352,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 					.getInstruction().getASMNode().getPrevious() != null)
 				previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
 						.getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
-			boolean cTrue = coveredTrue.containsKey(branch);
-			boolean cFalse = coveredFalse.containsKey(branch);
+			boolean cTrue = getCoveredTrueCount(branch) > 0;
+			boolean cFalse = getCoveredFalseCount(branch) > 0;
 			switch (previousOpcode) {
 			case Opcodes.LCMP:
 				trackBranchOpcode(bytecodeInstructionReached, RuntimeVariable.Reached_lcmp, branch);
@@ -458,6 +440,59 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 		}
 
+		updateBranchDistances(branch, true_distance, false_distance);
+
+		if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
+				|| ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
+				|| ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+			updateBranchContextMaps(branch, true_distance, false_distance);
+		}
+
+		// This requires a lot of memory and should not really be used
+		if (Properties.BRANCH_EVAL) {
+			branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
+		}
+	}
+
+	/**
+	 * Increments the execution counters of the given predicate, and of its
+	 * true/false outcome if the respective distance is zero
+	 * 
+	 * @param branch
+	 * @param true_distance
+	 * @param false_distance
+	 */
+	protected void updateBranchCoverage(int branch, double true_distance, double false_distance) {
+		if (!coveredPredicates.containsKey(branch))
+			coveredPredicates.put(branch, 1);
+		else
+			coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
+
+		if (true_distance == 0.0) {
+			if (!coveredTrue.containsKey(branch))
+				coveredTrue.put(branch, 1);
+			else
+				coveredTrue.put(branch, coveredTrue.get(branch) + 1);
+
+		}
+
+		if (false_distance == 0.0) {
+			if (!coveredFalse.containsKey(branch))
+				coveredFalse.put(branch, 1);
+			else
+				coveredFalse.put(branch, coveredFalse.get(branch) + 1);
+		}
+	}
+
+	/**
+	 * Keeps the minimum and the sum of the true/false distances observed for
+	 * the given predicate
+	 * 
+	 * @param branch
+	 * @param true_distance
+	 * @param false_distance
+	 */
+	protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
 		if (!trueDistances.containsKey(branch))
 			trueDistances.put(branch, true_distance);
 		else
@@ -477,17 +512,24 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			falseDistancesSum.put(branch, false_distance);
 		else
 			falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
+	}
 
-		if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
-				|| ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-				|| ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
-			updateBranchContextMaps(branch, true_distance, false_distance);
-		}
+	/**
+	 * @param branch
+	 * @return how often the true outcome of the given predicate was taken
+	 */
+	protected int getCoveredTrueCount(int branch) {
+		Integer count = coveredTrue.get(branch);
+		return count == null ? 0 : count;
+	}
 
-		// This requires a lot of memory and should not really be used
-		if (Properties.BRANCH_EVAL) {
-			branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
-		}
+	/**
+	 * @param branch
+	 * @return how often the false outcome of the given predicate was taken
+	 */
+	protected int getCoveredFalseCount(int branch) {
+		Integer count = coveredFalse.get(branch);
+		return count == null ? 0 : count;
 	}
 
 	/**
@@ -577,6 +619,34 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		coveredPredicateContext = new HashMap<Integer, Map<CallContext, Integer>>();
 	}
 
+	/**
+	 * Creates the empty trace of the same kind that is filled by
+	 * {@link #clone()}
+	 * 
+	 * @return a new empty trace
+	 */
+	protected ExecutionTraceImpl newEmptyTrace() {
+		return new ExecutionTraceImpl();
+	}
+
+	/**
+	 * Reopen the call of the main method (ie, of the test itself) closed by
+	 * {@link #finishCalls()}, so that the statements executed when continuing
+	 * this trace are recorded in the same call, as in a full execution, rather
+	 * than in a new one
+	 */
+	void resumeMainMethod() {
+		// the main method is at the bottom of the stack, and so the last call finished
+		if (finishedCalls.isEmpty() || stack.size() != 1 || !stack.peek().methodName.isEmpty())
+			return;
+		MethodCall main = finishedCalls.get(finishedCalls.size() - 1);
+		if (!main.methodName.isEmpty())
+			return;
+		finishedCalls.remove(finishedCalls.size() - 1);
+		stack.clear();
+		stack.push(main);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -585,7 +655,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	@Override
 	public ExecutionTraceImpl clone() {
 
-		ExecutionTraceImpl copy = new ExecutionTraceImpl();
+		ExecutionTraceImpl copy = newEmptyTrace();
 		for (MethodCall call : finishedCalls) {
 			copy.finishedCalls.add(call.clone());
 		}
@@ -651,11 +721,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		if (def == null) {
 			throw new IllegalStateException("expect DefUsePool to known defIDs that are passed by instrumented code");
 		}
-		if (!coveredDefs.containsKey(defID)) {
-			coveredDefs.put(defID, 0);
-		} else {
-			coveredDefs.put(defID, coveredDefs.get(defID) + 1);
-		}
+		updateDefinitionCount(defID);
 		String varName = def.getVariableName();
 
 		int objectID = registerObject(caller);
@@ -684,6 +750,19 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		duCounter++;
 	}
 
+	/**
+	 * Counts the execution of the given definition
+	 * 
+	 * @param defID
+	 */
+	protected void updateDefinitionCount(int defID) {
+		if (!coveredDefs.containsKey(defID)) {
+			coveredDefs.put(defID, 0);
+		} else {
+			coveredDefs.put(defID, coveredDefs.get(defID) + 1);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -1578,15 +1657,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		ret.append("\nCovered predicates: ");
-		for (Entry<Integer, Integer> entry : coveredPredicates.entrySet()) {
+		for (Entry<Integer, Integer> entry : getPredicateExecutionCount().entrySet()) {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		ret.append("\nTrue distances: ");
-		for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
+		for (Entry<Integer, Double> entry : getTrueDistances().entrySet()) {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		ret.append("\nFalse distances: ");
-		for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
+		for (Entry<Integer, Double> entry : getFalseDistances().entrySet()) {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		return ret.toString();
@@ -1830,9 +1909,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			for(int flowID=1; flowID<=2; flowID++){ // 1 is true branch and 2 is false branch 
 				int branchID = Integer.valueOf(String.valueOf(predicateID)+flowID);
 				if(flowID==1)
-					mergedBranches.put(branchID, coveredFalse.containsKey(predicateID) ? coveredFalse.get(predicateID) : 0);
+					mergedBranches.put(branchID, getCoveredFalseCount(predicateID));
 				else
-					mergedBranches.put(branchID, coveredTrue.containsKey(predicateID) ? coveredTrue.get(predicateID) : 0);
+					mergedBranches.put(branchID, getCoveredTrueCount(predicateID));
 			}
 		}
 	}
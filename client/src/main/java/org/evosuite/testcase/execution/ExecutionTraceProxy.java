@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.evosuite.Properties;
 import org.evosuite.coverage.dataflow.DefUse;
 import org.evosuite.ga.metaheuristics.mapelites.FeatureVector;
 import org.evosuite.setup.CallContext;
@@ -49,7 +50,10 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 	 * </p>
 	 */
 	public ExecutionTraceProxy() {
-		this.trace = new ExecutionTraceImpl();
+		if (Properties.ARRAY_EXECUTION_TRACE)
+			this.trace = new ArrayExecutionTraceImpl();
+		else
+			this.trace = new ExecutionTraceImpl();
 	}
 
 	/**
@@ -90,6 +94,14 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 		trace.clear();
 	}
 
+	/**
+	 * See {@link ExecutionTraceImpl#resumeMainMethod()}
+	 */
+	void resumeMainMethod() {
+		copyOnWrite();
+		trace.resumeMainMethod();
+	}
+
 	/**
 	 * <p>
 	 * copyOnWrite
@@ -19,6 +19,8 @@
  */
 package org.evosuite.testcase.execution;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.evosuite.coverage.dataflow.DefUsePool;
@@ -49,7 +51,16 @@ public class ExecutionTracer {
 	private boolean disabled = true;
 
 	/** Flag that is used to kill threads that are stuck in endless loops */
-	private boolean killSwitch = false;
+	private volatile boolean killSwitch = false;
+
+	/**
+	 * Number of probes since the kill switch was last checked, so that probes
+	 * in tight loops do not all pay for a volatile read
+	 */
+	private int probesSinceTimeoutCheck = 0;
+
+	/** Probes between two checks of the kill switch */
+	private static final int TIMEOUT_CHECK_INTERVAL = 64;
 
 	private int num_statements = 0;
 
@@ -64,6 +75,67 @@ public class ExecutionTracer {
 	 */
 	private static volatile Thread currentThread = null;
 
+	/**
+	 * Tracers of the workers of a {@link ParallelTestCaseExecutor}. The
+	 * thread-local is inheritable, so that threads spawned by the SUT resolve
+	 * to the tracer of the worker that executes the test
+	 */
+	private static final InheritableThreadLocal<ExecutionTracer> threadConfinedTracer = new InheritableThreadLocal<>();
+
+	/**
+	 * Set while thread-confined tracers exist, so that the serial execution
+	 * does not pay for the thread-local lookup
+	 */
+	private static volatile boolean threadConfinementEnabled = false;
+
+	/**
+	 * For a thread-confined tracer, the thread executing the test, ie the
+	 * counterpart of the static currentThread
+	 */
+	private volatile Thread ownerThread = null;
+
+	/** Whether this tracer is bound to the threads of a worker */
+	private final boolean threadConfined;
+
+	/**
+	 * For a thread-confined tracer, the dynamic constants observed during
+	 * execution, which are handed to the ConstantPoolManager once the worker
+	 * is done
+	 */
+	private List<Object> pendingDynamicConstants = new ArrayList<>();
+
+	/** Size of the ring buffer of dynamic constants, a power of two */
+	private static final int DYNAMIC_CONSTANTS_BUFFER_SIZE = 1024;
+
+	/*
+	 * Kinds of the buffered dynamic constants. Numbers are stored unboxed in
+	 * dynamicConstantBits, so that the branch probes do not allocate
+	 */
+	private static final byte KIND_OBJECT = 0;
+	private static final byte KIND_INT = 1;
+	private static final byte KIND_LONG = 2;
+	private static final byte KIND_FLOAT = 3;
+	private static final byte KIND_DOUBLE = 4;
+
+	/**
+	 * The last dynamic constants observed by the current execution. They are
+	 * handed over in one batch at the end of the execution; as the dynamic
+	 * pool only keeps the most recent values, older ones can be overwritten
+	 */
+	private final Object[] dynamicConstants = new Object[DYNAMIC_CONSTANTS_BUFFER_SIZE];
+
+	/** For each buffered constant, one of the KIND_ constants */
+	private final byte[] dynamicConstantKinds = new byte[DYNAMIC_CONSTANTS_BUFFER_SIZE];
+
+	/**
+	 * For each buffered number, its value as int or long, or the bits of
+	 * its float or double value
+	 */
+	private final long[] dynamicConstantBits = new long[DYNAMIC_CONSTANTS_BUFFER_SIZE];
+
+	/** Number of values written into the ring buffer since the last flush */
+	private int dynamicConstantsCount = 0;
+
 	/**
 	 * <p>
 	 * setThread
@@ -183,19 +255,279 @@ public class ExecutionTracer {
 	 * @return a {@link org.evosuite.testcase.execution.ExecutionTracer} object.
 	 */
 	public static ExecutionTracer getExecutionTracer() {
+		if (threadConfinementEnabled) {
+			ExecutionTracer tracer = threadConfinedTracer.get();
+			if (tracer != null)
+				return tracer;
+		}
 		if (instance == null) {
 			instance = new ExecutionTracer();
 		}
 		return instance;
 	}
 
+	/**
+	 * Create a tracer that is not shared with the rest of the client, to be
+	 * bound to the threads of a worker with {@link #bindToCurrentThread}
+	 * 
+	 * @return a new disabled tracer
+	 */
+	public static ExecutionTracer newThreadConfinedTracer() {
+		return new ExecutionTracer(true);
+	}
+
+	/**
+	 * Enable or disable the lookup of thread-confined tracers in
+	 * {@link #getExecutionTracer()}
+	 * 
+	 * @param enabled
+	 */
+	public static void setThreadConfinementEnabled(boolean enabled) {
+		threadConfinementEnabled = enabled;
+	}
+
+	/**
+	 * Make the current thread, and all the threads it will spawn, use the
+	 * given tracer instead of the global one
+	 * 
+	 * @param tracer
+	 *            a tracer created with {@link #newThreadConfinedTracer()}
+	 */
+	public static void bindToCurrentThread(ExecutionTracer tracer) {
+		if (tracer == null || !tracer.threadConfined) {
+			throw new IllegalArgumentException("Only thread-confined tracers can be bound to a thread");
+		}
+		threadConfinedTracer.set(tracer);
+	}
+
+	/**
+	 * Make the current thread use the global tracer again
+	 */
+	public static void unbindFromCurrentThread() {
+		threadConfinedTracer.remove();
+	}
+
+	/**
+	 * Set the thread that executes the test for this thread-confined tracer.
+	 * Calls from any other thread are ignored, as done for the global tracer
+	 * with {@link #setThread(Thread)}
+	 * 
+	 * @param thread
+	 */
+	public void setOwnerThread(Thread thread) {
+		ownerThread = thread;
+	}
+
+	/**
+	 * Remove and return the dynamic constants buffered by this thread-confined
+	 * tracer since the last call, so that the caller can hand them to the
+	 * ConstantPoolManager once no SUT code runs concurrently
+	 * 
+	 * @return the buffered values, in the order they were observed
+	 */
+	public List<Object> takeDynamicConstants() {
+		flushDynamicConstants();
+		if (pendingDynamicConstants.isEmpty())
+			return new ArrayList<>();
+		List<Object> values = pendingDynamicConstants;
+		pendingDynamicConstants = new ArrayList<>();
+		return values;
+	}
+
+	/**
+	 * Called by instrumented code and the testability helpers with values
+	 * observed in comparisons. They are buffered until the end of the
+	 * execution, see {@link #flushDynamicConstants()}
+	 * 
+	 * @param value
+	 */
+	public static void addDynamicConstant(Object value) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.isForeignThread()) {
+			// values from threads spawned by the SUT are dropped for workers, as in the probes
+			if (!tracer.threadConfined)
+				ConstantPoolManager.getInstance().addDynamicConstant(value);
+			return;
+		}
+		tracer.bufferDynamicConstant(value);
+	}
+
+	/**
+	 * See {@link #addDynamicConstant(Object)}, without boxing
+	 * 
+	 * @param value
+	 */
+	public static void addDynamicConstant(int value) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.isForeignThread()) {
+			if (!tracer.threadConfined)
+				ConstantPoolManager.getInstance().addDynamicConstant(value);
+			return;
+		}
+		tracer.bufferDynamicConstant(KIND_INT, value);
+	}
+
+	/**
+	 * See {@link #addDynamicConstant(Object)}, without boxing
+	 * 
+	 * @param value
+	 */
+	public static void addDynamicConstant(long value) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.isForeignThread()) {
+			if (!tracer.threadConfined)
+				ConstantPoolManager.getInstance().addDynamicConstant(value);
+			return;
+		}
+		tracer.bufferDynamicConstant(KIND_LONG, value);
+	}
+
+	/**
+	 * See {@link #addDynamicConstant(Object)}, without boxing
+	 * 
+	 * @param value
+	 */
+	public static void addDynamicConstant(float value) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.isForeignThread()) {
+			if (!tracer.threadConfined)
+				ConstantPoolManager.getInstance().addDynamicConstant(value);
+			return;
+		}
+		tracer.bufferDynamicConstant(KIND_FLOAT, Float.floatToIntBits(value));
+	}
+
+	/**
+	 * See {@link #addDynamicConstant(Object)}, without boxing
+	 * 
+	 * @param value
+	 */
+	public static void addDynamicConstant(double value) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.isForeignThread()) {
+			if (!tracer.threadConfined)
+				ConstantPoolManager.getInstance().addDynamicConstant(value);
+			return;
+		}
+		tracer.bufferDynamicConstant(KIND_DOUBLE, Double.doubleToLongBits(value));
+	}
+
+	private void bufferDynamicConstant(Object value) {
+		if (value == null)
+			return;
+		if (value instanceof Integer) {
+			bufferDynamicConstant(KIND_INT, (Integer) value);
+			return;
+		} else if (value instanceof Long) {
+			bufferDynamicConstant(KIND_LONG, (Long) value);
+			return;
+		} else if (value instanceof Float) {
+			bufferDynamicConstant(KIND_FLOAT, Float.floatToIntBits((Float) value));
+			return;
+		} else if (value instanceof Double) {
+			bufferDynamicConstant(KIND_DOUBLE, Double.doubleToLongBits((Double) value));
+			return;
+		}
+		if (dynamicConstantsCount > 0) {
+			// the same comparison in a loop gives the same value over and over
+			Object previous = dynamicConstants[(dynamicConstantsCount - 1) & (DYNAMIC_CONSTANTS_BUFFER_SIZE - 1)];
+			if (previous == value || (previous instanceof String && previous.equals(value)))
+				return;
+		}
+		int index = dynamicConstantsCount & (DYNAMIC_CONSTANTS_BUFFER_SIZE - 1);
+		dynamicConstants[index] = value;
+		dynamicConstantKinds[index] = KIND_OBJECT;
+		dynamicConstantsCount++;
+	}
+
+	private void bufferDynamicConstant(byte kind, long bits) {
+		if (dynamicConstantsCount > 0) {
+			int previous = (dynamicConstantsCount - 1) & (DYNAMIC_CONSTANTS_BUFFER_SIZE - 1);
+			if (dynamicConstantKinds[previous] == kind && dynamicConstantBits[previous] == bits)
+				return;
+		}
+		int index = dynamicConstantsCount & (DYNAMIC_CONSTANTS_BUFFER_SIZE - 1);
+		dynamicConstants[index] = null;
+		dynamicConstantKinds[index] = kind;
+		dynamicConstantBits[index] = bits;
+		dynamicConstantsCount++;
+	}
+
+	/**
+	 * Hand the buffered dynamic constants over, in the order they were
+	 * observed: to the ConstantPoolManager for the global tracer, or to the
+	 * list returned by {@link #takeDynamicConstants()} for a thread-confined
+	 * one. Must be called once the thread executing the test is done
+	 */
+	public void flushDynamicConstants() {
+		int count = dynamicConstantsCount;
+		dynamicConstantsCount = 0;
+		ConstantPoolManager pools = ConstantPoolManager.getInstance();
+		for (int i = Math.max(0, count - DYNAMIC_CONSTANTS_BUFFER_SIZE); i < count; i++) {
+			int index = i & (DYNAMIC_CONSTANTS_BUFFER_SIZE - 1);
+			long bits = dynamicConstantBits[index];
+			switch (dynamicConstantKinds[index]) {
+			case KIND_INT:
+				if (threadConfined)
+					pendingDynamicConstants.add((int) bits);
+				else
+					pools.addDynamicConstant((int) bits);
+				break;
+			case KIND_LONG:
+				if (threadConfined)
+					pendingDynamicConstants.add(bits);
+				else
+					pools.addDynamicConstant(bits);
+				break;
+			case KIND_FLOAT:
+				if (threadConfined)
+					pendingDynamicConstants.add(Float.intBitsToFloat((int) bits));
+				else
+					pools.addDynamicConstant(Float.intBitsToFloat((int) bits));
+				break;
+			case KIND_DOUBLE:
+				if (threadConfined)
+					pendingDynamicConstants.add(Double.longBitsToDouble(bits));
+				else
+					pools.addDynamicConstant(Double.longBitsToDouble(bits));
+				break;
+			default:
+				Object value = dynamicConstants[index];
+				dynamicConstants[index] = null;
+				if (value == null)
+					continue;
+				if (threadConfined)
+					pendingDynamicConstants.add(value);
+				else
+					pools.addDynamicConstant(value);
+			}
+		}
+	}
+
 	/**
 	 * Reset for new execution
 	 */
 	public void clear() {
+		flushDynamicConstants();
 		trace = new ExecutionTraceProxy();
 		BooleanHelper.clearStack();
 		num_statements = 0;
+		probesSinceTimeoutCheck = 0;
+	}
+
+	/**
+	 * Reset for an execution that continues the one of the given trace, eg
+	 * when only the statements appended to a test are executed
+	 * 
+	 * @param prefix
+	 *            trace of the execution to continue, not modified
+	 */
+	public void clear(ExecutionTrace prefix) {
+		clear();
+		trace = prefix.lazyClone();
+		if (trace instanceof ExecutionTraceProxy) {
+			((ExecutionTraceProxy) trace).resumeMainMethod();
+		}
 	}
 
 	/**
@@ -206,9 +538,16 @@ public class ExecutionTracer {
 	 * @return
 	 */
 	public static boolean isThreadNeqCurrentThread() {
+		return getExecutionTracer().isThreadNeqExecutingThread();
+	}
+
+	private boolean isThreadNeqExecutingThread() {
 		if (!checkCallerThread) {
 			return false;
 		}
+		if (threadConfined) {
+			return Thread.currentThread() != ownerThread;
+		}
 		if (currentThread == null) {
 			logger.error("CurrentThread has not been set!");
 			Map<Thread, StackTraceElement[]> map = Thread.getAllStackTraces();
@@ -224,6 +563,54 @@ public class ExecutionTracer {
 		return Thread.currentThread() != currentThread;
 	}
 
+	/**
+	 * Same as {@link #isThreadNeqExecutingThread()}, but without
+	 * complaining if no test is being executed
+	 */
+	private boolean isForeignThread() {
+		if (!checkCallerThread) {
+			return false;
+		}
+		Thread owner = threadConfined ? ownerThread : currentThread;
+		return owner != null && Thread.currentThread() != owner;
+	}
+
+	/**
+	 * Common checks of all the probes
+	 * 
+	 * @return the tracer the probe has to record into, or null if the probe
+	 *         has to be ignored
+	 */
+	private static ExecutionTracer getRecorder() {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.disabled)
+			return null;
+
+		if (tracer.isThreadNeqExecutingThread())
+			return null;
+
+		return tracer;
+	}
+
+	/**
+	 * As {@link #getRecorder()}, also checking the kill switch every
+	 * {@link #TIMEOUT_CHECK_INTERVAL} probes
+	 * 
+	 * @return the tracer the probe has to record into, or null if the probe
+	 *         has to be ignored
+	 * @throws TestCaseExecutor.TimeoutExceeded
+	 *             if the kill switch is active
+	 */
+	private static ExecutionTracer getRecorderCheckingTimeout() throws TestCaseExecutor.TimeoutExceeded {
+		ExecutionTracer tracer = getRecorder();
+		if (tracer != null && ++tracer.probesSinceTimeoutCheck >= TIMEOUT_CHECK_INTERVAL) {
+			tracer.probesSinceTimeoutCheck = 0;
+			if (tracer.killSwitch && !isInStaticInit())
+				throw new TestCaseExecutor.TimeoutExceeded();
+		}
+		return tracer;
+	}
+
 	/**
 	 * Return trace of current execution
 	 * 
@@ -261,16 +648,10 @@ public class ExecutionTracer {
 	 */
 	public static void enteredMethod(String classname, String methodname, Object caller)
 	        throws TestCaseExecutor.TimeoutExceeded {
-		ExecutionTracer tracer = getExecutionTracer();
-
-		if (tracer.disabled)
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
 
-		if (isThreadNeqCurrentThread())
-			return;
-
-		checkTimeout();
-
 		//logger.trace("Entering method " + classname + "." + methodname);
 		tracer.trace.enteredMethod(classname, methodname, caller);
 	}
@@ -286,11 +667,8 @@ public class ExecutionTracer {
 	 *            a {@link java.lang.String} object.
 	 */
 	public static void returnValue(int value, String className, String methodName) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		//logger.trace("Return value: " + value);
@@ -362,11 +740,8 @@ public class ExecutionTracer {
 	 *            a {@link java.lang.String} object.
 	 */
 	public static void leftMethod(String classname, String methodname) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		tracer.trace.exitMethod(classname, methodname);
@@ -407,15 +782,10 @@ public class ExecutionTracer {
 	 *            a {@link java.lang.String} object.
 	 */
 	public static void passedLine(String className, String methodName, int line) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
 
-		if (isThreadNeqCurrentThread())
-			return;
-
-		checkTimeout();
-
 		tracer.trace.linePassed(className, methodName, line);
 	}
 
@@ -432,11 +802,8 @@ public class ExecutionTracer {
 	 *            a int.
 	 */
 	public static void passedUnconditionalBranch(int opcode, int branch, int bytecode_id) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		// Add current branch to control trace
@@ -457,17 +824,12 @@ public class ExecutionTracer {
 	 */
 	public static void passedBranch(int val, int opcode, int branch, int bytecode_id) {
 
-		ExecutionTracer tracer = getExecutionTracer();
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
 		// logger.info("passedBranch val="+val+", opcode="+opcode+", branch="+branch+", bytecode_id="+bytecode_id);
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		if (tracer == null)
 			return;
 
-		checkTimeout();
-
-		ConstantPoolManager.getInstance().addDynamicConstant(val);
+		tracer.bufferDynamicConstant(KIND_INT, val);
 
 		// logger.trace("Called passedBranch1 with opcode "+AbstractVisitor.OPCODES[opcode]+" and val "+val+" in branch "+branch);
 		double distance_true = 0.0;
@@ -519,14 +881,9 @@ public class ExecutionTracer {
 	}
 
 	public static void passedPutStatic(String classNameWithDots, String fieldName) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
-
-		checkTimeout();
 		
 		tracer.trace.putStaticPassed(classNameWithDots, fieldName);
 	}
@@ -560,16 +917,28 @@ public class ExecutionTracer {
 	 * @param fieldName
 	 */
 	public static void passedGetStatic(String classNameWithDots, String fieldName) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
 
-		if (isThreadNeqCurrentThread())
-			return;
+		tracer.trace.getStaticPassed(classNameWithDots, fieldName);
+	}
 
-		checkTimeout();
+	/**
+	 * Called for a GETSTATIC on a field holding a mutable object (eg an array or
+	 * a collection): as the object might be modified through the returned
+	 * reference, the field counts as both read and written
+	 *
+	 * @param classNameWithDots
+	 * @param fieldName
+	 */
+	public static void passedGetStaticOfMutable(String classNameWithDots, String fieldName) {
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
+			return;
 
 		tracer.trace.getStaticPassed(classNameWithDots, fieldName);
+		tracer.trace.putStaticPassed(classNameWithDots, fieldName);
 	}
 
 
@@ -589,17 +958,12 @@ public class ExecutionTracer {
 	 */
 	public static void passedBranch(int val1, int val2, int opcode, int branch,
 	        int bytecode_id) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
-
-		checkTimeout();
 		
-		ConstantPoolManager.getInstance().addDynamicConstant(val1);
-		ConstantPoolManager.getInstance().addDynamicConstant(val2);
+		tracer.bufferDynamicConstant(KIND_INT, val1);
+		tracer.bufferDynamicConstant(KIND_INT, val2);
 
 		/* logger.trace("Called passedBranch2 with opcode "
 		        + AbstractVisitor.OPCODES[opcode] + ", val1=" + val1 + ", val2=" + val2
@@ -670,15 +1034,10 @@ public class ExecutionTracer {
 	 */
 	public static void passedBranch(Object val1, Object val2, int opcode, int branch,
 	        int bytecode_id) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
 
-		if (isThreadNeqCurrentThread())
-			return;
-
-		checkTimeout();
-
 		double distance_true = 0;
 		double distance_false = 0;
 		// logger.warn("Disabling tracer: passedBranch with 2 Objects");
@@ -711,15 +1070,10 @@ public class ExecutionTracer {
 	 *            a int.
 	 */
 	public static void passedBranch(Object val, int opcode, int branch, int bytecode_id) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
 
-		checkTimeout();
-
 		double distance_true = 0;
 		double distance_false = 0;
 		switch (opcode) {
@@ -752,11 +1106,8 @@ public class ExecutionTracer {
 	 *            a int.
 	 */
 	public static void passedDefinition(Object object, Object caller, int defID) {
-		if (isThreadNeqCurrentThread())
-			return;
-
-		ExecutionTracer tracer = getExecutionTracer();
-		if (!tracer.disabled)
+		ExecutionTracer tracer = getRecorder();
+		if (tracer != null)
 			tracer.trace.definitionPassed(object, caller, defID);
 	}
 
@@ -770,11 +1121,8 @@ public class ExecutionTracer {
 	 */
 	public static void passedUse(Object object, Object caller, int useID) {
 
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		tracer.trace.usePassed(object, caller, useID);
@@ -791,11 +1139,8 @@ public class ExecutionTracer {
 	 * @param defuseId
 	 */
 	public static void passedFieldMethodCall(Object callee, Object caller, int defuseId) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		if (DefUsePool.isKnownAsDefinition(defuseId)) {
@@ -821,15 +1166,10 @@ public class ExecutionTracer {
 	 *            a int.
 	 */
 	public static void passedMutation(double distance, int mutationId) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
+		ExecutionTracer tracer = getRecorderCheckingTimeout();
+		if (tracer == null)
 			return;
 
-		if (isThreadNeqCurrentThread())
-			return;
-
-		checkTimeout();
-
 		tracer.trace.mutationPassed(mutationId, distance);
 	}
 
@@ -847,11 +1187,8 @@ public class ExecutionTracer {
 	 */
 	public static void exceptionThrown(Object exception, String className,
 	        String methodName) {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		checkTimeout();
@@ -867,11 +1204,8 @@ public class ExecutionTracer {
 	 * </p>
 	 */
 	public static void statementExecuted() {
-		ExecutionTracer tracer = getExecutionTracer();
-		if (tracer.disabled)
-			return;
-
-		if (isThreadNeqCurrentThread())
+		ExecutionTracer tracer = getRecorder();
+		if (tracer == null)
 			return;
 
 		checkTimeout();
@@ -891,6 +1225,11 @@ public class ExecutionTracer {
 	}
 
 	private ExecutionTracer() {
+		this(false);
+	}
+
+	private ExecutionTracer(boolean threadConfined) {
+		this.threadConfined = threadConfined;
 		trace = new ExecutionTraceProxy();
 	}
 
@@ -0,0 +1,565 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
+import org.evosuite.runtime.Runtime;
+import org.evosuite.runtime.RuntimeContext;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.util.JOptionPaneInputs;
+import org.evosuite.runtime.util.SystemInUtil;
+import org.evosuite.runtime.sandbox.PermissionStatistics;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.seeding.ConstantPoolManager;
+import org.evosuite.setup.TestCluster;
+import org.evosuite.testcase.ExecutableChromosome;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testsuite.AbstractTestSuiteChromosome;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Executes the changed tests of a population in one pass, before their
+ * fitness is evaluated, and concurrently on a pool of workers if
+ * {@link #isConcurrent()}. The results are stored in the chromosomes as last
+ * execution result, so that the fitness functions evaluated afterwards on the
+ * search thread reuse them instead of executing the tests again.
+ * </p>
+ *
+ * <p>
+ * Each worker has its own thread group, its own {@link ExecutionTracer} and
+ * its own {@link RuntimeContext} (mocked time, random numbers, threads, VFS,
+ * VNET, loop counters, ...), bound to the worker threads through
+ * thread-locals, and reset before each test. The static state of the SUT and
+ * the System properties are still shared. Only static field writes are
+ * traced, not the changes made through a reference read from a static field
+ * (eg a singleton, or a collection), so every static read is considered as a
+ * possible write. A result is therefore discarded, and the test executed
+ * again sequentially by the fitness function, if:
+ * <ul>
+ * <li>the test wrote static fields or initialized classes;</li>
+ * <li>the test read static fields while another test of the batch accessed
+ * static state;</li>
+ * <li>any System property was written during the batch;</li>
+ * <li>the batch was interrupted.</li>
+ * </ul>
+ * This is only possible because static accesses are traced when
+ * {@link Properties#RESET_STATIC_FIELDS} is on, otherwise the tests are
+ * executed sequentially. Static state of non-instrumented (eg JDK) classes is
+ * not traced, apart from what the runtime mocks confine per worker.
+ * Everything that is not thread-safe (static reset, dynamic constants,
+ * stopping conditions, test cluster updates) is done sequentially once all
+ * tests of the batch are executed.
+ * </p>
+ *
+ * <p>
+ * WARNING: as for {@link TestCaseExecutor}, never give "privileged" rights in
+ * MSecurityManager to the threads executing the tests
+ * </p>
+ */
+public class ParallelTestCaseExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ParallelTestCaseExecutor.class);
+
+	/**
+	 * Prefix of the thread groups of the workers. The threads executing the
+	 * tests are in a child group named
+	 * {@link TestCaseExecutor#TEST_EXECUTION_THREAD_GROUP}
+	 */
+	public static final String PARALLEL_EXECUTION_GROUP = "Parallel_Test_Execution_Group";
+
+	/**
+	 * Name of the (privileged) threads driving the workers
+	 */
+	public static final String PARALLEL_EXECUTION_DRIVER = "PARALLEL_TEST_EXECUTION_DRIVER";
+
+	private static ParallelTestCaseExecutor instance = null;
+
+	private final List<Worker> workers = new ArrayList<>();
+
+	private ParallelTestCaseExecutor() {
+	}
+
+	public static synchronized ParallelTestCaseExecutor getInstance() {
+		if (instance == null)
+			instance = new ParallelTestCaseExecutor();
+
+		return instance;
+	}
+
+	/**
+	 * Stop all the worker threads. New ones are created on the next
+	 * execution, eg with a new SUT class loader
+	 */
+	public static synchronized void pullDown() {
+		if (instance != null) {
+			for (Worker worker : instance.workers) {
+				worker.shutdown();
+			}
+			instance.workers.clear();
+		}
+	}
+
+	/**
+	 * Tests are only executed in batches if requested, and if no observers (eg
+	 * for assertion generation) need to see the executions
+	 *
+	 * @return true if {@link #executeChangedTests(Collection)} would execute
+	 *         the tests
+	 */
+	public boolean isEnabled() {
+		return (Properties.BATCH_TEST_EXECUTION || Properties.TEST_EXECUTION_THREADS > 1)
+				&& TestCaseExecutor.getInstance().getExecutionObservers().isEmpty();
+	}
+
+	/**
+	 * Tests are only executed concurrently if more than one thread is
+	 * requested, and if the interferences among them can be detected, ie the
+	 * static accesses are traced. The Java EE support relies on JVM-wide
+	 * state, and so it is not supported
+	 *
+	 * @return true if the tests of a batch are executed concurrently
+	 */
+	public boolean isConcurrent() {
+		return Properties.TEST_EXECUTION_THREADS > 1 && Properties.RESET_STATIC_FIELDS
+				&& !RuntimeSettings.isUseJEE();
+	}
+
+	private static int getNumberOfWorkers() {
+		return Math.max(1, Properties.TEST_EXECUTION_THREADS);
+	}
+
+	/**
+	 * Execute all the tests in the given population that were changed since
+	 * their last execution, concurrently if {@link #isConcurrent()}. Test
+	 * suites are handled by executing their changed tests. Does nothing if not
+	 * {@link #isEnabled()}.
+	 *
+	 * @param population
+	 *            test chromosomes and/or test suite chromosomes
+	 */
+	public void executeChangedTests(Collection<? extends Chromosome> population) {
+		if (!isEnabled())
+			return;
+
+		List<TestChromosome> tests = collectChangedTests(population);
+		if (!isConcurrent()) {
+			executeSequentially(tests);
+			return;
+		}
+		if (tests.size() < 2)
+			return; // nothing to gain
+
+		logger.debug("Executing {} tests on {} threads", tests.size(), getNumberOfWorkers());
+		ExecutionResult[] results = new ExecutionResult[tests.size()];
+		List<List<Object>> dynamicConstants = new ArrayList<>(Collections.nCopies(tests.size(), null));
+
+		boolean interrupted = !executeConcurrently(tests, results, dynamicConstants);
+
+		boolean propertiesWritten = org.evosuite.runtime.System.wasAnyPropertyWritten();
+		int accessingStaticState = 0;
+		for (ExecutionResult result : results) {
+			if (result != null && accessesStaticState(result)) {
+				accessingStaticState++;
+			}
+		}
+
+		// Sequential part, in the order of the population
+		int discarded = 0;
+		for (int i = 0; i < tests.size(); i++) {
+			TestChromosome test = tests.get(i);
+			ExecutionResult result = results[i];
+			if (result == null) // not executed, will be done by the fitness function
+				continue;
+
+			// the classes have to be reset even if the result is discarded
+			ClassReInitializer.getInstance().reInitializeClassesAfterTestExecution(test.getTestCase(), result);
+			if (interrupted || propertiesWritten || writesStaticState(result)
+					|| (accessingStaticState > 1 && accessesStaticState(result))) {
+				// might depend on the other tests, will be executed again by the fitness function
+				discarded++;
+				continue;
+			}
+
+			if (dynamicConstants.get(i) != null) {
+				for (Object value : dynamicConstants.get(i)) {
+					ConstantPoolManager.getInstance().addDynamicConstant(value);
+				}
+			}
+			TestCluster.getInstance().handleRuntimeAccesses(test.getTestCase());
+			MaxTestsStoppingCondition.testExecuted();
+			MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+			TestCaseExecutor.testsExecuted++;
+
+			test.setLastExecutionResult(result);
+			test.setChanged(false);
+		}
+		if (discarded > 0) {
+			logger.debug("Discarded {} out of {} concurrent executions", discarded, tests.size());
+		}
+	}
+
+	/**
+	 * Whether the test wrote static fields, or initialized classes
+	 *
+	 * @param result
+	 * @return
+	 */
+	private static boolean writesStaticState(ExecutionResult result) {
+		ExecutionTrace trace = result.getTrace();
+		return !trace.getClassesWithStaticWrites().isEmpty() || !trace.getInitializedClasses().isEmpty();
+	}
+
+	/**
+	 * Whether the test could have changed, or depended on, state that is
+	 * visible to the tests executed at the same time. A static read can return
+	 * a reference to an object that is then modified, so it counts as well
+	 *
+	 * @param result
+	 * @return
+	 */
+	private static boolean accessesStaticState(ExecutionResult result) {
+		return writesStaticState(result) || !result.getTrace().getClassesWithStaticReads().isEmpty();
+	}
+
+	/**
+	 * Execute the tests one after the other, with the full protocol of
+	 * {@link TestCaseExecutor} for each of them. Nothing of it is shared over
+	 * the batch: ending the sandbox restores the System properties, and the
+	 * runtime and static field resets bring back the mocked time, random
+	 * numbers, VFS and SUT classes to their initial state. Doing them once per
+	 * batch would make each result depend on the tests executed before it in
+	 * the batch. What the batch still saves is executing the tests once before
+	 * all the fitness functions, which then reuse the results
+	 *
+	 * @param tests
+	 */
+	private static void executeSequentially(List<TestChromosome> tests) {
+		for (TestChromosome test : tests) {
+			ExecutionResult result = TestCaseExecutor.runTest(test.getTestCase());
+			test.setLastExecutionResult(result);
+			test.setChanged(false);
+		}
+	}
+
+	private static List<TestChromosome> collectChangedTests(Collection<? extends Chromosome> population) {
+		Set<TestChromosome> tests = Collections.newSetFromMap(new IdentityHashMap<TestChromosome, Boolean>());
+		List<TestChromosome> ordered = new ArrayList<>();
+		for (Chromosome c : population) {
+			List<? extends ExecutableChromosome> candidates;
+			if (c instanceof TestChromosome) {
+				candidates = Collections.singletonList((TestChromosome) c);
+			} else if (c instanceof AbstractTestSuiteChromosome) {
+				candidates = ((AbstractTestSuiteChromosome<?>) c).getTestChromosomes();
+			} else {
+				continue;
+			}
+			for (ExecutableChromosome candidate : candidates) {
+				if (!(candidate instanceof TestChromosome))
+					continue;
+				TestChromosome test = (TestChromosome) candidate;
+				if ((test.isChanged() || test.getLastExecutionResult() == null) && tests.add(test)) {
+					ordered.add(test);
+				}
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * @return false if interrupted, in which case the results must not be used
+	 */
+	private boolean executeConcurrently(List<TestChromosome> tests, ExecutionResult[] results,
+			List<List<Object>> dynamicConstants) {
+		synchronized (ParallelTestCaseExecutor.class) {
+			while (workers.size() < getNumberOfWorkers()) {
+				workers.add(new Worker(workers.size()));
+			}
+		}
+
+		AtomicInteger next = new AtomicInteger(0);
+		AtomicBoolean stopped = new AtomicBoolean(false);
+		List<Future<?>> futures = new ArrayList<>();
+		boolean completed = false;
+		boolean interrupted = false;
+
+		// JVM-wide part, the one confined in the contexts is reset before each test
+		Runtime.getInstance().resetRuntime();
+		ExecutionTracer.setThreadConfinementEnabled(true);
+		if (!Properties.PRINT_TO_SYSTEM) {
+			LoggingUtils.muteCurrentOutAndErrStream();
+		}
+		// important to call it before setting up the sandbox
+		SystemInUtil.getInstance().initForTestCase();
+		JOptionPaneInputs.getInstance().initForTestCase();
+		Sandbox.goingToExecuteSUTCode();
+		TestGenerationContext.getInstance().goingToExecuteSUTCode();
+		long startTime = System.currentTimeMillis();
+		try {
+			for (int i = 0; i < getNumberOfWorkers(); i++) {
+				Worker worker = workers.get(i);
+				futures.add(worker.submit(() -> {
+					int index;
+					while (!stopped.get() && (index = next.getAndIncrement()) < tests.size()) {
+						results[index] = worker.execute(tests.get(index).getTestCase());
+						dynamicConstants.set(index, worker.tracer.takeDynamicConstants());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					logger.info("Interrupted while waiting for the workers");
+					interrupted = true;
+					break;
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof Error) {
+						throw (Error) e.getCause();
+					} else if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					logger.error("ExecutionException (this is likely a serious error in the framework)", e);
+				}
+			}
+			completed = !interrupted;
+		} finally {
+			if (!completed) {
+				// the workers must not touch the results nor the SUT once we return
+				stopped.set(true);
+				for (Future<?> future : futures) {
+					future.cancel(true);
+				}
+				for (int i = 0; i < futures.size(); i++) {
+					workers.get(i).awaitIdle();
+				}
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			Sandbox.doneWithExecutingSUTCode();
+			TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+			if (!Properties.PRINT_TO_SYSTEM) {
+				LoggingUtils.restorePreviousOutAndErrStream();
+			}
+			ExecutionTracer.setThreadConfinementEnabled(false);
+			TestCaseExecutor.timeExecuted += System.currentTimeMillis() - startTime;
+		}
+		return completed;
+	}
+
+	/**
+	 * A driver thread, which is privileged, and the thread executing the
+	 * tests, both sharing the same thread-confined tracer and runtime context
+	 */
+	private static class Worker implements ThreadFactory {
+
+		private final int id;
+
+		private final ThreadGroup workerGroup;
+
+		private final ExecutionTracer tracer = ExecutionTracer.newThreadConfinedTracer();
+
+		private final RuntimeContext context = new RuntimeContext();
+
+		private final ExecutorService driver;
+
+		private ExecutorService executor;
+
+		private Thread currentThread = null;
+
+		private int threadCounter = 0;
+
+		Worker(int id) {
+			this.id = id;
+			this.workerGroup = new ThreadGroup(PARALLEL_EXECUTION_GROUP + "_" + id);
+			this.driver = Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(workerGroup, r, PARALLEL_EXECUTION_DRIVER + "_" + id);
+				t.setDaemon(true);
+				Sandbox.addPrivilegedThread(t);
+				return t;
+			});
+			this.executor = Executors.newSingleThreadExecutor(this);
+		}
+
+		Future<?> submit(Runnable task) {
+			return driver.submit(() -> {
+				// inherited by the test execution thread when the executor creates it
+				ExecutionTracer.bindToCurrentThread(tracer);
+				RuntimeContext previous = RuntimeContext.bind(context);
+				try {
+					task.run();
+				} finally {
+					RuntimeContext.bind(previous);
+				}
+			});
+		}
+
+		/**
+		 * Called on the driver thread, so the new thread group is a child of
+		 * the worker group, and the thread inherits the bound tracer
+		 */
+		@Override
+		public Thread newThread(Runnable r) {
+			ThreadGroup threadGroup = new ThreadGroup(TestCaseExecutor.TEST_EXECUTION_THREAD_GROUP);
+			currentThread = new Thread(threadGroup, r);
+			currentThread.setName(TestCaseExecutor.TEST_EXECUTION_THREAD + "_P" + id + "_" + threadCounter);
+			threadCounter++;
+			currentThread.setContextClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+			tracer.setOwnerThread(currentThread);
+			return currentThread;
+		}
+
+		/**
+		 * Execute a test on a new scope, on the driver thread
+		 *
+		 * @param tc
+		 * @return
+		 */
+		ExecutionResult execute(TestCase tc) {
+			tracer.clear();
+			ExecutionTracer.setKillSwitch(false);
+			Runtime.getInstance().resetConfinedRuntime();
+			PermissionStatistics.getInstance().getAndResetExceptionInfo();
+
+			TimeoutHandler<ExecutionResult> handler = new TimeoutHandler<>();
+			TestRunnable callable = new TestRunnable(tc, new Scope(), new LinkedHashSet<ExecutionObserver>());
+			callable.setOutputStreamsHandledByCaller(true);
+			callable.storeCurrentThreads();
+
+			try {
+				ExecutionResult result = handler.execute(callable, executor, Properties.TIMEOUT,
+						Properties.CPU_TIMEOUT);
+				result.setSecurityException(PermissionStatistics.getInstance().getAndResetExceptionInfo());
+				callable.killAndJoinClientThreads();
+				return result;
+			} catch (TimeoutException e) {
+				logger.info("TimeoutException, need to stop runner");
+				ExecutionTracer.setKillSwitch(true);
+				try {
+					handler.getLastTask().get(Properties.SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException | ExecutionException | TimeoutException e2) {
+				}
+				if (!callable.isRunFinished()) {
+					handler.getLastTask().cancel(true);
+					replaceExecutor();
+				}
+				ExecutionResult result = resultWithoutExecution(tc, callable);
+				result.reportNewThrownException(tc.size(), new TestCaseExecutor.TimeoutExceeded());
+				ExecutionTracer.setKillSwitch(false);
+				return result;
+			} catch (InterruptedException e) {
+				logger.info("InterruptedException");
+				return resultWithoutExecution(tc, callable);
+			} catch (ExecutionException e) {
+				logger.error("ExecutionException (this is likely a serious error in the framework)", e);
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				} else if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				return resultWithoutExecution(tc, callable);
+			}
+		}
+
+		private ExecutionResult resultWithoutExecution(TestCase tc, TestRunnable callable) {
+			ExecutionResult result = new ExecutionResult(tc, null);
+			result.setThrownExceptions(callable.getExceptionsThrown());
+			result.setTrace(tracer.getTrace());
+			tracer.clear();
+			return result;
+		}
+
+		@SuppressWarnings("deprecation")
+		private void replaceExecutor() {
+			logger.info("Run still not finished, replacing executor of worker {}", id);
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(Properties.SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				logger.info("Interrupted");
+			}
+			if (currentThread != null && currentThread.isAlive()) {
+				logger.info("Thread survived - unsafe operation.");
+				try {
+					currentThread.stop();
+				} catch (ThreadDeath t) {
+					logger.info("ThreadDeath.");
+				} catch (Throwable t) {
+					logger.info("Throwable: " + t);
+				}
+			}
+			executor = Executors.newSingleThreadExecutor(this);
+		}
+
+		/**
+		 * Wait, even if interrupted, until the driver has finished the
+		 * submitted tasks
+		 */
+		void awaitIdle() {
+			Future<?> idle = driver.submit(() -> {
+			});
+			boolean interrupted = false;
+			while (true) {
+				try {
+					idle.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					break;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		void shutdown() {
+			executor.shutdownNow();
+			driver.shutdownNow();
+		}
+	}
+}
@@ -273,8 +273,24 @@ public class TestCaseExecutor implements ThreadFactory {
 	 * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
 	 */
 	public ExecutionResult execute(TestCase tc, int timeout) {
-		Scope scope = new Scope();
-		ExecutionResult result = execute(tc, scope, timeout);
+		boolean incremental = ExecutionSnapshot.isApplicable(!observers.isEmpty());
+		ExecutionSnapshot snapshot = null;
+		if (incremental) {
+			snapshot = tc.getExecutionSnapshot();
+			if (snapshot != null && !snapshot.claimFor(tc))
+				snapshot = null;
+		}
+
+		Scope scope = snapshot == null ? new Scope() : snapshot.restoreScope(tc);
+		ExecutionResult result = execute(tc, scope, timeout, snapshot);
+		if (snapshot != null) {
+			snapshot.release();
+		}
+
+		if (incremental) {
+			// before resetting the classes, as it checks which ones were initialized
+			tc.setExecutionSnapshot(ExecutionSnapshot.takeSnapshot(tc, scope, result));
+		}
 
 		if (Properties.RESET_STATIC_FIELDS) {
 			logger.debug("Resetting classes after execution");
@@ -290,11 +306,19 @@ public class TestCaseExecutor implements ThreadFactory {
 	 *            a {@link org.evosuite.testcase.TestCase} object.
 	 * @param scope
 	 *            a {@link org.evosuite.testcase.execution.Scope} object.
+	 * @param prefix
+	 *            if not null, only the statements after the ones of this
+	 *            snapshot are executed, on a scope restored from it
 	 * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
 	 */
 	@SuppressWarnings("deprecation")
-	private ExecutionResult execute(TestCase tc, Scope scope, int timeout) {
-		ExecutionTracer.getExecutionTracer().clear();
+	private ExecutionResult execute(TestCase tc, Scope scope, int timeout, ExecutionSnapshot prefix) {
+		if (prefix == null) {
+			ExecutionTracer.getExecutionTracer().clear();
+		} else {
+			logger.debug("Continuing execution after statement {}", prefix.getNumberOfExecutedStatements());
+			ExecutionTracer.getExecutionTracer().clear(prefix.getResult().getTrace());
+		}
 
 		// TODO: Re-insert!
 		resetObservers();
@@ -308,6 +332,9 @@ public class TestCaseExecutor implements ThreadFactory {
 
 		// #TODO steenbuck could be nicer (TestRunnable should be an interface
 		TestRunnable callable = new TestRunnable(tc, scope, observers);
+		if (prefix != null) {
+			callable.setFirstStatement(prefix.getNumberOfExecutedStatements());
+		}
 		callable.storeCurrentThreads();
 
 		/*
@@ -344,6 +371,11 @@ public class TestCaseExecutor implements ThreadFactory {
 			 * threads in the search.
 			 */
 			callable.killAndJoinClientThreads();
+			ExecutionTracer.getExecutionTracer().flushDynamicConstants();
+
+			if (prefix != null) {
+				result.setExecutionTime(result.getExecutionTime() + prefix.getResult().getExecutionTime());
+			}
 
 			/*
 			 * TODO: we might want to initialize the ExecutionResult here, once
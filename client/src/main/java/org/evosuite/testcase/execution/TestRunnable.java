@@ -73,6 +73,19 @@ public class TestRunnable implements InterfaceTestRunnable {
 	protected Set<ExecutionObserver> observers;
 
 	protected final ThreadStopper threadStopper;
+
+	/**
+	 * If true, System.out/err are muted and restored by the caller around the
+	 * execution, eg when several tests are executed concurrently
+	 */
+	private boolean outputStreamsHandledByCaller = false;
+
+	/**
+	 * Position of the first statement to execute. The scope must contain the
+	 * values of the statements before it, eg restored from an
+	 * {@link ExecutionSnapshot}
+	 */
+	private int firstStatement = 0;
 	
 	/**
 	 * <p>
@@ -116,6 +129,14 @@ public class TestRunnable implements InterfaceTestRunnable {
 		threadStopper.storeCurrentThreads();
 	}
 
+	public void setOutputStreamsHandledByCaller(boolean outputStreamsHandledByCaller) {
+		this.outputStreamsHandledByCaller = outputStreamsHandledByCaller;
+	}
+
+	public void setFirstStatement(int firstStatement) {
+		this.firstStatement = firstStatement;
+	}
+
 	/**
 	 * Try to kill (and then join) the SUT threads. Killing the SUT threads is
 	 * important, because some spawn threads could just wait on objects/locks,
@@ -182,7 +203,7 @@ public class TestRunnable implements InterfaceTestRunnable {
 		PrintStream out = (Properties.PRINT_TO_SYSTEM ? System.out : new PrintStream(byteStream));
 		byteStream.reset();
 
-		if (!Properties.PRINT_TO_SYSTEM) {
+		if (!Properties.PRINT_TO_SYSTEM && !outputStreamsHandledByCaller) {
 			LoggingUtils.muteCurrentOutAndErrStream();
 		}
 
@@ -192,7 +213,7 @@ public class TestRunnable implements InterfaceTestRunnable {
 		 *  need AtomicInteger as we want to get latest updated value even if exception is thrown in the 'try' block.
 		 *  we practically use it as wrapper for int, which we can then pass by reference
 		 */
-		AtomicInteger num = new AtomicInteger(0);
+		AtomicInteger num = new AtomicInteger(firstStatement);
 
 		try {
 			if(Properties.REPLACE_CALLS){
@@ -233,7 +254,7 @@ public class TestRunnable implements InterfaceTestRunnable {
 			logger.error("Suppressed/ignored exception during test case execution on class "
 			                     + Properties.TARGET_CLASS + ": " + e.getMessage(), e);
 		} finally {
-			if (!Properties.PRINT_TO_SYSTEM) {
+			if (!Properties.PRINT_TO_SYSTEM && !outputStreamsHandledByCaller) {
 				LoggingUtils.restorePreviousOutAndErrStream();
 			}
 			if(Properties.REPLACE_CALLS){
@@ -276,7 +297,8 @@ public class TestRunnable implements InterfaceTestRunnable {
 			InvocationTargetException, IllegalAccessException,
 			InstantiationException, VMError, EvosuiteError {
 		
-		for (Statement s : test) {
+		for (int position = firstStatement; position < test.size(); position++) {
+			Statement s = test.getStatement(position);
 
 			if (Thread.currentThread().isInterrupted() || Thread.interrupted()) {
 				logger.info("Thread interrupted at statement " + num + ": " + s.getCode());
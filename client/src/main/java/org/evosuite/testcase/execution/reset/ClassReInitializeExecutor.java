@@ -86,7 +86,9 @@ class ClassReInitializeExecutor {
 				// Note: we no longer cancel the class re-initialization since
 				// it might leave the static data in an inconsistent state
 			}
+			long resetStart = System.nanoTime();
 			resetClass(className);
+			ClassReInitializer.getInstance().addResetCost(className, System.nanoTime() - resetStart);
 		}
 	}
 
@@ -19,13 +19,19 @@
  */
 package org.evosuite.testcase.execution.reset;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.evosuite.Properties;
 import org.evosuite.assertion.CheapPurityAnalyzer;
+import org.evosuite.rmi.ClientServices;
+import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.ExecutionResult;
@@ -51,8 +57,21 @@ public class ClassReInitializer {
 
 	private final List<String> initializedClasses = new LinkedList<String>();
 
+	/**
+	 * Number of re-initializations (index 0) and time spent in them in
+	 * nanoseconds (index 1), for each re-initialized class. Static, as the
+	 * costs have to survive {@link #resetSingleton()} when the context is reset
+	 * (eg to re-instrument for coverage analysis)
+	 */
+	private static final Map<String, long[]> resetCosts = new HashMap<String, long[]>();
+
 	private static ClassReInitializer instance = null;
 
+	/**
+	 * Number of classes reported in {@link RuntimeVariable#Static_Reset_Costs}
+	 */
+	private static final int MAX_REPORTED_RESET_COSTS = 10;
+
 	public static void resetSingleton() {
 		instance = null;
 	}
@@ -224,6 +243,89 @@ public class ClassReInitializer {
 	public List<String> getInitializedClasses() {
 		return new LinkedList<String>(this.initializedClasses);
 	}
+
+	/**
+	 * Records a re-initialization of the given class
+	 * 
+	 * @param classNameWithDots
+	 * @param nanos
+	 *            the time spent in __STATIC_RESET()
+	 */
+	void addResetCost(String classNameWithDots, long nanos) {
+		long[] cost = resetCosts.get(classNameWithDots);
+		if (cost == null) {
+			cost = new long[2];
+			resetCosts.put(classNameWithDots, cost);
+		}
+		cost[0]++;
+		cost[1] += nanos;
+	}
+
+	/**
+	 * @return how many times classes were re-initialized so far
+	 */
+	public long getNumberOfResets() {
+		long resets = 0;
+		for (long[] cost : resetCosts.values()) {
+			resets += cost[0];
+		}
+		return resets;
+	}
+
+	/**
+	 * @return the time spent re-initializing classes so far, in milliseconds
+	 */
+	public long getResetTime() {
+		long nanos = 0;
+		for (long[] cost : resetCosts.values()) {
+			nanos += cost[1];
+		}
+		return nanos / 1000000L;
+	}
+
+	/**
+	 * Returns the classes whose re-initialization took most time
+	 * 
+	 * @param limit
+	 *            the maximum number of classes to return
+	 * @return entries of the form <code>className:resets:milliseconds</code>,
+	 *         most costly first
+	 */
+	public List<String> getMostCostlyResets(int limit) {
+		List<Map.Entry<String, long[]>> entries = new ArrayList<Map.Entry<String, long[]>>(resetCosts.entrySet());
+		Collections.sort(entries, new Comparator<Map.Entry<String, long[]>>() {
+			@Override
+			public int compare(Map.Entry<String, long[]> e1, Map.Entry<String, long[]> e2) {
+				int flag = Long.compare(e2.getValue()[1], e1.getValue()[1]);
+				return flag != 0 ? flag : e1.getKey().compareTo(e2.getKey());
+			}
+		});
+		List<String> result = new ArrayList<String>();
+		for (Map.Entry<String, long[]> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+			result.add(entry.getKey() + ":" + entry.getValue()[0] + ":" + entry.getValue()[1] / 1000000L);
+		}
+		return result;
+	}
+
+	/**
+	 * Sends the number of re-initializations, their total time and the most
+	 * costly classes to the statistics
+	 */
+	public void trackResetStatistics() {
+		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Static_Resets,
+				getNumberOfResets());
+		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Static_Reset_Time,
+				getResetTime());
+		StringBuilder costs = new StringBuilder();
+		for (String cost : getMostCostlyResets(MAX_REPORTED_RESET_COSTS)) {
+			if (costs.length() > 0) {
+				costs.append(';');
+			}
+			costs.append(cost);
+		}
+		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Static_Reset_Costs,
+				costs.toString());
+	}
 	
 
 }
@@ -19,8 +19,6 @@
  */
 package org.evosuite.testcase.localsearch;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +29,7 @@ import org.evosuite.Properties;
 import org.evosuite.ga.localsearch.LocalSearchBudget;
 import org.evosuite.ga.localsearch.LocalSearchObjective;
 import org.evosuite.symbolic.BranchCondition;
+import org.evosuite.symbolic.ConstraintSlicer;
 import org.evosuite.symbolic.ConcolicExecution;
 import org.evosuite.symbolic.DSEStats;
 import org.evosuite.symbolic.PathCondition;
@@ -413,34 +412,16 @@ public class DSETestGenerator {
 
 	/**
 	 * Apply cone of influence reduction to constraints with respect to the last
-	 * constraint in the list
+	 * constraint in the list: only the constraints that are (transitively)
+	 * connected to it by shared variables are kept. The variables of the other,
+	 * independent, constraints keep the concrete values of the current test,
+	 * which already satisfy them.
 	 * 
 	 * @param constraints
 	 * @return
 	 */
 	private static List<Constraint<?>> reduce(List<Constraint<?>> constraints) {
-
-		Constraint<?> target = constraints.get(constraints.size() - 1);
-		Set<Variable<?>> dependencies = getVariables(target);
-
-		LinkedList<Constraint<?>> coi = new LinkedList<Constraint<?>>();
-		if (dependencies.size() <= 0)
-			return coi;
-
-		coi.add(target);
-
-		for (int i = constraints.size() - 2; i >= 0; i--) {
-			Constraint<?> constraint = constraints.get(i);
-			Set<Variable<?>> variables = getVariables(constraint);
-			for (Variable<?> var : dependencies) {
-				if (variables.contains(var)) {
-					dependencies.addAll(variables);
-					coi.addFirst(constraint);
-					break;
-				}
-			}
-		}
-		return coi;
+		return ConstraintSlicer.sliceForLast(constraints);
 	}
 
 	/**
@@ -461,19 +442,6 @@ public class DSETestGenerator {
 		return null;
 	}
 
-	/**
-	 * Determine the set of variable referenced by this constraint
-	 * 
-	 * @param constraint
-	 * @return
-	 */
-	private static Set<Variable<?>> getVariables(Constraint<?> constraint) {
-		Set<Variable<?>> variables = new HashSet<Variable<?>>();
-		getVariables(constraint.getLeftOperand(), variables);
-		getVariables(constraint.getRightOperand(), variables);
-		return variables;
-	}
-
 	/**
 	 * Recursively determine constraints in expression
 	 * 
@@ -28,6 +28,7 @@ import org.evosuite.testcase.ExecutableChromosome;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -111,6 +112,18 @@ public abstract class TestSuiteFitnessFunction extends
 		return results;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * The changed tests of all the suites are executed in one pass, and their
+	 * results are then reused by {@link #runTestSuite}
+	 */
+	@Override
+	public void prepareBatchEvaluation(
+	        List<? extends AbstractTestSuiteChromosome<? extends ExecutableChromosome>> individuals) {
+		ParallelTestCaseExecutor.getInstance().executeChangedTests(individuals);
+	}
+
 
 
 	/* (non-Javadoc)
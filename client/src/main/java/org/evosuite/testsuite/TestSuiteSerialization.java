@@ -20,9 +20,11 @@
 package org.evosuite.testsuite;
 
 import org.evosuite.TestGenerationContext;
+import org.evosuite.testcase.CompactTestCaseReader;
+import org.evosuite.testcase.CompactTestCaseWriter;
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
-import org.evosuite.utils.DebuggingObjectOutputStream;
 import org.evosuite.runtime.util.Inputs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,15 +49,12 @@ public class TestSuiteSerialization {
             parent.mkdirs();
         }
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
+        try(CompactTestCaseWriter out = new CompactTestCaseWriter(new BufferedOutputStream(new FileOutputStream(target)));){
             for(TestSuiteChromosome ts : list) {
                 for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
+                    out.write(tc.getTestCase());
                 }
             }
-
-            out.flush();
-            out.close();
         }catch (IOException e){
             logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
             return false;
@@ -70,13 +69,10 @@ public class TestSuiteSerialization {
             parent.mkdirs();
         }
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
+        try(CompactTestCaseWriter out = new CompactTestCaseWriter(new BufferedOutputStream(new FileOutputStream(target)));){
         	for (TestChromosome tc : ts.getTestChromosomes()) {
-        		out.writeObject(tc);
+        		out.write(tc.getTestCase());
             }
-
-            out.flush();
-            out.close();
         }catch (IOException e){
             logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
             return false;
@@ -112,29 +108,13 @@ public class TestSuiteSerialization {
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(target)) ){
-
-            try {
-                Object obj = in.readObject();
-                while(obj !=null){
-                    if(obj instanceof TestChromosome){
-                        //this check might fail if old version is used, and EvoSuite got updated
-                        TestChromosome tc = (TestChromosome) obj;
-                        for(Statement st : tc.getTestCase()){
-                            st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
-                        }
-
-                        list.add(tc);
-                    }
-                    obj = in.readObject();
-                }
-            } catch (EOFException e) {
-                //fine
-            }catch (Exception e) {
-                logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+        try(InputStream in = new BufferedInputStream(new FileInputStream(target))){
+            if(CompactTestCaseReader.isCompactFormat(in)) {
+                loadCompactTests(in, list);
+            } else {
+                // files written before the compact format was introduced
+                loadSerializedTests(in, list, target);
             }
-
-            in.close();
         } catch (FileNotFoundException e) {
             logger.warn("Cannot load tests because file does not exist: "+target.getAbsolutePath());
         } catch (IOException e) {
@@ -143,4 +123,38 @@ public class TestSuiteSerialization {
 
         return list;
     }
+
+    private static void loadCompactTests(InputStream in, List<TestChromosome> list) throws IOException {
+        CompactTestCaseReader reader = new CompactTestCaseReader(in);
+        TestCase test = reader.read();
+        while(test != null){
+            TestChromosome tc = new TestChromosome();
+            tc.setTestCase(test);
+            list.add(tc);
+            test = reader.read();
+        }
+    }
+
+    private static void loadSerializedTests(InputStream stream, List<TestChromosome> list, File target) throws IOException {
+        ObjectInputStream in = new ObjectInputStream(stream);
+        try {
+            Object obj = in.readObject();
+            while(obj !=null){
+                if(obj instanceof TestChromosome){
+                    //this check might fail if old version is used, and EvoSuite got updated
+                    TestChromosome tc = (TestChromosome) obj;
+                    for(Statement st : tc.getTestCase()){
+                        st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+                    }
+
+                    list.add(tc);
+                }
+                obj = in.readObject();
+            }
+        } catch (EOFException e) {
+            //fine
+        }catch (Exception e) {
+            logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+        }
+    }
 }
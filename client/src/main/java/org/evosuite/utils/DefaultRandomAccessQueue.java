@@ -22,10 +22,10 @@
  */
 package org.evosuite.utils;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Queue;
+import java.util.List;
 import java.util.Set;
 
 import org.evosuite.Properties;
@@ -38,7 +38,12 @@ public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
 
 	private final Set<T> valueSet = new HashSet<T>();
 
-	private final Queue<T> queue = new ArrayDeque<T>();
+	/**
+	 * The values in insertion order. A list rather than a deque, so that random
+	 * values can be chosen by index: the queue is small, so dropping the first
+	 * element is cheap
+	 */
+	private final List<T> queue = new ArrayList<T>();
 
 	/* (non-Javadoc)
 	 * @see org.evosuite.primitives.RandomAccessQueue#restrictedAdd(java.lang.Object)
@@ -54,7 +59,7 @@ public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
 
 	private void reduceSize() {
 		if (queue.size() > Properties.DYNAMIC_POOL_SIZE) {
-			T value = queue.poll();
+			T value = queue.remove(0);
 			valueSet.remove(value);
 		}
 	}
@@ -64,7 +69,7 @@ public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
 	 */
 	@Override
 	public T getRandomValue() {
-		return Randomness.choice(valueSet);
+		return Randomness.choice(queue);
 	}
 
 	@Override
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Helpers to spread independent pieces of work, like reading the classes of
+ * the classpath, over several cores.
+ */
+public abstract class ParallelUtil {
+
+	/**
+	 * Number of chunks per thread, so that threads getting cheap chunks can
+	 * take over the remaining ones
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/**
+	 * @param threads
+	 *            a configured number of threads
+	 * @return <code>threads</code> if positive, the number of available
+	 *         processors otherwise
+	 */
+	public static int getNumberOfThreads(int threads) {
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Applies <code>function</code> to all inputs, on a fork-join pool with the
+	 * given number of threads. The function must be safe to call concurrently.
+	 *
+	 * @param inputs
+	 *            the inputs
+	 * @param function
+	 *            the function to apply
+	 * @param threads
+	 *            the number of threads, the work is done on the calling
+	 *            thread if not greater than one
+	 * @return the results, in the order of the inputs
+	 * @throws RuntimeException
+	 *             the first exception thrown by the function, in the order of
+	 *             the inputs
+	 */
+	public static <I, O> List<O> map(final List<I> inputs, final Function<? super I, ? extends O> function,
+			int threads) {
+		if (threads <= 1 || inputs.size() <= 1) {
+			return map(inputs, function, null);
+		}
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return map(inputs, function, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Applies <code>function</code> to all inputs on the given pool, which can
+	 * be reused over several calls. The function must be safe to call
+	 * concurrently.
+	 *
+	 * @param inputs
+	 *            the inputs
+	 * @param function
+	 *            the function to apply
+	 * @param pool
+	 *            the pool, the work is done on the calling thread if null or
+	 *            if its parallelism is not greater than one
+	 * @return the results, in the order of the inputs
+	 * @throws RuntimeException
+	 *             the first exception thrown by the function, in the order of
+	 *             the inputs
+	 */
+	public static <I, O> List<O> map(final List<I> inputs, final Function<? super I, ? extends O> function,
+			ForkJoinPool pool) {
+		final int size = inputs.size();
+		if (pool == null || pool.getParallelism() <= 1 || size <= 1) {
+			List<O> results = new ArrayList<>(size);
+			for (I input : inputs) {
+				results.add(function.apply(input));
+			}
+			return results;
+		}
+
+		final Object[] results = new Object[size];
+		int chunks = Math.min(size, pool.getParallelism() * CHUNKS_PER_THREAD);
+		List<Callable<Void>> tasks = new ArrayList<>(chunks);
+		for (int c = 0; c < chunks; c++) {
+			final int from = (int) ((long) size * c / chunks);
+			final int to = (int) ((long) size * (c + 1) / chunks);
+			tasks.add(() -> {
+				for (int i = from; i < to; i++) {
+					results[i] = function.apply(inputs.get(i));
+				}
+				return null;
+			});
+		}
+
+		try {
+			for (Future<Void> future : pool.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for parallel tasks", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+
+		@SuppressWarnings("unchecked")
+		List<O> list = new ArrayList<>((List<O>) Arrays.asList(results));
+		return list;
+	}
+}
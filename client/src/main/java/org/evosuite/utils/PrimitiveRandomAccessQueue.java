@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.Arrays;
+
+import org.evosuite.Properties;
+
+/**
+ * Allocation-free counterpart of {@link DefaultRandomAccessQueue} for
+ * primitive values, which are stored as the bits of a <code>long</code> (see
+ * {@link Double#doubleToLongBits(double)} and
+ * {@link Float#floatToIntBits(float)}, which give the same equality as the
+ * boxed types).
+ *
+ * <p>
+ * The values are kept in insertion order in a ring buffer of at most
+ * {@link Properties#DYNAMIC_POOL_SIZE} elements, the oldest value being
+ * dropped when a new one is added to a full queue. Membership is checked with
+ * an open-addressing hash set, and random values are sampled by drawing an
+ * index into the ring buffer, so both adding and sampling take constant time.
+ */
+public class PrimitiveRandomAccessQueue {
+
+	/** The values, oldest first starting at head */
+	private long[] ring;
+
+	private int head = 0;
+
+	private int size = 0;
+
+	/** Open-addressing (linear probing) set of the values in the ring */
+	private long[] keys;
+
+	private boolean[] used;
+
+	public PrimitiveRandomAccessQueue() {
+		allocate(Math.max(1, Properties.DYNAMIC_POOL_SIZE));
+	}
+
+	private void allocate(int capacity) {
+		ring = new long[capacity];
+		int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+		keys = new long[tableSize];
+		used = new boolean[tableSize];
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Adds the value if not already contained, dropping the oldest value if the
+	 * queue is full
+	 *
+	 * @param value
+	 */
+	public void restrictedAdd(long value) {
+		if (ring.length != Math.max(1, Properties.DYNAMIC_POOL_SIZE)) {
+			resize(Math.max(1, Properties.DYNAMIC_POOL_SIZE));
+		}
+		if (contains(value)) {
+			return;
+		}
+		if (size == ring.length) {
+			removeKey(ring[head]);
+			head = (head + 1) % ring.length;
+			size--;
+		}
+		ring[(head + size) % ring.length] = value;
+		size++;
+		insertKey(value);
+	}
+
+	/**
+	 * @return a value chosen uniformly at random
+	 * @throws IllegalStateException
+	 *             if the queue is empty
+	 */
+	public long getRandomValue() {
+		if (size == 0) {
+			throw new IllegalStateException("Cannot choose a value from an empty queue");
+		}
+		return ring[(head + Randomness.nextInt(size)) % ring.length];
+	}
+
+	/**
+	 * @param index
+	 *            0 for the oldest value
+	 * @return the value at the given position in insertion order
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+		}
+		return ring[(head + index) % ring.length];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean contains(long value) {
+		int mask = keys.length - 1;
+		for (int i = hash(value) & mask; used[i]; i = (i + 1) & mask) {
+			if (keys[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void resize(int capacity) {
+		long[] values = new long[Math.min(size, capacity)];
+		for (int i = 0; i < values.length; i++) {
+			// keep the most recent values
+			values[i] = get(size - values.length + i);
+		}
+		allocate(capacity);
+		for (long value : values) {
+			ring[size++] = value;
+			insertKey(value);
+		}
+	}
+
+	private void insertKey(long value) {
+		int mask = keys.length - 1;
+		int i = hash(value) & mask;
+		while (used[i]) {
+			i = (i + 1) & mask;
+		}
+		keys[i] = value;
+		used[i] = true;
+	}
+
+	/**
+	 * Removes a contained value, shifting back the following entries of its
+	 * probe sequence so that lookups do not need tombstones
+	 */
+	private void removeKey(long value) {
+		int mask = keys.length - 1;
+		int i = hash(value) & mask;
+		while (keys[i] != value || !used[i]) {
+			i = (i + 1) & mask;
+		}
+		used[i] = false;
+		for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+			int home = hash(keys[j]) & mask;
+			// move the entry unless its home slot lies cyclically in (i, j]
+			boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+			if (!reachable) {
+				keys[i] = keys[j];
+				used[i] = true;
+				used[j] = false;
+				i = j;
+			}
+		}
+	}
+
+	private static int hash(long value) {
+		long h = value * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@Override
+	public String toString() {
+		long[] values = new long[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = get(i);
+		}
+		return Arrays.toString(values);
+	}
+}
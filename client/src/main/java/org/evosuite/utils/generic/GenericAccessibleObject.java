@@ -23,6 +23,7 @@ import java.io.Serializable;
 import java.lang.reflect.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -462,6 +463,13 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 		}
 	}
 
+	/**
+	 * @return the values set with {@link #setTypeParameters(List)}
+	 */
+	public List<GenericClass> getTypeParameterValues() {
+		return Collections.unmodifiableList(typeVariables);
+	}
+
 	public void setTypeParameters(List<GenericClass> parameterTypes) {
 		typeVariables.clear();
 		for(GenericClass parameter : parameterTypes)
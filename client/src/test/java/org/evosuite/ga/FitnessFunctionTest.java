@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FitnessFunctionTest {
+
+	private static class SizeFitnessFunction extends FitnessFunction<DummyChromosome> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<Integer> batchSizes = new ArrayList<>();
+
+		@Override
+		public void prepareBatchEvaluation(List<? extends DummyChromosome> individuals) {
+			batchSizes.add(individuals.size());
+		}
+
+		@Override
+		public double getFitness(DummyChromosome individual) {
+			double fitness = individual.size();
+			updateIndividual(individual, fitness);
+			return fitness;
+		}
+
+		@Override
+		public boolean isMaximizationFunction() {
+			return false;
+		}
+	}
+
+	@Test
+	public void testBatchEvaluationKeepsOrder() {
+		SizeFitnessFunction ff = new SizeFitnessFunction();
+		List<DummyChromosome> individuals = Arrays.asList(new DummyChromosome(1, 2, 3), new DummyChromosome(),
+				new DummyChromosome(4));
+
+		double[] values = ff.getFitness(individuals);
+
+		assertArrayEquals(new double[] { 3.0, 0.0, 1.0 }, values, 0.0);
+		assertEquals(Arrays.asList(3), ff.batchSizes);
+		assertEquals(3.0, individuals.get(0).getFitness(ff), 0.0);
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class FitnessValueMapTest {
+
+	private static class Goal extends FitnessFunction<DummyChromosome> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+
+		Goal(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public double getFitness(DummyChromosome individual) {
+			return 0;
+		}
+
+		@Override
+		public boolean isMaximizationFunction() {
+			return false;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Goal && ((Goal) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+	}
+
+	private static List<Goal> goals(int n) {
+		List<Goal> goals = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			goals.add(new Goal(FitnessValueMapTest.class.getName() + i + "/" + System.nanoTime()));
+		}
+		FitnessFunction.registerIds(goals);
+		return goals;
+	}
+
+	@Test
+	public void testBehavesLikeAMap() {
+		List<Goal> goals = goals(10);
+		FitnessValueMap<Double> map = FitnessValueMap.ofDoubles();
+		Map<FitnessFunction<?>, Double> expected = new LinkedHashMap<>();
+
+		// out of id order, to grow the window both ways
+		for (int i : new int[] { 5, 9, 0, 3 }) {
+			map.put(goals.get(i), (double) i);
+			expected.put(goals.get(i), (double) i);
+		}
+		assertEquals(expected, map);
+		assertEquals(4, map.size());
+		assertEquals(17.0, map.sum(), 0.0);
+		assertNull(map.get(goals.get(1)));
+
+		map.keySet().removeIf(ff -> ff.equals(goals.get(9)));
+		assertFalse(map.containsKey(goals.get(9)));
+		assertEquals(3, map.size());
+		assertEquals(Arrays.asList(goals.get(0), goals.get(3), goals.get(5)), new ArrayList<>(map.keySet()));
+	}
+
+	@Test
+	public void testEqualGoalsShareEntry() {
+		Goal goal = goals(1).get(0);
+		Goal copy = new Goal(goal.name);
+		assertEquals(goal.getId(), copy.getId());
+
+		FitnessValueMap<Integer> map = FitnessValueMap.ofIntegers();
+		map.put(goal, 3);
+		assertEquals(Integer.valueOf(3), map.get(copy));
+	}
+
+	@Test
+	public void testResetIds() {
+		Goal goal = goals(2).get(1);
+		FitnessFunction.resetIds();
+
+		Goal other = new Goal(FitnessValueMapTest.class.getName() + "/" + System.nanoTime());
+		assertEquals(0, other.getId());
+		// the id cached before the reset is not used anymore
+		assertEquals(1, goal.getId());
+		assertEquals(1, new Goal(goal.name).getId());
+	}
+
+	@Test
+	public void testEntriesAreKeptOverIdReset() {
+		List<Goal> goals = goals(2);
+		FitnessValueMap<Double> map = FitnessValueMap.ofDoubles();
+		map.putDouble(goals.get(0), 1.0);
+		map.putDouble(goals.get(1), 2.0);
+		FitnessValueMap<Double> copy = FitnessValueMap.ofDoubles();
+		copy.copyFrom(map);
+
+		FitnessFunction.resetIds();
+		// gets the id the first goal had before the reset
+		Goal other = goals(1).get(0);
+		assertFalse(map.containsKey(other));
+		assertNull(map.get(other));
+		assertEquals(1.0, map.getDouble(goals.get(0), -1), 0.0);
+		assertEquals(2.0, map.getDouble(goals.get(1), -1), 0.0);
+
+		map.putDouble(other, 3.0);
+		assertEquals(3, map.size());
+		assertEquals(1.0, map.getDouble(goals.get(0), -1), 0.0);
+		assertEquals(3.0, map.getDouble(other, -1), 0.0);
+		// the copy is laid out again on its own
+		assertEquals(2, copy.size());
+		assertEquals(1.0, copy.getDouble(goals.get(0), -1), 0.0);
+		assertFalse(copy.containsKey(other));
+	}
+
+	@Test
+	public void testCopyOnWrite() {
+		List<Goal> goals = goals(3);
+		FitnessValueMap<Double> parent = FitnessValueMap.ofDoubles();
+		parent.putDouble(goals.get(0), 1.0);
+		parent.putDouble(goals.get(1), 2.0);
+
+		FitnessValueMap<Double> child = FitnessValueMap.ofDoubles();
+		child.copyFrom(parent);
+		child.putDouble(goals.get(1), 5.0);
+		child.putDouble(goals.get(2), 6.0);
+
+		assertEquals(2.0, parent.getDouble(goals.get(1), -1), 0.0);
+		assertFalse(parent.containsKey(goals.get(2)));
+		assertEquals(5.0, child.getDouble(goals.get(1), -1), 0.0);
+
+		parent.clear();
+		assertTrue(parent.isEmpty());
+		assertEquals(3, child.size());
+	}
+}
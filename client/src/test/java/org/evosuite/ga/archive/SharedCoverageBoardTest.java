@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedCoverageBoardTest {
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("EvoSuite_covered_goals_", ".board");
+	}
+
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+
+	@Test
+	public void testCoverageIsShared() throws IOException {
+		List<String> goals = Arrays.asList("b", "c", "a");
+		try (SharedCoverageBoard first = SharedCoverageBoard.open(file, goals);
+				SharedCoverageBoard second = SharedCoverageBoard.open(file, Arrays.asList("a", "b", "c"))) {
+			assertNotNull(first);
+			assertNotNull(second);
+			assertEquals(3, first.getNumberOfGoals());
+
+			// numbering does not depend on the order of the goals
+			assertEquals(first.indexOf("c"), second.indexOf("c"));
+
+			assertFalse(second.isCovered(second.indexOf("c")));
+			first.markCovered(first.indexOf("c"));
+			assertTrue(second.isCovered(second.indexOf("c")));
+			assertFalse(second.isCovered(second.indexOf("a")));
+		}
+	}
+
+	@Test
+	public void testDifferentGoalsCannotJoin() throws IOException {
+		try (SharedCoverageBoard board = SharedCoverageBoard.open(file, Arrays.asList("a", "b"))) {
+			assertNotNull(board);
+			assertNull(SharedCoverageBoard.open(file, Arrays.asList("a", "c")));
+			assertNull(SharedCoverageBoard.open(file, Arrays.asList("a", "b", "c")));
+		}
+	}
+
+	@Test
+	public void testDuplicatedGoalsAreNotShared() throws IOException {
+		try (SharedCoverageBoard board = SharedCoverageBoard.open(file, Arrays.asList("a", "b", "a"))) {
+			assertEquals(-1, board.indexOf("a"));
+			assertTrue(board.indexOf("b") >= 0);
+			assertEquals(-1, board.indexOf("d"));
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.junit.Test;
+
+public class EfficientNonDominatedSortingTest {
+
+	private static class Goal extends FitnessFunction<DummyChromosome> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double getFitness(DummyChromosome individual) {
+			return 0;
+		}
+
+		@Override
+		public boolean isMaximizationFunction() {
+			return false;
+		}
+	}
+
+	private static Set<FitnessFunction<DummyChromosome>> goals(int n) {
+		Set<FitnessFunction<DummyChromosome>> goals = new LinkedHashSet<>();
+		for (int i = 0; i < n; i++) {
+			goals.add(new Goal());
+		}
+		return goals;
+	}
+
+	private static List<DummyChromosome> population(Set<FitnessFunction<DummyChromosome>> goals, int size,
+			Random random) {
+		List<DummyChromosome> population = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			DummyChromosome c = new DummyChromosome(i);
+			for (FitnessFunction<DummyChromosome> goal : goals) {
+				// few distinct values, so that there are ties and duplicates
+				c.setFitness(goal, random.nextInt(4));
+			}
+			population.add(c);
+		}
+		return population;
+	}
+
+	@Test
+	public void testSameFrontsAsFastNonDominatedSorting() {
+		Random random = new Random(42);
+		for (int round = 0; round < 20; round++) {
+			Set<FitnessFunction<DummyChromosome>> goals = goals(1 + random.nextInt(5));
+			List<DummyChromosome> population = population(goals, 1 + random.nextInt(60), random);
+
+			FastNonDominatedSorting<DummyChromosome> expected = new FastNonDominatedSorting<>();
+			expected.computeRankingAssignment(population, goals);
+			EfficientNonDominatedSorting<DummyChromosome> actual = new EfficientNonDominatedSorting<>();
+			actual.computeRankingAssignment(population, goals);
+
+			assertEquals(expected.getNumberOfSubfronts(), actual.getNumberOfSubfronts());
+			for (int i = 0; i < expected.getNumberOfSubfronts(); i++) {
+				assertEquals(new HashSet<>(expected.getSubfront(i)), new HashSet<>(actual.getSubfront(i)));
+				for (DummyChromosome c : actual.getSubfront(i)) {
+					assertEquals(i + 1, c.getRank());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSingleFrontWithoutGoals() {
+		List<DummyChromosome> population = population(goals(0), 10, new Random(1));
+		EfficientNonDominatedSorting<DummyChromosome> sorting = new EfficientNonDominatedSorting<>();
+		sorting.computeRankingAssignment(population, goals(0));
+		assertEquals(1, sorting.getNumberOfSubfronts());
+		assertEquals(population, sorting.getSubfront(0));
+	}
+}
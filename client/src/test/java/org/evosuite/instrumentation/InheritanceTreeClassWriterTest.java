@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.setup.InheritanceTree;
+import org.junit.Assert;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+public class InheritanceTreeClassWriterTest {
+
+	private static class Writer extends InheritanceTreeClassWriter {
+		public Writer(InheritanceTree inheritanceTree) {
+			super(ClassWriter.COMPUTE_FRAMES, inheritanceTree);
+		}
+
+		public String commonSuperClass(String type1, String type2) {
+			return getCommonSuperClass(type1, type2);
+		}
+	}
+
+	/*
+	 * None of these classes exists on the classpath
+	 */
+	private static InheritanceTree createTree() {
+		InheritanceTree tree = new InheritanceTree();
+		tree.addAnalyzedMethod("com.example.tree.A", "<init>", "()V");
+		tree.addAnalyzedMethod("com.example.tree.B", "<init>", "()V");
+		tree.addAnalyzedMethod("com.example.tree.C", "<init>", "()V");
+		tree.registerInterface("com/example/tree/I");
+
+		tree.addSuperclass("com/example/tree/A", "java/lang/Object", Opcodes.ACC_PUBLIC);
+		tree.addSuperclass("com/example/tree/B", "com/example/tree/A", Opcodes.ACC_PUBLIC);
+		tree.addSuperclass("com/example/tree/C", "com/example/tree/A", Opcodes.ACC_PUBLIC);
+		tree.addInterface("com/example/tree/C", "com/example/tree/I");
+		tree.addSuperclass("com/example/tree/I", "java/lang/Object", Opcodes.ACC_INTERFACE);
+		return tree;
+	}
+
+	@Test
+	public void testSupertypesFromTree() {
+		Writer writer = new Writer(createTree());
+
+		Assert.assertEquals("com/example/tree/A", writer.commonSuperClass("com/example/tree/B", "com/example/tree/C"));
+		Assert.assertEquals("com/example/tree/I", writer.commonSuperClass("com/example/tree/I", "com/example/tree/C"));
+		Assert.assertEquals("java/lang/Object", writer.commonSuperClass("com/example/tree/B", "com/example/tree/I"));
+	}
+
+	@Test
+	public void testFallbackToClasspath() {
+		Writer writer = new Writer(createTree());
+
+		Assert.assertEquals("java/lang/Number", writer.commonSuperClass("java/lang/Integer", "java/lang/Long"));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testUnknownClass() {
+		Writer writer = new Writer(null);
+		writer.commonSuperClass("com/example/tree/Unknown", "java/lang/Long");
+	}
+}
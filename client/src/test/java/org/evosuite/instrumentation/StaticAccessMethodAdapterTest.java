@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.junit.After;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+public class StaticAccessMethodAdapterTest {
+
+	private static final boolean DEFAULT_RESET_STATIC_FIELD_MUTATIONS = Properties.RESET_STATIC_FIELD_MUTATIONS;
+
+	@After
+	public void tearDown() {
+		Properties.RESET_STATIC_FIELD_MUTATIONS = DEFAULT_RESET_STATIC_FIELD_MUTATIONS;
+		ExecutionTracer.disable();
+		ExecutionTracer.setCheckCallerThread(true);
+		ExecutionTracer.getExecutionTracer().clear();
+	}
+
+	@Test
+	public void testIsMutableType() {
+		assertTrue(StaticAccessMethodAdapter.isMutableType("[I"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("[Ljava/lang/String;"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("Ljava/util/List;"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("Ljava/util/HashMap;"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("Ljava/util/ArrayDeque;"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("Ljava/util/Date;"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("Ljava/util/concurrent/ConcurrentHashMap;"));
+		assertTrue(StaticAccessMethodAdapter.isMutableType("Ljava/lang/StringBuilder;"));
+
+		assertFalse(StaticAccessMethodAdapter.isMutableType("I"));
+		assertFalse(StaticAccessMethodAdapter.isMutableType("Ljava/lang/String;"));
+		assertFalse(StaticAccessMethodAdapter.isMutableType("Ljava/util/Optional;"));
+		assertFalse(StaticAccessMethodAdapter.isMutableType("Ljava/util/UUID;"));
+		assertFalse(StaticAccessMethodAdapter.isMutableType("Ljava/util/Locale;"));
+		assertFalse(StaticAccessMethodAdapter.isMutableType("Ljava/util/regex/Pattern;"));
+		assertFalse(StaticAccessMethodAdapter.isMutableType("Lcom/examples/with/different/packagename/Foo;"));
+	}
+
+	private static String instrumentGetStatic(String desc) {
+		MethodNode mn = new MethodNode(Opcodes.ACC_PUBLIC, "foo", "()V", null, null);
+		StaticAccessMethodAdapter adapter = new StaticAccessMethodAdapter("com/examples/Bar", "foo", mn);
+		adapter.visitFieldInsn(Opcodes.GETSTATIC, "com/examples/Foo", "field", desc);
+
+		// the tracer call is right before the instrumented instruction
+		MethodInsnNode call = (MethodInsnNode) mn.instructions.getLast().getPrevious();
+		assertEquals(ExecutionTracer.class.getName().replace('.', '/'), call.owner);
+		return call.name;
+	}
+
+	@Test
+	public void testGetStaticOfMutableType() {
+		Properties.RESET_STATIC_FIELD_MUTATIONS = true;
+		assertEquals("passedGetStaticOfMutable", instrumentGetStatic("Ljava/util/List;"));
+		assertEquals("passedGetStaticOfMutable", instrumentGetStatic("[I"));
+		assertEquals("passedGetStatic", instrumentGetStatic("Ljava/util/Optional;"));
+		assertEquals("passedGetStatic", instrumentGetStatic("Ljava/lang/String;"));
+
+		Properties.RESET_STATIC_FIELD_MUTATIONS = false;
+		assertEquals("passedGetStatic", instrumentGetStatic("Ljava/util/List;"));
+	}
+
+	@Test
+	public void testGetStaticOfMutableIsTracedAsWrite() {
+		ExecutionTracer.enable();
+		ExecutionTracer.setCheckCallerThread(false);
+		ExecutionTracer.getExecutionTracer().clear();
+
+		ExecutionTracer.passedGetStatic("com.examples.Foo", "name");
+		ExecutionTracer.passedGetStaticOfMutable("com.examples.Bar", "list");
+
+		ExecutionTrace trace = ExecutionTracer.getExecutionTracer().getTrace();
+		assertTrue(trace.getClassesWithStaticReads().contains("com.examples.Foo"));
+		assertFalse(trace.getClassesWithStaticWrites().contains("com.examples.Foo"));
+		assertTrue(trace.getClassesWithStaticReads().contains("com.examples.Bar"));
+		assertTrue(trace.getClassesWithStaticWrites().contains("com.examples.Bar"));
+	}
+}
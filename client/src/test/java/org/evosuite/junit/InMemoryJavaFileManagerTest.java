@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class InMemoryJavaFileManagerTest {
+
+	@Test
+	public void testCompileInMemory() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+				compiler.getStandardFileManager(diagnostics, null, null))) {
+			List<JavaFileObject> units = Arrays.asList(new InMemoryJavaFileManager.SourceFile("foo.Bar",
+					"package foo; public class Bar { Runnable r = new Runnable() { public void run() {} }; }"));
+			Assert.assertTrue(compiler.getTask(null, fileManager, diagnostics, null, null, units).call());
+
+			Assert.assertEquals(2, fileManager.getClassBytes().size());
+			Assert.assertTrue(fileManager.getClassBytes().containsKey("foo.Bar"));
+			Assert.assertTrue(fileManager.getClassBytes().containsKey("foo.Bar$1"));
+		}
+	}
+
+	@Test
+	public void testErrorsAreReportedOnTheirSource() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+				compiler.getStandardFileManager(diagnostics, null, null))) {
+			List<JavaFileObject> units = Arrays.asList(
+					new InMemoryJavaFileManager.SourceFile("foo.Ok", "package foo; public class Ok { }"),
+					new InMemoryJavaFileManager.SourceFile("foo.Broken", "package foo; public class Broken { int x = \"\"; }"));
+			Assert.assertFalse(compiler.getTask(null, fileManager, diagnostics, null, null, units).call());
+
+			Assert.assertFalse(diagnostics.getDiagnostics().isEmpty());
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				Assert.assertSame(units.get(1), diagnostic.getSource());
+			}
+		}
+	}
+}
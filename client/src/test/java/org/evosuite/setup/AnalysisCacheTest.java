@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AnalysisCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void resetProperties() {
+		Properties.getInstance().resetToDefaults();
+	}
+
+	@Test
+	public void testKeyChangesWithClassPathContent() throws IOException {
+		File classes = folder.newFolder("classes");
+		File classFile = new File(classes, "Foo.class");
+		Files.write(classFile.toPath(), new byte[] { 1, 2, 3 });
+		List<String> classPath = Collections.singletonList(classes.getPath());
+
+		String key = AnalysisCache.getClassPathKey("inheritance", classPath);
+		assertEquals(key, AnalysisCache.getClassPathKey("inheritance", classPath));
+		assertNotEquals(key, AnalysisCache.getClassPathKey("other", classPath));
+
+		Files.write(classFile.toPath(), new byte[] { 1, 2, 3, 4 });
+		String modifiedKey = AnalysisCache.getClassPathKey("inheritance", classPath);
+		assertNotEquals(key, modifiedKey);
+
+		Files.write(new File(classes, "Bar.class").toPath(), new byte[] { 1 });
+		assertNotEquals(modifiedKey, AnalysisCache.getClassPathKey("inheritance", classPath));
+	}
+
+	@Test
+	public void testKeyDependsOnBundledResources() throws IOException {
+		List<String> classPath = Collections.singletonList(folder.getRoot().getPath());
+		String key = AnalysisCache.getClassPathKey("inheritance", classPath);
+		String keyWithResource = AnalysisCache.getClassPathKey("inheritance", classPath, "/logback.xml");
+		assertNotEquals(key, keyWithResource);
+		assertEquals(keyWithResource, AnalysisCache.getClassPathKey("inheritance", classPath, "/logback.xml"));
+		assertNotEquals(keyWithResource, AnalysisCache.getClassPathKey("inheritance", classPath, "/missing.xml"));
+	}
+
+	@Test
+	public void testCommitMovesEntryInPlace() throws IOException {
+		Properties.ANALYSIS_CACHE_DIR = new File(folder.getRoot(), "cache").getPath();
+		String key = AnalysisCache.getClassPathKey("inheritance", Arrays.asList(folder.getRoot().getPath()));
+		File entry = AnalysisCache.getEntry("inheritance", key);
+
+		File tmpFile = AnalysisCache.createTempFile();
+		Files.write(tmpFile.toPath(), new byte[] { 42 });
+		AnalysisCache.commit(tmpFile, entry);
+
+		assertTrue(entry.exists());
+		assertEquals(1, entry.length());
+		assertEquals(1, new File(Properties.ANALYSIS_CACHE_DIR).list().length);
+	}
+}
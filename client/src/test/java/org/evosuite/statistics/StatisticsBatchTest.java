@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StatisticsBatchTest {
+
+	private long timelineInterval;
+
+	@Before
+	public void storeProperties() {
+		timelineInterval = Properties.TIMELINE_INTERVAL;
+		Properties.TIMELINE_INTERVAL = 1000;
+	}
+
+	@After
+	public void restoreProperties() {
+		Properties.TIMELINE_INTERVAL = timelineInterval;
+	}
+
+	@Test
+	public void testLastValueIsKept() {
+		StatisticsBatch batch = new StatisticsBatch();
+		assertTrue(batch.isEmpty());
+		batch.setOutputVariable(RuntimeVariable.Covered_Goals, 1);
+		batch.setOutputVariable(RuntimeVariable.Generations, 5);
+		batch.setOutputVariable(RuntimeVariable.Covered_Goals, 2);
+		assertFalse(batch.isEmpty());
+
+		List<StatisticsBatch.Entry> entries = batch.getEntries();
+		assertEquals(2, entries.size());
+		assertEquals(RuntimeVariable.Generations, entries.get(0).getVariable());
+		assertEquals(RuntimeVariable.Covered_Goals, entries.get(1).getVariable());
+		assertEquals(2, entries.get(1).getValue());
+	}
+
+	@Test
+	public void testOneIndividualPerTimelineInterval() {
+		StatisticsBatch batch = new StatisticsBatch();
+		TestSuiteChromosome first = new TestSuiteChromosome();
+		TestSuiteChromosome second = new TestSuiteChromosome();
+		TestSuiteChromosome third = new TestSuiteChromosome();
+		batch.addIndividual(first, 10_000);
+		batch.addIndividual(second, 10_500);
+		batch.addIndividual(third, 11_000);
+
+		List<StatisticsBatch.Entry> entries = batch.getEntries();
+		assertEquals(2, entries.size());
+		assertSame(second, entries.get(0).getIndividual());
+		assertEquals(10_500, entries.get(0).getTime());
+		assertSame(third, entries.get(1).getIndividual());
+		assertEquals(11_000, entries.get(1).getTime());
+	}
+
+	@Test
+	public void testIntervalsAreAligned() {
+		StatisticsBatch batch = new StatisticsBatch();
+		TestSuiteChromosome first = new TestSuiteChromosome();
+		TestSuiteChromosome second = new TestSuiteChromosome();
+		TestSuiteChromosome third = new TestSuiteChromosome();
+		// less than an interval apart, but on both sides of 11_000
+		batch.addIndividual(first, 10_900);
+		batch.addIndividual(second, 11_100);
+		batch.addIndividual(third, 11_999);
+
+		List<StatisticsBatch.Entry> entries = batch.getEntries();
+		assertEquals(2, entries.size());
+		assertSame(first, entries.get(0).getIndividual());
+		assertSame(third, entries.get(1).getIndividual());
+		assertEquals(11_999, entries.get(1).getTime());
+	}
+
+	@Test
+	public void testEntriesKeepTheirOrder() {
+		StatisticsBatch batch = new StatisticsBatch();
+		TestSuiteChromosome first = new TestSuiteChromosome();
+		TestSuiteChromosome second = new TestSuiteChromosome();
+		batch.setOutputVariable(RuntimeVariable.Covered_Goals, 1);
+		batch.addIndividual(first, 10_000);
+		batch.setOutputVariable(RuntimeVariable.Covered_Goals, 2);
+		batch.addIndividual(second, 11_000);
+		batch.setOutputVariable(RuntimeVariable.Covered_Goals, 3);
+
+		// the update between the individuals must not be merged with either
+		List<StatisticsBatch.Entry> entries = batch.getEntries();
+		assertEquals(5, entries.size());
+		assertEquals(1, entries.get(0).getValue());
+		assertSame(first, entries.get(1).getIndividual());
+		assertEquals(2, entries.get(2).getValue());
+		assertSame(second, entries.get(3).getIndividual());
+		assertEquals(3, entries.get(4).getValue());
+	}
+
+	@Test
+	public void testReplacedIndividualFollowsLaterUpdates() {
+		StatisticsBatch batch = new StatisticsBatch();
+		TestSuiteChromosome first = new TestSuiteChromosome();
+		TestSuiteChromosome second = new TestSuiteChromosome();
+		batch.addIndividual(first, 10_000);
+		batch.setOutputVariable(RuntimeVariable.Covered_Goals, 2);
+		batch.addIndividual(second, 10_500);
+
+		List<StatisticsBatch.Entry> entries = batch.getEntries();
+		assertEquals(2, entries.size());
+		assertEquals(RuntimeVariable.Covered_Goals, entries.get(0).getVariable());
+		assertSame(second, entries.get(1).getIndividual());
+	}
+}
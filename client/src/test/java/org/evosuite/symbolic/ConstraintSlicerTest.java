@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.Test;
+
+public class ConstraintSlicerTest {
+
+	private static IntegerVariable var(String name) {
+		return new IntegerVariable(name, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	@Test
+	public void testSliceFollowsVariablesTransitively() {
+		IntegerVariable x = var("x");
+		IntegerVariable y = var("y");
+		IntegerVariable z = var("z");
+		IntegerVariable w = var("w");
+
+		Constraint<?> xy = ConstraintFactory.lt(x, y);
+		Constraint<?> z0 = ConstraintFactory.lt(z, new IntegerConstant(0));
+		Constraint<?> w0 = ConstraintFactory.gte(w, new IntegerConstant(0));
+		// only connected to x through y, which is seen after it going backwards
+		Constraint<?> yz = ConstraintFactory.lt(y, z);
+		Constraint<?> x5 = ConstraintFactory.lt(x, new IntegerConstant(5));
+
+		List<Constraint<?>> slice = ConstraintSlicer.sliceForLast(Arrays.<Constraint<?>> asList(xy, z0, w0, yz, x5));
+		assertEquals(Arrays.<Constraint<?>> asList(xy, z0, yz, x5), slice);
+	}
+
+	@Test
+	public void testSliceExcludesIndependentConstraints() {
+		IntegerVariable x = var("x");
+		IntegerVariable y = var("y");
+
+		Constraint<?> x0 = ConstraintFactory.lt(x, new IntegerConstant(0));
+		Constraint<?> y0 = ConstraintFactory.lt(y, new IntegerConstant(0));
+		Constraint<?> constant = ConstraintFactory.lt(new IntegerConstant(0), new IntegerConstant(1));
+		Constraint<?> x1 = ConstraintFactory.gte(x, new IntegerConstant(-10));
+
+		List<Constraint<?>> slice = ConstraintSlicer.sliceForLast(Arrays.<Constraint<?>> asList(x0, y0, constant, x1));
+		assertEquals(Arrays.<Constraint<?>> asList(x0, x1), slice);
+	}
+
+	@Test
+	public void testNoVariablesInTarget() {
+		IntegerVariable x = var("x");
+		Constraint<?> x0 = ConstraintFactory.lt(x, new IntegerConstant(0));
+		Constraint<?> constant = ConstraintFactory.lt(new IntegerConstant(0), new IntegerConstant(1));
+
+		assertTrue(ConstraintSlicer.sliceForLast(Arrays.<Constraint<?>> asList(x0, constant)).isEmpty());
+	}
+}
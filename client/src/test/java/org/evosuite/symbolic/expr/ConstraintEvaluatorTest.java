@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.expr;
+
+import java.util.Collections;
+
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConstraintEvaluatorTest {
+
+    @Test
+    public void testModelDoesNotChangeConcreteValues() {
+        IntegerVariable x = new IntegerVariable("x", 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerConstraint constraint = new IntegerConstraint(x, Comparator.EQ, new IntegerConstant(5));
+
+        assertFalse((Boolean) constraint.accept(new ConstraintEvaluator(), null));
+        ConstraintEvaluator withModel = new ConstraintEvaluator(Collections.<String, Object>singletonMap("x", 5L));
+        assertTrue((Boolean) constraint.accept(withModel, null));
+        assertEquals(Long.valueOf(1), x.getConcreteValue());
+    }
+}
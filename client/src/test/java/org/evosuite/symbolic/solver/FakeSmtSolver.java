@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A stand-in for an incremental SMT solver process, used to test
+ * {@link SmtSolverSession} without Z3 or CVC4. It answers <code>unsat</code>
+ * if an active assertion contains <code>false</code>, <code>sat</code>
+ * otherwise, and its model reports how many assertions and declarations are
+ * active and how many assertions were received in total. As real solvers, it
+ * reports an error when a declaration is repeated while still in scope, or
+ * when the model is asked for after an answer other than <code>sat</code>.
+ * Checking an assertion containing <code>hang</code> never returns.
+ */
+public class FakeSmtSolver {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+		List<List<String>> frames = new ArrayList<List<String>>();
+		frames.add(new ArrayList<String>());
+		int received = 0;
+		boolean lastSat = false;
+		int active = 0;
+
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.startsWith("(push")) {
+				frames.add(new ArrayList<String>());
+			} else if (line.startsWith("(pop")) {
+				int n = Integer.parseInt(line.substring(4, line.length() - 1).trim());
+				for (int i = 0; i < n; i++) {
+					frames.remove(frames.size() - 1);
+				}
+			} else if (line.startsWith("(assert")) {
+				frames.get(frames.size() - 1).add(line);
+				received++;
+			} else if (line.startsWith("(declare") || line.startsWith("(define-fun")) {
+				for (List<String> frame : frames) {
+					if (frame.contains(line)) {
+						System.out.println("(error \"already declared: " + line + "\")");
+					}
+				}
+				frames.get(frames.size() - 1).add(line);
+			} else if (line.startsWith("(check-sat)")) {
+				active = 0;
+				lastSat = true;
+				for (List<String> frame : frames) {
+					for (String assertion : frame) {
+						if (!assertion.startsWith("(assert"))
+							continue;
+						if (assertion.contains("hang")) {
+							Thread.sleep(Long.MAX_VALUE);
+						}
+						if (assertion.contains("false")) {
+							lastSat = false;
+						}
+						active++;
+					}
+				}
+				System.out.println(lastSat ? "sat" : "unsat");
+			} else if (line.startsWith("(get-model)")) {
+				if (!lastSat) {
+					System.out.println("(error \"cannot get model\")");
+				} else {
+					int declarations = 0;
+					for (List<String> frame : frames) {
+						declarations += frame.size();
+					}
+					System.out.println("(model");
+					System.out.println("  (define-fun active () Int " + active + ")");
+					System.out.println("  (define-fun declared () Int " + (declarations - active) + ")");
+					System.out.println("  (define-fun received () Int " + received + ")");
+					System.out.println(")");
+				}
+			} else if (line.startsWith("(echo")) {
+				System.out.println(line.substring(line.indexOf('"') + 1, line.lastIndexOf('"')));
+			} else if (line.startsWith("(exit)")) {
+				break;
+			}
+			System.out.flush();
+		}
+	}
+}
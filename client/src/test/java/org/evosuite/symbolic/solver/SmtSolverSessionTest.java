@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SmtSolverSessionTest {
+
+	private static final long TIMEOUT = 10000;
+
+	private SmtSolverSession session;
+
+	@Before
+	public void setUp() {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		String cmd = java + " -cp " + System.getProperty("java.class.path") + " "
+				+ FakeSmtSolver.class.getName();
+		session = new SmtSolverSession(cmd, Collections.<String> emptyList());
+	}
+
+	@After
+	public void tearDown() {
+		session.close();
+	}
+
+	private static List<String> declarations() {
+		return Arrays.asList("(declare-const x Int)");
+	}
+
+	@Test
+	public void testSharedPrefixIsSentOnce() throws Exception {
+		String output = session.solve(declarations(), Arrays.asList("(assert a)", "(assert b)"), TIMEOUT);
+		assertTrue(output, output.startsWith("sat"));
+		assertTrue(output, output.contains("active () Int 2)"));
+
+		// negate the last condition
+		output = session.solve(declarations(), Arrays.asList("(assert a)", "(assert (not b))"), TIMEOUT);
+		assertTrue(output, output.contains("active () Int 2)"));
+		assertTrue(output, output.contains("received () Int 3)"));
+
+		// shorter query drops the scopes after the prefix
+		output = session.solve(declarations(), Arrays.asList("(assert a)"), TIMEOUT);
+		assertTrue(output, output.contains("active () Int 1)"));
+		assertTrue(output, output.contains("received () Int 3)"));
+
+		assertEquals(1, session.getNumberOfProcesses());
+		assertEquals(3, session.getNumberOfSentAssertions());
+	}
+
+	@Test
+	public void testModelIsOnlyAskedAfterSat() throws Exception {
+		String output = session.solve(declarations(), Arrays.asList("(assert a)", "(assert false)"), TIMEOUT);
+		assertEquals("unsat\n", output);
+
+		output = session.solve(declarations(), Arrays.asList("(assert a)"), TIMEOUT);
+		assertTrue(output, output.startsWith("sat"));
+		assertFalse(output, output.contains("(error"));
+	}
+
+	@Test
+	public void testDeclarationsArePoppedWithTheirScope() throws Exception {
+		String output = session.solve(declarations(), Arrays.asList("(assert a)", "(assert b)"), TIMEOUT);
+		assertTrue(output, output.contains("declared () Int 1)"));
+
+		// the declaration is still in scope, and is not repeated
+		output = session.solve(declarations(), Arrays.asList("(assert a)", "(assert c)"), TIMEOUT);
+		assertTrue(output, output.contains("declared () Int 1)"));
+
+		// popped with the first assertion, so declared again
+		output = session.solve(declarations(), Arrays.asList("(assert d)"), TIMEOUT);
+		assertFalse(output, output.contains("(error"));
+		assertTrue(output, output.contains("declared () Int 1)"));
+
+		output = session.solve(Arrays.asList("(declare-const y Int)"), Arrays.asList("(assert e)"), TIMEOUT);
+		assertTrue(output, output.contains("declared () Int 1)"));
+	}
+
+	@Test
+	public void testTimeoutRestartsProcess() throws Exception {
+		try {
+			session.solve(declarations(), Arrays.asList("(assert hang)"), 100);
+			fail("Expected timeout");
+		} catch (SolverTimeoutException e) {
+			// expected
+		}
+
+		String output = session.solve(declarations(), Arrays.asList("(assert a)"), TIMEOUT);
+		assertTrue(output, output.contains("active () Int 1)"));
+		assertEquals(2, session.getNumberOfProcesses());
+	}
+
+	@Test
+	public void testSessionsAreClosedPerThread() throws Exception {
+		final String cmd = "fake-solver";
+		final SmtSolverSession[] other = new SmtSolverSession[1];
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				other[0] = SmtSolverSession.getSession(cmd, Collections.<String> emptyList());
+			}
+		};
+		thread.start();
+		thread.join();
+
+		SmtSolverSession mine = SmtSolverSession.getSession(cmd, Collections.<String> emptyList());
+		assertNotSame(other[0], mine);
+		assertSame(mine, SmtSolverSession.getSession(cmd, Collections.<String> emptyList()));
+
+		SmtSolverSession.closeForCurrentThread();
+		assertNotSame(mine, SmtSolverSession.getSession(cmd, Collections.<String> emptyList()));
+		SmtSolverSession.closeAll();
+	}
+}
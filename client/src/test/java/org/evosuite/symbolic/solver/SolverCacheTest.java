@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SolverCacheTest {
+
+	private static class CountingSolver extends Solver {
+
+		private int calls = 0;
+
+		@Override
+		public SolverResult solve(Collection<Constraint<?>> constraints) throws SolverTimeoutException,
+				IOException, SolverParseException, SolverEmptyQueryException, SolverErrorException {
+			calls++;
+			return SolverResult.newSAT(Collections.<String, Object> emptyMap());
+		}
+	}
+
+	private long cacheSize;
+
+	@Before
+	public void setUp() {
+		cacheSize = Properties.DSE_SOLVER_CACHE_SIZE;
+		SolverCache.getInstance().clear();
+	}
+
+	@After
+	public void tearDown() {
+		Properties.DSE_SOLVER_CACHE_SIZE = cacheSize;
+		SolverCache.getInstance().clear();
+	}
+
+	private static List<Constraint<?>> query(Constraint<?>... constraints) {
+		List<Constraint<?>> query = new ArrayList<Constraint<?>>();
+		Collections.addAll(query, constraints);
+		return query;
+	}
+
+	@Test
+	public void testReorderedQueryHits() {
+		IntegerVariable x = new IntegerVariable("x", 1L, Long.MIN_VALUE, Long.MAX_VALUE);
+		Constraint<?> c1 = ConstraintFactory.lt(x, new IntegerConstant(10));
+		Constraint<?> c2 = ConstraintFactory.gte(x, new IntegerConstant(0));
+
+		CountingSolver solver = new CountingSolver();
+		SolverCache cache = SolverCache.getInstance();
+		SolverResult first = cache.solve(solver, query(c1, c2));
+		SolverResult second = cache.solve(solver, query(c2, c1, c2));
+
+		assertSame(first, second);
+		assertEquals(1, solver.calls);
+		assertEquals(2, cache.getNumberOfAccesses());
+		assertEquals(1, cache.getNumberOfHits());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		IntegerVariable x = new IntegerVariable("x", 1L, Long.MIN_VALUE, Long.MAX_VALUE);
+		Constraint<?> c1 = ConstraintFactory.lt(x, new IntegerConstant(1));
+		Constraint<?> c2 = ConstraintFactory.lt(x, new IntegerConstant(2));
+		Constraint<?> c3 = ConstraintFactory.lt(x, new IntegerConstant(3));
+
+		// room for two single-constraint queries
+		Properties.DSE_SOLVER_CACHE_SIZE = c1.getSize() * 2;
+
+		CountingSolver solver = new CountingSolver();
+		SolverCache cache = SolverCache.getInstance();
+		cache.solve(solver, query(c1));
+		cache.solve(solver, query(c2));
+		cache.solve(solver, query(c1)); // c2 becomes the least recently used
+		cache.solve(solver, query(c3));
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getNumberOfEvictions());
+		assertEquals(3, solver.calls);
+
+		cache.solve(solver, query(c1));
+		assertEquals(3, solver.calls);
+		cache.solve(solver, query(c2));
+		assertEquals(4, solver.calls);
+	}
+}
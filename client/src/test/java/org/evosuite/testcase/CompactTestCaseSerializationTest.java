@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.assertion.PrimitiveAssertion;
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.EnumPrimitiveStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.ImmutableStringPrimitiveStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.Test;
+
+public class CompactTestCaseSerializationTest {
+
+	private static TestCase createTest() throws Exception {
+		TestCase test = new DefaultTestCase();
+		VariableReference size = test.addStatement(new IntPrimitiveStatement(test, 42));
+		VariableReference list = test.addStatement(new ConstructorStatement(test,
+				new GenericConstructor(ArrayList.class.getConstructor(int.class), ArrayList.class),
+				Collections.singletonList(size)));
+		VariableReference string = test.addStatement(new StringPrimitiveStatement(test, "foo\u00e9"));
+		test.addStatement(new MethodStatement(test,
+				new GenericMethod(ArrayList.class.getMethod("add", Object.class), ArrayList.class), list,
+				Collections.singletonList(string)));
+		ArrayReference array = (ArrayReference) test.addStatement(new ArrayStatement(test, int[].class, 3));
+		test.addStatement(new AssignmentStatement(test, new ArrayIndex(test, array, 1), size));
+		test.addStatement(new FieldStatement(test,
+				new GenericField(Integer.class.getField("MAX_VALUE"), Integer.class), null));
+		test.addStatement(new DoublePrimitiveStatement(test, Double.NaN));
+		test.addStatement(new NullStatement(test, Object.class));
+		test.addStatement(new EnumPrimitiveStatement<>(test, TimeUnit.SECONDS));
+		return test;
+	}
+
+	private static byte[] write(TestCase... tests) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CompactTestCaseWriter writer = new CompactTestCaseWriter(bytes)) {
+			for (TestCase test : tests) {
+				writer.write(test);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static CompactTestCaseReader reader(byte[] bytes) throws IOException {
+		return new CompactTestCaseReader(new ByteArrayInputStream(bytes),
+				CompactTestCaseSerializationTest.class.getClassLoader());
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		TestCase test = createTest();
+		assertTrue(CompactTestCaseWriter.isSupported(test));
+
+		CompactTestCaseReader reader = reader(write(test, test));
+		TestCase first = reader.read();
+		TestCase second = reader.read();
+		assertNull(reader.read());
+
+		assertEquals(test.size(), first.size());
+		assertEquals(test.toCode(), first.toCode());
+		assertEquals(test.toCode(), second.toCode());
+	}
+
+	@Test
+	public void testNamesAreWrittenOnce() throws Exception {
+		TestCase test = createTest();
+		int once = write(test).length;
+		int twice = write(test, test).length;
+		// the second test refers to the names of the first one
+		assertTrue(twice - once < once);
+	}
+
+	@Test
+	public void testUnsupportedStatementIsSerialized() throws Exception {
+		TestCase test = new DefaultTestCase();
+		test.addStatement(new ImmutableStringPrimitiveStatement(test, "bar"));
+
+		CompactTestCaseReader reader = reader(write(test, createTest()));
+		TestCase copy = reader.read();
+		assertEquals(test.toCode(), copy.toCode());
+		assertEquals(createTest().toCode(), reader.read().toCode());
+		assertNull(reader.read());
+	}
+
+	@Test
+	public void testAssertionsAreKept() throws Exception {
+		TestCase test = createTest();
+		PrimitiveAssertion assertion = new PrimitiveAssertion();
+		assertion.setSource(test.getStatement(0).getReturnValue());
+		assertion.setValue(42);
+		test.getStatement(0).addAssertion(assertion);
+
+		CompactTestCaseReader reader = reader(write(test));
+		TestCase copy = reader.read();
+		assertNull(reader.read());
+
+		assertTrue(copy.hasAssertions());
+		assertEquals(test.toCode(), copy.toCode());
+	}
+
+	@Test
+	public void testFormatDetection() throws Exception {
+		assertTrue(CompactTestCaseReader.isCompactFormat(new ByteArrayInputStream(write())));
+		assertNull(reader(write()).read());
+		assertFalse(CompactTestCaseReader.isCompactFormat(new ByteArrayInputStream(new byte[] { 1 })));
+	}
+}
@@ -225,6 +225,29 @@ public class TestCodeVisitorTest {
         assertEquals("com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.Bar", visitor.getClassName(com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.Bar.class));
     }
 
+    @Test
+    public void testImportsOfTest() throws NoSuchMethodException, ConstructionFailedException {
+        TestCase first = new DefaultTestCase();
+        TestFactory.getInstance().addConstructor(first,
+                new GenericConstructor(com.examples.with.different.packagename.otherpackage.ExampleWithInnerClass.class.getDeclaredConstructor(), com.examples.with.different.packagename.otherpackage.ExampleWithInnerClass.class), 0, 0);
+        TestCase second = new DefaultTestCase();
+        TestFactory.getInstance().addConstructor(second,
+                new GenericConstructor(com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class.getDeclaredConstructor(), com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class), 0, 0);
+        TestFactory.getInstance().addConstructor(second,
+                new GenericConstructor(FakeServlet.class.getDeclaredConstructor(), FakeServlet.class), 1, 0);
+
+        TestCodeVisitor visitor = new TestCodeVisitor();
+        first.accept(visitor);
+        second.accept(visitor);
+
+        // only the classes the second test refers to, named as for both tests
+        Set<Class<?>> imports = visitor.getImportsOfTest();
+        assertTrue(imports.contains(TestCodeVisitorTest.class));
+        assertFalse(imports.contains(com.examples.with.different.packagename.otherpackage.ExampleWithInnerClass.class));
+        assertFalse(imports.contains(com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class));
+        assertTrue(visitor.getImports().contains(com.examples.with.different.packagename.otherpackage.ExampleWithInnerClass.class));
+    }
+
     @Test
     public void testCastAndBoxingInArray() {
         // short[] shortArray0 = new short[5];
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ArrayExecutionTraceImplTest {
+
+	private static void passBranches(ExecutionTraceImpl trace) {
+		trace.branchPassed(1, 10, 3.0, 0.0);
+		trace.branchPassed(1, 10, 0.0, 1.0);
+		trace.branchPassed(200, 11, 5.0, 0.0);
+		trace.branchPassed(7, 12, 2.0, 0.0);
+		trace.branchPassed(200, 11, 4.0, 0.0);
+		trace.mutationPassed(3, 2.5);
+		trace.mutationPassed(3, 0.0);
+		trace.mutationPassed(150, 1.0);
+	}
+
+	@Test
+	public void testSameResultsAsMapBasedTrace() {
+		ExecutionTraceImpl expected = new ExecutionTraceImpl();
+		ArrayExecutionTraceImpl actual = new ArrayExecutionTraceImpl();
+		passBranches(expected);
+		passBranches(actual);
+
+		assertEquals(expected.getTrueDistances(), actual.getTrueDistances());
+		assertEquals(expected.getFalseDistances(), actual.getFalseDistances());
+		assertEquals(expected.getTrueDistancesSum(), actual.getTrueDistancesSum());
+		assertEquals(expected.getFalseDistancesSum(), actual.getFalseDistancesSum());
+		assertEquals(expected.getPredicateExecutionCount(), actual.getPredicateExecutionCount());
+		assertEquals(expected.getCoveredTrueBranches(), actual.getCoveredTrueBranches());
+		assertEquals(expected.getCoveredFalseBranches(), actual.getCoveredFalseBranches());
+		assertEquals(expected.getMutationDistances(), actual.getMutationDistances());
+		assertEquals(expected.getTouchedMutants(), actual.getTouchedMutants());
+		assertEquals(expected.getInfectedMutants(), actual.getInfectedMutants());
+
+		assertEquals(0.0, actual.getTrueDistance(1), 0.0);
+		assertEquals(4.0, actual.getTrueDistance(200), 0.0);
+		assertTrue(actual.hasFalseDistance(7));
+		assertFalse(actual.hasFalseDistance(8));
+		assertFalse(actual.hasTrueDistance(100000));
+		assertTrue(actual.wasMutationTouched(150));
+		assertFalse(actual.wasMutationTouched(4));
+	}
+
+	@Test
+	public void testClearOnlyResetsDirtyEntries() {
+		ArrayExecutionTraceImpl trace = new ArrayExecutionTraceImpl();
+		passBranches(trace);
+		trace.clear();
+
+		assertTrue(trace.getTrueDistances().isEmpty());
+		assertTrue(trace.getPredicateExecutionCount().isEmpty());
+		assertTrue(trace.getMutationDistances().isEmpty());
+		assertFalse(trace.hasTrueDistance(200));
+
+		trace.branchPassed(200, 11, 6.0, 0.0);
+		assertEquals(6.0, trace.getTrueDistance(200), 0.0);
+		assertEquals(1, trace.getPredicateExecutionCount().size());
+	}
+
+	@Test
+	public void testCloneIsIndependent() {
+		ArrayExecutionTraceImpl trace = new ArrayExecutionTraceImpl();
+		passBranches(trace);
+		ArrayExecutionTraceImpl copy = trace.clone();
+
+		trace.branchPassed(7, 12, 0.0, 1.0);
+		assertEquals(0.0, trace.getTrueDistance(7), 0.0);
+		assertEquals(2.0, copy.getTrueDistance(7), 0.0);
+		assertEquals(trace.getMutationDistances(), copy.getMutationDistances());
+	}
+}
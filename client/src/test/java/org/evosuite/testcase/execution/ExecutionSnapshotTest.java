@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.Test;
+
+public class ExecutionSnapshotTest {
+
+	private static ExecutionSnapshot executeAndSnapshot(TestCase test) {
+		Scope scope = new Scope();
+		for (int i = 0; i < test.size(); i++) {
+			VariableReference var = test.getStatement(i).getReturnValue();
+			scope.setObject(var, 10 + i);
+		}
+		ExecutionResult result = new ExecutionResult(test, null);
+		result.setTrace(new ExecutionTraceProxy());
+		result.setExecutedStatements(test.size());
+		return ExecutionSnapshot.takeSnapshot(test, scope, result);
+	}
+
+	private static DefaultTestCase createTest(int... values) {
+		DefaultTestCase test = new DefaultTestCase();
+		for (int value : values) {
+			test.addStatement(new IntPrimitiveStatement(test, value));
+		}
+		return test;
+	}
+
+	@Test
+	public void testAppendedStatementsContinueFromSnapshot() {
+		DefaultTestCase parent = createTest(1, 2);
+		ExecutionSnapshot snapshot = executeAndSnapshot(parent);
+		assertNotNull(snapshot);
+		parent.setExecutionSnapshot(snapshot);
+
+		DefaultTestCase child = parent.clone();
+		child.addStatement(new IntPrimitiveStatement(child, 3));
+		assertEquals(snapshot, child.getExecutionSnapshot());
+
+		assertTrue(snapshot.claimFor(child));
+		assertEquals(2, snapshot.getNumberOfExecutedStatements());
+		Scope scope = snapshot.restoreScope(child);
+		assertEquals(10, scope.getObject(child.getStatement(0).getReturnValue()));
+		assertEquals(11, scope.getObject(child.getStatement(1).getReturnValue()));
+		assertNull(scope.getObject(child.getStatement(2).getReturnValue()));
+	}
+
+	@Test
+	public void testSnapshotCanOnlyBeClaimedOnce() {
+		DefaultTestCase parent = createTest(1, 2);
+		ExecutionSnapshot snapshot = executeAndSnapshot(parent);
+
+		assertTrue(snapshot.claimFor(parent.clone()));
+		assertFalse(snapshot.claimFor(parent.clone()));
+	}
+
+	@Test
+	public void testReleasedSnapshotKeepsNoValues() {
+		DefaultTestCase parent = createTest(1, 2);
+		ExecutionSnapshot snapshot = executeAndSnapshot(parent);
+		assertTrue(snapshot.claimFor(parent.clone()));
+		assertNotNull(snapshot.getResult());
+
+		snapshot.release();
+		assertNull(snapshot.getResult());
+		assertFalse(snapshot.claimFor(parent.clone()));
+	}
+
+	@Test
+	public void testChangedPrefixCannotClaim() {
+		DefaultTestCase parent = createTest(1, 2);
+		ExecutionSnapshot snapshot = executeAndSnapshot(parent);
+
+		assertFalse(snapshot.claimFor(createTest(1, 5, 3)));
+		assertFalse(snapshot.claimFor(createTest(1)));
+		assertTrue(snapshot.claimFor(createTest(1, 2, 3)));
+	}
+
+	@Test
+	public void testNoSnapshotAfterException() {
+		DefaultTestCase test = createTest(1, 2);
+		ExecutionResult result = new ExecutionResult(test, null);
+		result.setTrace(new ExecutionTraceProxy());
+		result.setExecutedStatements(1);
+		result.reportNewThrownException(1, new IllegalStateException());
+
+		assertNull(ExecutionSnapshot.takeSnapshot(test, new Scope(), result));
+	}
+
+	@Test
+	public void testNoSnapshotAfterTimeAccess() {
+		org.evosuite.runtime.System.resetRuntime();
+		org.evosuite.runtime.System.currentTimeMillis();
+		try {
+			assertNull(executeAndSnapshot(createTest(1, 2)));
+		} finally {
+			org.evosuite.runtime.System.resetRuntime();
+		}
+		assertNotNull(executeAndSnapshot(createTest(1, 2)));
+	}
+
+	@Test
+	public void testContinuationResumesMainMethod() {
+		ExecutionTraceProxy prefix = new ExecutionTraceProxy();
+		prefix.finishCalls();
+		assertEquals(1, prefix.getMethodCalls().size());
+
+		ExecutionTracer tracer = ExecutionTracer.getExecutionTracer();
+		try {
+			tracer.clear(prefix);
+			assertEquals(1, tracer.getTrace().getMethodCalls().size());
+			assertEquals(1, prefix.getMethodCalls().size());
+		} finally {
+			tracer.clear();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ExecutionTracerThreadConfinementTest {
+
+	@After
+	public void tearDown() {
+		ExecutionTracer.unbindFromCurrentThread();
+		ExecutionTracer.setThreadConfinementEnabled(false);
+	}
+
+	@Test
+	public void testBoundTracerOnlyUsedWhenEnabled() {
+		ExecutionTracer global = ExecutionTracer.getExecutionTracer();
+		ExecutionTracer confined = ExecutionTracer.newThreadConfinedTracer();
+		ExecutionTracer.bindToCurrentThread(confined);
+
+		assertSame(global, ExecutionTracer.getExecutionTracer());
+		ExecutionTracer.setThreadConfinementEnabled(true);
+		assertSame(confined, ExecutionTracer.getExecutionTracer());
+		assertNotSame(global, confined);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGlobalTracerCannotBeBound() {
+		ExecutionTracer.bindToCurrentThread(ExecutionTracer.getExecutionTracer());
+	}
+
+	@Test
+	public void testDynamicConstantsBufferedForOwnerThread() {
+		ExecutionTracer confined = ExecutionTracer.newThreadConfinedTracer();
+		ExecutionTracer.bindToCurrentThread(confined);
+		confined.setOwnerThread(Thread.currentThread());
+		ExecutionTracer.setThreadConfinementEnabled(true);
+
+		ExecutionTracer.addDynamicConstant("foo");
+		ExecutionTracer.addDynamicConstant(42);
+
+		List<Object> values = confined.takeDynamicConstants();
+		assertEquals(2, values.size());
+		assertEquals("foo", values.get(0));
+		assertTrue(confined.takeDynamicConstants().isEmpty());
+		assertEquals(Collections.emptyList(), confined.takeDynamicConstants());
+	}
+
+	@Test
+	public void testRepeatedDynamicConstantsBufferedOnce() {
+		ExecutionTracer confined = ExecutionTracer.newThreadConfinedTracer();
+		ExecutionTracer.bindToCurrentThread(confined);
+		confined.setOwnerThread(Thread.currentThread());
+		ExecutionTracer.setThreadConfinementEnabled(true);
+
+		for (int i = 0; i < 5000; i++) {
+			ExecutionTracer.addDynamicConstant(7);
+		}
+		ExecutionTracer.addDynamicConstant("bar");
+
+		assertEquals(Arrays.<Object> asList(7, "bar"), confined.takeDynamicConstants());
+	}
+
+	@Test
+	public void testOnlyLastDynamicConstantsKept() {
+		ExecutionTracer confined = ExecutionTracer.newThreadConfinedTracer();
+		ExecutionTracer.bindToCurrentThread(confined);
+		confined.setOwnerThread(Thread.currentThread());
+		ExecutionTracer.setThreadConfinementEnabled(true);
+
+		for (int i = 0; i < 5000; i++) {
+			ExecutionTracer.addDynamicConstant(i);
+		}
+
+		List<Object> values = confined.takeDynamicConstants();
+		assertTrue(values.size() < 5000);
+		assertEquals(4999, values.get(values.size() - 1));
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution.reset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class ClassReInitializerTest {
+
+	@Test
+	public void testResetCostsAreAccumulatedPerClass() {
+		ClassReInitializer reInitializer = ClassReInitializer.getInstance();
+		long resets = reInitializer.getNumberOfResets();
+
+		reInitializer.addResetCost("com.example.Cheap", 1000000L);
+		reInitializer.addResetCost("com.example.Expensive", 3000000000L);
+		reInitializer.addResetCost("com.example.Expensive", 2000000000L);
+
+		assertEquals(resets + 3, reInitializer.getNumberOfResets());
+		assertTrue(reInitializer.getResetTime() >= 5001);
+
+		List<String> costs = reInitializer.getMostCostlyResets(Integer.MAX_VALUE);
+		int expensive = costs.indexOf("com.example.Expensive:2:5000");
+		int cheap = costs.indexOf("com.example.Cheap:1:1");
+		assertTrue(expensive >= 0);
+		assertTrue(cheap > expensive);
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelUtilTest {
+
+	private static List<Integer> range(int n) {
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	@Test
+	public void testResultsKeepInputOrder() {
+		List<Integer> inputs = range(1000);
+		List<Integer> expected = ParallelUtil.map(inputs, x -> x * x, 1);
+		assertEquals(expected, ParallelUtil.map(inputs, x -> x * x, 4));
+		assertEquals(Integer.valueOf(999 * 999), expected.get(999));
+	}
+
+	@Test
+	public void testPoolIsReused() {
+		List<Integer> inputs = range(1000);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(ParallelUtil.map(inputs, x -> x + 1, 1), ParallelUtil.map(inputs, x -> x + 1, pool));
+			assertEquals(ParallelUtil.map(inputs, x -> x * 2, 1), ParallelUtil.map(inputs, x -> x * 2, pool));
+			assertFalse(pool.isShutdown());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExceptionIsRethrown() {
+		ParallelUtil.map(range(100), x -> {
+			if (x == 42) {
+				throw new IllegalArgumentException();
+			}
+			return x;
+		}, 4);
+	}
+}
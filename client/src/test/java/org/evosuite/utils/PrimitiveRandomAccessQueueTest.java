@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrimitiveRandomAccessQueueTest {
+
+	private int poolSize;
+
+	@Before
+	public void storeProperties() {
+		poolSize = Properties.DYNAMIC_POOL_SIZE;
+		Properties.DYNAMIC_POOL_SIZE = 4;
+	}
+
+	@After
+	public void restoreProperties() {
+		Properties.DYNAMIC_POOL_SIZE = poolSize;
+	}
+
+	@Test
+	public void testDuplicatesAreIgnored() {
+		PrimitiveRandomAccessQueue queue = new PrimitiveRandomAccessQueue();
+		queue.restrictedAdd(1);
+		queue.restrictedAdd(1);
+		queue.restrictedAdd(2);
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.get(0));
+		assertEquals(2, queue.get(1));
+	}
+
+	@Test
+	public void testOldestValueIsDropped() {
+		PrimitiveRandomAccessQueue queue = new PrimitiveRandomAccessQueue();
+		for (long i = 0; i < 6; i++) {
+			queue.restrictedAdd(i);
+		}
+		assertEquals(4, queue.size());
+		assertFalse(queue.contains(0));
+		assertFalse(queue.contains(1));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(i + 2, queue.get(i));
+		}
+		// a dropped value can be added again
+		queue.restrictedAdd(0);
+		assertTrue(queue.contains(0));
+		assertFalse(queue.contains(2));
+	}
+
+	@Test
+	public void testRandomValueIsContained() {
+		PrimitiveRandomAccessQueue queue = new PrimitiveRandomAccessQueue();
+		for (long i = 0; i < 100; i++) {
+			queue.restrictedAdd(i * 31);
+		}
+		for (int i = 0; i < 100; i++) {
+			assertTrue(queue.contains(queue.getRandomValue()));
+		}
+	}
+
+	@Test
+	public void testDoubleBitsEquality() {
+		PrimitiveRandomAccessQueue queue = new PrimitiveRandomAccessQueue();
+		queue.restrictedAdd(Double.doubleToLongBits(Double.NaN));
+		queue.restrictedAdd(Double.doubleToLongBits(0.0 / 0.0));
+		queue.restrictedAdd(Double.doubleToLongBits(0.0));
+		queue.restrictedAdd(Double.doubleToLongBits(-0.0));
+		// same as Double.equals: NaN equals NaN, 0.0 differs from -0.0
+		assertEquals(3, queue.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEmptyQueue() {
+		new PrimitiveRandomAccessQueue().getRandomValue();
+	}
+}
@@ -259,6 +259,16 @@ public class TestGeneration {
 
 		cmdLine.add("-Dprocess_communication_port=" + port);
 		cmdLine.add("-Dinline=true");
+		if (Properties.NUM_PARALLEL_CLIENTS > 1) {
+			// clients decide whether to use it, based on share_covered_goals
+			try {
+				File board = File.createTempFile("EvoSuite_covered_goals_", ".board");
+				board.deleteOnExit();
+				cmdLine.add("-Dcovered_goals_board=" + board.getAbsolutePath());
+			} catch (IOException e) {
+				logger.warn("Cannot create file to share covered goals among clients: " + e.getMessage());
+			}
+		}
         if (Properties.HEADLESS_MODE) {
 			cmdLine.add("-Djava.awt.headless=true");
 		}
@@ -37,6 +37,7 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.SearchStatistics;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsBatch;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -175,6 +176,20 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 		SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
 	}
 
+	@Override
+	public void evosuite_collectStatistics(String clientRmiIdentifier, StatisticsBatch batch)
+	        throws RemoteException {
+		SearchStatistics statistics = SearchStatistics.getInstance(clientRmiIdentifier);
+		// in order, as timeline variables are sampled when an individual is received
+		for (StatisticsBatch.Entry entry : batch.getEntries()) {
+			if (entry.isIndividual()) {
+				statistics.currentIndividual(entry.getIndividual(), entry.getTime());
+			} else {
+				statistics.setOutputVariable(entry.getVariable(), entry.getValue());
+			}
+		}
+	}
+
 	@Override
 	public void evosuite_collectTestGenerationResult(
 			String clientRmiIdentifier, List<TestGenerationResult> results)
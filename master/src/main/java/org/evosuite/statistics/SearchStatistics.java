@@ -187,6 +187,16 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 	 * @param individual best individual of current generation
 	 */
 	public void currentIndividual(Chromosome individual) {
+		currentIndividual(individual, System.currentTimeMillis());
+	}
+
+	/**
+	 * The individual represents the best individual at the given time.
+	 * 
+	 * @param individual best individual of current generation
+	 * @param time when the client observed the individual, in milliseconds since the epoch
+	 */
+	public void currentIndividual(Chromosome individual, long time) {
 		if(backend == null)
 			return;
 
@@ -201,7 +211,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
             setOutputVariable(v.getVariable((TestSuiteChromosome) individual));
         }
 		for(SequenceOutputVariableFactory<?> v : sequenceOutputVariableFactories.values()) {
-			v.update((TestSuiteChromosome) individual);
+			v.update((TestSuiteChromosome) individual, time);
 		}
 	}
 
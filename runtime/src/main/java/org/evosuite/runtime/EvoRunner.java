@@ -27,6 +27,8 @@ import java.util.Set;
 import org.evosuite.annotations.EvoSuiteTest;
 import org.junit.Test;
 import org.evosuite.runtime.instrumentation.EvoClassLoader;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
@@ -34,7 +36,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Special JUnit Runner needed for the test cases generated by EvoSuite
+ * Special JUnit Runner needed for the test cases generated by EvoSuite.
+ *
+ * <p>
+ * Each runner binds a {@link RuntimeContext} of its own (see {@link RuntimeContext#forTestClass(String)})
+ * while loading and running its test class, so that the settings, the sandbox state, the kill switch
+ * and the SUT threads of a test class do not interfere with the ones of the other test classes run
+ * in parallel in the same JVM.
  *
  * @author arcuri
  *
@@ -62,7 +70,17 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
      */
     public static boolean useClassLoader = true;
 
+    /**
+     * The context of the test class run by this runner
+     */
+    private final RuntimeContext context;
+
     public EvoRunner(Class<?> klass)
+            throws InitializationError {
+        this(klass, RuntimeContext.forTestClass(klass.getName()));
+    }
+
+    private EvoRunner(Class<?> klass, RuntimeContext context)
             throws InitializationError {
 		/*
 		 * extremely important that getClass is called _BEFORE_ super is executed.
@@ -74,10 +92,11 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
 		 * although the code of those methods is _NOT_ executed (note: not
 		 * talking of static initializers here).
 		 */
-        super(getClass(klass));
+        super(getClass(klass, context));
+        this.context = context;
     }
 
-    private static Class<?> getClass(Class<?> klass) throws InitializationError{
+    private static Class<?> getClass(Class<?> klass, RuntimeContext context) throws InitializationError{
 
         EvoRunnerParameters ep = klass.getAnnotation(EvoRunnerParameters.class);
 
@@ -86,15 +105,26 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
                     " is not annotated with "+EvoRunnerParameters.class.getName());
         }
 
-        RuntimeSettings.resetStaticState = ep.resetStaticState();
-        RuntimeSettings.mockJVMNonDeterminism = ep.mockJVMNonDeterminism();
-        RuntimeSettings.mockGUI = ep.mockGUI();
-        RuntimeSettings.useVFS = ep.useVFS();
-        RuntimeSettings.useVNET = ep.useVNET();
-        RuntimeSettings.useSeparateClassLoader = ep.separateClassLoader();
-        RuntimeSettings.useJEE = ep.useJEE();
+        // the settings, and the instrumentation and static initializers that depend on them, are the ones of this test class
+        RuntimeContext previous = RuntimeContext.bind(context);
+        try {
+            RuntimeSettings.setResetStaticState(ep.resetStaticState());
+            RuntimeSettings.setMockJVMNonDeterminism(ep.mockJVMNonDeterminism());
+            RuntimeSettings.setMockGUI(ep.mockGUI());
+            RuntimeSettings.setUseVFS(ep.useVFS());
+            RuntimeSettings.setUseVNET(ep.useVNET());
+            RuntimeSettings.setUseSeparateClassLoader(ep.separateClassLoader());
+            RuntimeSettings.setUseJEE(ep.useJEE());
+
+            return loadClass(klass);
+        } finally {
+            RuntimeContext.bind(previous);
+        }
+    }
+
+    private static Class<?> loadClass(Class<?> klass) throws InitializationError{
 
-        if(RuntimeSettings.useSeparateClassLoader && useClassLoader) {
+        if(RuntimeSettings.isUseSeparateClassLoader() && useClassLoader) {
             return getFromEvoSuiteClassloader(klass);
         }
 
@@ -143,6 +173,60 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
         }
     }
 
+    /**
+     * Run the test class on a thread of the group of its context, so that its SUT threads
+     * can be told apart from the ones of the other test classes
+     */
+    @Override
+    public void run(final RunNotifier notifier) {
+        final Throwable[] failure = new Throwable[1];
+        Thread runner = new Thread(context.getThreadGroup(), () -> {
+            RuntimeContext.bind(context);
+            try {
+                EvoRunner.super.run(notifier);
+            } catch (RuntimeException | Error e) {
+                failure[0] = e;
+            } finally {
+                RuntimeContext.bind(null);
+            }
+        }, "EvoRunner_" + getTestClass().getName());
+        runner.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+
+        try {
+            // as the current one, if the sandbox of another test class is already on
+            Sandbox.addPrivilegedThread(runner);
+        } catch (SecurityException e) {
+            logger.warn("Failed to mark the thread running {} as privileged: {}", getTestClass().getName(), e.getMessage());
+        }
+
+        runner.start();
+        try {
+            runner.join();
+        } catch (InterruptedException e) {
+            runner.interrupt();
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (failure[0] instanceof RuntimeException) {
+            throw (RuntimeException) failure[0];
+        }
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+    }
+
+    @Override
+    protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+        // in case a parallel scheduler runs the tests on threads of its own
+        RuntimeContext previous = RuntimeContext.bind(context);
+        try {
+            super.runChild(method, notifier);
+        } finally {
+            RuntimeContext.bind(previous);
+        }
+    }
+
     /**
      * Returns the methods that run tests. Default implementation returns all
      * methods annotated with {@code @Test} on this class and superclasses that
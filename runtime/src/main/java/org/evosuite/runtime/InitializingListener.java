@@ -95,8 +95,8 @@ public class InitializingListener extends RunListener {
             So, activating everything should be fine
          */
         RuntimeSettings.activateAllMocking();
-        RuntimeSettings.mockSystemIn = true;
-        RuntimeSettings.resetStaticState = true;
+        RuntimeSettings.setMockSystemIn(true);
+        RuntimeSettings.setResetStaticState(true);
 
         List<String> list;
         String compiledTestsFolder = java.lang.System.getProperty(COMPILED_TESTS_FOLDER_PROPERTY);
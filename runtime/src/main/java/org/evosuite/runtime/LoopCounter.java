@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * In some cases, we can end up with infinite loops: eg due to a bug, a seeded mutation,
@@ -37,24 +36,38 @@ public class LoopCounter {
 
     private static final LoopCounter singleton = new LoopCounter();
 
+    private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+    private static final int INITIAL_CAPACITY = 64;
+
     private boolean activated = true;
     
     /**
-     * Number of iterations so far
+     * Number of iterations so far, indexed by loop. This is a primitive array
+     * rather than a list, as it is updated at each loop iteration of the
+     * instrumented CUTs
+     */
+    private long[] counters;
+
+    /**
+     * Number of loop indices in use, ie, either assigned by {@link #getNewIndex()}
+     * or checked since the last reset
      */
-    private List<Long> counters;
+    private int size;
 
 
     private LoopCounter(){
-        counters = new ArrayList<>();
+        counters = new long[INITIAL_CAPACITY];
+        size = 0;
     }
 
     public static LoopCounter getInstance(){
-        return singleton;
+        return RuntimeContext.resolve(CONTEXT_SLOT, singleton, LoopCounter::new);
     }
 
     public void reset(){
-        counters.clear();
+        Arrays.fill(counters, 0, size, 0L);
+        size = 0;
     }
     
     public void setActive(boolean active) {
@@ -72,11 +85,20 @@ public class LoopCounter {
      * @return the next valid index for a new loop
      */
     public int getNewIndex(){
-        int index = counters.size();
-        counters.add(0l);
+        int index = size;
+        ensureSize(index + 1);
         return index;
     }
 
+    private void ensureSize(int newSize){
+        if(newSize > counters.length){
+            counters = Arrays.copyOf(counters, Math.max(newSize, counters.length * 2));
+        }
+        if(newSize > size){
+            size = newSize;
+        }
+    }
+
 
     /**
      * This is added directly in the instrumented CUT after each loop statement
@@ -93,33 +115,32 @@ public class LoopCounter {
         if(!activated)
         	return;
 
-        if(RuntimeSettings.maxNumberOfIterationsPerLoop < 0){
+        if(RuntimeSettings.getMaxNumberOfIterationsPerLoop() < 0){
             return; //do nothing, no check
         }
         
         //first check initialization
-        int size = counters.size();
         if(index >= size){
-            for(int i=0; i < 1 + (index - size); i++){
-                counters.add(0l);
-            }
+            ensureSize(index + 1);
         }
-        assert index < counters.size();
 
         //do increment
-        try {
-            long value = counters.get(index) + 1l;
-            counters.set(index, value);
-
-            if(value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
+        long value = ++counters[index];
+
+        if(value >= RuntimeSettings.getMaxNumberOfIterationsPerLoop()) {
+            if(isInStaticInit()) {
+                /*
+                 * Static initializers are not instrumented (see LoopCounterClassAdapter),
+                 * but can still call instrumented methods, which should not be stopped.
+                 * Start counting again, so that the stack is inspected once
+                 * every maxNumberOfIterationsPerLoop iterations, and not at each one
+                 */
+                counters[index] = 0L;
+                return;
             }
-        } catch(NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
+            this.reset();
+            throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                    RuntimeSettings.getMaxNumberOfIterationsPerLoop());
         }
     }
 
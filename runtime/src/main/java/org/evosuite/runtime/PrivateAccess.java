@@ -151,7 +151,7 @@ public class PrivateAccess {
     @Constraints(atMostOnce = true, notMutable = true)
     public static Object callDefaultConstructorOfTheClassUnderTest() throws Throwable{
 
-        Class<?> cut = Thread.currentThread().getContextClassLoader().loadClass(RuntimeSettings.className);
+        Class<?> cut = Thread.currentThread().getContextClassLoader().loadClass(RuntimeSettings.getClassName());
         return callDefaultConstructor(cut);
     }
 
@@ -33,13 +33,28 @@ import java.util.UUID;
  */
 public class Random {
 
-	private static boolean wasAccessed = false;
-
 	/**
-	 * We have a unique number that is increased every time a new random number
-	 * is accessed
+	 * State of the mocked random numbers, which is confined in the current
+	 * {@link RuntimeContext}, if any
 	 */
-	private static int currentNumber = 0;
+	private static class State {
+
+		private boolean wasAccessed = false;
+
+		/**
+		 * We have a unique number that is increased every time a new random number
+		 * is accessed
+		 */
+		private int currentNumber = 0;
+	}
+
+	private static final State globalState = new State();
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	private static State getState() {
+		return RuntimeContext.resolve(CONTEXT_SLOT, globalState, State::new);
+	}
 
 	/**
 	 * Replacement function for nextInt
@@ -47,8 +62,9 @@ public class Random {
 	 * @return a int.
 	 */
 	public static int nextInt() {
-		wasAccessed = true;
-		return currentNumber++;
+		State state = getState();
+		state.wasAccessed = true;
+		return state.currentNumber++;
 	}
 
 	/**
@@ -59,8 +75,9 @@ public class Random {
 	 * @return a int.
 	 */
 	public static int nextInt(int max) {
-		wasAccessed = true;
-		return currentNumber % max;
+		State state = getState();
+		state.wasAccessed = true;
+		return state.currentNumber % max;
 	}
 
 	/**
@@ -69,8 +86,9 @@ public class Random {
 	 * @return a float.
 	 */
 	public static float nextFloat() {
-		wasAccessed = true;
-		return (currentNumber++ % 10F) / 10F;
+		State state = getState();
+		state.wasAccessed = true;
+		return (state.currentNumber++ % 10F) / 10F;
 	}
 	
 
@@ -79,7 +97,7 @@ public class Random {
 	 * @param bytes
 	 */
 	 public static void nextBytes(byte[] bytes) {
-			wasAccessed = true;
+			getState().wasAccessed = true;
 
 		   for (int i = 0; i < bytes.length; )
 		     for (int rnd = nextInt(), n = Math.min(bytes.length - i, 4);
@@ -94,8 +112,9 @@ public class Random {
 	 * @return a double.
 	 */
 	public static double nextDouble() {
-		wasAccessed = true;
-		return (currentNumber++ % 10.0) / 10.0;
+		State state = getState();
+		state.wasAccessed = true;
+		return (state.currentNumber++ % 10.0) / 10.0;
 	}
 
 	/**
@@ -104,7 +123,7 @@ public class Random {
 	 * @return a double.
 	 */
 	public static double nextGaussian() {
-		wasAccessed = true;
+		getState().wasAccessed = true;
 		return nextDouble();
 	}
 	
@@ -114,7 +133,7 @@ public class Random {
 	 * @return a boolean.
 	 */
 	public static boolean nextBoolean() {
-		wasAccessed = true;
+		getState().wasAccessed = true;
 		return nextInt(1)!=0;
 	}
 
@@ -125,8 +144,9 @@ public class Random {
 	 * @return a long.
 	 */
 	public static long nextLong() {
-		wasAccessed = true;
-		return currentNumber++;
+		State state = getState();
+		state.wasAccessed = true;
+		return state.currentNumber++;
 	}
 
 	/**
@@ -136,15 +156,16 @@ public class Random {
 	 *            a int.
 	 */
 	public static void setNextRandom(int number) {
-		currentNumber = Math.abs(number);
+		getState().currentNumber = Math.abs(number);
 	}
 
 	/**
 	 * Reset runtime to initial state
 	 */
 	public static void reset() {
-		currentNumber = 0;
-		wasAccessed = false;
+		State state = getState();
+		state.currentNumber = 0;
+		state.wasAccessed = false;
 	}
 
 	/**
@@ -154,7 +175,7 @@ public class Random {
 	 * @return a boolean.
 	 */
 	public static boolean wasAccessed() {
-		return wasAccessed;
+		return getState().wasAccessed;
 	}
 
 	/**
@@ -162,7 +183,7 @@ public class Random {
 	 * @return
 	 */
     public static UUID randomUUID() {
-		wasAccessed = true;
+		getState().wasAccessed = true;
 
         byte[] randomBytes = new byte[16];
         nextBytes(randomBytes);
@@ -193,6 +214,6 @@ public class Random {
     }
 
     public static int getCurrentNumber() {
-    	return currentNumber;
+    	return getState().currentNumber;
     }
 }
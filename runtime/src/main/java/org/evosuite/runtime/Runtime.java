@@ -76,7 +76,7 @@ public class Runtime {
 		 *       at runtime, then the MethodCallReplacementCache
 		 *       would need to be reset.
 		 */
-		if (RuntimeSettings.mockJVMNonDeterminism) {			
+		if (RuntimeSettings.isMockJVMNonDeterminism()) {			
 			Random.reset();
 			System.resetRuntime();
             MockThread.reset();
@@ -87,17 +87,17 @@ public class Runtime {
 			JComponent.setDefaultLocale(Locale.getDefault());
 		}
 
-		if (RuntimeSettings.useVFS) {
+		if (RuntimeSettings.isUseVFS()) {
 			VirtualFileSystem.getInstance().resetSingleton();
 			VirtualFileSystem.getInstance().init();
 		}
 
-        if(RuntimeSettings.useVNET){
+        if(RuntimeSettings.isUseVNET()){
             VirtualNetwork.getInstance().reset();
             VirtualNetwork.getInstance().init();
         }
 
-		if(RuntimeSettings.useJEE){
+		if(RuntimeSettings.isUseJEE()){
 			TestDataJavaEE.getInstance().reset();
 
 			EvoNamingContext.getInstance().reset();
@@ -120,4 +120,35 @@ public class Runtime {
         LoopCounter.getInstance().reset();
 	}
 
+	/**
+	 * Resets only the simulated state that is confined in the current {@link RuntimeContext}
+	 * (eg, VFS, VNET, loop counters, mocked time, random numbers and threads), but not the
+	 * JVM-wide one (eg, System properties, default locale and time zone, Java EE).
+	 * Used when tests are executed concurrently, each in its own context, after a single
+	 * call to {@link #resetRuntime()}
+	 */
+	public void resetConfinedRuntime() {
+
+		MockFramework.enable();
+
+		if (RuntimeSettings.isMockJVMNonDeterminism()) {
+			Random.reset();
+			System.resetConfinedState();
+			MockThread.reset();
+			ThreadCounter.getInstance().resetSingleton();
+		}
+
+		if (RuntimeSettings.isUseVFS()) {
+			VirtualFileSystem.getInstance().resetSingleton();
+			VirtualFileSystem.getInstance().init();
+		}
+
+		if(RuntimeSettings.isUseVNET()){
+			VirtualNetwork.getInstance().reset();
+			VirtualNetwork.getInstance().init();
+		}
+
+		LoopCounter.getInstance().reset();
+	}
+
 }
@@ -0,0 +1,220 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Holder of the state of the mocked environment (eg, VFS, VNET, loop counters, time)
+ * used by a group of test executions.
+ *
+ * <p>
+ * By default, such state is process-wide. A context can be bound to the current thread
+ * (and it will be inherited by the threads it starts), in which case the runtime singletons
+ * resolve to instances confined to such context. This is used by EvoSuite to execute tests
+ * concurrently during the search, where the sandbox and the settings are handled by the
+ * search itself.
+ *
+ * <p>
+ * A context created with {@link #forTestClass(String)} also confines the state that
+ * {@link EvoRunner} and the scaffolding of a generated test class set up: the state of the
+ * sandbox, the kill switch, the threads started by the SUT and {@link RuntimeSettings}.
+ * {@link EvoRunner} runs each test class on a thread of its own context, so that different
+ * generated test classes can be run in parallel. The tests of a class share its context,
+ * and so still need to run one after the other.
+ *
+ * <p>
+ * Note: the security manager itself and the System properties are JVM-wide. Tests that
+ * write System properties can still affect tests of other classes running at the same time.
+ */
+public final class RuntimeContext {
+
+	/**
+	 * Max number of singletons that can be confined in a context
+	 */
+	private static final int MAX_SLOTS = 32;
+
+	private static final AtomicInteger slotCounter = new AtomicInteger(0);
+
+	private static final InheritableThreadLocal<RuntimeContext> current = new InheritableThreadLocal<>();
+
+	/**
+	 * Whether the current thread bound a context itself, rather than inheriting it
+	 */
+	private static final ThreadLocal<Boolean> explicitlyBound = new ThreadLocal<>();
+
+	/**
+	 * Number of threads that currently have a context bound with {@link #bind(RuntimeContext)}.
+	 * When zero, the thread-local lookup is skipped, as this is on the hot path of the
+	 * instrumented code (eg, at each loop iteration)
+	 */
+	private static final AtomicInteger boundThreads = new AtomicInteger(0);
+
+	private final AtomicReferenceArray<Object> instances = new AtomicReferenceArray<>(MAX_SLOTS);
+
+	/**
+	 * The group of the threads running the tests of a test class, and so of the threads
+	 * they start, or {@code null} if this context does not belong to a test class
+	 */
+	private final ThreadGroup threadGroup;
+
+	/**
+	 * Create a context that confines the state of the mocked environment
+	 */
+	public RuntimeContext() {
+		this(null);
+	}
+
+	private RuntimeContext(ThreadGroup threadGroup) {
+		this.threadGroup = threadGroup;
+	}
+
+	/**
+	 * Create a context for the tests of the given class
+	 *
+	 * @param className the name of the test class
+	 * @return a context that also confines the state of the sandbox, the kill switch,
+	 * the SUT threads and {@link RuntimeSettings}
+	 */
+	public static RuntimeContext forTestClass(String className) {
+		ThreadGroup group = new ThreadGroup("EvoSuite_" + className);
+		// destroyed once its last thread is done
+		group.setDaemon(true);
+		return new RuntimeContext(group);
+	}
+
+	/**
+	 * @return the group of the threads of the test class of this context, or {@code null}
+	 * if this context was not created with {@link #forTestClass(String)}
+	 */
+	public ThreadGroup getThreadGroup() {
+		return threadGroup;
+	}
+
+	/**
+	 * Reserve the slot of a singleton. To be called once, in the static initializer of the
+	 * class of the singleton
+	 *
+	 * @return
+	 */
+	public static int newSlot() {
+		int slot = slotCounter.getAndIncrement();
+		if (slot >= MAX_SLOTS) {
+			throw new IllegalStateException("Too many singletons confined in the runtime context");
+		}
+		return slot;
+	}
+
+	/**
+	 * Bind the given context to the current thread
+	 *
+	 * @param context a context, or {@code null} to use the process-wide state
+	 * @return the context that was previously bound to the current thread, if any
+	 */
+	public static RuntimeContext bind(RuntimeContext context) {
+		RuntimeContext previous = current.get();
+		boolean wasBound = explicitlyBound.get() != null;
+		if (context == null) {
+			current.remove();
+			if (wasBound) {
+				explicitlyBound.remove();
+				boundThreads.decrementAndGet();
+			}
+		} else {
+			current.set(context);
+			if (!wasBound) {
+				explicitlyBound.set(Boolean.TRUE);
+				boundThreads.incrementAndGet();
+			}
+		}
+		return previous;
+	}
+
+	/**
+	 * @return the context bound to the current thread, or {@code null} if the process-wide state is used
+	 */
+	public static RuntimeContext getCurrent() {
+		if (boundThreads.get() == 0) {
+			return null;
+		}
+		return current.get();
+	}
+
+	/**
+	 * Resolve the instance of a singleton that should be used by the current thread
+	 *
+	 * @param slot    the slot of the singleton, see {@link #newSlot()}
+	 * @param global  the process-wide instance, used when no context is bound
+	 * @param factory to create the instance the first time it is needed in a context
+	 * @param <T>
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T resolve(int slot, T global, Supplier<T> factory) {
+		if (boundThreads.get() == 0) {
+			return global;
+		}
+		RuntimeContext context = current.get();
+		if (context == null) {
+			return global;
+		}
+		Object instance = context.instances.get(slot);
+		if (instance == null) {
+			T created = factory.get();
+			if (context.instances.compareAndSet(slot, null, created)) {
+				return created;
+			}
+			instance = context.instances.get(slot);
+		}
+		return (T) instance;
+	}
+
+	/**
+	 * As {@link #resolve(int, Object, Supplier)}, but for the state that is only confined in
+	 * the contexts of test classes, see {@link #forTestClass(String)}
+	 *
+	 * @param slot    the slot of the singleton, see {@link #newSlot()}
+	 * @param global  the process-wide instance, used when no context of a test class is bound
+	 * @param factory to create the instance the first time it is needed in a context
+	 * @param <T>
+	 * @return
+	 */
+	public static <T> T resolveForTestClass(int slot, T global, Supplier<T> factory) {
+		if (boundThreads.get() == 0) {
+			return global;
+		}
+		RuntimeContext context = current.get();
+		if (context == null || context.threadGroup == null) {
+			return global;
+		}
+		return resolve(slot, global, factory);
+	}
+
+	/**
+	 * @return the group of the threads of the test class whose context is bound to the
+	 * current thread, or {@code null} if there is none
+	 */
+	public static ThreadGroup getCurrentThreadGroup() {
+		RuntimeContext context = getCurrent();
+		return context == null ? null : context.threadGroup;
+	}
+}
@@ -19,10 +19,20 @@
  */
 package org.evosuite.runtime;
 
+import java.util.function.Supplier;
+
 import org.evosuite.runtime.sandbox.Sandbox;
 
 /**
  * Created by arcuri on 6/10/14.
+ *
+ * <p>
+ * The static fields are the process-wide settings, used by the search. While the
+ * {@link RuntimeContext} of a test class is bound (see {@link EvoRunner}), the
+ * getters and setters access the settings of that class instead, so that test
+ * classes with different settings can run in parallel. A setting that was not set
+ * for a test class, eg by a test suite written by an earlier version of EvoSuite
+ * that assigns the fields, is read from the field.
  */
 public class RuntimeSettings {
 
@@ -115,23 +125,224 @@ public class RuntimeSettings {
      */
     public static boolean isRunningASystemTest = false;
 
+    /**
+     * The settings of a test class. A null value means the setting was not set
+     * for the class
+     */
+    private static final class ClassSettings {
+        volatile String className;
+        volatile Boolean mockJVMNonDeterminism;
+        volatile Boolean mockSystemIn;
+        volatile Boolean mockGUI;
+        volatile Boolean useVFS;
+        volatile Boolean useVNET;
+        volatile Boolean useJEE;
+        volatile Boolean resetStaticState;
+        volatile Sandbox.SandboxMode sandboxMode;
+        volatile Integer maxNumberOfThreads;
+        volatile Long maxNumberOfIterationsPerLoop;
+        volatile Boolean useSeparateClassLoader;
+    }
+
+    private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+    /**
+     * Created once, as the settings are read during the checks of the security manager
+     */
+    private static final Supplier<ClassSettings> NEW_SETTINGS = ClassSettings::new;
+
+    /**
+     * @return the settings of the test class whose context is bound, or null
+     */
+    private static ClassSettings getClassSettings() {
+        return RuntimeContext.resolveForTestClass(CONTEXT_SLOT, null, NEW_SETTINGS);
+    }
+
+    public static String getClassName() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.className == null ? className : settings.className;
+    }
+
+    public static void setClassName(String value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            className = value;
+        } else {
+            settings.className = value;
+        }
+    }
+
+    public static boolean isMockJVMNonDeterminism() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.mockJVMNonDeterminism == null ? mockJVMNonDeterminism : settings.mockJVMNonDeterminism;
+    }
+
+    public static void setMockJVMNonDeterminism(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            mockJVMNonDeterminism = value;
+        } else {
+            settings.mockJVMNonDeterminism = value;
+        }
+    }
+
+    public static boolean isMockSystemIn() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.mockSystemIn == null ? mockSystemIn : settings.mockSystemIn;
+    }
+
+    public static void setMockSystemIn(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            mockSystemIn = value;
+        } else {
+            settings.mockSystemIn = value;
+        }
+    }
+
+    public static boolean isMockGUI() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.mockGUI == null ? mockGUI : settings.mockGUI;
+    }
+
+    public static void setMockGUI(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            mockGUI = value;
+        } else {
+            settings.mockGUI = value;
+        }
+    }
+
+    public static boolean isUseVFS() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.useVFS == null ? useVFS : settings.useVFS;
+    }
+
+    public static void setUseVFS(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            useVFS = value;
+        } else {
+            settings.useVFS = value;
+        }
+    }
+
+    public static boolean isUseVNET() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.useVNET == null ? useVNET : settings.useVNET;
+    }
+
+    public static void setUseVNET(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            useVNET = value;
+        } else {
+            settings.useVNET = value;
+        }
+    }
+
+    public static boolean isUseJEE() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.useJEE == null ? useJEE : settings.useJEE;
+    }
+
+    public static void setUseJEE(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            useJEE = value;
+        } else {
+            settings.useJEE = value;
+        }
+    }
+
+    public static boolean isResetStaticState() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.resetStaticState == null ? resetStaticState : settings.resetStaticState;
+    }
+
+    public static void setResetStaticState(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            resetStaticState = value;
+        } else {
+            settings.resetStaticState = value;
+        }
+    }
+
+    public static Sandbox.SandboxMode getSandboxMode() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.sandboxMode == null ? sandboxMode : settings.sandboxMode;
+    }
+
+    public static void setSandboxMode(Sandbox.SandboxMode value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            sandboxMode = value;
+        } else {
+            settings.sandboxMode = value;
+        }
+    }
+
+    public static int getMaxNumberOfThreads() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.maxNumberOfThreads == null ? maxNumberOfThreads : settings.maxNumberOfThreads;
+    }
+
+    public static void setMaxNumberOfThreads(int value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            maxNumberOfThreads = value;
+        } else {
+            settings.maxNumberOfThreads = value;
+        }
+    }
+
+    public static long getMaxNumberOfIterationsPerLoop() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.maxNumberOfIterationsPerLoop == null ? maxNumberOfIterationsPerLoop : settings.maxNumberOfIterationsPerLoop;
+    }
+
+    public static void setMaxNumberOfIterationsPerLoop(long value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            maxNumberOfIterationsPerLoop = value;
+        } else {
+            settings.maxNumberOfIterationsPerLoop = value;
+        }
+    }
+
+    public static boolean isUseSeparateClassLoader() {
+        ClassSettings settings = getClassSettings();
+        return settings == null || settings.useSeparateClassLoader == null ? useSeparateClassLoader : settings.useSeparateClassLoader;
+    }
+
+    public static void setUseSeparateClassLoader(boolean value) {
+        ClassSettings settings = getClassSettings();
+        if (settings == null) {
+            useSeparateClassLoader = value;
+        } else {
+            settings.useSeparateClassLoader = value;
+        }
+    }
+
     public static boolean isUsingAnyMocking() {
-        return mockJVMNonDeterminism || useVFS || useVNET || mockGUI;
+        return isMockJVMNonDeterminism() || isUseVFS() || isUseVNET() || isMockGUI();
     }
 
     public static void deactivateAllMocking() {
-        mockJVMNonDeterminism = false;
-        mockGUI = false;
-        useVNET = false;
-        useVFS = false;
+        setMockJVMNonDeterminism(false);
+        setMockGUI(false);
+        setUseVNET(false);
+        setUseVFS(false);
         assert !isUsingAnyMocking();
     }
 
     public static void activateAllMocking() {
-        mockJVMNonDeterminism = true;
-        mockGUI = true;
-        useVNET = true;
-        useVFS = true;
+        setMockJVMNonDeterminism(true);
+        setMockGUI(true);
+        setUseVNET(true);
+        setUseVFS(true);
         assert isUsingAnyMocking();
     }
 }
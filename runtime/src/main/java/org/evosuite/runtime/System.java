@@ -46,7 +46,28 @@ public class System {
 
 	private static final Logger logger = LoggerFactory.getLogger(System.class);
 
-	private static boolean wasTimeAccessed = false;
+	/**
+	 * State related to the mocked time and identity hash codes, which is confined
+	 * in the current {@link RuntimeContext}, if any
+	 */
+	private static class State {
+
+		private boolean wasTimeAccessed = false;
+
+		/** Current time returns numbers increased by 1 */
+		// Initialised to 2014-02-14, 20:21
+		private long currentTime = 1392409281320L;
+
+		private final Map<Integer, Integer> hashKeys = new HashMap<Integer, Integer>();
+	}
+
+	private static final State globalState = new State();
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	private static State getState() {
+		return RuntimeContext.resolve(CONTEXT_SLOT, globalState, State::new);
+	}
 
 	/**
 	 * Default Java properties before we run the SUT
@@ -129,7 +150,7 @@ public class System {
 
 		if (perm.getActions().contains("write")) {
 
-			if(!RuntimeSettings.mockJVMNonDeterminism) {
+			if(!RuntimeSettings.isMockJVMNonDeterminism()) {
 				if(isSystemProperty(perm.getName())) {
 					// We cannot restore these properties to ensure cross-OS compatibility, so they can't be written to
 					return false;
@@ -195,7 +216,7 @@ public class System {
 	 *            a int.
 	 */
 	public static void exit(int status) {
-		wasTimeAccessed = true;
+		getState().wasTimeAccessed = true;
 
 		/*
 		 * TODO: Here we could handle the calls to the JVM shutdown hooks, if any is present
@@ -204,18 +225,15 @@ public class System {
 		throw new SystemExitException();
 	}
 
-	/** Current time returns numbers increased by 1 */
-	// Initialised to 2014-02-14, 20:21
-	private static long currentTime = 1392409281320L;
-
 	/**
 	 * Replacement function for System.currentTimeMillis
 	 * 
 	 * @return a long.
 	 */
 	public static long currentTimeMillis() {
-		wasTimeAccessed = true;
-		return currentTime; //++;
+		State state = getState();
+		state.wasTimeAccessed = true;
+		return state.currentTime; //++;
 	}
 
 	/**
@@ -227,11 +245,9 @@ public class System {
 	 */
 	public static long getCurrentTimeMillisForVFS() {
 		//wasTimeAccessed = true;
-		return currentTime; //++;
+		return getState().currentTime; //++;
 	}
 
-	private static final Map<Integer, Integer> hashKeys = new HashMap<Integer, Integer>();
-
 	public static void registerObjectForIdentityHashCode(Object o) {
 		identityHashCode(o);
 	}
@@ -240,6 +256,7 @@ public class System {
 		if(o == null)
 			return 0;
 
+		Map<Integer, Integer> hashKeys = getState().hashKeys;
 		synchronized (hashKeys) {
 			Integer realId = java.lang.System.identityHashCode(o);
 			if(!hashKeys.containsKey(realId))
@@ -262,8 +279,9 @@ public class System {
 	 * @return a long.
 	 */
 	public static long nanoTime() {
-		wasTimeAccessed = true;
-		return currentTime * 1000; //++;
+		State state = getState();
+		state.wasTimeAccessed = true;
+		return state.currentTime * 1000; //++;
 	}
 
 	/**
@@ -306,7 +324,7 @@ public class System {
 	 *            a long.
 	 */
 	public static void setCurrentTimeMillis(long time) {
-		currentTime = time;
+		getState().currentTime = time;
 	}
 
 	/**
@@ -322,14 +340,25 @@ public class System {
 	 * Reset runtime to initial state
 	 */
 	public static void resetRuntime() {
-		currentTime = 1392409281320L; // 2014-02-14, 20:21
-		wasTimeAccessed = false;
-		hashKeys.clear();
+		resetConfinedState();
 		restoreProperties(); 
 		needToRestoreProperties = false;
 		//readProperties.clear(); //we cannot reset read properties here		
 	}
 
+	/**
+	 * Reset only the mocked time and identity hash codes, ie the state confined in
+	 * the current {@link RuntimeContext}, but not the JVM-wide System properties
+	 */
+	public static void resetConfinedState() {
+		State state = getState();
+		state.currentTime = 1392409281320L; // 2014-02-14, 20:21
+		state.wasTimeAccessed = false;
+		synchronized (state.hashKeys) {
+			state.hashKeys.clear();
+		}
+	}
+
 	/**
 	 *  Fully reset the state, not only the one related to 
 	 *  latest test case execution
@@ -347,6 +376,20 @@ public class System {
         }
 	}
 
+	/**
+	 * Check whether identity hash codes were assigned during test execution. As
+	 * they are numbered in order of access, their values depend on the previous
+	 * accesses
+	 *
+	 * @return a boolean.
+	 */
+	public static boolean wasIdentityHashCodeAccessed() {
+		Map<Integer, Integer> hashKeys = getState().hashKeys;
+		synchronized (hashKeys) {
+			return !hashKeys.isEmpty();
+		}
+	}
+
 	/**
 	 * Getter to check whether the runtime replacement for time was accessed during test
 	 * execution
@@ -354,6 +397,6 @@ public class System {
 	 * @return a boolean.
 	 */
 	public static boolean wasTimeAccessed() {
-		return wasTimeAccessed;
+		return getState().wasTimeAccessed;
 	}
 }
@@ -19,6 +19,7 @@
  */
 package org.evosuite.runtime.instrumentation;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
@@ -27,7 +28,6 @@ import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.runtime.util.Inputs;
-import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -111,7 +111,7 @@ public class EvoClassLoader extends ClassLoader {
 			}
 			boolean shouldSkip = skipInstrumentationForPrefix.stream().anyMatch(s -> fullyQualifiedTargetClass.startsWith(s));
 			byte[] byteBuffer = instrumentation.transformBytes(this, className,
-			                                                   new ClassReader(is), shouldSkip);
+			                                                   readBytes(is), shouldSkip);
 			createPackageDefinition(fullyQualifiedTargetClass);
 			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0,
 			                              byteBuffer.length);
@@ -132,6 +132,16 @@ public class EvoClassLoader extends ClassLoader {
 	}
 
 
+	private static byte[] readBytes(InputStream is) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int n;
+		while ((n = is.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		return out.toByteArray();
+	}
+
 	/**
 	 * Before a new class is defined, we need to create a package definition for it
 	 * 
@@ -0,0 +1,292 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the bytes produced by {@link RuntimeInstrumentation}, so that the same class
+ * is not re-instrumented by each generated test class (eg, each new {@link EvoClassLoader}).
+ *
+ * <p>
+ * Entries are keyed by a hash of the original class bytes and of the instrumentation
+ * configuration. Besides the in-JVM cache, entries can also be stored on disk, and so
+ * shared among different JVMs (eg, Maven forks), by setting the
+ * {@link #CACHE_DIR_PROPERTY} system property to a folder.
+ *
+ * <p>
+ * On disk, entries are stored in a sub-folder specific to the version of the EvoSuite
+ * runtime, ie a hash of its jar. The classpath is not part of the key though, even if
+ * the stack map frames of the instrumented classes are computed from the class hierarchy
+ * it defines. So a folder must only be shared among JVMs running the same classpath.
+ */
+public class InstrumentedClassCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(InstrumentedClassCache.class);
+
+	/**
+	 * System property used to specify the folder of the on-disk cache
+	 */
+	public static final String CACHE_DIR_PROPERTY = "evosuite.instrumentation.cache";
+
+	/**
+	 * Needs to be increased each time the instrumentation changes, to invalidate
+	 * entries written on disk by previous versions
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String FILE_SUFFIX = ".class.cache";
+
+	private static final InstrumentedClassCache instance = new InstrumentedClassCache();
+
+	private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+
+	private volatile File directory;
+
+	/**
+	 * Sub-folder of {@link #directory} for the current runtime version
+	 */
+	private volatile File versionDirectory;
+
+	/**
+	 * Lazily computed, as it is only needed for the on-disk cache
+	 */
+	private String runtimeVersion;
+
+	private InstrumentedClassCache() {
+		String dir = System.getProperty(CACHE_DIR_PROPERTY);
+		if (dir != null && !dir.trim().isEmpty()) {
+			setDirectory(new File(dir.trim()));
+		}
+	}
+
+	public static InstrumentedClassCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Use the given folder for the on-disk cache, or {@code null} to only cache in memory
+	 *
+	 * @param directory
+	 */
+	public synchronized void setDirectory(File directory) {
+		File versionDirectory = null;
+		if (directory != null) {
+			String version = getRuntimeVersion();
+			if (version == null) {
+				logger.warn("Cannot determine the version of the EvoSuite runtime, instrumentation cache is only kept in memory");
+				directory = null;
+			} else {
+				versionDirectory = new File(directory, version);
+				if (!versionDirectory.isDirectory() && !versionDirectory.mkdirs()) {
+					logger.warn("Cannot create folder for instrumentation cache: " + versionDirectory.getAbsolutePath());
+					directory = null;
+					versionDirectory = null;
+				}
+			}
+		}
+		this.versionDirectory = versionDirectory;
+		this.directory = directory;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	private String getRuntimeVersion() {
+		if (runtimeVersion == null) {
+			runtimeVersion = computeRuntimeVersion();
+		}
+		return runtimeVersion;
+	}
+
+	/**
+	 * The version of the runtime is a hash of the jar it is loaded from. SNAPSHOT builds
+	 * keep the same Implementation-Version, so this one is only used if the location of
+	 * the runtime is unknown. When running from a folder of classes (eg, when building
+	 * EvoSuite itself), its path and last modification are used instead.
+	 *
+	 * @return {@code null} if the version cannot be determined
+	 */
+	private static String computeRuntimeVersion() {
+		MessageDigest digest = newDigest();
+		try {
+			CodeSource source = InstrumentedClassCache.class.getProtectionDomain().getCodeSource();
+			if (source != null && source.getLocation() != null
+					&& "file".equals(source.getLocation().getProtocol())) {
+				File location = new File(source.getLocation().toURI());
+				if (location.isFile()) {
+					try (InputStream in = new DigestInputStream(new FileInputStream(location), digest)) {
+						byte[] buffer = new byte[8192];
+						while (in.read(buffer) >= 0) {
+							// only digesting
+						}
+					}
+					return toHex(digest.digest());
+				} else if (location.isDirectory()) {
+					long lastModified;
+					try (Stream<Path> paths = Files.walk(location.toPath())) {
+						lastModified = paths.mapToLong(path -> path.toFile().lastModified()).max().orElse(0L);
+					}
+					digest.update((location.getAbsolutePath() + ";" + lastModified).getBytes(StandardCharsets.UTF_8));
+					return toHex(digest.digest());
+				}
+			}
+		} catch (IOException | URISyntaxException | SecurityException e) {
+			logger.debug("Cannot read the location of the EvoSuite runtime: {}", e.getMessage());
+		}
+
+		String version = InstrumentedClassCache.class.getPackage() == null ? null
+				: InstrumentedClassCache.class.getPackage().getImplementationVersion();
+		if (version == null) {
+			return null;
+		}
+		digest.reset();
+		digest.update(version.getBytes(StandardCharsets.UTF_8));
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Compute the key for the instrumented version of the given class bytes
+	 *
+	 * @param classBytes    the original, non-instrumented, class bytes
+	 * @param configuration description of all the settings the instrumentation depends on
+	 * @return
+	 */
+	public static String computeKey(byte[] classBytes, String configuration) {
+		MessageDigest digest = newDigest();
+		digest.update(classBytes);
+		digest.update((FORMAT_VERSION + ";" + configuration).getBytes(StandardCharsets.UTF_8));
+		return toHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			//should never happen, as every JVM has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder();
+		for (byte b : bytes) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param key
+	 * @return the cached instrumented bytes, or {@code null} if not present.
+	 *         Callers must not modify the returned array
+	 */
+	public byte[] get(String key) {
+		byte[] bytes = cache.get(key);
+		if (bytes != null) {
+			return bytes;
+		}
+
+		File dir = versionDirectory;
+		if (dir == null) {
+			return null;
+		}
+		File file = new File(dir, key + FILE_SUFFIX);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			bytes = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			logger.debug("Failed to read cached class {}: {}", file.getAbsolutePath(), e.getMessage());
+			return null;
+		}
+		cache.putIfAbsent(key, bytes);
+		return bytes;
+	}
+
+	/**
+	 * Only the result of successful instrumentations should be stored
+	 *
+	 * @param key
+	 * @param bytes
+	 */
+	public void put(String key, byte[] bytes) {
+		cache.put(key, bytes);
+
+		File dir = versionDirectory;
+		if (dir == null) {
+			return;
+		}
+		File file = new File(dir, key + FILE_SUFFIX);
+		if (file.exists()) {
+			return;
+		}
+		/*
+		 * several JVMs could write the same entry at the same time, so first write
+		 * to a temporary file and then move it, to never expose partial entries
+		 */
+		File tmp = null;
+		try {
+			tmp = File.createTempFile(key, ".tmp", dir);
+			Files.write(tmp.toPath(), bytes);
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.debug("Failed to write cached class {}: {}", file.getAbsolutePath(), e.getMessage());
+			if (tmp != null) {
+				tmp.delete();
+			}
+		}
+	}
+
+	public int getNumberOfCachedClasses() {
+		return cache.size();
+	}
+
+	/**
+	 * Only clear the in-JVM cache, entries on disk are kept
+	 */
+	public void clear() {
+		cache.clear();
+	}
+}
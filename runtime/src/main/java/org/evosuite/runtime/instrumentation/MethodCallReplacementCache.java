@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.evosuite.PackageInfo;
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.mock.EvoSuiteMock;
 import org.evosuite.runtime.mock.MockList;
@@ -51,6 +52,8 @@ public class MethodCallReplacementCache {
 
 	private static MethodCallReplacementCache instance = null;
 
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
 	/**
 	 * method replacements, which are called with Opcodes.INVOKESTATIC
 	 */
@@ -69,7 +72,7 @@ public class MethodCallReplacementCache {
 
 	private MethodCallReplacementCache() {
 
-		if (RuntimeSettings.mockJVMNonDeterminism) {
+		if (RuntimeSettings.isMockJVMNonDeterminism()) {
 
 			// java.lang.*
 			addJavaLangCalls();
@@ -88,7 +91,14 @@ public class MethodCallReplacementCache {
 
 	}
 
+	/**
+	 * @return the replacements for the settings of the test class whose {@link RuntimeContext}
+	 * is bound, if any, otherwise the process-wide ones
+	 */
 	public static MethodCallReplacementCache getInstance() {
+		if (RuntimeContext.getCurrentThreadGroup() != null) {
+			return RuntimeContext.resolveForTestClass(CONTEXT_SLOT, null, MethodCallReplacementCache::new);
+		}
 		if (instance == null) {
 			instance = new MethodCallReplacementCache();
 		}
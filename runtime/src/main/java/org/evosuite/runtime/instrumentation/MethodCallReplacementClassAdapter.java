@@ -159,7 +159,7 @@ public class MethodCallReplacementClassAdapter extends ClassVisitor {
 	
 	@Override
 	public void visitEnd() {
-		if(canChangeSignature && !definesHashCode && !isInterface && RuntimeSettings.mockJVMNonDeterminism) {
+		if(canChangeSignature && !definesHashCode && !isInterface && RuntimeSettings.isMockJVMNonDeterminism()) {
 
 //			logger.info("No hashCode defined for: "+className+", superclass = "+superClassName);
 
@@ -108,8 +108,59 @@ public class RuntimeInstrumentation {
 		return false;
 	}
 
+	/**
+	 * Same as {@link #transformBytes(ClassLoader, String, ClassReader, boolean)}, but
+	 * reusing the result of previous instrumentations of the same bytes, if any.
+	 * The returned array is shared, and so it must not be modified.
+	 */
+	public byte[] transformBytes(ClassLoader classLoader, String className,
+			byte[] classBytes, boolean skipInstrumentation) {
+
+		String classNameWithDots = className.replace('/', '.');
+
+		if (!checkIfCanInstrument(classNameWithDots)) {
+			throw new IllegalArgumentException("Should not transform a shared class ("
+					+ classNameWithDots + ")! Load by parent (JVM) classloader.");
+		}
+
+		InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+		String key = InstrumentedClassCache.computeKey(classBytes, getConfiguration(skipInstrumentation));
+		byte[] instrumented = cache.get(key);
+		if (instrumented != null) {
+			logger.debug("Reusing cached instrumentation of {}", classNameWithDots);
+			return instrumented;
+		}
+
+		return transformBytes(classLoader, className, new ClassReader(classBytes), skipInstrumentation, key);
+	}
+
+	/**
+	 * @return a description of all the settings that have an impact on the output of
+	 * {@link #transformBytes(ClassLoader, String, ClassReader, boolean)}
+	 */
+	private String getConfiguration(boolean skipInstrumentation) {
+		return "skip=" + skipInstrumentation
+				+ ";retransforming=" + retransformingMode
+				+ ";reset=" + RuntimeSettings.isResetStaticState()
+				+ ";jvm=" + RuntimeSettings.isMockJVMNonDeterminism()
+				+ ";vfs=" + RuntimeSettings.isUseVFS()
+				+ ";vnet=" + RuntimeSettings.isUseVNET()
+				+ ";gui=" + RuntimeSettings.isMockGUI()
+				+ ";jee=" + RuntimeSettings.isUseJEE()
+				+ ";loops=" + (RuntimeSettings.getMaxNumberOfIterationsPerLoop() >= 0);
+	}
+
 	public byte[] transformBytes(ClassLoader classLoader, String className,
 			ClassReader reader, boolean skipInstrumentation) {
+		return transformBytes(classLoader, className, reader, skipInstrumentation, null);
+	}
+
+	/**
+	 * @param cacheKey if not null, the result is stored under this key in the
+	 *                 {@link InstrumentedClassCache}, unless the instrumentation failed
+	 */
+	private byte[] transformBytes(ClassLoader classLoader, String className,
+			ClassReader reader, boolean skipInstrumentation, String cacheKey) {
 
 		String classNameWithDots = className.replace('/', '.');
 
@@ -124,7 +175,7 @@ public class RuntimeInstrumentation {
 		ClassVisitor cv = writer;
 
 		if(!skipInstrumentation) {
-			if (RuntimeSettings.resetStaticState && !retransformingMode) {
+			if (RuntimeSettings.isResetStaticState() && !retransformingMode) {
 			/*
 			 * FIXME: currently reset does add a new method, but that does no work
 			 * when retransformingMode :(
@@ -141,7 +192,7 @@ public class RuntimeInstrumentation {
 
 			cv = new RemoveFinalClassAdapter(cv);
 
-			if (RuntimeSettings.maxNumberOfIterationsPerLoop >= 0) {
+			if (RuntimeSettings.getMaxNumberOfIterationsPerLoop() >= 0) {
 				cv = new LoopCounterClassAdapter(cv);
 			}
 		}
@@ -153,13 +204,19 @@ public class RuntimeInstrumentation {
 
 		cv = new JSRInlinerClassVisitor(cv);
 
+		boolean failed = false;
 		try {
 			cn.accept(cv);
 		} catch (Throwable ex) {
 			logger.error("Error while instrumenting class "+className+": "+ex.getMessage(),ex);
+			failed = true;
 		}
 
-		return writer.toByteArray();
+		byte[] bytes = writer.toByteArray();
+		if (cacheKey != null && !failed) {
+			InstrumentedClassCache.getInstance().put(cacheKey, bytes);
+		}
+		return bytes;
 	}
 
 }
\ No newline at end of file
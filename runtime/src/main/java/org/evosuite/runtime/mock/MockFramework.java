@@ -19,6 +19,8 @@
  */
 package org.evosuite.runtime.mock;
 
+import org.evosuite.runtime.RuntimeContext;
+
 /**
  * Class used to keep track of whether instrumented mock
  * class should use their mocked functionalities, or rather
@@ -37,21 +39,31 @@ package org.evosuite.runtime.mock;
  */
 public class MockFramework {
 
-	private static volatile boolean active = false;
+	private static class State {
+		private volatile boolean active = false;
+	}
+
+	private static final State globalState = new State();
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	private static State getState(){
+		return RuntimeContext.resolve(CONTEXT_SLOT, globalState, State::new);
+	}
 	
 	/**
 	 * If classes are mocked, then use the mock versions
 	 * instead of the original
 	 */
 	public static void enable(){
-		active = true;
+		getState().active = true;
 	}
 	
 	public static void disable(){
-		active = false;		
+		getState().active = false;		
 	}
 	
 	public static boolean isEnabled(){
-		return active;
+		return getState().active;
 	}
 }
@@ -79,7 +79,7 @@ public class MockList {
 
 		List<Class<? extends EvoSuiteMock>> list = new ArrayList<>();
 
-		if (RuntimeSettings.useVFS) {
+		if (RuntimeSettings.isUseVFS()) {
 			list.add(MockFile.class);
 			list.add(MockFileInputStream.class);
 			list.add(MockFileOutputStream.class);
@@ -93,7 +93,7 @@ public class MockList {
 			list.add(MockFileSystemView.class);
 		}
 
-		if (RuntimeSettings.mockJVMNonDeterminism) {
+		if (RuntimeSettings.isMockJVMNonDeterminism()) {
 
 			list.add(MockRuntime.class);
 			list.add(MockLogRecord.class);
@@ -156,7 +156,7 @@ public class MockList {
 			list.add(MockThrowable.class);
 		}
 
-		if (RuntimeSettings.useVNET) {
+		if (RuntimeSettings.isUseVNET()) {
 			list.add(MockDatagramSocket.class);
 			list.add(MockInetAddress.class);
 			list.add(MockInetSocketAddress.class);
@@ -171,12 +171,12 @@ public class MockList {
 			// list.add(MockSocketChannel.class); //TODO
 		}
 
-		if (RuntimeSettings.useJEE) {
+		if (RuntimeSettings.isUseJEE()) {
 			list.add(MockInitialContext.class);
 			list.add(MockPersistence.class);
 		}
 
-		if (RuntimeSettings.mockGUI) {
+		if (RuntimeSettings.isMockGUI()) {
 			// why not including JFileChooser?
 			list.add(MockJOptionPane.class);
 		}
@@ -552,7 +552,7 @@ public class MockFile extends File implements OverrideMock {
 
     @Override
     public URL toURL() throws MalformedURLException {
-        if(!MockFramework.isEnabled() || !RuntimeSettings.useVNET) {
+        if(!MockFramework.isEnabled() || !RuntimeSettings.isUseVNET()) {
             return super.toURL();
         }
         URL url = super.toURL();
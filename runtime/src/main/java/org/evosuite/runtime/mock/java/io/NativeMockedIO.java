@@ -61,6 +61,27 @@ public class NativeMockedIO {
 	}
 
 	
+	/**
+	 * Read up to {@code len} bytes in one go, advancing {@code position} by the number of bytes read
+	 *
+	 * @return the number of bytes read, or -1 if at the end of the file
+	 */
+	public static int readBytes(String path, AtomicInteger position, byte b[], int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+
+		int n = vf.readBytes(position.get(), b, off, len);
+		if(n > 0){
+			position.addAndGet(n);
+		}
+		return n;
+	}
+
+	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
 		if(target==null || target.isDeleted() || target.isFolder() || !target.isWritePermission()){
@@ -20,6 +20,7 @@
 package org.evosuite.runtime.mock.java.lang;
 
 import org.evosuite.runtime.annotation.EvoSuiteExclude;
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.mock.OverrideMock;
@@ -44,14 +45,23 @@ public class MockThread extends Thread implements OverrideMock {
 
     private static final Logger logger = LoggerFactory.getLogger(MockThread.class);
 
-    private static final Map<Integer, Long> threadMap = new ConcurrentHashMap<>();
+    private static final Map<Integer, Long> globalThreadMap = new ConcurrentHashMap<>();
+
+    private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+    /**
+     * @return the mocked thread ids confined in the current {@link RuntimeContext}, if any
+     */
+    private static Map<Integer, Long> getThreadMap() {
+        return RuntimeContext.resolve(CONTEXT_SLOT, globalThreadMap, ConcurrentHashMap::new);
+    }
 
     public static void reset() {
-        threadMap.clear();
+        getThreadMap().clear();
     }
 
     private boolean isSutRelated() {
-        String sut = RuntimeSettings.className;
+        String sut = RuntimeSettings.getClassName();
         String threadName = this.getClass().getName();
         String targetName = target==null ? null : target.getClass().getName();
 
@@ -312,6 +322,7 @@ public class MockThread extends Thread implements OverrideMock {
             return super.getId();
         }
 
+        Map<Integer, Long> threadMap = getThreadMap();
         synchronized (threadMap) {
             int identity = java.lang.System.identityHashCode(this);
             if (!threadMap.containsKey(identity)) {
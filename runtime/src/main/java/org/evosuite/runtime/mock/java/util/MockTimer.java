@@ -25,19 +25,30 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.mock.OverrideMock;
 import org.evosuite.runtime.thread.ThreadCounter;
 
 public class MockTimer extends Timer implements OverrideMock{
 
-	private static final Set<Timer> instances = new LinkedHashSet<>();  
+	private static final Set<Timer> globalInstances = new LinkedHashSet<>();  
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	/**
+	 * @return the timers created in the current {@link RuntimeContext}, if any
+	 */
+	private static Set<Timer> getInstances() {
+		return RuntimeContext.resolve(CONTEXT_SLOT, globalInstances, LinkedHashSet::new);
+	}
 	
 	/**
 	 * As interrupting threads might not work on Timer objects, 
 	 * explicitly kill all created instances
 	 */
 	public static synchronized void stopAllTimers(){
+		Set<Timer> instances = getInstances();
 		for(Timer timer : instances) {
 			try {
 				// Since SUT classes may inherit from MockTimer, this code (called from EvoSuite)
@@ -58,7 +69,7 @@ public class MockTimer extends Timer implements OverrideMock{
                 timer.cancel();
             }
         }
-        instances.add(timer);
+        getInstances().add(timer);
 	}
 	
 	// ---------  constructors  --------------
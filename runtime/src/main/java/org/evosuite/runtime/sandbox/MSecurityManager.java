@@ -39,9 +39,12 @@ import java.sql.SQLPermission;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.PropertyPermission;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
 
@@ -58,6 +61,7 @@ import javax.sound.sampled.AudioPermission;
 import javax.xml.ws.WebServicePermission;
 
 import org.evosuite.PackageInfo;
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.vfs.VirtualFileSystem;
 import org.slf4j.Logger;
@@ -144,17 +148,46 @@ public class MSecurityManager extends SecurityManager {
 		 * otherwise we end up in a infinite loop when its jar
 		 * is accessed during the security checks
 		 */		
-		boolean forceLoading = RuntimeSettings.mockJVMNonDeterminism;
+		boolean forceLoading = RuntimeSettings.isMockJVMNonDeterminism();
 	}
 
 	private final PermissionStatistics statistics = PermissionStatistics.getInstance();
 
+	/**
+	 * State of the test execution of a group of SUT threads. It is confined in the
+	 * context of a test class (see {@link RuntimeContext#forTestClass(String)}), so
+	 * that test classes run in parallel do not start and end each other's tests
+	 */
+	private static final class ExecutionState {
+
+		/**
+		 * Is EvoSuite executing a test case?
+		 */
+		private volatile boolean executingTestCase = false;
+
+		/**
+		 * Decisions taken for the SUT threads during the current test execution, for
+		 * the permissions whose decision depends only on the permission itself (ie, its
+		 * class, name and actions) and on settings that do not change during a test.
+		 * SUTs might ask for the same permissions over and over again (eg, reflection)
+		 */
+		private final Map<Permission, Boolean> decisionCache = new ConcurrentHashMap<>();
+	}
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	/**
+	 * Created before the manager is on, as creating it during a permission check
+	 * would lead to further checks
+	 */
+	private static final Supplier<ExecutionState> NEW_STATE = ExecutionState::new;
+
 	private final SecurityManager defaultManager;
 
 	/**
-	 * Is EvoSuite executing a test case?
+	 * Execution state used when no context of a test class is bound
 	 */
-	private volatile boolean executingTestCase;
+	private final ExecutionState globalState;
 
 
 	/**
@@ -193,7 +226,7 @@ public class MSecurityManager extends SecurityManager {
 		privilegedThreads = new CopyOnWriteArraySet<>();
 		privilegedThreads.add(Thread.currentThread());
 		defaultManager = System.getSecurityManager();
-		executingTestCase = false;
+		globalState = new ExecutionState();
 		privilegedThreadToIgnore = null;
 		unrecognizedPermissions = new CopyOnWriteArraySet<>();
 
@@ -343,20 +376,30 @@ public class MSecurityManager extends SecurityManager {
 		System.setSecurityManager(defaultManager);
 	}
 
+	/**
+	 * @return the execution state of the test class whose context is bound, if any, otherwise the process-wide one
+	 */
+	private ExecutionState getState() {
+		return RuntimeContext.resolveForTestClass(CONTEXT_SLOT, globalState, NEW_STATE);
+	}
+
 	public void goingToExecuteTestCase() throws IllegalStateException {
-		if (executingTestCase) {
+		ExecutionState state = getState();
+		if (state.executingTestCase) {
 			throw new IllegalStateException("Trying to set up the sandbox while executing a test case");
 		}
 		
-		executingTestCase = true;
+		state.decisionCache.clear();
+		state.executingTestCase = true;
 	}
 
 	public boolean isExecutingTestCase() {
-		return executingTestCase;
+		return getState().executingTestCase;
 	}
 
 	public void goingToEndTestCase() throws IllegalStateException {
-		if (!executingTestCase) {
+		ExecutionState state = getState();
+		if (!state.executingTestCase) {
 			throw new IllegalStateException("Trying to disable sandbox when not test case was run");
 		}
 		
@@ -371,7 +414,8 @@ public class MSecurityManager extends SecurityManager {
 			file.deleteOnExit();
 		}
 
-		executingTestCase = false;
+		state.executingTestCase = false;
+		state.decisionCache.clear();
 	}
 
 	/**
@@ -430,17 +474,22 @@ public class MSecurityManager extends SecurityManager {
 	public void checkPermission(Permission perm) throws SecurityException {
 		// check access
 		if (!allowPermission(perm)) {
-			String stack = "\n";
-			for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-				if (e.toString().contains(
-						//FIXME use ObjectFields.class, but without adding Maven dependency (which would create a cycle)
-						PackageInfo.getEvoSuitePackage()+".regression.ObjectFields")) {
+			//FIXME use ObjectFields.class, but without adding Maven dependency (which would create a cycle)
+			final String objectFields = PackageInfo.getEvoSuitePackage()+".regression.ObjectFields";
+			StackTraceElement[] trace = Thread.currentThread().getStackTrace();
+			for (StackTraceElement e : trace) {
+				if (e.getClassName().startsWith(objectFields)) {
 					statistics.permissionAllowed(perm);
 					return;
 				}
-				stack += e + "\n";
 			}
-			if (executingTestCase) {
+			// only build the full description once we know the permission is denied
+			StringBuilder stackBuilder = new StringBuilder("\n");
+			for (StackTraceElement e : trace) {
+				stackBuilder.append(e).append("\n");
+			}
+			String stack = stackBuilder.toString();
+			if (isExecutingTestCase()) {
 				/*
 				 * report statistics only during test case execution, although still log them. The reason is to avoid EvoSuite threads which might not
 				 * privileged to mess up with the statistics on the SUT
@@ -451,7 +500,7 @@ public class MSecurityManager extends SecurityManager {
 
 			throw new SecurityException("Security manager blocks " + perm + stack);
 		} else {
-			if (executingTestCase) {
+			if (isExecutingTestCase()) {
 				statistics.permissionAllowed(perm);
 			}
 		}
@@ -486,7 +535,7 @@ public class MSecurityManager extends SecurityManager {
 	 */
 	private boolean allowPermission(Permission perm) {
 
-		if (RuntimeSettings.sandboxMode.equals(Sandbox.SandboxMode.OFF)) {
+		if (RuntimeSettings.getSandboxMode().equals(Sandbox.SandboxMode.OFF)) {
 			/*
 			 * allow everything
 			 */
@@ -528,7 +577,7 @@ public class MSecurityManager extends SecurityManager {
 
 
 
-		if (RuntimeSettings.sandboxMode.equals(Sandbox.SandboxMode.IO)) {
+		if (RuntimeSettings.getSandboxMode().equals(Sandbox.SandboxMode.IO)) {
 			// TODO: This makes JVM8 on MacOS crash
 			// PermissionStatistics.getInstance().countThreads(Thread.currentThread().getThreadGroup().activeCount());
 
@@ -563,6 +612,58 @@ public class MSecurityManager extends SecurityManager {
 		// TODO: This makes JVM8 on MacOS crash
 		//PermissionStatistics.getInstance().countThreads(Thread.currentThread().getThreadGroup().activeCount());
 
+		ExecutionState state = getState();
+		if (!state.executingTestCase || !isDecisionCacheable(perm)) {
+			return decidePermission(perm);
+		}
+
+		Boolean cached = state.decisionCache.get(perm);
+		if (cached != null) {
+			statistics.decisionCacheHit();
+			return cached;
+		}
+		statistics.decisionCacheMiss();
+		boolean allowed = decidePermission(perm);
+		state.decisionCache.put(perm, allowed);
+		return allowed;
+	}
+
+	/**
+	 * Whether the decision for the given permission, once all thread based checks
+	 * are done, only depends on the permission and on settings that are fixed during
+	 * a test execution.
+	 * 
+	 * @param perm
+	 * @return
+	 */
+	private boolean isDecisionCacheable(Permission perm) {
+		if (perm instanceof FilePermission) {
+			// depends on the VFS, and on the callers
+			return false;
+		}
+		if (perm instanceof PropertyPermission) {
+			// has side effects, as accessed properties are recorded
+			return false;
+		}
+		if (perm instanceof RuntimePermission && "shutdownHooks".equals(perm.getName().trim())) {
+			// depends on whether it is an AWT thread
+			return false;
+		}
+		/*
+		 * Permissions of the SUT could have whatever equals/hashCode
+		 */
+		String className = perm.getClass().getName();
+		return className.startsWith("java.") || className.startsWith("javax.");
+	}
+
+	/**
+	 * Decide on the given permission requested by a non-privileged thread, based on its type
+	 * 
+	 * @param perm
+	 * @return false if access is forbidden, true otherwise
+	 */
+	private boolean decidePermission(Permission perm) {
+
 		if (perm instanceof FilePermission) {
 			return checkFilePermission((FilePermission) perm);
 		}
@@ -723,10 +824,11 @@ public class MSecurityManager extends SecurityManager {
 
 		final String pattern = "sun.rmi.";
 		boolean foundRMI = false;
+		StackTraceElement[] trace = Thread.currentThread().getStackTrace();
 
 		//first check if there is any reference to RMI in the stack trace
-		for(StackTraceElement element : Thread.currentThread().getStackTrace()) {
-			if(element.toString().startsWith(pattern)) {
+		for(StackTraceElement element : trace) {
+			if(element.getClassName().startsWith(pattern)) {
 				foundRMI = true;
 				break;
 			}
@@ -739,12 +841,10 @@ public class MSecurityManager extends SecurityManager {
 
 		boolean foundMasterNode = false;
 
-		traceLoop: for(StackTraceElement element : Thread.currentThread().getStackTrace()) {
-			for(String masterNodeMethod : masterNodeRemoteMethodNames) {
-				if(element.toString().contains(masterNodeMethod)) {
-					foundMasterNode = true;
-					break traceLoop;
-				}
+		for(StackTraceElement element : trace) {
+			if(masterNodeRemoteMethodNames.contains(element.getMethodName())) {
+				foundMasterNode = true;
+				break;
 			}
 		}
 
@@ -1029,13 +1129,10 @@ public class MSecurityManager extends SecurityManager {
 
 		// AWT needs to be treated specially
 		//FIXME handling of awt read permission
-		if ("true".equals(AWT_HEADLESS) && isAWTThread()) {
-			if (name.equals("shutdownHooks"))
-				return true;
-			if (name.equals("modifyThreadGroup"))
-				return true;
-			if (name.equals("modifyThread"))
-				return true;
+		// Note: "modifyThreadGroup" and "modifyThread" are granted to all threads below,
+		// so only for "shutdownHooks" it is worth inspecting the stack
+		if (name.equals("shutdownHooks") && "true".equals(AWT_HEADLESS) && isAWTThread()) {
+			return true;
 		}
 
 		/*
@@ -1046,7 +1143,7 @@ public class MSecurityManager extends SecurityManager {
 		}
 		
 		if(name.equals("shutdownHooks")) {
-			if(RuntimeSettings.mockJVMNonDeterminism) {
+			if(RuntimeSettings.isMockJVMNonDeterminism()) {
 				return true; // the hooks will be handled by mocking framework
 			} else {
 				return false;
@@ -1198,7 +1295,7 @@ public class MSecurityManager extends SecurityManager {
 			return true;
 		}
 
-		if(perm.getActions().contains("write") && !executingTestCase) {
+		if(perm.getActions().contains("write") && !isExecutingTestCase()) {
 			if(org.evosuite.runtime.System.isSystemProperty(perm.getName())) {
 				return false;
 			} else {
@@ -1260,7 +1357,7 @@ public class MSecurityManager extends SecurityManager {
 			return true;
 		}
 
-		if(RuntimeSettings.useVFS) {
+		if(RuntimeSettings.isUseVFS()) {
 
 			//we need at least one real file with all permissions, otherwise the VFS will not work
 			boolean isTmpFile = fp.getName().equals(VirtualFileSystem.getInstance().getRealTmpFile().getPath());
@@ -30,7 +30,10 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.evosuite.runtime.RuntimeContext;
 import org.slf4j.Logger;
 
 /**
@@ -66,7 +69,22 @@ public class PermissionStatistics {
 	private final Set<String> recentAccess;
 	private int maxThreads;
 
-	private boolean hasNewExceptions = false;
+	/**
+	 * Whether a permission was denied since the last call to
+	 * {@link #getAndResetExceptionInfo()}. Confined in the current
+	 * {@link RuntimeContext}, if any, so it can be attributed to the test
+	 * executed in such context
+	 */
+	private final AtomicBoolean hasNewExceptions = new AtomicBoolean(false);
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	/**
+	 * Number of permission checks answered by, or missing in, the decision
+	 * cache of the security manager
+	 */
+	private final AtomicLong decisionCacheHits;
+	private final AtomicLong decisionCacheMisses;
 
 
     private String threadGroupToMonitor;
@@ -79,6 +97,8 @@ public class PermissionStatistics {
 		deniedClassCount = new ConcurrentHashMap<Class<?>, Integer>();
 		recentAccess = Collections.synchronizedSet(new HashSet<String>());
 		maxThreads = 1;
+		decisionCacheHits = new AtomicLong(0);
+		decisionCacheMisses = new AtomicLong(0);
 	}
 
    
@@ -196,7 +216,7 @@ public class PermissionStatistics {
 		} else {
 			deniedCount.get(permissionClassName).put(type, 1);
 		}
-		hasNewExceptions = true;
+		getNewExceptionsFlag().set(true);
 	}
 
 	/**
@@ -522,12 +542,28 @@ public class PermissionStatistics {
 		return maxThreads;
 	}
 
+	public void decisionCacheHit() {
+		decisionCacheHits.incrementAndGet();
+	}
+
+	public void decisionCacheMiss() {
+		decisionCacheMisses.incrementAndGet();
+	}
+
+	public long getDecisionCacheHits() {
+		return decisionCacheHits.get();
+	}
+
+	public long getDecisionCacheMisses() {
+		return decisionCacheMisses.get();
+	}
+
 	public boolean getAndResetExceptionInfo() {
-		if (hasNewExceptions) {
-			hasNewExceptions = false;
-			return true;
-		}
-		return false;
+		return getNewExceptionsFlag().getAndSet(false);
+	}
+
+	private AtomicBoolean getNewExceptionsFlag() {
+		return RuntimeContext.resolve(CONTEXT_SLOT, hasNewExceptions, AtomicBoolean::new);
 	}
 
     public void setThreadGroupToMonitor(String threadGroupToMonitor) {
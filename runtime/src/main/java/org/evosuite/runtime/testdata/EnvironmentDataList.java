@@ -37,17 +37,17 @@ public class EnvironmentDataList {
     public static List<Class<?>> getListOfClasses(){
         List<Class<?>> classes = new ArrayList<>();
 
-        if(RuntimeSettings.useVFS) {
+        if(RuntimeSettings.isUseVFS()) {
             classes.add(EvoSuiteFile.class);
         }
 
-        if(RuntimeSettings.useVNET){
+        if(RuntimeSettings.isUseVNET()){
             classes.add(EvoSuiteLocalAddress.class);
             classes.add(EvoSuiteRemoteAddress.class);
             classes.add(EvoSuiteURL.class);
         }
 
-        if(RuntimeSettings.useJEE){
+        if(RuntimeSettings.isUseJEE()){
             classes.add(EvoName.class);
         }
 
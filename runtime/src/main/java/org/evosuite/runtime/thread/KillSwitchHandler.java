@@ -19,9 +19,20 @@
  */
 package org.evosuite.runtime.thread;
 
+import java.util.function.Supplier;
+
+import org.evosuite.runtime.RuntimeContext;
+
 public class KillSwitchHandler implements KillSwitch{
 
 	private static final KillSwitchHandler singleton = new KillSwitchHandler();
+
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
+	/**
+	 * Created once, as the switch is checked by all the instrumented code
+	 */
+	private static final Supplier<KillSwitchHandler> NEW_HANDLER = KillSwitchHandler::new;
 	
 	private volatile boolean kill;
 	
@@ -32,8 +43,11 @@ public class KillSwitchHandler implements KillSwitch{
 		kill = false;
 	}
 	
+	/**
+	 * @return the switch of the test class whose {@link RuntimeContext} is bound, if any, otherwise the process-wide one
+	 */
 	public static KillSwitchHandler getInstance(){
-		return singleton;
+		return RuntimeContext.resolveForTestClass(CONTEXT_SLOT, singleton, NEW_HANDLER);
 	}
 
 	@Override
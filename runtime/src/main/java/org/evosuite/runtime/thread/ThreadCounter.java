@@ -19,6 +19,7 @@
  */
 package org.evosuite.runtime.thread;
 
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.TooManyResourcesException;
 
@@ -37,14 +38,19 @@ public class ThreadCounter {
 
     private static final ThreadCounter singleton = new ThreadCounter();
 
+    private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
     private volatile int counter;
 
     private ThreadCounter(){
         resetSingleton();
     }
 
+    /**
+     * @return the counter confined in the current {@link RuntimeContext}, if any, otherwise the process-wide one
+     */
     public static ThreadCounter getInstance(){
-        return singleton;
+        return RuntimeContext.resolve(CONTEXT_SLOT, singleton, ThreadCounter::new);
     }
 
     public synchronized  void resetSingleton(){
@@ -52,9 +58,9 @@ public class ThreadCounter {
     }
 
     public synchronized void checkIfCanStartNewThread() throws TooManyResourcesException{
-        if(counter >= RuntimeSettings.maxNumberOfThreads){
+        if(counter >= RuntimeSettings.getMaxNumberOfThreads()){
             throw new TooManyResourcesException("This test case has tried to start too many threads. "+
-                "Maximum allowed per test is "+RuntimeSettings.maxNumberOfThreads+" threads.");
+                "Maximum allowed per test is "+RuntimeSettings.getMaxNumberOfThreads()+" threads.");
         }
         counter++;
     }
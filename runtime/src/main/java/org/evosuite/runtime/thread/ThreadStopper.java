@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.mock.java.util.MockTimer;
 import org.slf4j.Logger;
@@ -131,14 +132,22 @@ public class ThreadStopper {
 			        "The current threads are not set. You need to call storeCurrentThreads() first");
 		}
 
-		if(RuntimeSettings.mockJVMNonDeterminism){
+		if(RuntimeSettings.isMockJVMNonDeterminism()){
 			MockTimer.stopAllTimers();
 		}
 		
 		// Using enumerate here because getAllStackTraces may call hashCode of the SUT,
 		// if the SUT is a subclass of Thread
-		Thread[] threadArray = new Thread[Thread.activeCount() + 2];
-		Thread.enumerate(threadArray);
+		Thread[] threadArray;
+		ThreadGroup group = RuntimeContext.getCurrentThreadGroup();
+		if (group != null) {
+			// only the threads of the test class being run
+			threadArray = new Thread[group.activeCount() + 2];
+			group.enumerate(threadArray, true);
+		} else {
+			threadArray = new Thread[Thread.activeCount() + 2];
+			Thread.enumerate(threadArray);
+		}
 
 		/*
 		 * First we set the kill switch in the instrumented bytecode, this
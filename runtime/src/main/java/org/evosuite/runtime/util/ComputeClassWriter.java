@@ -27,28 +27,93 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A ClassWriter that computes the common super class of two classes without
  * actually loading them with a ClassLoader.
  *
+ * <p>
+ * As the same types are needed over and over again when instrumenting the classes
+ * of a project, both the supertypes read from the classpath and the computed
+ * common super classes are cached, and shared among all the writers.
+ *
  * @author Eric Bruneton
  */
 public class ComputeClassWriter extends ClassWriter {
 
     private Logger logger = LoggerFactory.getLogger(ComputeClassWriter.class);
 
+    private static final String OBJECT = "java/lang/Object";
+
+    /**
+     * Supertypes of the classes already read from the classpath, indexed by internal name
+     */
+    private static final Map<String, TypeInfo> typeInfoCache = new ConcurrentHashMap<>();
+
+    /**
+     * Already computed common super classes, indexed by "type1;type2"
+     */
+    private static final Map<String, String> commonSuperClassCache = new ConcurrentHashMap<>();
+
 	private ClassLoader l = getClass().getClassLoader();
 	
     public ComputeClassWriter(final int flags) {
         super(flags);
     }
+
+    /**
+     * Forget all the cached supertypes, eg, when the classpath changes
+     */
+    public static void clearCaches() {
+        typeInfoCache.clear();
+        commonSuperClassCache.clear();
+    }
+
+    /**
+     * The direct supertypes of a class or interface, with internal names
+     */
+    protected static class TypeInfo {
+
+        private final String superName;
+        private final String[] interfaces;
+        private final boolean isInterface;
+
+        public TypeInfo(String superName, String[] interfaces, boolean isInterface) {
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.isInterface = isInterface;
+        }
+
+        public String getSuperName() {
+            return superName;
+        }
+
+        public String[] getInterfaces() {
+            return interfaces;
+        }
+
+        public boolean isInterface() {
+            return isInterface;
+        }
+    }
     
     @Override
     protected String getCommonSuperClass(final String type1, final String type2) {
+        String key = type1 + ";" + type2;
+        String result = commonSuperClassCache.get(key);
+        if (result == null) {
+            result = computeCommonSuperClass(type1, type2);
+            commonSuperClassCache.put(key, result);
+        }
+        return result;
+    }
+
+    private String computeCommonSuperClass(final String type1, final String type2) {
         try {
-        	ClassReader info1;
-        	ClassReader info2;
+        	TypeInfo info1;
+        	TypeInfo info2;
         	try {
         		info1 = typeInfo(type1);
             } catch (NullPointerException e) {
@@ -62,27 +127,27 @@ public class ComputeClassWriter extends ClassWriter {
                 throw new RuntimeException("Class not found: "+type2+": "+e.toString(), e);
         	}
 
-            if ((info1.getAccess() & Opcodes.ACC_INTERFACE) != 0) {
+            if (info1.isInterface()) {
                 if (typeImplements(type2, info2, type1)) {
                     return type1;
                 }
-                if ((info2.getAccess() & Opcodes.ACC_INTERFACE) != 0) {
+                if (info2.isInterface()) {
                     if (typeImplements(type1, info1, type2)) {
                         return type2;
                     }
                 }
-                return "java/lang/Object";
+                return OBJECT;
             }
-            if ((info2.getAccess() & Opcodes.ACC_INTERFACE) != 0) {
+            if (info2.isInterface()) {
                 if (typeImplements(type1, info1, type2)) {
                     return type2;
                 } else {
-                    return "java/lang/Object";
+                    return OBJECT;
                 }
             }
             StringBuilder b1 = typeAncestors(type1, info1);
             StringBuilder b2 = typeAncestors(type2, info2);
-            String result = "java/lang/Object";
+            String result = OBJECT;
             int end1 = b1.length();
             int end2 = b2.length();
             while (true) {
@@ -117,7 +182,7 @@ public class ComputeClassWriter extends ClassWriter {
      * @param type
      *            the internal name of a class or interface.
      * @param info
-     *            the ClassReader corresponding to 'type'.
+     *            the TypeInfo corresponding to 'type'.
      * @return a StringBuilder containing the ancestor classes of 'type',
      *         separated by ';'. The returned string has the following format:
      *         ";type1;type2 ... ;typeN", where type1 is 'type', and typeN is a
@@ -127,10 +192,10 @@ public class ComputeClassWriter extends ClassWriter {
      *             if the bytecode of 'type' or of some of its ancestor class
      *             cannot be loaded.
      */
-    private StringBuilder typeAncestors(String type, ClassReader info)
+    private StringBuilder typeAncestors(String type, TypeInfo info)
             throws IOException {
         StringBuilder b = new StringBuilder();
-        while (!"java/lang/Object".equals(type)) {
+        while (!OBJECT.equals(type)) {
             b.append(';').append(type);
             type = info.getSuperName();
             info = typeInfo(type);
@@ -144,7 +209,7 @@ public class ComputeClassWriter extends ClassWriter {
      * @param type
      *            the internal name of a class or interface.
      * @param info
-     *            the ClassReader corresponding to 'type'.
+     *            the TypeInfo corresponding to 'type'.
      * @param itf
      *            the internal name of a interface.
      * @return true if 'type' implements directly or indirectly 'itf'
@@ -152,9 +217,9 @@ public class ComputeClassWriter extends ClassWriter {
      *             if the bytecode of 'type' or of some of its ancestor class
      *             cannot be loaded.
      */
-    private boolean typeImplements(String type, ClassReader info, String itf)
+    private boolean typeImplements(String type, TypeInfo info, String itf)
             throws IOException {
-        while (!"java/lang/Object".equals(type)) {
+        while (!OBJECT.equals(type)) {
             String[] itfs = info.getInterfaces();
             for (int i = 0; i < itfs.length; ++i) {
                 if (itfs[i].equals(itf)) {
@@ -171,27 +236,43 @@ public class ComputeClassWriter extends ClassWriter {
         }
         return false;
     }
-    
+
+    private TypeInfo typeInfo(final String type) throws IOException, NullPointerException {
+        if (OBJECT.equals(type)) {
+            return new TypeInfo(null, new String[0], false);
+        }
+        return getTypeInfo(type);
+    }
+
     /**
-     * Returns a ClassReader corresponding to the given class or interface.
+     * Returns the direct supertypes of the given class or interface. Subclasses can
+     * override this method to use other sources than the bytecode on the classpath.
      *
      * @param type
      *            the internal name of a class or interface.
-     * @return the ClassReader corresponding to 'type'.
+     * @return the TypeInfo corresponding to 'type'.
      * @throws IOException
      *             if the bytecode of 'type' cannot be loaded.
      * @throws NullPointerException
      *             if the bytecode of 'type' cannot be found.
      */
-    private ClassReader typeInfo(final String type) throws IOException, NullPointerException {
+    protected TypeInfo getTypeInfo(final String type) throws IOException, NullPointerException {
+        TypeInfo info = typeInfoCache.get(type);
+        if (info != null) {
+            return info;
+        }
         InputStream is = l.getResourceAsStream(type + ".class");
         try {
         	if(is == null)
         		throw new NullPointerException("Class not found "+type);
-            return new ClassReader(is);
+            ClassReader reader = new ClassReader(is);
+            info = new TypeInfo(reader.getSuperName(), reader.getInterfaces(),
+                    (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0);
         } finally {
         	if(is != null)
         		is.close();
         }
+        typeInfoCache.put(type, info);
+        return info;
     }
 }
@@ -103,7 +103,7 @@ public class SystemInUtil extends InputStream{
 		data = new ArrayList<Byte>();
 		counter = new AtomicInteger(0);
 		endReached = false;
-		if(RuntimeSettings.mockSystemIn){
+		if(RuntimeSettings.isMockSystemIn()){
 			System.setIn(this);
 		}
 	}
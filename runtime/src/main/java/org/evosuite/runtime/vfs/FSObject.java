@@ -73,7 +73,7 @@ public abstract class FSObject {
 	}
 
 	protected long getCurrentTimeMillis(){
-		if(RuntimeSettings.mockJVMNonDeterminism){
+		if(RuntimeSettings.isMockJVMNonDeterminism()){
 			return org.evosuite.runtime.System.getCurrentTimeMillisForVFS();
 		} else {
 			return java.lang.System.currentTimeMillis();
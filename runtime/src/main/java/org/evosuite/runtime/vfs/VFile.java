@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -30,46 +29,63 @@ import java.util.List;
  */
 public class VFile extends FSObject{
 
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the actual data contained in file. Only the first {@code size} bytes are valid,
+	 * the others are always 0
+	 */
+	private byte[] data;
+
 	/**
-	 * the actual data contained in file as a list of bytes
+	 * number of bytes in the file
 	 */
-	private final List<Byte> data;
+	private int size;
 
 	public VFile(String path, VFolder parent) {
 		super(path, parent);
 
-		//TODO might need a better type of data structure supporting multi-threading
-		data = new ArrayList<Byte>(1024);
+		data = new byte[INITIAL_CAPACITY];
+		size = 0;
 	}
 
-	public void eraseData(){
-		data.clear();
+	public synchronized void eraseData(){
+		if(data.length > INITIAL_CAPACITY){
+			data = new byte[INITIAL_CAPACITY];
+		} else {
+			Arrays.fill(data, 0, size, (byte)0);
+		}
+		size = 0;
 	}
 
 	public synchronized int getDataSize(){
-		return data.size();
+		return size;
 	}
 
 
 	public synchronized void setLength(int newLength){
 
-		/*
-		 * Note: this implementation is not particularly efficient...
-		 * but setLength is rarely called
-		 */
+		if(newLength > data.length){
+			ensureCapacity(newLength);
+		}
 
-		while(newLength > data.size()){
-			data.add((byte)0);
+		if(newLength < size){
+			//keep the invariant that bytes after the end of file are 0, so the file can grow again
+			Arrays.fill(data, newLength, size, (byte)0);
 		}
 
-		if(newLength==0){
-			data.clear();
+		size = newLength;
+	}
+
+	private void ensureCapacity(int capacity){
+		if(capacity <= data.length){
 			return;
 		}
-		
-		while(data.size() > newLength){
-			data.remove(data.size()-1);
+		int newCapacity = Math.max(capacity, data.length * 2);
+		if(newCapacity < 0){ //overflow
+			newCapacity = Integer.MAX_VALUE;
 		}
+		data = Arrays.copyOf(data, newCapacity);
 	}
 
     /**
@@ -82,15 +98,37 @@ public class VFile extends FSObject{
 			throw new IllegalArgumentException("Position in the file cannot be negative");
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			return -1; //this represent the end of the stream
 		}
 
-		return data.get(position) & 0xFF;
+		return data[position] & 0xFF;
+	}
+
+	/**
+	 * Copy up to {@code len} bytes of the file, starting at {@code position}, into {@code b}
+	 *
+	 * @return the number of bytes copied, or -1 if {@code position} is at (or after) the end of the file
+	 */
+	public synchronized int readBytes(int position, byte b[], int off, int len) throws IllegalArgumentException{
+		if(position<0){
+			throw new IllegalArgumentException("Position in the file cannot be negative");
+		}
+		if(off < 0 || len < 0 || len > b.length - off){
+			throw new IndexOutOfBoundsException();
+		}
+
+		if(position >= size){
+			return -1; //this represent the end of the stream
+		}
+
+		int n = Math.min(len, size - position);
+		System.arraycopy(data, position, b, off, n);
+		return n;
 	}
 
 	public synchronized int writeBytes(byte b[], int off, int len){
-		return writeBytes(data.size(),b,off,len);
+		return writeBytes(size,b,off,len);
 	}
 
 	
@@ -104,19 +142,20 @@ public class VFile extends FSObject{
 			return 0;
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			setLength(position);
 		}
 
-		int written = 0;
-		for(int i=off; i<b.length & (i-off)<len; i++){
-			if(position < data.size()){
-				data.set(position,(b[i]));
-			} else {
-				data.add(b[i]);
+		int written = Math.max(0, Math.min(len, b.length - off));
+		if(written > 0){
+			int end = position + written;
+			if(end > data.length){
+				ensureCapacity(end);
+			}
+			System.arraycopy(b, off, data, position, written);
+			if(end > size){
+				size = end;
 			}
-			position++;
-			written++;
 		}
 
 		setLastModified(getCurrentTimeMillis());
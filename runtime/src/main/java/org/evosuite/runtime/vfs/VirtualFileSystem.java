@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.evosuite.runtime.testdata.EvoSuiteFile;
 import org.evosuite.runtime.LeakingResource;
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.sandbox.MSecurityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,10 +56,12 @@ public final class VirtualFileSystem {
 	private static final Logger logger = LoggerFactory.getLogger(VirtualFileSystem.class);
 
 	/**
-	 * The only instance of this class
+	 * The instance of this class used when no {@link RuntimeContext} is bound
 	 */
 	private static final VirtualFileSystem singleton = new VirtualFileSystem();
 
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
 	/**
 	 * The root of the VFS
 	 * 
@@ -114,12 +117,12 @@ public final class VirtualFileSystem {
 	}
 
 	/**
-	 * Get the final instance of this singleton
+	 * Get the instance of this singleton for the current {@link RuntimeContext}
 	 * 
 	 * @return
 	 */
 	public static VirtualFileSystem getInstance() {
-		return singleton;
+		return RuntimeContext.resolve(CONTEXT_SLOT, singleton, VirtualFileSystem::new);
 	}
 
 	/**
@@ -31,6 +31,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.evosuite.runtime.RuntimeContext;
 import org.evosuite.runtime.mock.java.net.MockInetAddress;
 import org.evosuite.runtime.mock.java.net.MockURL;
 
@@ -55,6 +56,8 @@ public class VirtualNetwork {
 	 */
 	private static final VirtualNetwork instance = new VirtualNetwork();
 
+	private static final int CONTEXT_SLOT = RuntimeContext.newSlot();
+
 	/**
 	 * When we simulate a remote incoming connection, we still need a remote port.
 	 * Note: in theory we could have the same port if we simulate several different
@@ -174,7 +177,7 @@ public class VirtualNetwork {
 	}
 
 	public static VirtualNetwork getInstance() {
-		return instance;
+		return RuntimeContext.resolve(CONTEXT_SLOT, instance, VirtualNetwork::new);
 	}
 
 	//------------------------------------------
@@ -61,6 +61,36 @@ public class LoopCounterTest {
         }
     }
 
+    private static class LoopInStaticInit {
+        static final int LOOP = LoopCounter.getInstance().getNewIndex();
+        static final long ITERATIONS = loop();
+
+        private static long loop() {
+            long n = 3 * RuntimeSettings.maxNumberOfIterationsPerLoop;
+            for (long i = 0; i < n; i++) {
+                LoopCounter.getInstance().checkLoop(LOOP);
+            }
+            return n;
+        }
+    }
+
+    @Test
+    public void testStaticInitIsNotStopped() {
+        Assert.assertEquals(3 * RuntimeSettings.maxNumberOfIterationsPerLoop, LoopInStaticInit.ITERATIONS);
+    }
+
+    @Test
+    public void testResetRestartsIndices() {
+        int first = LoopCounter.getInstance().getNewIndex();
+        LoopCounter.getInstance().checkLoop(1000); // beyond the initial capacity
+        LoopCounter.getInstance().reset();
+        Assert.assertEquals(first, LoopCounter.getInstance().getNewIndex());
+
+        for (long i = 0; i < RuntimeSettings.maxNumberOfIterationsPerLoop - 1; i++) {
+            LoopCounter.getInstance().checkLoop(1000); // counter was reset as well
+        }
+    }
+
     @Test
     public void testNoNewIndex(){
 		LoopCounter.getInstance().checkLoop(0);
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.evosuite.runtime.mock.MockFramework;
+import org.evosuite.runtime.sandbox.PermissionStatistics;
+import org.evosuite.runtime.thread.KillSwitchHandler;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RuntimeContextTest {
+
+	@After
+	public void tearDown() {
+		RuntimeContext.bind(null);
+		System.resetRuntime();
+		MockFramework.disable();
+	}
+
+	@Test
+	public void testSingletonsAreConfined() {
+		LoopCounter globalCounter = LoopCounter.getInstance();
+		VirtualFileSystem globalVFS = VirtualFileSystem.getInstance();
+
+		RuntimeContext context = new RuntimeContext();
+		Assert.assertNull(RuntimeContext.bind(context));
+		Assert.assertSame(context, RuntimeContext.getCurrent());
+
+		LoopCounter counter = LoopCounter.getInstance();
+		Assert.assertNotSame(globalCounter, counter);
+		Assert.assertSame(counter, LoopCounter.getInstance());
+		Assert.assertNotSame(globalVFS, VirtualFileSystem.getInstance());
+
+		Assert.assertSame(context, RuntimeContext.bind(null));
+		Assert.assertSame(globalCounter, LoopCounter.getInstance());
+	}
+
+	@Test
+	public void testStateIsConfined() {
+		System.setCurrentTimeMillis(42);
+		MockFramework.enable();
+
+		RuntimeContext.bind(new RuntimeContext());
+		Assert.assertTrue(System.currentTimeMillis() != 42);
+		Assert.assertFalse(MockFramework.isEnabled());
+
+		RuntimeContext.bind(null);
+		Assert.assertEquals(42, System.currentTimeMillis());
+		Assert.assertTrue(MockFramework.isEnabled());
+	}
+
+	@Test
+	public void testRandomAndPermissionsAreConfined() {
+		Random.reset();
+		PermissionStatistics.getInstance().getAndResetExceptionInfo();
+		Random.nextInt();
+
+		RuntimeContext.bind(new RuntimeContext());
+		Assert.assertFalse(Random.wasAccessed());
+		Assert.assertEquals(0, Random.nextInt());
+		PermissionStatistics.getInstance().permissionDenied(new RuntimePermission("setIO"));
+
+		RuntimeContext.bind(null);
+		Assert.assertEquals(1, Random.getCurrentNumber());
+		Assert.assertFalse(PermissionStatistics.getInstance().getAndResetExceptionInfo());
+		Random.reset();
+	}
+
+	@Test
+	public void testContextIsInheritedByNewThreads() throws InterruptedException {
+		RuntimeContext.bind(new RuntimeContext());
+		LoopCounter counter = LoopCounter.getInstance();
+
+		AtomicReference<LoopCounter> fromThread = new AtomicReference<>();
+		Thread thread = new Thread(() -> fromThread.set(LoopCounter.getInstance()));
+		thread.start();
+		thread.join();
+
+		Assert.assertSame(counter, fromThread.get());
+	}
+
+	@Test
+	public void testRebinding() {
+		LoopCounter globalCounter = LoopCounter.getInstance();
+
+		RuntimeContext first = new RuntimeContext();
+		RuntimeContext second = new RuntimeContext();
+		RuntimeContext.bind(first);
+		LoopCounter counter = LoopCounter.getInstance();
+
+		Assert.assertSame(first, RuntimeContext.bind(second));
+		Assert.assertNotSame(counter, LoopCounter.getInstance());
+
+		Assert.assertSame(second, RuntimeContext.bind(first));
+		Assert.assertSame(counter, LoopCounter.getInstance());
+
+		RuntimeContext.bind(null);
+		Assert.assertNull(RuntimeContext.getCurrent());
+		Assert.assertSame(globalCounter, LoopCounter.getInstance());
+	}
+
+	@Test
+	public void testSettingsAreConfinedInTestClassContext() {
+		boolean globalVFS = RuntimeSettings.isUseVFS();
+		int globalThreads = RuntimeSettings.getMaxNumberOfThreads();
+
+		RuntimeContext context = RuntimeContext.forTestClass("foo.FooTest");
+		Assert.assertNotNull(context.getThreadGroup());
+		RuntimeContext.bind(context);
+		Assert.assertSame(context.getThreadGroup(), RuntimeContext.getCurrentThreadGroup());
+
+		RuntimeSettings.setUseVFS(!globalVFS);
+		Assert.assertEquals(!globalVFS, RuntimeSettings.isUseVFS());
+		// not set in the context, so the process-wide value is used
+		Assert.assertEquals(globalThreads, RuntimeSettings.getMaxNumberOfThreads());
+
+		RuntimeContext.bind(null);
+		Assert.assertEquals(globalVFS, RuntimeSettings.isUseVFS());
+		Assert.assertNull(RuntimeContext.getCurrentThreadGroup());
+	}
+
+	@Test
+	public void testSettingsAreNotConfinedInPlainContext() {
+		boolean globalVFS = RuntimeSettings.isUseVFS();
+		try {
+			RuntimeContext.bind(new RuntimeContext());
+			Assert.assertNull(RuntimeContext.getCurrentThreadGroup());
+			RuntimeSettings.setUseVFS(!globalVFS);
+
+			RuntimeContext.bind(null);
+			Assert.assertEquals(!globalVFS, RuntimeSettings.isUseVFS());
+		} finally {
+			RuntimeSettings.setUseVFS(globalVFS);
+		}
+	}
+
+	@Test
+	public void testKillSwitchIsConfinedInTestClassContext() {
+		KillSwitchHandler global = KillSwitchHandler.getInstance();
+
+		RuntimeContext.bind(new RuntimeContext());
+		Assert.assertSame(global, KillSwitchHandler.getInstance());
+
+		RuntimeContext.bind(RuntimeContext.forTestClass("foo.FooTest"));
+		KillSwitchHandler handler = KillSwitchHandler.getInstance();
+		Assert.assertNotSame(global, handler);
+		handler.setKillSwitch(true);
+
+		RuntimeContext.bind(null);
+		KillSwitchHandler.killIfTimeout(); // the process-wide switch is still off
+	}
+}
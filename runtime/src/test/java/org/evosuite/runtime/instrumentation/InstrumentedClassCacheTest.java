@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InstrumentedClassCacheTest {
+
+	@After
+	public void tearDown() {
+		InstrumentedClassCache.getInstance().setDirectory(null);
+		InstrumentedClassCache.getInstance().clear();
+	}
+
+	@Test
+	public void testKeyDependsOnConfiguration() {
+		byte[] bytes = new byte[]{1, 2, 3};
+
+		String key = InstrumentedClassCache.computeKey(bytes, "a");
+		Assert.assertEquals(key, InstrumentedClassCache.computeKey(bytes, "a"));
+		Assert.assertNotEquals(key, InstrumentedClassCache.computeKey(bytes, "b"));
+		Assert.assertNotEquals(key, InstrumentedClassCache.computeKey(new byte[]{1, 2, 4}, "a"));
+	}
+
+	@Test
+	public void testInMemory() {
+		InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+		String key = InstrumentedClassCache.computeKey(new byte[]{1}, "");
+		Assert.assertNull(cache.get(key));
+
+		byte[] instrumented = new byte[]{4, 2};
+		cache.put(key, instrumented);
+		Assert.assertSame(instrumented, cache.get(key));
+
+		cache.clear();
+		Assert.assertNull(cache.get(key));
+	}
+
+	@Test
+	public void testOnDisk() throws Exception {
+		File dir = Files.createTempDirectory("instrumentation_cache").toFile();
+		try {
+			InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+			cache.setDirectory(dir);
+			String key = InstrumentedClassCache.computeKey(new byte[]{1}, "");
+			cache.put(key, new byte[]{4, 2});
+
+			// as if it was a new JVM
+			cache.clear();
+			Assert.assertArrayEquals(new byte[]{4, 2}, cache.get(key));
+			Assert.assertEquals(1, cache.getNumberOfCachedClasses());
+
+			// entries of different runtime versions are kept apart
+			File[] versions = dir.listFiles();
+			Assert.assertEquals(1, versions.length);
+			Assert.assertTrue(versions[0].isDirectory());
+			Assert.assertEquals(1, versions[0].listFiles().length);
+		} finally {
+			delete(dir);
+		}
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -352,4 +352,27 @@ public class MSecurityManagerTest {
 	}
 	
 	
+	@Test
+	public void testRepeatedDecisionsAreCached() throws InterruptedException, ExecutionException, TimeoutException{
+		final PermissionStatistics statistics = PermissionStatistics.getInstance();
+		final long hits = statistics.getDecisionCacheHits();
+
+		Future<?> future = executor.submit(new Runnable(){
+			@Override
+			public void run() {
+				for(int i=0; i<2; i++) {
+					try {
+						securityManager.checkPermission(new RuntimePermission("setSecurityManager"));
+						Assert.fail();
+					} catch (SecurityException e) {
+						//expected
+					}
+				}
+			}
+		});
+		future.get(1000, TimeUnit.MILLISECONDS);
+
+		Assert.assertTrue(statistics.getDecisionCacheHits() > hits);
+	}
+
 }
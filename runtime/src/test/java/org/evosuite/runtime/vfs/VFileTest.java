@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vfs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VFileTest {
+
+	@Test
+	public void testBulkWriteAndRead(){
+		VFile file = new VFile("foo", null);
+		byte[] data = new byte[5000];
+		for(int i=0; i<data.length; i++){
+			data[i] = (byte) i;
+		}
+
+		Assert.assertEquals(data.length, file.writeBytes(data, 0, data.length));
+		Assert.assertEquals(data.length, file.getDataSize());
+
+		byte[] buffer = new byte[3000];
+		Assert.assertEquals(3000, file.readBytes(0, buffer, 0, buffer.length));
+		Assert.assertEquals(data[2999], buffer[2999]);
+
+		//only the remaining bytes are returned
+		Assert.assertEquals(2000, file.readBytes(3000, buffer, 0, buffer.length));
+		Assert.assertEquals(data[4999], buffer[1999]);
+
+		Assert.assertEquals(-1, file.readBytes(5000, buffer, 0, buffer.length));
+		Assert.assertEquals(-1, file.read(5000));
+	}
+
+	@Test
+	public void testWriteAfterEndPadsWithZeros(){
+		VFile file = new VFile("foo", null);
+		Assert.assertEquals(2, file.writeBytes(10, new byte[]{1, 2}, 0, 2));
+		Assert.assertEquals(12, file.getDataSize());
+		Assert.assertEquals(0, file.read(5));
+		Assert.assertEquals(2, file.read(11));
+	}
+
+	@Test
+	public void testSetLength(){
+		VFile file = new VFile("foo", null);
+		file.writeBytes(new byte[]{1, 2, 3, 4}, 0, 4);
+
+		file.setLength(2);
+		Assert.assertEquals(2, file.getDataSize());
+		Assert.assertEquals(-1, file.read(2));
+
+		//growing again must not resurrect old content
+		file.setLength(4);
+		Assert.assertEquals(0, file.read(2));
+		Assert.assertEquals(0, file.read(3));
+
+		file.eraseData();
+		Assert.assertEquals(0, file.getDataSize());
+	}
+}